@@ -5,6 +5,7 @@
 #include "rapidjson/writer.h"
 #include <algorithm>
 #include <cctype>
+#include <chrono>
 #include <iostream>
 #include <nlohmann/json.hpp>
 #include <optional>
@@ -62,6 +63,8 @@ enum class MessageType {
 
   // === System ===
   ERROR,
+  PING, // Client heartbeat, answered immediately with PONG
+  PONG,
 
   UNKNOWN
 };
@@ -135,6 +138,7 @@ struct MovePayload {
   string piece;
   Coord from;
   Coord to;
+  long long server_time{0}; // Server wall clock (ms) when the move was relayed
 };
 
 struct GameStartPayload {
@@ -144,6 +148,7 @@ struct GameStartPayload {
   int time_limit{0}; // Time limit in seconds (0 for unlimited)
   int game_timer{0}; // Game timer in seconds (0 for classical, 600 for blitz,
                      // custom value for custom mode)
+  long long server_time{0}; // Server wall clock (ms) when the game started
 };
 
 struct GameEndPayload {
@@ -219,6 +224,21 @@ struct RematchResponsePayload {
   bool accept_rematch;
 };
 
+// Heartbeat payload: PONG echoes the PING fields back unchanged
+struct PingPayload {
+  long long seq{0};         // Client sequence number
+  long long client_time{0}; // Client send timestamp (opaque to the server)
+  long long server_time{0}; // Server wall clock (ms) when the PONG was sent
+};
+
+// Server wall clock in milliseconds since epoch. Stamped on PONG, MOVE and
+// GAME_START so clients can sync their clock and run turn timers from it.
+inline long long serverTimeMillis() {
+  return chrono::duration_cast<chrono::milliseconds>(
+             chrono::system_clock::now().time_since_epoch())
+      .count();
+}
+
 // Quick matching payload
 struct QuickMatchingPayload {
   string mode;    // Game mode: "classical" or "blitz"
@@ -240,7 +260,8 @@ using Payload =
             ReplayRequestPayload, RequestAddFriendPayload,
             ResponseAddFriendPayload, UnfriendPayload, DrawRequestPayload,
             DrawResponsePayload, RematchRequestPayload, RematchResponsePayload,
-            QuickMatchingPayload, CancelQMPayload, ErrorPayload, InfoPayload>;
+            QuickMatchingPayload, CancelQMPayload, ErrorPayload, InfoPayload,
+            PingPayload>;
 
 // ============= nlohmann::json converters ============= //
 using nlohmann::json;
@@ -316,6 +337,9 @@ inline void to_json(json &j, const GameStartPayload &p) {
            {"game_mode", p.game_mode},
            {"time_limit", p.time_limit},
            {"game_timer", p.game_timer}};
+  if (p.server_time > 0) {
+    j["server_time"] = p.server_time;
+  }
   if (!p.opponent_data.is_null()) {
     j["opponent_data"] = p.opponent_data;
   }
@@ -361,6 +385,12 @@ inline void to_json(json &j, const QuickMatchingPayload &p) {
 inline void to_json(json &j, const CancelQMPayload &) {
   j = json(); // Empty payload
 }
+inline void to_json(json &j, const PingPayload &p) {
+  j = json{{"seq", p.seq}, {"client_time", p.client_time}};
+  if (p.server_time > 0) {
+    j["server_time"] = p.server_time;
+  }
+}
 inline void to_json(json &j, const RequestAddFriendPayload &p) {
   if (!p.from_user.empty()) {
     // Server -> Client format
@@ -396,6 +426,9 @@ inline void to_json(json &j, const Coord &c) {
 }
 inline void to_json(json &j, const MovePayload &p) {
   j = json{{"piece", p.piece}, {"from", p.from}, {"to", p.to}};
+  if (p.server_time > 0) {
+    j["server_time"] = p.server_time;
+  }
 }
 inline void to_json(json &j, const GameEndPayload &p) {
   j = json{{"win_side", p.win_side}};
@@ -732,6 +765,18 @@ inline optional<Payload> parsePayload(MessageType type,
       return CancelQMPayload{};
     }
 
+    case MessageType::PING:
+    case MessageType::PONG: {
+      PingPayload p;
+      if (doc.HasMember("seq") && doc["seq"].IsInt64()) {
+        p.seq = doc["seq"].GetInt64();
+      }
+      if (doc.HasMember("client_time") && doc["client_time"].IsInt64()) {
+        p.client_time = doc["client_time"].GetInt64();
+      }
+      return p;
+    }
+
     case MessageType::REQUEST_ADD_FRIEND: {
       RequestAddFriendPayload p;
       // Client -> Server: has "to_user"
@@ -880,7 +925,9 @@ static const unordered_map<string, MessageType> commandMap = {
     {"REQUEST_ADD_FRIEND", MessageType::REQUEST_ADD_FRIEND},
     {"RESPONSE_ADD_FRIEND", MessageType::RESPONSE_ADD_FRIEND},
     {"UNFRIEND", MessageType::UNFRIEND},
-    {"ERROR", MessageType::ERROR}};
+    {"ERROR", MessageType::ERROR},
+    {"PING", MessageType::PING},
+    {"PONG", MessageType::PONG}};
 
 inline ParsedMessage parseMessage(const string &msg) {
   ParsedMessage pm;
@@ -940,7 +987,9 @@ static const unordered_map<MessageType, const char *> typeStrings = {
     {MessageType::REQUEST_ADD_FRIEND, "REQUEST_ADD_FRIEND"},
     {MessageType::RESPONSE_ADD_FRIEND, "RESPONSE_ADD_FRIEND"},
     {MessageType::UNFRIEND, "UNFRIEND"},
-    {MessageType::ERROR, "ERROR"}};
+    {MessageType::ERROR, "ERROR"},
+    {MessageType::PING, "PING"},
+    {MessageType::PONG, "PONG"}};
 
 inline const char *messageTypeToString(MessageType type) {
   auto it = typeStrings.find(type);
@@ -149,6 +149,7 @@ void handleAIMatch(const ParsedMessage &pm, int fd) {
   if (response.contains("game") && response["game"].contains("game_id")) {
     gs.opponent_data["game_id"] = response["game"]["game_id"];
   }
+  gs.server_time = serverTimeMillis();
 
   sendMessage(fd, MessageType::GAME_START, gs);
 
@@ -405,6 +406,7 @@ void handleAIMove(int player_fd, const string &xfen) {
   }
 
   // Send AI move to player
+  aiMove.server_time = serverTimeMillis();
   sendMessage(player_fd, MessageType::MOVE, aiMove);
 
   cout << "[handleAIMove] AI move sent: " << aiPlayer << " from=("
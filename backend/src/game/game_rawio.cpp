@@ -329,6 +329,8 @@ void handleStartGame(int player1_fd, int player2_fd, const string &mode,
     gs2.opponent_data["game_id"] = game_id;
   }
 
+  gs1.server_time = gs2.server_time = serverTimeMillis();
+
   cout << "[handleStartGame] Sending GAME_START to player1 (fd=" << player1_fd
        << ", username=" << player1.username << ")" << endl;
   sendMessage(player1_fd, MessageType::GAME_START, gs1);
@@ -476,7 +478,9 @@ void handleMove(const ParsedMessage &pm, int fd) {
         int opp = sender.opponent_fd;
         if (g_clients.count(opp) > 0) {
           g_clients[opp].current_turn = nextTurn;
-          sendMessage(opp, MessageType::MOVE, move);
+          MovePayload relayed = move;
+          relayed.server_time = serverTimeMillis();
+          sendMessage(opp, MessageType::MOVE, relayed);
         }
       }
 
@@ -496,7 +500,9 @@ void handleMove(const ParsedMessage &pm, int fd) {
         int opp = sender.opponent_fd;
         if (g_clients.count(opp) > 0) {
           g_clients[opp].current_turn = nextTurn;
-          sendMessage(opp, MessageType::MOVE, move);
+          MovePayload relayed = move;
+          relayed.server_time = serverTimeMillis();
+          sendMessage(opp, MessageType::MOVE, relayed);
         }
       }
     }
@@ -513,7 +519,9 @@ void handleMove(const ParsedMessage &pm, int fd) {
       int opp = sender.opponent_fd;
       if (g_clients.count(opp) > 0) {
         g_clients[opp].current_turn = nextTurn;
-        sendMessage(opp, MessageType::MOVE, move);
+        MovePayload relayed = move;
+        relayed.server_time = serverTimeMillis();
+        sendMessage(opp, MessageType::MOVE, relayed);
       }
     }
   }
@@ -1214,6 +1222,7 @@ void handleCustomGame(const ParsedMessage &pm, int fd) {
     if (result.game.has_value()) {
       gs.opponent_data["game_id"] = result.game->id;
     }
+    gs.server_time = serverTimeMillis();
 
     sendMessage(fd, MessageType::GAME_START, gs);
 
@@ -1292,6 +1301,7 @@ void handleCustomGame(const ParsedMessage &pm, int fd) {
       gs2.opponent_data["game_id"] = result.game->id;
     }
 
+    gs1.server_time = gs2.server_time = serverTimeMillis();
     sendMessage(fd, MessageType::GAME_START, gs1);
     sendMessage(opponent_fd, MessageType::GAME_START, gs2);
   }
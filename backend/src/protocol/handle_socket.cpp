@@ -52,8 +52,10 @@ bool sendMessage(int fd, MessageType type, const Payload &payload) {
          << messageTypeToString(type) << " (message body)" << endl;
     return false;
   }
-  cout << "[SEND fd=" << fd << "] " << messageTypeToString(type) << " " << data
-       << endl;
+  if (type != MessageType::PONG) {
+    cout << "[SEND fd=" << fd << "] " << messageTypeToString(type) << " "
+         << data << endl;
+  }
   return true;
 }
 
@@ -297,8 +297,10 @@ int main(int argc, char **argv) {
 
         // Successfully received a message
         auto pm = parseMessage(msg);
-        cout << "[RECV fd=" << fd << "] " << messageTypeToString(pm.type) << " "
-             << msg << endl;
+        if (pm.type != MessageType::PING) {
+          cout << "[RECV fd=" << fd << "] " << messageTypeToString(pm.type)
+               << " " << msg << endl;
+        }
 
         // Push message to queue for processing by worker threads
         pushClientMessage(pm, fd);
@@ -385,6 +387,18 @@ int main(int argc, char **argv) {
 // ===================== Message Processing ===================== //
 
 void processMessage(const ParsedMessage &pm, int fd) {
+  // Heartbeat: echo straight back without touching client state or logging,
+  // so the client's RTT sample only contains network and queue time
+  if (pm.type == MessageType::PING) {
+    PingPayload pong;
+    if (pm.payload.has_value() && holds_alternative<PingPayload>(*pm.payload)) {
+      pong = get<PingPayload>(*pm.payload);
+    }
+    pong.server_time = serverTimeMillis();
+    sendMessage(fd, MessageType::PONG, pong);
+    return;
+  }
+
   string username;
   {
     lock_guard<mutex> lock(g_clients_mutex);
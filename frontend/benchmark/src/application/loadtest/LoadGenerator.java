@@ -0,0 +1,292 @@
+package application.loadtest;
+
+import application.network.SocketClient;
+import application.network.mock.MockGameServer;
+import application.network.mock.MockScenario;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless load generator: many simulated players against the real server or the mock.
+ *
+ * Reuses SocketClient and the senders directly (no JavaFX). Each player registers/logs in,
+ * quick-matches, plays random legal moves, chats and sometimes resigns, then queues again.
+ * At the end it prints per-message-type latency percentiles and throughput.
+ *
+ * Settings (system properties):
+ *   -Dlt.host=127.0.0.1 -Dlt.port=8080   server address (docker stack default)
+ *   -Dlt.mock=true                         start an in-process MockGameServer instead (mock.scenario applies)
+ *   -Dlt.players=1000                      simulated players
+ *   -Dlt.duration=60                       run time in seconds (after ramp-up)
+ *   -Dlt.ramp=10                           seconds to connect all players
+ *   -Dlt.think=200-1500                    think time range in ms between actions
+ *   -Dlt.mode=blitz -Dlt.timeLimit=0       quick-match mode and time limit
+ *   -Dlt.chat=10 -Dlt.resign=20            % of moves followed by a chat, % of games resigned early
+ *   -Dlt.prefix=lt                         username prefix (players are lt_0 .. lt_N-1)
+ *
+ * Run: mvn package, then java -Dlt.mock=true -jar benchmark/target/benchmark-1.0-SNAPSHOT.jar
+ */
+public class LoadGenerator {
+    static final String PASSWORD = "loadtest";
+    static final String CHAT_PREFIX = "lt:";
+
+    private final String host;
+    private final int port;
+    private final int players;
+    private final long durationMs;
+    private final long rampMs;
+    private final int thinkMinMs;
+    private final int thinkMaxMs;
+    private final String mode;
+    private final int timeLimit;
+    private final int chatPercent;
+    private final int resignPercent;
+    private final String prefix;
+
+    private final ScheduledExecutorService scheduler;
+    private final List<SimulatedPlayer> simulated = new ArrayList<>();
+    private final Set<String> usernames = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    // Results
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> sent = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> received = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+
+    // Cross-player stamps for relayed traffic (both ends live in this JVM)
+    private final Map<String, Long> moveStamps = new ConcurrentHashMap<>();
+    private final Map<Long, Long> chatStamps = new ConcurrentHashMap<>();
+    private final AtomicLong nextChatId = new AtomicLong();
+
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.players = Integer.getInteger("lt.players", 1000);
+        this.durationMs = Long.getLong("lt.duration", 60) * 1000;
+        this.rampMs = Long.getLong("lt.ramp", 10) * 1000;
+        String[] think = System.getProperty("lt.think", "200-1500").split("-");
+        this.thinkMinMs = Integer.parseInt(think[0].trim());
+        this.thinkMaxMs = think.length > 1 ? Integer.parseInt(think[1].trim()) : thinkMinMs;
+        this.mode = System.getProperty("lt.mode", "blitz");
+        this.timeLimit = Integer.getInteger("lt.timeLimit", 0);
+        this.chatPercent = Integer.getInteger("lt.chat", 10);
+        this.resignPercent = Integer.getInteger("lt.resign", 20);
+        this.prefix = System.getProperty("lt.prefix", "lt");
+        int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.scheduler = Executors.newScheduledThreadPool(workers, r -> {
+            Thread t = new Thread(r, "LoadGenerator-Worker");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Ramp up, run for the configured duration, stop everyone and print the report.
+     */
+    public void run() throws InterruptedException {
+        System.out.println("[LoadGenerator] " + players + " players -> " + host + ":" + port
+            + " for " + durationMs / 1000 + "s (ramp " + rampMs / 1000 + "s)");
+        for (int i = 0; i < players; i++) {
+            usernames.add(prefix + "_" + i);
+        }
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            SimulatedPlayer player = new SimulatedPlayer(this, prefix + "_" + i, 31L * i + 7);
+            synchronized (simulated) {
+                simulated.add(player);
+            }
+            long delay = players > 1 ? rampMs * i / (players - 1) : 0;
+            scheduler.schedule(() -> player.start(host, port), delay, TimeUnit.MILLISECONDS);
+        }
+
+        long reportEvery = 10_000;
+        long end = System.currentTimeMillis() + rampMs + durationMs;
+        while (System.currentTimeMillis() < end) {
+            Thread.sleep(Math.min(reportEvery, Math.max(1, end - System.currentTimeMillis())));
+            printProgress(startNanos);
+        }
+
+        running = false;
+        // Give in-flight games a moment to resign and settle
+        Thread.sleep(Math.min(5000, thinkMaxMs * 2L + 1000));
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        synchronized (simulated) {
+            for (SimulatedPlayer player : simulated) {
+                player.stop();
+            }
+        }
+        scheduler.shutdownNow();
+        printReport(seconds);
+    }
+
+    // ---- called by players ----
+
+    boolean isRunning() {
+        return running;
+    }
+
+    boolean isSimulated(String username) {
+        return usernames.contains(username);
+    }
+
+    void schedule(Runnable task, long delayMs) {
+        try {
+            scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    long thinkTimeMs(Random random) {
+        return thinkMinMs + (thinkMaxMs > thinkMinMs ? random.nextInt(thinkMaxMs - thinkMinMs + 1) : 0);
+    }
+
+    String getMode() {
+        return mode;
+    }
+
+    int getTimeLimit() {
+        return timeLimit;
+    }
+
+    int getChatPercent() {
+        return chatPercent;
+    }
+
+    int getResignPercent() {
+        return resignPercent;
+    }
+
+    void recordLatency(String type, long nanos) {
+        if (type != null) {
+            latencies.computeIfAbsent(type, k -> new LatencyHistogram()).recordNanos(nanos);
+        }
+    }
+
+    void countSent(String type) {
+        sent.computeIfAbsent(type, k -> new LongAdder()).increment();
+    }
+
+    void countReceived(String type) {
+        received.computeIfAbsent(type, k -> new LongAdder()).increment();
+    }
+
+    void countError() {
+        errors.increment();
+    }
+
+    void countGameStarted() {
+        gamesStarted.increment();
+    }
+
+    void countGameFinished() {
+        gamesFinished.increment();
+    }
+
+    void onPlayerDisconnected(String username, String reason) {
+        disconnects.increment();
+        if (running) {
+            System.err.println("[LoadGenerator] " + username + " disconnected: " + reason);
+        }
+    }
+
+    void stampMove(String username, int ply) {
+        moveStamps.put(username + "#" + ply, System.nanoTime());
+    }
+
+    Long takeMoveStamp(String username, int ply) {
+        return moveStamps.remove(username + "#" + ply);
+    }
+
+    long stampChat() {
+        long id = nextChatId.incrementAndGet();
+        chatStamps.put(id, System.nanoTime());
+        return id;
+    }
+
+    Long takeChatStamp(long id) {
+        return chatStamps.remove(id);
+    }
+
+    // ---- reporting ----
+
+    private static long total(Map<String, LongAdder> counters) {
+        long sum = 0;
+        for (LongAdder adder : counters.values()) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    private void printProgress(long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("[LoadGenerator] t=%.0fs sent=%d recv=%d games=%d/%d errors=%d disconnects=%d%n",
+            seconds, total(sent), total(received), gamesFinished.sum(), gamesStarted.sum(),
+            errors.sum(), disconnects.sum());
+    }
+
+    private void printReport(double seconds) {
+        System.out.println();
+        System.out.println("=== Load test report ===");
+        System.out.printf("Players: %d  Duration: %.1fs  Games: %d started, %d finished  Errors: %d  Disconnects: %d%n",
+            players, seconds, gamesStarted.sum(), gamesFinished.sum(), errors.sum(), disconnects.sum());
+        System.out.printf("Throughput: %.1f msg/s sent, %.1f msg/s received%n",
+            total(sent) / seconds, total(received) / seconds);
+
+        System.out.println();
+        System.out.printf("%-16s %10s %10s %10s %10s %10s %10s%n", "Latency (ms)", "count", "mean", "p50", "p99", "p999", "max");
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(latencies).entrySet()) {
+            LatencyHistogram h = e.getValue();
+            System.out.printf("%-16s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", e.getKey(), h.getCount(),
+                h.getMeanMicros() / 1000.0, h.percentileMicros(50) / 1000.0, h.percentileMicros(99) / 1000.0,
+                h.percentileMicros(99.9) / 1000.0, h.getMaxMicros() / 1000.0);
+        }
+
+        System.out.println();
+        System.out.printf("%-16s %10s %10s %10s%n", "Message type", "sent", "received", "recv/s");
+        Set<String> types = new java.util.TreeSet<>(sent.keySet());
+        types.addAll(received.keySet());
+        for (String type : types) {
+            long s = sent.containsKey(type) ? sent.get(type).sum() : 0;
+            long r = received.containsKey(type) ? received.get(type).sum() : 0;
+            System.out.printf("%-16s %10d %10d %10.1f%n", type, s, r, r / seconds);
+        }
+        System.out.println("(MOVE/MESSAGE = relay latency player->player; MOVE_REPLY = own move -> opponent reply;"
+            + " MATCH_WAIT = queue -> GAME_START)");
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Thousands of clients: keep the per-frame [SEND]/[RECV] logs out of the way
+        SocketClient.setTrafficLogging(false);
+
+        String host = System.getProperty("lt.host", "127.0.0.1");
+        int port = Integer.getInteger("lt.port", 8080);
+        MockGameServer mock = null;
+        if (Boolean.getBoolean("lt.mock")) {
+            mock = new MockGameServer(0, MockScenario.fromSystemProperties()).start();
+            host = "127.0.0.1";
+            port = mock.getPort();
+        }
+
+        new LoadGenerator(host, port).run();
+
+        if (mock != null) {
+            mock.stop();
+        }
+    }
+}
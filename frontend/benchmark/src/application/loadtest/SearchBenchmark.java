@@ -0,0 +1,126 @@
+package application.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import application.game.GameEndChecker;
+import application.game.GameState;
+import application.game.SearchEngine;
+
+/**
+ * Lazy SMP benchmark for the client search engine (application.game.SearchEngine): searches a
+ * fixed set of positions to a fixed depth with each thread count, and reports nodes/sec and
+ * speedup in time-to-depth against one thread.
+ *
+ * Positions are a few common openings plus middlegames reached by seeded random playouts from
+ * the start, so every run searches the same set. Each search starts from an empty table.
+ *
+ * Settings (system properties):
+ *   -Dse.threads=1,2,4,8    thread counts to compare (the first one is the speedup baseline)
+ *   -Dse.depth=7            search depth in plies
+ *   -Dse.hashMb=64          transposition table size
+ *   -Dse.playouts=6         random-playout middlegames added to the openings
+ *
+ * Run: mvn package, then java -cp benchmark/target/benchmark-1.0-SNAPSHOT.jar application.loadtest.SearchBenchmark
+ */
+public class SearchBenchmark {
+
+    // Openings as fromRow,fromCol,toRow,toCol moves from the start position (row 0 = red home)
+    private static final int[][][] OPENINGS = {
+        {},
+        {{2, 7, 2, 4}, {9, 7, 7, 6}, {0, 7, 2, 6}, {9, 8, 9, 7}},                 // central cannon vs screen horse
+        {{0, 2, 2, 4}, {6, 2, 5, 2}, {0, 7, 2, 6}, {9, 1, 7, 2}},                 // elephant opening
+        {{3, 6, 4, 6}, {7, 7, 7, 4}, {0, 7, 2, 6}, {9, 7, 7, 6}, {0, 8, 0, 7}},   // pawn opening vs central cannon
+    };
+
+    private static final long NO_TIME_LIMIT_MS = 24 * 3600 * 1000L; // depth-limited, not timed
+
+    private final int[] threadCounts;
+    private final int depth;
+    private final int hashMb;
+    private final List<GameState> positions = new ArrayList<>();
+
+    public SearchBenchmark() {
+        this.threadCounts = Arrays.stream(System.getProperty("se.threads", defaultThreads()).split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        this.depth = Integer.getInteger("se.depth", 7);
+        this.hashMb = Integer.getInteger("se.hashMb", 64);
+        for (int[][] opening : OPENINGS) {
+            positions.add(play(opening));
+        }
+        Random random = new Random(2024);
+        for (int i = 0, playouts = Integer.getInteger("se.playouts", 6); i < playouts; i++) {
+            positions.add(randomPlayout(random, 16 + 4 * i));
+        }
+    }
+
+    private static String defaultThreads() {
+        StringBuilder sb = new StringBuilder("1");
+        for (int n = 2; n <= Runtime.getRuntime().availableProcessors(); n *= 2) {
+            sb.append(',').append(n);
+        }
+        return sb.toString();
+    }
+
+    private static GameState play(int[][] moves) {
+        GameState state = new GameState();
+        state.initializeBoard();
+        for (int[] m : moves) {
+            state.applyMove(m[0], m[1], m[2], m[3]);
+        }
+        return state;
+    }
+
+    private static GameState randomPlayout(Random random, int plies) {
+        GameState state = new GameState();
+        state.initializeBoard();
+        for (int i = 0; i < plies; i++) {
+            List<int[]> legal = GameEndChecker.getAllLegalMoves(state.getBoard(), state.isRedTurn());
+            if (legal.isEmpty()) {
+                break;
+            }
+            int[] m = legal.get(random.nextInt(legal.size()));
+            state.applyMove(m[0], m[1], m[2], m[3]);
+        }
+        return state;
+    }
+
+    public void run() {
+        System.out.printf("[SearchBenchmark] %d positions, depth %d, %d MB table, threads %s%n",
+                positions.size(), depth, hashMb, Arrays.toString(threadCounts));
+        // Warm-up so the baseline is not paying for JIT compilation
+        new SearchEngine(hashMb, 1).search(positions.get(0).copyBoard(), true, null, NO_TIME_LIMIT_MS, Math.min(depth, 5));
+
+        System.out.printf("%8s %10s %14s %12s %8s %8s%n", "threads", "time ms", "nodes", "nodes/sec", "speedup", "nps x");
+        long baseTime = 0;
+        long baseNps = 0;
+        for (int threads : threadCounts) {
+            SearchEngine engine = new SearchEngine(hashMb, threads);
+            long timeMs = 0;
+            long nodes = 0;
+            for (GameState position : positions) {
+                engine.clear();
+                SearchEngine.Result result = engine.search(position.copyBoard(), position.isRedTurn(),
+                        SearchEngine.earlierHashes(position), NO_TIME_LIMIT_MS, depth);
+                if (result != null) {
+                    timeMs += result.elapsedMs;
+                    nodes += result.nodes;
+                }
+            }
+            engine.shutdown();
+            long nps = nodes * 1000 / Math.max(1, timeMs);
+            if (baseTime == 0) {
+                baseTime = Math.max(1, timeMs);
+                baseNps = Math.max(1, nps);
+            }
+            System.out.printf("%8d %10d %14d %12d %8.2f %8.2f%n", threads, timeMs, nodes, nps,
+                    (double) baseTime / Math.max(1, timeMs), (double) nps / baseNps);
+        }
+    }
+
+    public static void main(String[] args) {
+        new SearchBenchmark().run();
+    }
+}
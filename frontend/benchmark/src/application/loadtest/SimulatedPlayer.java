@@ -0,0 +1,333 @@
+package application.loadtest;
+
+import application.game.GameEndChecker;
+import application.network.GameClient;
+import application.network.events.GameEndEvent;
+import application.network.events.GameEventListener;
+import application.network.events.GameStartEvent;
+import application.network.events.MoveEvent;
+import application.network.mock.SyntheticData;
+import application.network.senders.AuthSender;
+import application.network.senders.GameSender;
+import application.network.senders.InfoSender;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One headless player driven entirely by server events.
+ *
+ * Lifecycle: connect -> REGISTER (falls back to LOGIN if the name exists) -> QUICK_MATCHING
+ * -> play random legal moves (client rules engine), chat now and then, sometimes resign
+ * -> GAME_END -> queue again, until the run ends.
+ *
+ * Nothing blocks: events arrive from GameClient on its receive thread and think time is
+ * scheduled on the generator's shared pool, so a player costs no thread of its own.
+ */
+class SimulatedPlayer implements GameEventListener {
+    private final LoadGenerator generator;
+    private final String username;
+    private final Random random;
+    private final GameClient client = new GameClient();
+    private final AuthSender auth = client.auth();
+    private final GameSender game = client.game();
+    private final InfoSender info = client.info();
+
+    // Outstanding requests per expected reply type, oldest first (guarded by this)
+    private final Map<String, Deque<Pending>> pending = new HashMap<>();
+
+    // Game state in frontend coordinates (row 0 = red back rank), guarded by this
+    private char[][] board;
+    private boolean isRed;
+    private boolean redTurn;
+    private String opponent = "";
+    private int ply;
+    private int resignAtPly;
+    private long lastMoveSentAt;
+    private boolean registering;
+
+    SimulatedPlayer(LoadGenerator generator, String username, long seed) {
+        this.generator = generator;
+        this.username = username;
+        this.random = new Random(seed);
+    }
+
+    void start(String host, int port) {
+        client.setListener(this);
+        try {
+            client.connect(host, port);
+            registering = true;
+            expect("AUTHENTICATED", "REGISTER");
+            expect("ERROR", "REGISTER");
+            auth.register(username, LoadGenerator.PASSWORD);
+            generator.countSent("REGISTER");
+        } catch (IOException e) {
+            generator.onPlayerDisconnected(username, e.getMessage());
+        }
+    }
+
+    void stop() {
+        client.disconnect();
+    }
+
+    // ---- latency bookkeeping ----
+
+    /**
+     * A request waiting for its reply.
+     */
+    private static class Pending {
+        final String requestType;
+        final long sentAt = System.nanoTime();
+
+        Pending(String requestType) {
+            this.requestType = requestType;
+        }
+    }
+
+    private synchronized void expect(String replyType, String requestType) {
+        pending.computeIfAbsent(replyType, k -> new ArrayDeque<>()).add(new Pending(requestType));
+    }
+
+    private synchronized void complete(String replyType) {
+        Deque<Pending> queue = pending.get(replyType);
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+        Pending p = queue.poll();
+        generator.recordLatency(p.requestType, System.nanoTime() - p.sentAt);
+    }
+
+    private synchronized void forget(String replyType) {
+        Deque<Pending> queue = pending.get(replyType);
+        if (queue != null) {
+            queue.poll();
+        }
+    }
+
+    // ---- event handling ----
+
+    @Override
+    public void onAuthenticated() {
+        generator.countReceived("AUTHENTICATED");
+        forget("ERROR");
+        complete("AUTHENTICATED");
+        registering = false;
+        client.getSocketClient().setUsername(username);
+        scheduleQueue();
+    }
+
+    @Override
+    public void onError(String message) {
+        generator.countReceived("ERROR");
+        if (!registering) {
+            generator.countError();
+            return;
+        }
+        // Name taken from an earlier run - log in instead
+        forget("AUTHENTICATED");
+        complete("ERROR");
+        registering = false;
+        try {
+            expect("AUTHENTICATED", "LOGIN");
+            auth.login(username, LoadGenerator.PASSWORD);
+            generator.countSent("LOGIN");
+        } catch (IOException e) {
+            // Disconnect listener reports it
+        }
+    }
+
+    @Override
+    public void onInfo(JsonObject data) {
+        generator.countReceived("INFO");
+        complete("INFO");
+    }
+
+    @Override
+    public void onGameHistory(JsonObject data) {
+        generator.countReceived("GAME_HISTORY");
+        complete("GAME_HISTORY");
+    }
+
+    @Override
+    public void onInvalidMove(String reason) {
+        generator.countReceived("INVALID_MOVE");
+        // Our board diverged from the server's - give the game up
+        generator.countError();
+        try {
+            resign();
+        } catch (IOException e) {
+            // Disconnect listener reports it
+        }
+    }
+
+    @Override
+    public void onOtherMessage(String type, String payload) {
+        generator.countReceived(type);
+    }
+
+    @Override
+    public void onDisconnected(String reason) {
+        generator.onPlayerDisconnected(username, reason);
+    }
+
+    private void scheduleQueue() {
+        generator.schedule(this::queue, generator.thinkTimeMs(random));
+    }
+
+    private void queue() {
+        if (!generator.isRunning()) {
+            return;
+        }
+        try {
+            // Occasionally browse the lobby like a real user
+            if (random.nextInt(4) == 0) {
+                expect("INFO", "LEADER_BOARD");
+                info.requestLeaderBoard("all", 50);
+                generator.countSent("LEADER_BOARD");
+            }
+            if (random.nextInt(4) == 0) {
+                expect("GAME_HISTORY", "GAME_HISTORY");
+                info.requestGameHistory(20);
+                generator.countSent("GAME_HISTORY");
+            }
+            expect("INFO", "QUICK_MATCHING");
+            expect("GAME_START", "MATCH_WAIT");
+            game.requestQuickMatching(generator.getMode(), generator.getTimeLimit());
+            generator.countSent("QUICK_MATCHING");
+        } catch (IOException e) {
+            // Disconnect listener reports it
+        }
+    }
+
+    @Override
+    public synchronized void onGameStart(GameStartEvent event) {
+        generator.countReceived("GAME_START");
+        complete("GAME_START");
+        opponent = event.opponent;
+        isRed = event.playerIsRed;
+        board = SyntheticData.initialBoard();
+        redTurn = true;
+        ply = 0;
+        lastMoveSentAt = 0;
+        resignAtPly = random.nextInt(100) < generator.getResignPercent() ? 10 + random.nextInt(60) : Integer.MAX_VALUE;
+        generator.countGameStarted();
+        if (isRed) {
+            scheduleMove();
+        }
+    }
+
+    @Override
+    public synchronized void onMove(MoveEvent event) {
+        generator.countReceived("MOVE");
+        if (board == null) {
+            return;
+        }
+
+        // Relay latency when the opponent is one of ours, otherwise (bot/mock) our move -> its reply
+        Long sentAt = generator.takeMoveStamp(opponent, ply);
+        if (sentAt != null) {
+            generator.recordLatency("MOVE", System.nanoTime() - sentAt);
+        } else if (lastMoveSentAt != 0) {
+            generator.recordLatency("MOVE_REPLY", System.nanoTime() - lastMoveSentAt);
+        }
+
+        board[event.toRow][event.toCol] = board[event.fromRow][event.fromCol];
+        board[event.fromRow][event.fromCol] = ' ';
+        redTurn = !redTurn;
+        ply++;
+        scheduleMove();
+    }
+
+    private void scheduleMove() {
+        generator.schedule(this::makeMove, generator.thinkTimeMs(random));
+    }
+
+    private synchronized void makeMove() {
+        if (board == null || redTurn != isRed) {
+            return;
+        }
+        try {
+            if (ply >= resignAtPly || !generator.isRunning()) {
+                resign();
+                return;
+            }
+            List<int[]> legal = GameEndChecker.getAllLegalMoves(board, isRed);
+            if (legal.isEmpty()) {
+                // Mated: the rules engine says we lost, report it like the UI does
+                board = null;
+                game.sendGameEnd(isRed ? "black" : "red");
+                generator.countSent("GAME_END");
+                return;
+            }
+            int[] m = legal.get(random.nextInt(legal.size()));
+            char piece = board[m[0]][m[1]];
+            char captured = board[m[2]][m[3]];
+            board[m[2]][m[3]] = piece;
+            board[m[0]][m[1]] = ' ';
+            redTurn = !redTurn;
+
+            lastMoveSentAt = System.nanoTime();
+            if (generator.isSimulated(opponent)) {
+                generator.stampMove(username, ply);
+            }
+            ply++;
+            game.sendMove(m[1], 9 - m[0], m[3], 9 - m[2],
+                SyntheticData.pieceName(piece),
+                captured == ' ' ? "" : SyntheticData.pieceName(captured), null);
+            generator.countSent("MOVE");
+
+            // Chat only reaches a simulated opponent, so only then can its latency be measured
+            if (generator.isSimulated(opponent) && random.nextInt(100) < generator.getChatPercent()) {
+                long id = generator.stampChat();
+                game.sendMessage(LoadGenerator.CHAT_PREFIX + id);
+                generator.countSent("MESSAGE");
+            }
+        } catch (IOException e) {
+            // Disconnect listener reports it
+        }
+    }
+
+    @Override
+    public void onChat(String text) {
+        generator.countReceived("MESSAGE");
+        if (text.startsWith(LoadGenerator.CHAT_PREFIX)) {
+            try {
+                Long sentAt = generator.takeChatStamp(Long.parseLong(text.substring(LoadGenerator.CHAT_PREFIX.length())));
+                if (sentAt != null) {
+                    generator.recordLatency("MESSAGE", System.nanoTime() - sentAt);
+                }
+            } catch (NumberFormatException e) {
+                // Not ours
+            }
+        }
+    }
+
+    private synchronized void resign() throws IOException {
+        if (board == null) {
+            return;
+        }
+        expect("GAME_END", "RESIGN");
+        game.resign();
+        generator.countSent("RESIGN");
+    }
+
+    @Override
+    public synchronized void onGameEnd(GameEndEvent event) {
+        generator.countReceived("GAME_END");
+        complete("GAME_END");
+        board = null;
+        generator.countGameFinished();
+        if (generator.isRunning()) {
+            scheduleQueue();
+        }
+    }
+
+    String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,131 @@
+package application.loadtest;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup regression benchmark: launches the JavaFX client N times in startup benchmark mode
+ * (-Dstartup.benchmark=true, see application.util.StartupTrace in client-fx), collects the
+ * STARTUP_TTI_MS / STARTUP_PHASE lines each run prints before exiting, and reports
+ * time-to-interactive and per-phase percentiles.
+ *
+ * Times are measured inside the client JVM from its own process start, so Maven or
+ * launcher overhead in the command is not counted.
+ *
+ * Settings (system properties):
+ *   -Dsb.runs=5             measured runs
+ *   -Dsb.warmup=1           runs discarded first (OS file cache, JIT-compiled Maven plugins)
+ *   -Dsb.dir=.              working directory for the command (frontend/)
+ *   -Dsb.cmd="..."          client command, default: mvn -q javafx:run -Dserver=mock -Dstartup.benchmark=true
+ *                           (whole reactor from frontend/, so core and mock-server need no mvn install)
+ *   -Dsb.timeout=120        seconds before a run is killed and counted as failed
+ *
+ * Run: mvn package, then from frontend/: java -cp benchmark/target/benchmark-1.0-SNAPSHOT.jar application.loadtest.StartupBenchmark
+ * Without a display, run under Xvfb (xvfb-run java ...); the client still renders real frames.
+ */
+public class StartupBenchmark {
+    static final String DEFAULT_COMMAND = "mvn -q javafx:run -Dserver=mock -Dstartup.benchmark=true";
+
+    private final List<String> command;
+    private final File dir;
+    private final int runs;
+    private final int warmup;
+    private final long timeoutSeconds;
+
+    private final LatencyHistogram tti = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> phases = new LinkedHashMap<>();
+    private int failures = 0;
+
+    public StartupBenchmark() {
+        this.command = Arrays.asList(System.getProperty("sb.cmd", DEFAULT_COMMAND).trim().split("\\s+"));
+        this.dir = new File(System.getProperty("sb.dir", "."));
+        this.runs = Integer.getInteger("sb.runs", 5);
+        this.warmup = Integer.getInteger("sb.warmup", 1);
+        this.timeoutSeconds = Long.getLong("sb.timeout", 120);
+    }
+
+    public void run() throws Exception {
+        System.out.println("[StartupBenchmark] " + String.join(" ", command) + " (" + warmup + " warm-up + " + runs + " runs)");
+        for (int i = 0; i < warmup + runs; i++) {
+            boolean measured = i >= warmup;
+            long ttiMs = runOnce(measured);
+            System.out.printf("[StartupBenchmark] %s %d: %s%n", measured ? "run" : "warm-up",
+                    measured ? i - warmup + 1 : i + 1, ttiMs >= 0 ? ttiMs + " ms" : "failed");
+        }
+        report();
+    }
+
+    /**
+     * One client launch.
+     * @return time-to-interactive in ms, or -1 if the client never reported it
+     */
+    private long runOnce(boolean measured) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .directory(dir)
+                .redirectErrorStream(true)
+                .start();
+        long ttiMs = -1;
+        Map<String, Long> runPhases = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("STARTUP_TTI_MS=")) {
+                    ttiMs = Long.parseLong(line.substring("STARTUP_TTI_MS=".length()).trim());
+                } else if (line.startsWith("STARTUP_PHASE ")) {
+                    int eq = line.lastIndexOf('=');
+                    if (eq > 0) {
+                        runPhases.put(line.substring("STARTUP_PHASE ".length(), eq), Long.parseLong(line.substring(eq + 1).trim()));
+                    }
+                }
+            }
+        }
+        if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            ttiMs = -1;
+        }
+        if (!measured) {
+            return ttiMs;
+        }
+        if (ttiMs < 0) {
+            failures++;
+            return ttiMs;
+        }
+        tti.recordMicros(ttiMs * 1000);
+        for (Map.Entry<String, Long> e : runPhases.entrySet()) {
+            phases.computeIfAbsent(e.getKey(), k -> new LatencyHistogram()).recordMicros(e.getValue() * 1000);
+        }
+        return ttiMs;
+    }
+
+    private void report() {
+        System.out.println();
+        System.out.printf("Runs: %d  Failed: %d%n", runs, failures);
+        System.out.printf("%-36s %8s %8s %8s %8s %8s%n", "End of phase (ms since JVM start)", "count", "mean", "p50", "p90", "max");
+        List<Map.Entry<String, LatencyHistogram>> rows = new ArrayList<>(phases.entrySet());
+        rows.sort((a, b) -> Long.compare(a.getValue().percentileMicros(50), b.getValue().percentileMicros(50)));
+        for (Map.Entry<String, LatencyHistogram> e : rows) {
+            printRow(e.getKey(), e.getValue());
+        }
+        printRow("TIME TO INTERACTIVE", tti);
+    }
+
+    private static void printRow(String name, LatencyHistogram h) {
+        System.out.printf("%-36s %8d %8.1f %8.1f %8.1f %8.1f%n", name, h.getCount(), h.getMeanMicros() / 1000.0,
+                h.percentileMicros(50) / 1000.0, h.percentileMicros(90) / 1000.0, h.getMaxMicros() / 1000.0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        benchmark.run();
+        System.exit(benchmark.failures == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,6 @@
+module ChineseChessBenchmark {
+    requires ChineseChessCore;
+    requires ChineseChessMock;
+
+    exports application.loadtest;
+}
@@ -0,0 +1,296 @@
+package application;
+
+import application.components.AuthPanel;
+import application.components.BackgroundLayer;
+import application.components.BoardComponent;
+import application.components.LoginPanel;
+import application.components.RegisterPanel;
+import application.components.TitleImage;
+import application.state.UIState;
+import application.util.AssetHelper;
+import application.util.Metrics;
+import application.util.StartupTrace;
+import javafx.application.Application;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+import application.components.MainMenuPanel;
+import application.components.SettingsPanel;
+import application.components.FriendsPanel;
+import application.components.InventoryPanel;
+import application.components.GameModePanel;
+import application.components.ClassicModePanel;
+import application.components.BlitzModePanel;
+import application.components.CustomModePanel;
+import application.components.GamePanel;
+import application.components.HistoryPanel;
+import application.components.ReplayPanel;
+import application.components.AIDifficultyPanel;
+import application.components.ProfilePanel;
+import application.components.WaitingPanel;
+import application.components.PlayWithFriendPanel;
+import application.components.ReconnectingOverlay;
+import application.components.ToastNotification;
+import application.components.RankingPanel;
+import application.components.PieceAtlas;
+import application.components.PanelRegistry;
+import application.components.PerformanceHud;
+import application.network.fx.NetworkManager;
+import application.network.fx.TrafficReplay;
+import application.network.DevServer;
+
+/**
+ * JavaFX port of the React landing page for the Chinese Chess project.
+ * 
+ * Usage: java Main [server_ip:port]
+ * Example: java Main 192.168.1.100:8080
+ * Offline: -Dserver=mock starts an in-process mock server (mock-server module, client-fx "mock" profile)
+ * Default: localhost:8080
+ */
+public class Main extends Application {
+
+    private static final double CANVAS_WIDTH = 1920;
+    private static final double CANVAS_HEIGHT = 1080;
+
+    @Override
+    public void start(Stage stage) {
+        StartupTrace.mark("Main.start");
+        UIState state = new UIState();
+        
+        // Initialize NetworkManager with UIState
+        NetworkManager networkManager = NetworkManager.getInstance();
+        networkManager.initialize(state);
+        
+        // Replay mode: feed a traffic capture instead of connecting (-Dreplay.file=path)
+        String replayFile = System.getProperty("replay.file");
+        boolean replayMode = replayFile != null && !replayFile.isEmpty();
+        
+        // Connect to server immediately when UI starts
+        if (!replayMode) {
+            try {
+                networkManager.connectToServer();
+            } catch (IOException e) {
+                System.err.println("Failed to connect to server: " + e.getMessage());
+                e.printStackTrace();
+                // TODO: Show error message to user
+            }
+        }
+
+        // Decode piece sprites and common icons while the landing screen is up
+        AssetHelper.warmUp();
+        PieceAtlas.warmUp(1.0);
+
+        StackPane root = new StackPane();
+        root.setStyle("-fx-background-color: black;");
+
+        Pane stageLayer = new Pane();
+        stageLayer.setPrefSize(CANVAS_WIDTH, CANVAS_HEIGHT);
+        stageLayer.setMinSize(Pane.USE_PREF_SIZE, Pane.USE_PREF_SIZE);
+        stageLayer.setMaxSize(Pane.USE_PREF_SIZE, Pane.USE_PREF_SIZE);
+
+        // Compute responsive scale identical to CSS (--scale)
+        DoubleProperty scale = new SimpleDoubleProperty(1);
+        scale.bind(Bindings.createDoubleBinding(
+                () -> Math.min(root.getWidth() / CANVAS_WIDTH, root.getHeight() / CANVAS_HEIGHT),
+                root.widthProperty(),
+                root.heightProperty()));
+        stageLayer.scaleXProperty().bind(scale);
+        stageLayer.scaleYProperty().bind(scale);
+        state.renderScaleProperty().bind(scale);
+
+        BackgroundLayer background = new BackgroundLayer("bg.jpg");
+
+        TitleImage cnTitle = TitleImage.cnTitle(state);
+        TitleImage enTitle = TitleImage.enTitle(state);
+
+        BoardComponent board = new BoardComponent(state);
+        board.setOnMouseClicked(evt -> state.toggleBoardState());
+
+        // Panels are registered in z-order; most are built on first show or prewarmed after the first frame
+        PanelRegistry panels = new PanelRegistry(state, stageLayer);
+        panels.add(background);
+        panels.add(cnTitle);
+        panels.add(enTitle);
+        panels.add(board);
+
+        panels.lazy(state.authPanelVisibleProperty(), () -> {
+            AuthPanel panel = new AuthPanel(state);
+            panel.setAlignment(Pos.CENTER);
+            return panel;
+        }).prewarm();
+        panels.lazy(state.loginVisibleProperty(), () -> new LoginPanel(state)).prewarm();
+        panels.lazy(state.registerVisibleProperty(), () -> new RegisterPanel(state)).prewarm();
+
+        panels.lazy(UIState.AppState.MAIN_MENU, () -> new MainMenuPanel(state)).prewarm();
+        PanelRegistry.Slot<GameModePanel> gameModePanel = panels.lazy(state.gameModeVisibleProperty(), () -> new GameModePanel(state));
+        PanelRegistry.Slot<ClassicModePanel> classicModePanel = panels.lazy(state.classicModeVisibleProperty(), () -> new ClassicModePanel(state));
+        PanelRegistry.Slot<BlitzModePanel> blitzModePanel = panels.lazy(state.blitzModeVisibleProperty(), () -> new BlitzModePanel(state));
+        PanelRegistry.Slot<CustomModePanel> customModePanel = panels.lazy(state.customModeVisibleProperty(), () -> new CustomModePanel(state));
+        PanelRegistry.Slot<WaitingPanel> waitingPanel = panels.lazy(state.waitingVisibleProperty(), () -> new WaitingPanel(state));
+        // PlayWithFriendPanel, FriendsPanel, GamePanel and the history panels receive network callbacks
+        // while hidden, so they are always prewarmed rather than left until first show
+        PanelRegistry.Slot<PlayWithFriendPanel> playWithFriendPanel = panels.lazy(state.friendsVisibleProperty(), () -> new PlayWithFriendPanel(state)).prewarm();
+        panels.lazy(state.gameVisibleProperty(), () -> new GamePanel(state)).prewarm();
+        panels.lazy(state.settingsVisibleProperty(), () -> new SettingsPanel(state));
+        PanelRegistry.Slot<FriendsPanel> friendsPanel = panels.lazy(state.friendsVisibleProperty(), () -> new FriendsPanel(state)).prewarm();
+        panels.lazy(state.inventoryVisibleProperty(), () -> new InventoryPanel(state))
+                .releaseWhenHidden(Duration.minutes(2), InventoryPanel::dispose);
+        PanelRegistry.Slot<HistoryPanel> historyPanel = panels.lazy(state.historyVisibleProperty(), () -> new HistoryPanel(state)).prewarm();
+        // ProfilePanel wraps HistoryPanel's history callback, so HistoryPanel must exist first
+        PanelRegistry.Slot<ProfilePanel> profilePanel = panels.lazy(state.profileVisibleProperty(), () -> {
+            historyPanel.get();
+            return new ProfilePanel(state);
+        }).prewarm();
+        historyPanel.onBuilt(panel -> profilePanel.get());
+        PanelRegistry.Slot<ReplayPanel> replayPanel = panels.lazy(state.replayVisibleProperty(), () -> new ReplayPanel(state));
+        PanelRegistry.Slot<RankingPanel> rankingPanel = panels.lazy(state.rankingVisibleProperty(), () -> new RankingPanel(state))
+                .releaseWhenHidden(Duration.minutes(2), RankingPanel::dispose);
+        panels.lazy(state.aiDifficultyVisibleProperty(), () -> new AIDifficultyPanel(state));
+        panels.add(new ReconnectingOverlay(state));  // Reconnecting overlay
+        panels.add(new ToastNotification(state));    // Toast notification
+        panels.add(new PerformanceHud(state));       // FPS/RTT overlay (F3) - add last so it appears on top
+
+        // Likely next screens once the user is in the main menu
+        panels.prewarmOn(UIState.AppState.MAIN_MENU, gameModePanel, classicModePanel, blitzModePanel, customModePanel, waitingPanel, replayPanel);
+
+        StackPane.setAlignment(stageLayer, Pos.CENTER);
+        root.getChildren().add(stageLayer);
+        
+        // Set root pane for friend handler and friends panel to show dialogs
+        networkManager.setFriendHandlerRootPane(stageLayer);
+        
+        // Set root pane for PlayWithFriendPanel to show challenge request dialogs
+        // and hand it to the game handler to handle challenge requests/responses
+        playWithFriendPanel.onBuilt(panel -> {
+            panel.setRootPane(stageLayer);
+            networkManager.setGameHandlerPlayWithFriendPanel(panel);
+        });
+        
+        // Create callback chain for online players updates so both FriendsPanel and PlayWithFriendPanel receive updates
+        Consumer<List<String>> onlinePlayersChain = players -> {
+            // Call FriendsPanel's update method
+            friendsPanel.ifBuilt(panel -> panel.updateOnlinePlayers(players));
+            // Call PlayWithFriendPanel's update method
+            playWithFriendPanel.ifBuilt(panel -> panel.updateOnlinePlayers(players));
+        };
+        state.setOnlinePlayersUpdateCallback(onlinePlayersChain);
+        friendsPanel.onBuilt(panel -> {
+            panel.setRootPane(stageLayer);
+            // FriendsPanel registers its own online players callback when built, put the chain back
+            state.setOnlinePlayersUpdateCallback(onlinePlayersChain);
+        });
+        
+        // Register callback for leaderboard updates
+        state.setLeaderboardUpdateCallback(response -> {
+            rankingPanel.ifBuilt(panel -> panel.updateLeaderboard(response));
+        });
+        
+        // Register callback for online players not in game updates
+        state.setOnlinePlayersNotInGameUpdateCallback(players -> {
+            playWithFriendPanel.ifBuilt(panel -> panel.updateOnlinePlayersNotInGame(players));
+        });
+        
+        // Register callback for friend elo updates
+        state.setFriendEloUpdateCallback((username, timeControl, elo) -> {
+            playWithFriendPanel.ifBuilt(panel -> panel.updateFriendElo(username, timeControl, elo));
+        });
+
+        Scene scene = new Scene(root, 1920, 1080);
+        StartupTrace.watchFirstPulse(scene);
+        Metrics.watchPulses(scene);
+        // F3: performance HUD
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F3) {
+                state.togglePerformanceHud();
+                e.consume();
+            }
+        });
+        Path cssPath = AssetHelper.getStylesheet();
+            scene.getStylesheets().add(cssPath.toUri().toString());
+
+        stage.setTitle("Chinese Chess");
+        stage.setScene(scene);
+        stage.setResizable(true);
+        stage.show();
+        
+        StartupTrace.mark("stage shown");
+        
+        // Build the remaining panels in idle time now that the first frame is up;
+        // once the startup prewarm queue is empty the client counts as interactive
+        panels.setOnIdle(() -> StartupTrace.interactiveAtNextPulse(scene));
+        panels.start();
+        
+        // Start replay after the UI is up so handlers see the same scene graph as a live session
+        if (replayMode) {
+            try {
+                double speed = Double.parseDouble(System.getProperty("replay.speed", "1.0"));
+                List<TrafficReplay.Frame> frames = TrafficReplay.session(TrafficReplay.read(replayFile),
+                    Integer.getInteger("replay.session"));
+                new TrafficReplay(frames, speed).start(networkManager);
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Failed to start replay: " + e.getMessage());
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        StartupTrace.mark("Main.main");
+        // Default values
+        String host = "localhost";
+        int port = 8080;
+        
+        // Parse server config from system property: -Dserver=ip:port
+        String serverArg = System.getProperty("server");
+        
+        if ("mock".equals(serverArg)) {
+            // In-process mock server for offline development (-Dmock.scenario, -Dmock.script),
+            // only present when the mock-server module is on the path (client-fx "mock" profile)
+            DevServer mock = ServiceLoader.load(DevServer.class).findFirst().orElse(null);
+            if (mock == null) {
+                System.err.println("-Dserver=mock needs the mock-server module (from frontend/: mvn javafx:run -Dserver=mock)");
+            } else {
+                try {
+                    port = mock.start();
+                } catch (IOException e) {
+                    System.err.println("Failed to start mock server: " + e.getMessage());
+                }
+            }
+        } else if (serverArg != null && !serverArg.isEmpty()) {
+            String[] parts = serverArg.split(":");
+            if (parts.length > 0 && !parts[0].isEmpty()) {
+                host = parts[0];
+            }
+            if (parts.length > 1) {
+                try {
+                    port = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid port '" + parts[1] + "', using default 8080");
+                    port = 8080;
+                }
+            }
+        } else {
+            // Using default values
+            System.out.println("No server config provided, using default: localhost:8080");
+            System.out.println("Usage: ./mvnw javafx:run -Dserver=ip:port");
+        }
+        
+        // Always set server config (with defaults if not provided)
+        NetworkManager.setServerConfig(host, port);
+        System.out.println("Server config set to: " + host + ":" + port);
+        
+        launch(args);
+    }
+}
@@ -1,7 +1,7 @@
 package application.components;
 
 import application.state.UIState;
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
@@ -1,7 +1,7 @@
 package application.components;
 
 import application.state.UIState;
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
@@ -415,14 +415,8 @@ public class BlitzModePanel extends StackPane {
         });
         
         button.setOnMouseClicked(e -> {
-            // Lấy giá trị thời gian đã chọn
-            String selectedTime = getSelectedTimeValue();
-            
-            // Timer 1 và 4 = thời gian đã chọn, Timer 2 và 3 = "10:00"
-            state.setTimer1Value(selectedTime);
-            state.setTimer2Value("10:00");
-            state.setTimer3Value("10:00");
-            state.setTimer4Value(selectedTime);
+            // Timer 1 và 4 = thời gian đã chọn, Timer 2 và 3 = 10 phút
+            state.setTimerSeconds(getSelectedTimeInSeconds(), 600);
             
             // Kiểm tra xem đã chọn option nào
             String selectedOption = null;
@@ -0,0 +1,128 @@
+package application.components;
+
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+
+/**
+ * Chỉ mục ô cờ -> quân cờ (ImageView) đi kèm pieces container
+ * Thay cho việc duyệt container.getChildren() mỗi lần cần tìm quân ở một ô:
+ * squares[row * 9 + col] luôn khớp với PieceInfo.row/col của quân đang đứng ở đó.
+ * Cập nhật ở mọi thao tác đặt quân, đi quân, ăn quân và reset bàn cờ.
+ */
+public class BoardViewModel {
+    
+    public static final int ROWS = 10;
+    public static final int COLS = 9;
+    
+    private final Pane container;
+    private final ImageView[] squares = new ImageView[ROWS * COLS];
+    
+    public BoardViewModel(Pane container) {
+        this.container = container;
+    }
+    
+    public static int index(int row, int col) {
+        return row * COLS + col;
+    }
+    
+    private static boolean inBounds(int row, int col) {
+        return row >= 0 && row < ROWS && col >= 0 && col < COLS;
+    }
+    
+    public Pane getContainer() {
+        return container;
+    }
+    
+    /**
+     * Quân cờ đang đứng ở ô (row, col), null nếu ô trống (frontend coordinates)
+     */
+    public ImageView at(int row, int col) {
+        return inBounds(row, col) ? squares[index(row, col)] : null;
+    }
+    
+    /**
+     * Ghi quân cờ vào ô (row, col) và cập nhật PieceInfo. Không thêm node vào container.
+     */
+    public void put(ImageView piece, int row, int col) {
+        if (!inBounds(row, col)) {
+            return;
+        }
+        ChessBoardManager.PieceInfo info = (ChessBoardManager.PieceInfo) piece.getUserData();
+        if (info != null) {
+            info.row = row;
+            info.col = col;
+        }
+        squares[index(row, col)] = piece;
+    }
+    
+    /**
+     * Dời quân ở from sang to. Quân bị ăn (nếu có) được gỡ khỏi container và trả về.
+     * Chỉ cập nhật chỉ mục và PieceInfo, vị trí pixel do caller đặt.
+     * @return quân bị ăn, hoặc null
+     */
+    public ImageView move(int fromRow, int fromCol, int toRow, int toCol) {
+        ImageView piece = at(fromRow, fromCol);
+        if (piece == null || !inBounds(toRow, toCol)) {
+            return null;
+        }
+        ImageView captured = squares[index(toRow, toCol)];
+        if (captured == piece) {
+            captured = null;
+        }
+        if (captured != null) {
+            container.getChildren().remove(captured);
+        }
+        squares[index(fromRow, fromCol)] = null;
+        put(piece, toRow, toCol);
+        return captured;
+    }
+    
+    /**
+     * Gỡ quân ở ô (row, col) khỏi chỉ mục và container
+     */
+    public ImageView remove(int row, int col) {
+        ImageView piece = at(row, col);
+        if (piece != null) {
+            squares[index(row, col)] = null;
+            container.getChildren().remove(piece);
+        }
+        return piece;
+    }
+    
+    /**
+     * Gỡ quân ở ô (row, col) khỏi chỉ mục nhưng giữ node trong container (để tái sử dụng khi seek)
+     */
+    public ImageView take(int row, int col) {
+        ImageView piece = at(row, col);
+        if (piece != null) {
+            squares[index(row, col)] = null;
+        }
+        return piece;
+    }
+    
+    /**
+     * Xóa chỉ mục (khi vẽ lại bàn cờ); các node trong container do caller gỡ
+     */
+    public void clear() {
+        java.util.Arrays.fill(squares, null);
+    }
+    
+    /**
+     * Board dạng ký tự (uppercase = đỏ) dựng từ chỉ mục, không duyệt scene graph
+     */
+    public char[][] toCharBoard() {
+        char[][] board = new char[ROWS][COLS];
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                ImageView piece = squares[index(row, col)];
+                char c = ' ';
+                if (piece != null && piece.getUserData() instanceof ChessBoardManager.PieceInfo) {
+                    ChessBoardManager.PieceInfo info = (ChessBoardManager.PieceInfo) piece.getUserData();
+                    c = ChessBoardManager.getPieceChar(info.pieceType, "red".equals(info.color));
+                }
+                board[row][col] = c;
+            }
+        }
+        return board;
+    }
+}
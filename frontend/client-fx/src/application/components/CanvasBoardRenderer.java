@@ -0,0 +1,338 @@
+package application.components;
+
+import application.game.GameState;
+import javafx.geometry.Bounds;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
+
+/**
+ * Renderer bàn cờ trên một Canvas duy nhất (thay cho ~32 ImageView có DropShadow + 90 ô click + layer highlight)
+ *
+ * Quân cờ được vẽ từ sprite đã bake sẵn bóng đổ (snapshot một lần cho mỗi loại quân và bậc scale, ảnh lấy từ PieceAtlas),
+ * chấm nước đi, vòng ăn quân, đánh dấu nước vừa đi, gợi ý và premove đều vẽ trực tiếp bằng GraphicsContext.
+ * Click được quy ra ô bằng phép tính lưới (hitTest), không cần node cho từng ô.
+ * Vẽ lại toàn bộ khi model ván cờ đổi (onMove/onReset) hoặc khi trạng thái chọn/gợi ý thay đổi.
+ */
+public class CanvasBoardRenderer {
+    
+    private static final Color LAST_MOVE_COLOR = Color.web("#8BC34A", 0.9);
+    private static final Color SELECT_COLOR = Color.web("#FFD700", 0.45);
+    private static final Color SUGGEST_COLOR = Color.web("#FFD700");
+    private static final Color PREMOVE_COLOR = Color.web("#4FC3F7");
+    
+    // Sprite: ảnh quân cờ đã có bóng đổ, bake ở bậc scale 'scale' (ảnh lớn gấp 'scale' lần kích thước logic),
+    // (dx, dy) = lệch của ảnh so với góc quân cờ, (w, h) = kích thước quân cờ (đơn vị logic)
+    private static final class Sprite {
+        final Image image;
+        final double scale;
+        final double dx;
+        final double dy;
+        final double w;
+        final double h;
+        
+        Sprite(Image image, double scale, double dx, double dy, double w, double h) {
+            this.image = image;
+            this.scale = scale;
+            this.dx = dx;
+            this.dy = dy;
+            this.w = w;
+            this.h = h;
+        }
+    }
+    
+    // Bậc scale (PieceAtlas.quantize) -> loại quân -> sprite. Chỉ dùng trên FX thread (snapshot bắt buộc chạy trên FX thread)
+    private static final java.util.Map<Double, java.util.Map<Character, Sprite>> SPRITES = new java.util.HashMap<>();
+    
+    private final GameState gameState;
+    private final Canvas canvas = new Canvas(ChessBoardManager.BOARD_SIZE, ChessBoardManager.BOARD_SIZE);
+    private final GameState.Listener listener;
+    
+    private int[] selected = null;  // {row, col} quân đang chọn
+    private java.util.List<int[]> targets = java.util.Collections.emptyList();  // {row, col} các ô hợp lệ
+    private int[] suggest = null;  // {fromRow, fromCol, toRow, toCol}
+    private java.util.List<int[]> premoves = java.util.Collections.emptyList();
+    private int[] premoveFrom = null;
+    private double pieceRotation = 0;
+    private double renderScale = 1.0;  // đã làm tròn theo PieceAtlas.quantize
+    
+    public CanvasBoardRenderer(GameState gameState) {
+        this.gameState = gameState;
+        this.listener = new GameState.Listener() {
+            @Override
+            public void onReset(GameState s) {
+                clearSelection();
+            }
+            
+            @Override
+            public void onMove(GameState s, GameState.Move move) {
+                clearSelection();
+            }
+        };
+        gameState.addListener(listener);
+        redraw();
+    }
+    
+    public Canvas getCanvas() {
+        return canvas;
+    }
+    
+    /**
+     * Ngừng nghe model (khi bàn cờ được dựng lại hoặc đổi renderer)
+     */
+    public void dispose() {
+        gameState.removeListener(listener);
+    }
+    
+    /**
+     * Quy tọa độ click (local của canvas) ra ô {row, col} theo giao điểm gần nhất, null nếu ngoài bàn cờ
+     */
+    public int[] hitTest(double x, double y) {
+        int col = (int) Math.round((x - ChessBoardManager.BOARD_START) / ChessBoardManager.SPACING_X);
+        int row = (int) Math.round((y - ChessBoardManager.BOARD_START) / ChessBoardManager.SPACING_Y);
+        if (row < 0 || row >= 10 || col < 0 || col >= 9) {
+            return null;
+        }
+        return new int[]{row, col};
+    }
+    
+    public int[] getSelected() {
+        return selected;
+    }
+    
+    public boolean isTarget(int row, int col) {
+        for (int[] t : targets) {
+            if (t[0] == row && t[1] == col) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public void select(int row, int col, java.util.List<int[]> validMoves) {
+        this.selected = new int[]{row, col};
+        this.targets = validMoves;
+        redraw();
+    }
+    
+    public void clearSelection() {
+        this.selected = null;
+        this.targets = java.util.Collections.emptyList();
+        redraw();
+    }
+    
+    public void setSuggest(int[] move) {
+        this.suggest = move;
+        redraw();
+    }
+    
+    public void setPremoves(java.util.List<int[]> premoves, int[] premoveFrom) {
+        this.premoves = premoves;
+        this.premoveFrom = premoveFrom;
+        redraw();
+    }
+    
+    /**
+     * Xoay từng quân cờ (giữ chữ đúng chiều khi bàn cờ xoay 180 độ)
+     */
+    public void setPieceRotation(double degrees) {
+        this.pieceRotation = degrees;
+        redraw();
+    }
+    
+    /**
+     * Hệ số scale của cửa sổ (UIState.renderScale): đổi sang sprite của bậc scale mới và vẽ lại nếu bậc thay đổi
+     */
+    public void setRenderScale(double scale) {
+        double quantized = PieceAtlas.quantize(scale);
+        if (quantized == renderScale) {
+            return;
+        }
+        this.renderScale = quantized;
+        redraw();
+    }
+    
+    public void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        char[][] board = gameState.getBoard();
+        double spacing = Math.min(ChessBoardManager.SPACING_X, ChessBoardManager.SPACING_Y);
+        
+        // Nước vừa đi: chấm nhỏ ở ô đi, vòng ở ô đến (dưới quân cờ)
+        java.util.List<GameState.Move> moves = gameState.getMoves();
+        if (!moves.isEmpty()) {
+            GameState.Move last = moves.get(moves.size() - 1);
+            gc.setFill(LAST_MOVE_COLOR);
+            fillCircle(gc, intersectionX(last.fromCol), intersectionY(last.fromRow), spacing * 0.12);
+            gc.setStroke(LAST_MOVE_COLOR);
+            gc.setLineWidth(3);
+            strokeCircle(gc, centerX(last.toCol, last.isRed()), centerY(last.toRow, last.isRed()), spacing * 0.47);
+        }
+        
+        // Quân cờ (quân đang chọn / được gợi ý có quầng vàng phía dưới)
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 9; col++) {
+                char piece = board[row][col];
+                if (piece == ' ' || piece == '\0') {
+                    continue;
+                }
+                boolean red = Character.isUpperCase(piece);
+                boolean isSelected = selected != null && selected[0] == row && selected[1] == col;
+                boolean isSuggested = suggest != null && suggest[0] == row && suggest[1] == col;
+                if (isSelected || isSuggested) {
+                    gc.setFill(isSuggested ? SUGGEST_COLOR.deriveColor(0, 1, 1, 0.6) : SELECT_COLOR);
+                    fillCircle(gc, centerX(col, red), centerY(row, red), ChessBoardManager.PIECE_WIDTH / 2.0 + 8);
+                }
+                drawPiece(gc, piece, row, col);
+            }
+        }
+        
+        // Ô hợp lệ của quân đang chọn: chấm tròn (ô trống) hoặc vòng tròn (ăn quân), cùng kiểu với renderer node
+        if (selected != null) {
+            char selectedPiece = board[selected[0]][selected[1]];
+            boolean selectedIsRed = Character.isUpperCase(selectedPiece);
+            Color dotColor = selectedIsRed ? Color.web("#DC143C") : Color.web("#1C1C1C");
+            for (int[] t : targets) {
+                char target = board[t[0]][t[1]];
+                boolean capture = target != ' ' && target != '\0' && Character.isUpperCase(target) != selectedIsRed;
+                if (capture) {
+                    boolean targetIsRed = Character.isUpperCase(target);
+                    gc.setStroke(dotColor);
+                    gc.setLineWidth(4.5);
+                    strokeCircle(gc, centerX(t[1], targetIsRed), centerY(t[0], targetIsRed), spacing * 0.45);
+                } else {
+                    double x = centerX(t[1], selectedIsRed);
+                    double y = centerY(t[0], selectedIsRed);
+                    gc.setFill(dotColor);
+                    fillCircle(gc, x, y, spacing * 0.15);
+                    gc.setStroke(Color.WHITE);
+                    gc.setLineWidth(1.5);
+                    strokeCircle(gc, x, y, spacing * 0.15);
+                }
+            }
+        }
+        
+        // Gợi ý: chấm vàng ở ô đến
+        if (suggest != null) {
+            char piece = board[suggest[0]][suggest[1]];
+            boolean red = Character.isUpperCase(piece);
+            double x = centerX(suggest[3], red);
+            double y = centerY(suggest[2], red);
+            gc.setFill(SUGGEST_COLOR);
+            fillCircle(gc, x, y, spacing * 0.2);
+            gc.setStroke(Color.web("#FFA500"));
+            gc.setLineWidth(3);
+            strokeCircle(gc, x, y, spacing * 0.2);
+        }
+        
+        // Premove: viền xanh ở ô đi/ô đến, chấm xanh ở quân đang chọn
+        for (int[] m : premoves) {
+            drawPremoveRing(gc, m[0], m[1], spacing);
+            drawPremoveRing(gc, m[2], m[3], spacing);
+        }
+        if (premoveFrom != null) {
+            double x = intersectionX(premoveFrom[1]);
+            double y = intersectionY(premoveFrom[0]);
+            gc.setFill(PREMOVE_COLOR);
+            fillCircle(gc, x, y, spacing * 0.45 * 0.35);
+            gc.setStroke(Color.WHITE);
+            gc.setLineWidth(1.5);
+            strokeCircle(gc, x, y, spacing * 0.45 * 0.35);
+        }
+    }
+    
+    private void drawPremoveRing(GraphicsContext gc, int row, int col, double spacing) {
+        double x = intersectionX(col);
+        double y = intersectionY(row);
+        gc.setFill(Color.web("#4FC3F7", 0.25));
+        fillCircle(gc, x, y, spacing * 0.45);
+        gc.setStroke(PREMOVE_COLOR);
+        gc.setLineWidth(3);
+        strokeCircle(gc, x, y, spacing * 0.45);
+    }
+    
+    private void drawPiece(GraphicsContext gc, char piece, int row, int col) {
+        Sprite sprite = sprite(piece);
+        boolean red = Character.isUpperCase(piece);
+        double x = ChessBoardManager.pieceLayoutX(col, red);
+        double y = ChessBoardManager.pieceLayoutY(row, red);
+        // Ảnh bake ở bậc scale của cửa sổ, vẽ về kích thước logic (stage layer scale lại như mọi node)
+        double imageW = sprite.image.getWidth() / sprite.scale;
+        double imageH = sprite.image.getHeight() / sprite.scale;
+        if (pieceRotation == 0) {
+            gc.drawImage(sprite.image, x + sprite.dx, y + sprite.dy, imageW, imageH);
+            return;
+        }
+        // Xoay quanh tâm quân cờ như ImageView.setRotate
+        gc.save();
+        gc.translate(x + sprite.w / 2.0, y + sprite.h / 2.0);
+        gc.rotate(pieceRotation);
+        gc.drawImage(sprite.image, sprite.dx - sprite.w / 2.0, sprite.dy - sprite.h / 2.0, imageW, imageH);
+        gc.restore();
+    }
+    
+    /**
+     * Sprite của một loại quân ở bậc scale hiện tại (lấy từ atlas cùng bậc), bake bóng đổ lần đầu dùng
+     */
+    private Sprite sprite(char piece) {
+        java.util.Map<Character, Sprite> sprites = SPRITES.computeIfAbsent(renderScale, k -> new java.util.HashMap<>());
+        Sprite cached = sprites.get(piece);
+        if (cached != null) {
+            return cached;
+        }
+        PieceAtlas atlas = PieceAtlas.forScale(renderScale);
+        ImageView view = new ImageView();
+        atlas.apply(view, piece);
+        view.setFitWidth(ChessBoardManager.PIECE_WIDTH);
+        view.setFitHeight(ChessBoardManager.PIECE_HEIGHT);
+        view.setPreserveRatio(true);
+        view.setSmooth(true);
+        DropShadow shadow = new DropShadow();
+        shadow.setColor(Color.color(0, 0, 0, 0.5));
+        shadow.setRadius(8);
+        shadow.setOffsetX(3);
+        shadow.setOffsetY(3);
+        view.setEffect(shadow);
+        
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        // Snapshot ở độ phân giải của bậc scale, để quân cờ không bị phóng to từ ảnh x1 trên màn hình lớn / HiDPI
+        params.setTransform(new Scale(renderScale, renderScale));
+        Bounds withShadow = view.getBoundsInLocal();
+        Bounds layout = view.getLayoutBounds();
+        Sprite sprite = new Sprite(view.snapshot(params, null), renderScale,
+            withShadow.getMinX(), withShadow.getMinY(), layout.getWidth(), layout.getHeight());
+        sprites.put(piece, sprite);
+        return sprite;
+    }
+    
+    private static double intersectionX(int col) {
+        return ChessBoardManager.BOARD_START + col * ChessBoardManager.SPACING_X;
+    }
+    
+    private static double intersectionY(int row) {
+        return ChessBoardManager.BOARD_START + row * ChessBoardManager.SPACING_Y;
+    }
+    
+    // Tâm quân cờ (giao điểm + offset theo màu)
+    private static double centerX(int col, boolean red) {
+        return ChessBoardManager.pieceLayoutX(col, red) + ChessBoardManager.PIECE_WIDTH / 2.0;
+    }
+    
+    private static double centerY(int row, boolean red) {
+        return ChessBoardManager.pieceLayoutY(row, red) + ChessBoardManager.PIECE_HEIGHT / 2.0;
+    }
+    
+    private static void fillCircle(GraphicsContext gc, double x, double y, double r) {
+        gc.fillOval(x - r, y - r, r * 2, r * 2);
+    }
+    
+    private static void strokeCircle(GraphicsContext gc, double x, double y, double r) {
+        gc.strokeOval(x - r, y - r, r * 2, r * 2);
+    }
+}
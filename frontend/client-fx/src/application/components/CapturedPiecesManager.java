@@ -1,5 +1,6 @@
 package application.components;
 
+import application.game.GameState;
 import application.state.UIState;
 import application.util.AssetHelper;
 import javafx.application.Platform;
@@ -23,6 +24,8 @@ public class CapturedPiecesManager {
     // This giúp bố trí đúng vị trí theo avatar của từng người chơi
     private final java.util.Map<String, Integer> playerCapturedPieces = new java.util.HashMap<>();
     private final java.util.Map<String, Integer> opponentCapturedPieces = new java.util.HashMap<>();
+    // Các nước đã tính vào hai map trên (để seek chỉ cộng/trừ phần chênh lệch)
+    private final java.util.List<GameState.Move> countedMoves = new java.util.ArrayList<>();
     
     // UI components for captured pieces display
     private VBox topLeftCapturedPieces = null;
@@ -167,6 +170,116 @@ public class CapturedPiecesManager {
         return iconContainer;
     }
     
+    /**
+     * Hiển thị quân bị ăn từ sự kiện của model ván cờ (reset khi model reset)
+     */
+    public void attachTo(GameState gameState) {
+        gameState.addListener(new GameState.Listener() {
+            @Override
+            public void onReset(GameState s) {
+                countedMoves.clear();
+                resetCapturedPieces();
+            }
+            
+            @Override
+            public void onMove(GameState s, GameState.Move move) {
+                countedMoves.add(move);
+                if (move.isCapture()) {
+                    String color = Character.isUpperCase(move.captured) ? "red" : "black";
+                    addCapturedPiece(color, ChessBoardManager.getPieceTypeFromChar(move.captured));
+                }
+            }
+            
+            @Override
+            public void onSeek(GameState s, int[] changedSquares) {
+                seekTo(s.getMoves());
+            }
+        });
+    }
+    
+    /**
+     * Replay seek: chỉ cộng/trừ các quân bị ăn giữa ply cũ và ply mới thay vì dựng lại từ đầu.
+     * Hai lịch sử cùng một ván nên chung phần đầu tới ply nhỏ hơn (kiểm tra bằng hash sau nước đó);
+     * nếu không khớp (ván khác) thì mới dựng lại toàn bộ.
+     */
+    private void seekTo(java.util.List<GameState.Move> history) {
+        int common = Math.min(countedMoves.size(), history.size());
+        boolean playerChanged = false;
+        boolean opponentChanged = false;
+        if (common > 0 && countedMoves.get(common - 1).hashAfter != history.get(common - 1).hashAfter) {
+            countedMoves.clear();
+            playerCapturedPieces.clear();
+            opponentCapturedPieces.clear();
+            common = 0;
+            playerChanged = true;
+            opponentChanged = true;
+        }
+        // Lùi: trả lại các quân bị ăn sau ply mới
+        for (int i = countedMoves.size() - 1; i >= common; i--) {
+            GameState.Move move = countedMoves.remove(i);
+            if (move.isCapture()) {
+                if (adjustCaptured(move.captured, -1)) {
+                    playerChanged = true;
+                } else {
+                    opponentChanged = true;
+                }
+            }
+        }
+        // Tiến: thêm các quân bị ăn từ ply cũ tới ply mới
+        for (int i = common; i < history.size(); i++) {
+            GameState.Move move = history.get(i);
+            countedMoves.add(move);
+            if (move.isCapture()) {
+                if (adjustCaptured(move.captured, 1)) {
+                    playerChanged = true;
+                } else {
+                    opponentChanged = true;
+                }
+            }
+        }
+        if (playerChanged) {
+            refreshDisplay(true);
+        }
+        if (opponentChanged) {
+            refreshDisplay(false);
+        }
+    }
+    
+    /**
+     * Cộng delta vào số quân loại này trong map của bên đã ăn
+     * @return true nếu người chơi là bên ăn quân
+     */
+    private boolean adjustCaptured(char captured, int delta) {
+        String playerColor = state.isPlayerRed() ? "red" : "black";
+        String capturedColor = Character.isUpperCase(captured) ? "red" : "black";
+        boolean capturedByPlayer = !capturedColor.equals(playerColor);
+        java.util.Map<String, Integer> targetMap = capturedByPlayer ? playerCapturedPieces : opponentCapturedPieces;
+        String pieceType = ChessBoardManager.getPieceTypeFromChar(captured);
+        int count = targetMap.getOrDefault(pieceType, 0) + delta;
+        if (count > 0) {
+            targetMap.put(pieceType, count);
+        } else {
+            targetMap.remove(pieceType);
+        }
+        return capturedByPlayer;
+    }
+    
+    /**
+     * Vẽ lại hàng quân bị ăn của một bên (đang ở FX thread: seek chạy từ ReplayPanel)
+     */
+    private void refreshDisplay(boolean capturedByPlayer) {
+        // Cùng cách ánh xạ container/màu như addCapturedPiece
+        VBox displayContainer = capturedByPlayer ? topLeftCapturedPieces : bottomRightCapturedPieces;
+        if (displayContainer == null || displayContainer.getUserData() == null) {
+            return;
+        }
+        String playerColor = state.isPlayerRed() ? "red" : "black";
+        String opponentColor = playerColor.equals("red") ? "black" : "red";
+        updateCapturedPiecesDisplay((HBox) displayContainer.getUserData(),
+            capturedByPlayer ? playerCapturedPieces : opponentCapturedPieces,
+            capturedByPlayer ? opponentColor : playerColor);
+    }
+    
     /**
      * Reset danh sách quân cờ đã bị ăn (khi bắt đầu game mới)
      */
@@ -170,7 +170,7 @@ public class ChatManager {
                     if (!message.isEmpty()) {
                         // Gửi message qua network
                         try {
-                            application.network.NetworkManager.getInstance().game().sendMessage(message);
+                            application.network.fx.NetworkManager.getInstance().game().sendMessage(message);
                         } catch (Exception ex) {
                             System.err.println("[ChatManager] Error sending message: " + ex.getMessage());
                         }
@@ -1,7 +1,7 @@
 package application.components;
 
+import application.game.GameState;
 import application.state.UIState;
-import application.util.AssetHelper;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
@@ -24,16 +24,39 @@ public class ChessBoardManager {
     
     // Reference to pieces container để có thể highlight suggest move
     private Pane piecesContainerRef = null;
+    // Chỉ mục ô -> quân cờ của container hiện tại (tạo lại mỗi lần createChessPieces)
+    private BoardViewModel boardViewRef = null;
     
-    // Callbacks để giao tiếp với các manager khác
-    private java.util.function.BiConsumer<String, String> onPieceCaptured = null;  // (color, pieceType)
-    private java.util.function.Consumer<String> onMoveAdded = null;  // (moveText)
-    private java.util.function.Consumer<String> onMoveAddedWithDetails = null;  // (color, pieceType, fromRow, fromCol, toRow, toCol, capturedInfo)
-    private Runnable onTurnChanged = null;
+    // Model ván cờ (nguồn sự thật duy nhất): vị trí, lượt đi, danh sách nước, quân bị ăn, hash
+    // Quân cờ trên bàn được vẽ lại từ sự kiện onMove; các manager khác (captured, history, timer) cũng nghe model này
+    private final GameState gameState = new GameState();
     
     // Callback để gửi MOVE message đến server
     private MoveCallback onMoveMade = null;
     
+    // Premove: các nước đi xếp hàng trong lượt đối thủ, mỗi phần tử {fromRow, fromCol, toRow, toCol}
+    // Khi nước đi của đối thủ tới, nước đầu hàng được kiểm tra bằng luật và gửi ngay (hoặc bỏ cả hàng nếu không hợp lệ)
+    private boolean premoveEnabled = false;
+    private final java.util.ArrayDeque<int[]> premoves = new java.util.ArrayDeque<>();
+    private int[] premoveFrom = null;  // Ô đang chọn để xếp premove
+    private Pane highlightLayerRef = null;
+    private java.util.function.Consumer<int[]> executeMove = null;  // Đi một nước như người chơi click (gán trong createChessPieces)
+    private static final Color PREMOVE_COLOR = Color.web("#4FC3F7");
+    
+    // Renderer Canvas (null khi dùng renderer node mặc định), chọn theo state.boardRendererProperty()
+    private CanvasBoardRenderer canvasRenderer = null;
+    // Tạo quân cờ (node) có đủ handler click, dùng lại khi seek cần thêm quân (renderer node)
+    private java.util.function.BiFunction<String, String, ImageView> pieceFactory = null;
+    private double pieceRotation = 0.0;
+    
+    // Hình học bàn cờ (cùng giá trị với các biến local trong createChessPieces)
+    static final double BOARD_SIZE = 923.0;
+    static final double BOARD_START = 45.0;
+    static final double SPACING_X = (BOARD_SIZE - 2 * BOARD_START) / 8.0;
+    static final double SPACING_Y = (BOARD_SIZE - 2 * BOARD_START) / 9.0;
+    static final double PIECE_WIDTH = SPACING_X * 0.8;
+    static final double PIECE_HEIGHT = SPACING_Y * 0.8;
+    
     // Interface cho callback gửi move
     @FunctionalInterface
     public interface MoveCallback {
@@ -60,53 +83,126 @@ public class ChessBoardManager {
     public ChessBoardManager(UIState state, IGamePanel gamePanel) {
         this.state = state;
         this.gamePanel = gamePanel;
+        // Đăng ký đầu tiên: quân cờ trên bàn di chuyển trước khi các manager khác cập nhật
+        this.gameState.addListener(new GameState.Listener() {
+            @Override
+            public void onMove(GameState s, GameState.Move move) {
+                renderMove(move);
+            }
+            
+            @Override
+            public void onSeek(GameState s, int[] changedSquares) {
+                renderSeek(changedSquares);
+            }
+        });
+        // Cửa sổ đổi kích thước sang bậc scale khác: đổi quân trên bàn sang atlas / sprite tương ứng
+        state.renderScaleProperty().addListener((obs, oldVal, newVal) -> {
+            if (PieceAtlas.quantize(oldVal.doubleValue()) != PieceAtlas.quantize(newVal.doubleValue())) {
+                reskinPieces();
+                if (canvasRenderer != null) {
+                    canvasRenderer.setRenderScale(newVal.doubleValue());
+                }
+            }
+        });
     }
     
     /**
-     * Set callback khi quân cờ bị ăn
+     * Model ván cờ mà bàn cờ này hiển thị
      */
-    public void setOnPieceCaptured(java.util.function.BiConsumer<String, String> callback) {
-        this.onPieceCaptured = callback;
+    public GameState getGameState() {
+        return gameState;
     }
     
     /**
-     * Set callback khi thêm nước đi
+     * Set callback khi thực hiện nước đi (để gửi lên server)
      */
-    public void setOnMoveAdded(java.util.function.Consumer<String> callback) {
-        this.onMoveAdded = callback;
+    public void setOnMoveMade(MoveCallback callback) {
+        this.onMoveMade = callback;
     }
     
     /**
-     * Set callback khi thêm nước đi với chi tiết
+     * Bật premove (chỉ dùng cho ván đang chơi, không dùng cho replay)
      */
-    public void setOnMoveAddedWithDetails(java.util.function.Consumer<String> callback) {
-        this.onMoveAddedWithDetails = callback;
+    public void setPremoveEnabled(boolean enabled) {
+        this.premoveEnabled = enabled;
+        if (!enabled) {
+            clearPremoves();
+        }
     }
     
     /**
-     * Set callback khi đổi lượt
+     * Chỉ mục ô -> quân cờ của container tạo gần nhất (null nếu chưa tạo)
      */
-    public void setOnTurnChanged(Runnable callback) {
-        this.onTurnChanged = callback;
+    public BoardViewModel getBoardView() {
+        return boardViewRef;
     }
     
     /**
-     * Set callback khi thực hiện nước đi (để gửi lên server)
+     * Tạo container chứa các quân cờ ở vị trí ban đầu (chuẩn hoặc custom setup) và reset model
      */
-    public void setOnMoveMade(MoveCallback callback) {
-        this.onMoveMade = callback;
+    public Pane createChessPieces() {
+        return buildChessPieces(initialBoard(), true);
     }
     
     /**
-     * Tạo container chứa các quân cờ
+     * Dựng lại container từ vị trí hiện tại của model (đổi renderer giữa ván, không mất nước đi)
      */
-    public Pane createChessPieces() {
+    public Pane rebuildChessPieces() {
+        return buildChessPieces(gameState.copyBoard(), false);
+    }
+    
+    /**
+     * Vị trí ban đầu: custom setup (chỉ khi đang ở Custom Mode) hoặc vị trí chuẩn
+     */
+    private char[][] initialBoard() {
+        String currentMode = state.getCurrentGameMode();
+        java.util.Map<String, String> customSetup = state.getCustomBoardSetup();
+        if ("custom".equals(currentMode) && customSetup != null && !customSetup.isEmpty() && state.isUseCustomBoard()) {
+            return boardFromPieceMap(customSetup);
+        }
+        // Frontend: row 0 = top (Đỏ), row 9 = bottom (Đen)
+        GameState standard = new GameState();
+        standard.initializeBoard();
+        return standard.copyBoard();
+    }
+    
+    /**
+     * Map "row_col" -> "color_PieceType" (custom setup, x-fen) sang board ký tự
+     */
+    private static char[][] boardFromPieceMap(java.util.Map<String, String> pieces) {
+        char[][] board = new char[10][9];
+        for (char[] row : board) {
+            java.util.Arrays.fill(row, ' ');
+        }
+        for (java.util.Map.Entry<String, String> entry : pieces.entrySet()) {
+            String[] posParts = entry.getKey().split("_");
+            int row = Integer.parseInt(posParts[0]);
+            int col = Integer.parseInt(posParts[1]);
+            String[] pieceParts = entry.getValue().split("_");
+            board[row][col] = getPieceChar(pieceParts[1], "red".equals(pieceParts[0]));
+        }
+        return board;
+    }
+    
+    private Pane buildChessPieces(char[][] initial, boolean resetModel) {
+        // Bàn cờ mới: bỏ các premove của ván trước
+        premoves.clear();
+        premoveFrom = null;
+        if (canvasRenderer != null) {
+            canvasRenderer.dispose();
+            canvasRenderer = null;
+        }
+        if (state.isCanvasBoardRenderer()) {
+            return createCanvasBoard(initial, resetModel);
+        }
+        
         Pane container = new Pane();
         container.setPrefSize(923, 923);
         container.setVisible(true);
         container.setManaged(true);
         container.setMouseTransparent(false);
         container.setPickOnBounds(true);
+        BoardViewModel boardView = new BoardViewModel(container);
         
         // Kích thước bàn cờ: 9 cột x 10 hàng (giao điểm)
         // Bàn cờ có 9 giao điểm theo chiều ngang và 10 giao điểm theo chiều dọc
@@ -182,36 +278,9 @@ public class ChessBoardManager {
             // Xóa highlights cũ
             clearHighlights.accept(null);
             
-            // Tạo board state từ các quân cờ hiện tại
-            char[][] board = new char[10][9];
-            for (int i = 0; i < 10; i++) {
-                for (int j = 0; j < 9; j++) {
-                    board[i][j] = ' ';
-                }
-            }
-            
-            // Lấy thông tin quân cờ từ userData để xác định loại quân (dùng row/col từ PieceInfo)
-            ImageView piece = null;
-            for (javafx.scene.Node node : container.getChildren()) {
-                if (node instanceof ImageView) {
-                    ImageView imgView = (ImageView) node;
-                    if (imgView.getUserData() instanceof PieceInfo) {
-                        PieceInfo info = (PieceInfo) imgView.getUserData();
-                        // Dùng row/col từ PieceInfo thay vì tính từ pixel
-                        int pieceRow = info.row;
-                        int pieceCol = info.col;
-                        
-                        // Convert piece type to character
-                        char pieceChar = getPieceChar(info.pieceType, info.color.equals("red"));
-                        board[pieceRow][pieceCol] = pieceChar;
-                        
-                        // Tìm quân cờ tại vị trí được click (so sánh bằng row/col)
-                        if (pieceRow == row && pieceCol == col) {
-                            piece = imgView;
-                        }
-                    }
-                }
-            }
+            // Board lấy thẳng từ model, quân cờ tại ô được click lấy từ chỉ mục (không dựng lại từ node)
+            char[][] board = gameState.getBoard();
+            ImageView piece = boardView.at(row, col);
             
             if (piece == null) {
                 return;
@@ -372,121 +441,28 @@ public class ChessBoardManager {
             }
             
             if (isValidMove) {
-                // Kiểm tra xem có quân cờ nào ở vị trí đích không (dùng row/col từ PieceInfo)
-                ImageView capturedPiece = null;
-                for (javafx.scene.Node node : container.getChildren()) {
-                    if (node instanceof ImageView && node != selectedPiece[0] && 
-                        node != highlightLayer && node != clickLayer) {
-                        ImageView imgView = (ImageView) node;
-                        if (imgView.getUserData() instanceof PieceInfo) {
-                            PieceInfo pieceInfo = (PieceInfo) imgView.getUserData();
-                            
-                            // So sánh bằng row/col từ PieceInfo
-                            if (pieceInfo.row == toRow && pieceInfo.col == toCol) {
-                                // Tìm thấy quân cờ ở vị trí đích
-                                capturedPiece = imgView;
-                                
-                                // Kiểm tra màu của quân cờ bị ăn
-                                PieceInfo capturedInfo = (PieceInfo) capturedPiece.getUserData();
-                                
-                                if (capturedInfo != null && selectedInfo != null) {
-                                    boolean capturedIsRed = capturedInfo.color.equals("red");
-                                    boolean selectedIsRed = selectedInfo.color.equals("red");
-                                    
-                                    // Nếu cùng màu, không cho phép ăn (đã được validate bởi MoveValidator, nhưng double check)
-                                    if (capturedIsRed == selectedIsRed) {
-                                        return; // Không cho phép ăn quân cờ cùng màu
-                                    }
-                                }
-                                break;
-                            }
-                        }
-                    }
+                // Kiểm tra xem có quân cờ nào ở vị trí đích không (tra chỉ mục ô)
+                ImageView capturedPiece = boardView.at(toRow, toCol);
+                if (capturedPiece == selectedPiece[0]) {
+                    capturedPiece = null;
                 }
-                
-                // Nếu có quân cờ khác màu ở vị trí đích, xóa nó (ăn quân cờ)
                 if (capturedPiece != null) {
-                    PieceInfo capInfo = (PieceInfo) capturedPiece.getUserData();
-                    if (capInfo != null) {
-                        // Thông báo quân cờ đã bị ăn
-                        if (onPieceCaptured != null) {
-                            onPieceCaptured.accept(capInfo.color, capInfo.pieceType);
+                    // Kiểm tra màu của quân cờ bị ăn
+                    PieceInfo capturedInfo = (PieceInfo) capturedPiece.getUserData();
+                    
+                    if (capturedInfo != null && selectedInfo != null) {
+                        boolean capturedIsRed = capturedInfo.color.equals("red");
+                        boolean selectedIsRed = selectedInfo.color.equals("red");
+                        
+                        // Nếu cùng màu, không cho phép ăn (đã được validate bởi MoveValidator, nhưng double check)
+                        if (capturedIsRed == selectedIsRed) {
+                            return; // Không cho phép ăn quân cờ cùng màu
                         }
                     }
-                    container.getChildren().remove(capturedPiece);
                 }
                 
-                // Tính toán vị trí mới (dùng công thức đặt quân cờ)
-                double intersectionX = startX + toCol * intersectionSpacingX;
-                double intersectionY = startY + toRow * intersectionSpacingY;
-                
-                // Tính offset dựa trên màu quân cờ
-                double offsetX = 0;
-                double offsetY = 0;
-                if ("red".equals(selectedInfo.color)) {
-                    offsetY = -10;  // Dịch lên trên 10px
-                    if (toCol >= 5) {
-                        offsetX = 5;
-                    } else {
-                        offsetX = -4;
-                    }
-                } else if ("black".equals(selectedInfo.color)) {
-                    if (toCol < 5) {
-                        offsetX = -5;
-                    } else {
-                        offsetX = 9;
-                    }
-                }
-                
-                // Đặt tâm quân cờ tại giao điểm (trừ đi một nửa kích thước) + offset
-                double newX = intersectionX - pieceWidth / 2.0 + offsetX;
-                double newY = intersectionY - pieceHeight / 2.0 + offsetY;
-                
-                // Di chuyển quân cờ
-                selectedPiece[0].setLayoutX(newX);
-                selectedPiece[0].setLayoutY(newY);
-                
-                // CẬP NHẬT row/col trong PieceInfo (quan trọng!)
-                selectedInfo.row = toRow;
-                selectedInfo.col = toCol;
-                
-                // Lấy thông tin quân cờ
-                PieceInfo pieceInfo = selectedInfo;
-                if (pieceInfo != null && (fromRow != toRow || fromCol != toCol)) {
-                    // Thêm nước đi vào history với thông tin quân cờ bị ăn (nếu có)
-                    String capturedInfo = "";
-                    String capturedPieceType = null;
-                    if (capturedPiece != null) {
-                        PieceInfo capInfo = (PieceInfo) capturedPiece.getUserData();
-                        if (capInfo != null) {
-                            capturedInfo = String.format(" (captured %s %s)", 
-                                capInfo.color, capInfo.pieceType);
-                            capturedPieceType = capInfo.pieceType;
-                        }
-                    }
-                    
-                    // Xóa suggest highlights khi user thực hiện move
-                    clearSuggestHighlights();
-                    
-                    // GỬI MOVE MESSAGE ĐẾN SERVER TRƯỚC KHI CẬP NHẬT LOCAL
-                    if (onMoveMade != null) {
-                        onMoveMade.onMove(fromRow, fromCol, toRow, toCol, pieceInfo.pieceType, capturedPieceType);
-                    }
-                    
-                    // Thông báo nước đi đã được thực hiện
-                    if (onMoveAddedWithDetails != null) {
-                        String moveDetails = String.format("%s|%s|%d|%d|%d|%d|%s",
-                            pieceInfo.color, pieceInfo.pieceType, fromRow, fromCol, toRow, toCol, capturedInfo);
-                        onMoveAddedWithDetails.accept(moveDetails);
-                    }
-                    
-                    // Đổi lượt sau khi đi xong
-                    gamePanel.setCurrentTurn(gamePanel.getCurrentTurn().equals("red") ? "black" : "red");
-                    
-                    // Thông báo đã đổi lượt
-                    if (onTurnChanged != null) {
-                        onTurnChanged.run();
-                    }
+                if (fromRow != toRow || fromCol != toCol) {
+                    commitPlayerMove(fromRow, fromCol, toRow, toCol);
                 }
                 
                 // Xóa highlights
@@ -503,6 +479,13 @@ public class ChessBoardManager {
                 int cellCol = cellPos[1];
                 
                 cell.setOnMouseClicked(e -> {
+                    // Lượt đối thủ: click dùng để xếp premove
+                    if (isPremoveTurn()) {
+                        handlePremoveClick(cellRow, cellCol);
+                        e.consume();
+                        return;
+                    }
+                    
                     // Kiểm tra lượt: chỉ cho phép di chuyển nếu đang là lượt của quân cờ đã chọn
                     if (selectedPiece[0] != null) {
                         PieceInfo selectedPieceInfo = (PieceInfo) selectedPiece[0].getUserData();
@@ -539,7 +522,7 @@ public class ChessBoardManager {
                 // Capitalize first letter of color for filename (Red/Black)
                 String colorCapitalized = color.substring(0, 1).toUpperCase() + color.substring(1);
                 String imagePath = "pieces/" + color + "/Chinese-" + pieceType + "-" + colorCapitalized + ".png";
-                ImageView piece = new ImageView(AssetHelper.image(imagePath));
+                ImageView piece = createPieceView(color, pieceType);
                 piece.setFitWidth(pieceWidth);  // Kích thước quân cờ
                 piece.setFitHeight(pieceHeight);
                 piece.setPreserveRatio(true);
@@ -561,7 +544,7 @@ public class ChessBoardManager {
             // Tạo với row/col tạm thời (-1, -1), sẽ được cập nhật khi placePiece
             String colorCapitalized = color.substring(0, 1).toUpperCase() + color.substring(1);
             String imagePath = "pieces/" + color + "/Chinese-" + pieceType + "-" + colorCapitalized + ".png";
-            ImageView piece = new ImageView(AssetHelper.image(imagePath));
+            ImageView piece = createPieceView(color, pieceType);
             piece.setFitWidth(pieceWidth);
             piece.setFitHeight(pieceHeight);
             piece.setPreserveRatio(true);
@@ -593,6 +576,13 @@ public class ChessBoardManager {
                     e.consume();
                     return;
                 }
+                // Lượt đối thủ: click dùng để xếp premove
+                if (isPremoveTurn()) {
+                    handlePremoveClick(pieceInfo.row, pieceInfo.col);
+                    e.consume();
+                    return;
+                }
+                
                 String currentTurn = gamePanel.getCurrentTurn();
                 boolean playerIsRed = state.isPlayerRed();
                 String playerColor = playerIsRed ? "red" : "black";
@@ -705,6 +695,7 @@ public class ChessBoardManager {
             piece.setLayoutX(x);
             piece.setLayoutY(y);
             container.getChildren().add(piece);
+            boardView.put(piece, pos[0], pos[1]);
             };
         };
         
@@ -716,68 +707,16 @@ public class ChessBoardManager {
             createPlacePiece.apply(piece).accept(pos, color);
         };
         
-        // Check xem có custom board setup không - CHỈ load khi đang ở Custom Mode
-        String currentMode = state.getCurrentGameMode();
-        java.util.Map<String, String> customSetup = state.getCustomBoardSetup();
-        if ("custom".equals(currentMode) && customSetup != null && !customSetup.isEmpty() && state.isUseCustomBoard()) {
-            // Áp dụng custom board setup - CHỈ khi đang ở Custom Mode
-            for (java.util.Map.Entry<String, String> entry : customSetup.entrySet()) {
-                String[] posParts = entry.getKey().split("_");
-                int row = Integer.parseInt(posParts[0]);
-                int col = Integer.parseInt(posParts[1]);
-                String[] pieceParts = entry.getValue().split("_");
-                String color = pieceParts[0];
-                String pieceType = pieceParts[1];
-                
-                placePiece.accept(createPiece.apply(color, pieceType), new int[]{row, col});
+        // Đặt quân cờ theo board ký tự (vị trí chuẩn, custom setup hoặc vị trí hiện tại của model)
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 9; col++) {
+                char c = initial[row][col];
+                String pieceType = getPieceTypeFromChar(c);
+                if (pieceType != null) {
+                    String color = Character.isUpperCase(c) ? "red" : "black";
+                    placePiece.accept(createPiece.apply(color, pieceType), new int[]{row, col});
+                }
             }
-        } else {
-            // Standard starting positions - Sắp xếp quân cờ ĐỎ (hàng 0 = top)
-            // Frontend: row 0 = top (Đỏ), row 9 = bottom (Đen)
-            // Hàng 0: Xe, Mã, Tượng, Sĩ, Tướng, Sĩ, Tượng, Mã, Xe
-            placePiece.accept(createPiece.apply("red", "Rook"), new int[]{0, 0});
-            placePiece.accept(createPiece.apply("red", "Horse"), new int[]{0, 1});
-            placePiece.accept(createPiece.apply("red", "Elephant"), new int[]{0, 2});
-            placePiece.accept(createPiece.apply("red", "Advisor"), new int[]{0, 3});
-            placePiece.accept(createPiece.apply("red", "King"), new int[]{0, 4});
-            placePiece.accept(createPiece.apply("red", "Advisor"), new int[]{0, 5});
-            placePiece.accept(createPiece.apply("red", "Elephant"), new int[]{0, 6});
-            placePiece.accept(createPiece.apply("red", "Horse"), new int[]{0, 7});
-            placePiece.accept(createPiece.apply("red", "Rook"), new int[]{0, 8});
-            
-            // Hàng 2: Pháo ở cột 1 và 7
-            placePiece.accept(createPiece.apply("red", "Cannon"), new int[]{2, 1});
-            placePiece.accept(createPiece.apply("red", "Cannon"), new int[]{2, 7});
-            
-            // Hàng 3: Tốt ở cột 0, 2, 4, 6, 8
-            placePiece.accept(createPiece.apply("red", "Pawn"), new int[]{3, 0});
-            placePiece.accept(createPiece.apply("red", "Pawn"), new int[]{3, 2});
-            placePiece.accept(createPiece.apply("red", "Pawn"), new int[]{3, 4});
-            placePiece.accept(createPiece.apply("red", "Pawn"), new int[]{3, 6});
-            placePiece.accept(createPiece.apply("red", "Pawn"), new int[]{3, 8});
-            
-            // Sắp xếp quân cờ ĐEN (hàng 9 = bottom)
-            // Hàng 9: Xe, Mã, Tượng, Sĩ, Tướng, Sĩ, Tượng, Mã, Xe
-            placePiece.accept(createPiece.apply("black", "Rook"), new int[]{9, 0});
-            placePiece.accept(createPiece.apply("black", "Horse"), new int[]{9, 1});
-            placePiece.accept(createPiece.apply("black", "Elephant"), new int[]{9, 2});
-            placePiece.accept(createPiece.apply("black", "Advisor"), new int[]{9, 3});
-            placePiece.accept(createPiece.apply("black", "King"), new int[]{9, 4});
-            placePiece.accept(createPiece.apply("black", "Advisor"), new int[]{9, 5});
-            placePiece.accept(createPiece.apply("black", "Elephant"), new int[]{9, 6});
-            placePiece.accept(createPiece.apply("black", "Horse"), new int[]{9, 7});
-            placePiece.accept(createPiece.apply("black", "Rook"), new int[]{9, 8});
-            
-            // Hàng 7: Pháo ở cột 1 và 7
-            placePiece.accept(createPiece.apply("black", "Cannon"), new int[]{7, 1});
-            placePiece.accept(createPiece.apply("black", "Cannon"), new int[]{7, 7});
-            
-            // Hàng 6: Tốt ở cột 0, 2, 4, 6, 8
-            placePiece.accept(createPiece.apply("black", "Pawn"), new int[]{6, 0});
-            placePiece.accept(createPiece.apply("black", "Pawn"), new int[]{6, 2});
-            placePiece.accept(createPiece.apply("black", "Pawn"), new int[]{6, 4});
-            placePiece.accept(createPiece.apply("black", "Pawn"), new int[]{6, 6});
-            placePiece.accept(createPiece.apply("black", "Pawn"), new int[]{6, 8});
         }
         
         // Thêm highlight layer và click layer
@@ -789,10 +728,420 @@ public class ChessBoardManager {
         
         // Lưu reference để có thể highlight suggest move
         this.piecesContainerRef = container;
+        this.boardViewRef = boardView;
+        this.highlightLayerRef = highlightLayer;
+        this.pieceFactory = createPiece;
+        
+        // Model bắt đầu lại từ đúng vị trí vừa đặt (ván mới, custom setup), giữ nguyên lượt hiện tại
+        if (resetModel) {
+            gameState.resetTo(initial, !"black".equals(gamePanel.getCurrentTurn()));
+        }
+        
+        // Đi một nước {fromRow, fromCol, toRow, toCol} qua đúng đường của click (gửi server, history, đổi lượt)
+        this.executeMove = (m) -> {
+            ImageView piece = boardView.at(m[0], m[1]);
+            if (piece == null) {
+                return;
+            }
+            clearHighlights.accept(null);
+            selectedPiece[0] = piece;
+            validMovesList[0].add(new int[]{m[2], m[3]});
+            movePieceTo.accept(m[2], m[3]);
+        };
         
         return container;
     }
     
+    /**
+     * Nước đi của người chơi (đã qua kiểm tra luật): gửi lên server rồi áp dụng vào model
+     */
+    private void commitPlayerMove(int fromRow, int fromCol, int toRow, int toCol) {
+        char piece = gameState.pieceAt(fromRow, fromCol);
+        char captured = gameState.pieceAt(toRow, toCol);
+        
+        // Xóa suggest highlights khi user thực hiện move
+        clearSuggestHighlights();
+        
+        // GỬI MOVE MESSAGE ĐẾN SERVER TRƯỚC KHI CẬP NHẬT LOCAL
+        if (onMoveMade != null) {
+            onMoveMade.onMove(fromRow, fromCol, toRow, toCol, getPieceTypeFromChar(piece),
+                captured != ' ' ? getPieceTypeFromChar(captured) : null);
+        }
+        
+        // Cập nhật model: quân cờ, quân bị ăn, lịch sử, lượt đi và timer đều vẽ lại từ sự kiện onMove
+        gameState.applyMove(fromRow, fromCol, toRow, toCol);
+    }
+    
+    // ========== Renderer Canvas ==========
+    
+    /**
+     * Bàn cờ vẽ trên một Canvas: không có node cho từng quân/ô, click quy ra ô bằng phép tính lưới
+     */
+    private Pane createCanvasBoard(char[][] initial, boolean resetModel) {
+        Pane container = new Pane();
+        container.setPrefSize(BOARD_SIZE, BOARD_SIZE);
+        container.setPickOnBounds(true);
+        
+        if (resetModel) {
+            gameState.resetTo(initial, !"black".equals(gamePanel.getCurrentTurn()));
+        }
+        CanvasBoardRenderer renderer = new CanvasBoardRenderer(gameState);
+        renderer.setRenderScale(state.getRenderScale());
+        renderer.setPieceRotation(pieceRotation);
+        renderer.getCanvas().setOnMouseClicked(e -> {
+            int[] square = renderer.hitTest(e.getX(), e.getY());
+            if (square != null) {
+                handleCanvasClick(square[0], square[1]);
+            }
+            e.consume();
+        });
+        container.getChildren().add(renderer.getCanvas());
+        
+        this.canvasRenderer = renderer;
+        this.piecesContainerRef = container;
+        this.boardViewRef = null;
+        this.highlightLayerRef = null;
+        this.pieceFactory = null;
+        this.executeMove = (m) -> commitPlayerMove(m[0], m[1], m[2], m[3]);
+        return container;
+    }
+    
+    /**
+     * Click trên Canvas: chọn quân của mình / đi tới ô hợp lệ / bỏ chọn (cùng luật với renderer node)
+     */
+    private void handleCanvasClick(int row, int col) {
+        // Lượt đối thủ: click dùng để xếp premove
+        if (isPremoveTurn()) {
+            handlePremoveClick(row, col);
+            return;
+        }
+        
+        String currentTurn = gamePanel.getCurrentTurn();
+        String playerColor = state.isPlayerRed() ? "red" : "black";
+        int[] selected = canvasRenderer.getSelected();
+        if (selected != null && canvasRenderer.isTarget(row, col)) {
+            canvasRenderer.clearSelection();
+            commitPlayerMove(selected[0], selected[1], row, col);
+            return;
+        }
+        
+        char piece = gameState.pieceAt(row, col);
+        String color = piece == ' ' ? null : (Character.isUpperCase(piece) ? "red" : "black");
+        if (color != null && color.equals(currentTurn) && color.equals(playerColor)) {
+            canvasRenderer.select(row, col, application.game.MoveValidator.getValidMoves(gameState.getBoard(), row, col));
+        } else {
+            canvasRenderer.clearSelection();
+        }
+    }
+    
+    /**
+     * Xoay từng quân cờ để chữ đúng chiều khi bàn cờ xoay (renderer Canvas; renderer node xoay ImageView trực tiếp)
+     */
+    public void setPieceRotation(double degrees) {
+        this.pieceRotation = degrees;
+        if (canvasRenderer != null) {
+            canvasRenderer.setPieceRotation(degrees);
+        }
+    }
+    
+    // ========== Render từ model ==========
+    
+    /**
+     * Vẽ một nước đi của model lên bàn: dời node theo chỉ mục ô, gỡ quân bị ăn, đặt lại vị trí pixel
+     */
+    private void renderMove(GameState.Move move) {
+        if (boardViewRef == null) {
+            return;
+        }
+        ImageView piece = boardViewRef.at(move.fromRow, move.fromCol);
+        if (piece == null) {
+            System.err.println("[ChessBoardManager] No piece node at (" + move.fromRow + "," + move.fromCol + ") for model move");
+            return;
+        }
+        boardViewRef.move(move.fromRow, move.fromCol, move.toRow, move.toCol);
+        positionPiece(piece, move.toRow, move.toCol);
+    }
+    
+    /**
+     * Seek (replay): chỉ sửa các ô đã đổi. Quân rời ô được tái sử dụng cho ô mới có cùng loại quân,
+     * chỉ tạo node mới khi quân bị ăn xuất hiện lại (lùi qua nước ăn quân).
+     */
+    private void renderSeek(int[] changedSquares) {
+        if (boardViewRef == null || pieceFactory == null) {
+            return;
+        }
+        Pane container = boardViewRef.getContainer();
+        java.util.Map<Character, java.util.Deque<ImageView>> pool = new java.util.HashMap<>();
+        for (int square : changedSquares) {
+            ImageView piece = boardViewRef.take(square / BoardViewModel.COLS, square % BoardViewModel.COLS);
+            if (piece != null && piece.getUserData() instanceof PieceInfo) {
+                PieceInfo info = (PieceInfo) piece.getUserData();
+                char c = getPieceChar(info.pieceType, "red".equals(info.color));
+                pool.computeIfAbsent(c, k -> new java.util.ArrayDeque<>()).add(piece);
+            } else if (piece != null) {
+                container.getChildren().remove(piece);
+            }
+        }
+        
+        char[][] board = gameState.getBoard();
+        for (int square : changedSquares) {
+            int row = square / BoardViewModel.COLS;
+            int col = square % BoardViewModel.COLS;
+            char c = board[row][col];
+            String pieceType = getPieceTypeFromChar(c);
+            if (pieceType == null) {
+                continue;
+            }
+            java.util.Deque<ImageView> reusable = pool.get(c);
+            ImageView piece = reusable != null ? reusable.poll() : null;
+            if (piece == null) {
+                piece = pieceFactory.apply(Character.isUpperCase(c) ? "red" : "black", pieceType);
+                piece.setRotate(pieceRotation);
+                // Quân nằm dưới highlight layer như lúc tạo bàn cờ
+                int highlightIndex = highlightLayerRef != null ? container.getChildren().indexOf(highlightLayerRef) : -1;
+                if (highlightIndex >= 0) {
+                    container.getChildren().add(highlightIndex, piece);
+                } else {
+                    container.getChildren().add(piece);
+                }
+            }
+            boardViewRef.put(piece, row, col);
+            positionPiece(piece, row, col);
+        }
+        
+        // Quân không còn trên bàn ở vị trí mới (bị ăn)
+        for (java.util.Deque<ImageView> leftovers : pool.values()) {
+            container.getChildren().removeAll(leftovers);
+        }
+    }
+    
+    /**
+     * Đặt quân cờ tại giao điểm (row, col) - cùng công thức với createChessPieces
+     */
+    private static void positionPiece(ImageView piece, int row, int col) {
+        PieceInfo info = (PieceInfo) piece.getUserData();
+        boolean red = info != null && "red".equals(info.color);
+        piece.setLayoutX(pieceLayoutX(col, red));
+        piece.setLayoutY(pieceLayoutY(row, red));
+    }
+    
+    /**
+     * Góc trên-trái của quân cờ tại cột col: giao điểm - nửa kích thước + offset theo màu
+     * (quân đỏ dịch -4/+5px theo cột, quân đen -5/+9px)
+     */
+    static double pieceLayoutX(int col, boolean red) {
+        double offsetX = red ? (col >= 5 ? 5 : -4) : (col < 5 ? -5 : 9);
+        return BOARD_START + col * SPACING_X - PIECE_WIDTH / 2.0 + offsetX;
+    }
+    
+    /**
+     * Góc trên-trái của quân cờ tại hàng row (quân đỏ dịch lên 10px)
+     */
+    static double pieceLayoutY(int row, boolean red) {
+        double offsetY = red ? -10 : 0;
+        return BOARD_START + row * SPACING_Y - PIECE_HEIGHT / 2.0 + offsetY;
+    }
+    
+    /**
+     * ImageView quân cờ lấy từ atlas của bậc scale hiện tại (không decode PNG riêng cho từng quân)
+     */
+    private ImageView createPieceView(String color, String pieceType) {
+        ImageView piece = new ImageView();
+        PieceAtlas.forScale(state.getRenderScale()).apply(piece, getPieceChar(pieceType, "red".equals(color)));
+        return piece;
+    }
+    
+    /**
+     * Đổi các quân đang trên bàn sang atlas của bậc scale mới (renderer Canvas tự đổi sprite qua setRenderScale)
+     */
+    private void reskinPieces() {
+        if (boardViewRef == null) {
+            return;
+        }
+        PieceAtlas atlas = PieceAtlas.forScale(state.getRenderScale());
+        for (int row = 0; row < BoardViewModel.ROWS; row++) {
+            for (int col = 0; col < BoardViewModel.COLS; col++) {
+                ImageView piece = boardViewRef.at(row, col);
+                if (piece != null && piece.getUserData() instanceof PieceInfo) {
+                    PieceInfo info = (PieceInfo) piece.getUserData();
+                    atlas.apply(piece, getPieceChar(info.pieceType, "red".equals(info.color)));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Đường dẫn ảnh quân cờ theo ký tự (uppercase = đỏ)
+     */
+    static String pieceImagePath(char piece) {
+        String color = Character.isUpperCase(piece) ? "red" : "black";
+        String colorCapitalized = color.substring(0, 1).toUpperCase() + color.substring(1);
+        return "pieces/" + color + "/Chinese-" + getPieceTypeFromChar(piece) + "-" + colorCapitalized + ".png";
+    }
+    
+    // ========== Premove ==========
+    
+    /**
+     * Đang là lượt đối thủ trong ván có bật premove
+     */
+    private boolean isPremoveTurn() {
+        if (!premoveEnabled || piecesContainerRef == null) {
+            return false;
+        }
+        String playerColor = state.isPlayerRed() ? "red" : "black";
+        return !playerColor.equals(gamePanel.getCurrentTurn());
+    }
+    
+    /**
+     * Board hiện tại từ các quân cờ trên bàn (frontend coordinates)
+     */
+    private char[][] currentBoard() {
+        return gameState.copyBoard();
+    }
+    
+    /**
+     * Board sau khi áp dụng các premove đang xếp hàng (để xếp tiếp nước sau)
+     */
+    private char[][] boardAfterPremoves() {
+        char[][] board = currentBoard();
+        for (int[] m : premoves) {
+            board[m[2]][m[3]] = board[m[0]][m[1]];
+            board[m[0]][m[1]] = ' ';
+        }
+        return board;
+    }
+    
+    /**
+     * Click trong lượt đối thủ: chọn quân rồi chọn ô đích để xếp premove.
+     * Click vào ô không hợp lệ khi chưa chọn quân = hủy tất cả premove.
+     */
+    private void handlePremoveClick(int row, int col) {
+        char[][] board = boardAfterPremoves();
+        boolean playerIsRed = state.isPlayerRed();
+        char clicked = board[row][col];
+        boolean ownPiece = clicked != ' ' && Character.isUpperCase(clicked) == playerIsRed;
+        
+        if (premoveFrom == null || ownPiece) {
+            if (ownPiece && (premoveFrom == null || premoveFrom[0] != row || premoveFrom[1] != col)) {
+                premoveFrom = new int[]{row, col};
+            } else if (premoveFrom == null) {
+                clearPremoves();
+                return;
+            } else {
+                premoveFrom = null;  // Click lại quân đang chọn = bỏ chọn
+            }
+            drawPremoves();
+            return;
+        }
+        
+        // Đã chọn quân: chỉ nhận ô đích theo luật di chuyển (chưa biết nước của đối thủ nên không xét chiếu tướng)
+        boolean reachable = false;
+        for (int[] move : application.game.MoveValidator.getValidMoves(board, premoveFrom[0], premoveFrom[1])) {
+            if (move[0] == row && move[1] == col) {
+                reachable = true;
+                break;
+            }
+        }
+        if (reachable) {
+            premoves.add(new int[]{premoveFrom[0], premoveFrom[1], row, col});
+            System.out.println("[ChessBoardManager] Premove queued: (" + premoveFrom[0] + "," + premoveFrom[1] +
+                ") -> (" + row + "," + col + "), queue=" + premoves.size());
+        }
+        premoveFrom = null;
+        drawPremoves();
+    }
+    
+    /**
+     * Gọi ngay sau khi nước đi của đối thủ được áp dụng (cùng lượt xử lý trên FX thread).
+     * Nước đầu hàng được kiểm tra đầy đủ luật (kể cả chiếu tướng) rồi gửi đi;
+     * nếu không còn hợp lệ thì bỏ cả hàng vì các nước sau phụ thuộc vào nó.
+     * @return true nếu đã đi một premove
+     */
+    public boolean playPremove() {
+        premoveFrom = null;
+        if (premoves.isEmpty() || executeMove == null || isPremoveTurn() || !premoveEnabled) {
+            drawPremoves();
+            return false;
+        }
+        
+        int[] m = premoves.poll();
+        boolean legal = false;
+        java.util.List<int[]> legalMoves = application.game.GameEndChecker.getAllLegalMoves(currentBoard(), state.isPlayerRed());
+        for (int[] move : legalMoves) {
+            if (move[0] == m[0] && move[1] == m[1] && move[2] == m[2] && move[3] == m[3]) {
+                legal = true;
+                break;
+            }
+        }
+        
+        if (!legal) {
+            System.out.println("[ChessBoardManager] Premove (" + m[0] + "," + m[1] + ") -> (" + m[2] + "," + m[3] +
+                ") no longer legal, discarding " + (premoves.size() + 1) + " premove(s)");
+            clearPremoves();
+            return false;
+        }
+        
+        executeMove.accept(m);
+        drawPremoves();
+        return true;
+    }
+    
+    /**
+     * Hủy tất cả premove
+     */
+    public void clearPremoves() {
+        premoves.clear();
+        premoveFrom = null;
+        drawPremoves();
+    }
+    
+    /**
+     * Vẽ lại đánh dấu premove: viền xanh ở ô đi/ô đến, chấm xanh ở quân đang chọn
+     */
+    private void drawPremoves() {
+        if (canvasRenderer != null) {
+            canvasRenderer.setPremoves(new java.util.ArrayList<>(premoves), premoveFrom);
+            return;
+        }
+        if (highlightLayerRef == null) {
+            return;
+        }
+        highlightLayerRef.getChildren().removeIf(node -> "premove".equals(node.getUserData()));
+        
+        double boardSize = 923.0;
+        double startX = 45.0;
+        double startY = 45.0;
+        double intersectionSpacingX = (boardSize - 2 * startX) / 8.0;
+        double intersectionSpacingY = (boardSize - 2 * startY) / 9.0;
+        double radius = Math.min(intersectionSpacingX, intersectionSpacingY) * 0.45;
+        
+        java.util.List<int[]> squares = new java.util.ArrayList<>();
+        for (int[] m : premoves) {
+            squares.add(new int[]{m[0], m[1]});
+            squares.add(new int[]{m[2], m[3]});
+        }
+        for (int[] sq : squares) {
+            Circle ring = new Circle(radius);
+            ring.setFill(Color.web("#4FC3F7", 0.25));
+            ring.setStroke(PREMOVE_COLOR);
+            ring.setStrokeWidth(3);
+            ring.setLayoutX(startX + sq[1] * intersectionSpacingX);
+            ring.setLayoutY(startY + sq[0] * intersectionSpacingY);
+            ring.setUserData("premove");
+            highlightLayerRef.getChildren().add(ring);
+        }
+        if (premoveFrom != null) {
+            Circle dot = new Circle(radius * 0.35);
+            dot.setFill(PREMOVE_COLOR);
+            dot.setStroke(Color.WHITE);
+            dot.setStrokeWidth(1.5);
+            dot.setLayoutX(startX + premoveFrom[1] * intersectionSpacingX);
+            dot.setLayoutY(startY + premoveFrom[0] * intersectionSpacingY);
+            dot.setUserData("premove");
+            highlightLayerRef.getChildren().add(dot);
+        }
+    }
+    
     /**
      * Highlight suggest move: highlight quân cờ được suggest và chấm vàng ở nước đi
      * @param fromRow Frontend row (0-9)
@@ -806,6 +1155,10 @@ public class ChessBoardManager {
             System.err.println("[ChessBoardManager] piecesContainerRef is null, cannot highlight suggest move");
             return;
         }
+        if (canvasRenderer != null) {
+            canvasRenderer.setSuggest(new int[]{fromRow, fromCol, toRow, toCol});
+            return;
+        }
         
         // Tìm highlight layer bằng ID
         Pane highlightLayer = null;
@@ -840,25 +1193,15 @@ public class ChessBoardManager {
         highlightLayer.getChildren().removeAll(toRemove);
         
         // Tìm và highlight quân cờ được suggest
-        ImageView suggestedPiece = null;
-        for (javafx.scene.Node node : piecesContainerRef.getChildren()) {
-            if (node instanceof ImageView) {
-                ImageView imgView = (ImageView) node;
-                if (imgView.getUserData() instanceof PieceInfo) {
-                    PieceInfo info = (PieceInfo) imgView.getUserData();
-                    if (info.row == fromRow && info.col == fromCol) {
-                        suggestedPiece = imgView;
-                        // Highlight quân cờ với màu vàng đậm
-                        DropShadow suggestShadow = new DropShadow();
-                        suggestShadow.setColor(Color.web("#FFD700", 1.0)); // Màu vàng đậm
-                        suggestShadow.setRadius(20);
-                        suggestShadow.setOffsetX(0);
-                        suggestShadow.setOffsetY(0);
-                        imgView.setEffect(suggestShadow);
-                        break;
-                    }
-                }
-            }
+        ImageView suggestedPiece = boardViewRef != null ? boardViewRef.at(fromRow, fromCol) : null;
+        if (suggestedPiece != null) {
+            // Highlight quân cờ với màu vàng đậm
+            DropShadow suggestShadow = new DropShadow();
+            suggestShadow.setColor(Color.web("#FFD700", 1.0)); // Màu vàng đậm
+            suggestShadow.setRadius(20);
+            suggestShadow.setOffsetX(0);
+            suggestShadow.setOffsetY(0);
+            suggestedPiece.setEffect(suggestShadow);
         }
         
         // Tính toán vị trí giao điểm (giống như trong createChessPieces)
@@ -923,6 +1266,10 @@ public class ChessBoardManager {
         if (piecesContainerRef == null) {
             return;
         }
+        if (canvasRenderer != null) {
+            canvasRenderer.setSuggest(null);
+            return;
+        }
         
         // Tìm highlight layer
         Pane highlightLayer = null;
@@ -1039,7 +1386,7 @@ public class ChessBoardManager {
     /**
      * Convert ký tự x-fen thành piece type
      */
-    private static String getPieceTypeFromChar(char c) {
+    static String getPieceTypeFromChar(char c) {
         char lower = Character.toLowerCase(c);
         switch (lower) {
             case 'r': return "Rook";
@@ -1062,6 +1409,11 @@ public class ChessBoardManager {
         if (container == null || xfen == null || xfen.trim().isEmpty()) {
             return;
         }
+        // Renderer Canvas vẽ từ model: chỉ cần nạp vị trí mới vào model
+        if (canvasRenderer != null && container == piecesContainerRef) {
+            gameState.resetTo(boardFromPieceMap(parseXfen(xfen)), gameState.isRedTurn());
+            return;
+        }
         
         // Xóa tất cả quân cờ hiện tại (chỉ xóa ImageView, giữ lại clickLayer và highlightLayer)
         java.util.List<javafx.scene.Node> toRemove = new java.util.ArrayList<>();
@@ -1071,6 +1423,11 @@ public class ChessBoardManager {
             }
         }
         container.getChildren().removeAll(toRemove);
+        // Container đang gắn chỉ mục thì dựng lại chỉ mục theo x-fen
+        BoardViewModel boardView = container == piecesContainerRef ? boardViewRef : null;
+        if (boardView != null) {
+            boardView.clear();
+        }
         
         // Parse x-fen
         java.util.Map<String, String> pieces = parseXfen(xfen);
@@ -1092,7 +1449,7 @@ public class ChessBoardManager {
             return (color, pieceType) -> {
                 String colorCapitalized = color.substring(0, 1).toUpperCase() + color.substring(1);
                 String imagePath = "pieces/" + color + "/Chinese-" + pieceType + "-" + colorCapitalized + ".png";
-                ImageView piece = new ImageView(AssetHelper.image(imagePath));
+                ImageView piece = createPieceView(color, pieceType);
                 piece.setFitWidth(pieceWidth);
                 piece.setFitHeight(pieceHeight);
                 piece.setPreserveRatio(true);
@@ -1143,6 +1500,9 @@ public class ChessBoardManager {
             piece.setLayoutX(x);
             piece.setLayoutY(y);
             container.getChildren().add(piece);
+            if (boardView != null) {
+                boardView.put(piece, pos[0], pos[1]);
+            }
         };
         
         // Vẽ các quân cờ từ x-fen
@@ -1157,7 +1517,7 @@ public class ChessBoardManager {
             // Tạo quân cờ với row/col đúng ngay từ đầu
             String colorCapitalized = color.substring(0, 1).toUpperCase() + color.substring(1);
             String imagePath = "pieces/" + color + "/Chinese-" + pieceType + "-" + colorCapitalized + ".png";
-            ImageView piece = new ImageView(AssetHelper.image(imagePath));
+            ImageView piece = createPieceView(color, pieceType);
             piece.setFitWidth(pieceWidth);
             piece.setFitHeight(pieceHeight);
             piece.setPreserveRatio(true);
@@ -1178,6 +1538,11 @@ public class ChessBoardManager {
             
             placePiece.accept(piece, new int[]{row, col});
         }
+        
+        // Bàn cờ đang hiển thị được vẽ lại -> model nhận vị trí mới
+        if (boardView != null) {
+            gameState.resetTo(boardView.toCharBoard(), gameState.isRedTurn());
+        }
     }
 }
 
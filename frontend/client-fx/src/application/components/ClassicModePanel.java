@@ -1,7 +1,7 @@
 package application.components;
 
 import application.state.UIState;
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
@@ -351,10 +351,7 @@ public class ClassicModePanel extends StackPane {
         
         button.setOnMouseClicked(e -> {
             // Set tất cả 4 timer thành "Unlimited time"
-            state.setTimer1Value("Unlimited time");
-            state.setTimer2Value("Unlimited time");
-            state.setTimer3Value("Unlimited time");
-            state.setTimer4Value("Unlimited time");
+            state.setTimerSeconds(-1, -1);
             
             // Kiểm tra xem đã chọn option nào
             String selectedOptionText = null;
@@ -515,15 +515,8 @@ public class CustomModePanel extends StackPane {
         });
         
         button.setOnMouseClicked(e -> {
-            // Lấy giá trị game timer và move timer
-            String gameTimerText = gameTimerValue == 1 ? "1 min" : gameTimerValue + " mins";
-            String moveTimerText = moveTimerValue == 1 ? "1 min" : moveTimerValue + " mins";
-            
-            // Timer 2 và 3 = game timer, Timer 1 và 4 = move timer
-            state.setTimer1Value(moveTimerText);
-            state.setTimer2Value(gameTimerText);
-            state.setTimer3Value(gameTimerText);
-            state.setTimer4Value(moveTimerText);
+            // Timer 2 và 3 = game timer, Timer 1 và 4 = move timer (phút -> giây)
+            state.setTimerSeconds(moveTimerValue * 60, gameTimerValue * 60);
             
             // Player luôn là red (AI sẽ là black nếu chơi với AI)
             state.setPlayerIsRed(true);
@@ -561,7 +554,7 @@ public class CustomModePanel extends StackPane {
             // Gửi CUSTOM_GAME message nếu có custom board setup
             if (useCustomBoard && customBoardSetup != null && !customBoardSetup.isEmpty()) {
                 try {
-                    application.network.NetworkManager.getInstance().game().requestCustomGame(
+                    application.network.fx.NetworkManager.getInstance().game().requestCustomGame(
                         customBoardSetup,
                         "", // opponent (empty for AI)
                         aiMode != null ? aiMode : "medium", // AI mode
@@ -105,7 +105,7 @@ public class DialogManager {
             
             // Gửi RESIGN message đến backend
             try {
-                application.network.NetworkManager.getInstance().game().resign();
+                application.network.fx.NetworkManager.getInstance().game().resign();
             } catch (Exception ex) {
                 System.err.println("[DialogManager] Error sending resign: " + ex.getMessage());
                 // Vẫn hiển thị kết quả game ngay cả khi gửi lỗi (offline mode)
@@ -224,7 +224,7 @@ public class DialogManager {
             
             // Gửi DRAW_REQUEST message đến backend
             try {
-                application.network.NetworkManager.getInstance().game().requestDraw();
+                application.network.fx.NetworkManager.getInstance().game().requestDraw();
             } catch (Exception ex) {
                 System.err.println("[DialogManager] Error sending draw request: " + ex.getMessage());
             }
@@ -341,7 +341,7 @@ public class DialogManager {
             
             // Gửi DRAW_RESPONSE với accept=true đến backend
             try {
-                application.network.NetworkManager.getInstance().game().respondDraw(true);
+                application.network.fx.NetworkManager.getInstance().game().respondDraw(true);
             } catch (Exception ex) {
                 System.err.println("[DialogManager] Error sending draw response: " + ex.getMessage());
                 // Vẫn hiển thị kết quả hòa ngay cả khi gửi lỗi (offline mode)
@@ -358,7 +358,7 @@ public class DialogManager {
             
             // Gửi DRAW_RESPONSE với accept=false đến backend
             try {
-                application.network.NetworkManager.getInstance().game().respondDraw(false);
+                application.network.fx.NetworkManager.getInstance().game().respondDraw(false);
             } catch (Exception ex) {
                 System.err.println("[DialogManager] Error sending draw response: " + ex.getMessage());
             }
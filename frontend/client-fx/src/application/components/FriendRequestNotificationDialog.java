@@ -1,6 +1,6 @@
 package application.components;
 
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.geometry.Insets;
@@ -1,6 +1,6 @@
 package application.components;
 
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.state.UIState;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
@@ -10,6 +10,8 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.ImageView;
@@ -25,7 +27,9 @@ import javafx.util.Duration;
 import javafx.scene.Cursor;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Friends panel that appears when clicking the friends icon.
@@ -35,17 +39,18 @@ public class FriendsPanel extends Pane {
     private final FadeTransition fade = new FadeTransition(Duration.millis(250), this);
     private final UIState state;
     private final NetworkManager networkManager = NetworkManager.getInstance();
-    private VBox friendsListContainer;
-    private VBox searchResultsContainer;
+    private ListView<String> friendsListView; // Danh sách bạn bè ảo hóa: chỉ dựng cell cho các dòng đang hiện
+    private ListView<String> searchResultsListView; // Kết quả tìm kiếm ảo hóa, cell được tái sử dụng khi cuộn
     private VBox friendRequestsContainer; // Container for friend requests list
-    private ScrollPane searchScrollPane; // Reference để control visibility
-    private ScrollPane friendsScrollPane; // Reference để control visibility của friends list
     private ScrollPane friendRequestsScrollPane; // Scroll pane for friend requests
     private Pane rootPane; // Reference to root pane for showing dialogs
     private TextField searchField;
     private VBox searchContainer; // Reference để control visibility
     private ObservableList<String> onlinePlayers = FXCollections.observableArrayList();
     private ObservableList<String> filteredPlayers = FXCollections.observableArrayList();
+    private final ObservableList<String> friendRows = FXCollections.observableArrayList(); // friends đã sắp xếp (Online trước)
+    // Trạng thái nút của từng kết quả tìm kiếm ("Sent"/"Unfriended"): lưu theo username vì cell được tái sử dụng
+    private final Map<String, String> searchActionLabels = new HashMap<>();
     
     // Friend requests data
     private ObservableList<FriendRequestInfo> pendingRequests = FXCollections.observableArrayList();
@@ -200,10 +205,8 @@ public class FriendsPanel extends Pane {
                     showFriendsList();
                     // Refresh để hiển thị friends list hiện tại
                     refreshFriendsList();
-                    System.out.println("[FriendsPanel] Friends list should be visible now. Container visible: " + 
-                        (friendsListContainer != null ? friendsListContainer.isVisible() : "null") + 
-                        ", ScrollPane visible: " + 
-                        (friendsScrollPane != null ? friendsScrollPane.isVisible() : "null") +
+                    System.out.println("[FriendsPanel] Friends list should be visible now. List visible: " + 
+                        (friendsListView != null ? friendsListView.isVisible() : "null") +
                         ", Friends count: " + state.getFriendsList().size());
                 });
             }
@@ -260,12 +263,9 @@ public class FriendsPanel extends Pane {
             if (newVal == null || newVal.trim().isEmpty()) {
                 // Hide search results, show friends list
                 System.out.println("[FriendsPanel] Search field empty, hiding search results");
-                if (searchResultsContainer != null) {
-                    searchResultsContainer.setVisible(false);
-                }
-                if (searchScrollPane != null) {
-                    searchScrollPane.setVisible(false);
-                    searchScrollPane.setManaged(false);
+                if (searchResultsListView != null) {
+                    searchResultsListView.setVisible(false);
+                    searchResultsListView.setManaged(false);
                 }
                 // Ẩn friend requests
                 hideFriendRequests();
@@ -310,14 +310,15 @@ public class FriendsPanel extends Pane {
     public void updateSearchResults(List<String> results) {
         javafx.application.Platform.runLater(() -> {
             System.out.println("[FriendsPanel] updateSearchResults called with " + (results != null ? results.size() : 0) + " users");
-        filteredPlayers.clear();
+            searchActionLabels.clear();
             if (results != null && !results.isEmpty()) {
-                filteredPlayers.addAll(results);
+                filteredPlayers.setAll(results);
                 System.out.println("[FriendsPanel] Updated search results. Total: " + filteredPlayers.size());
         if (!filteredPlayers.isEmpty()) {
             System.out.println("[FriendsPanel] Sample results: " + filteredPlayers.subList(0, Math.min(3, filteredPlayers.size())));
                 }
             } else {
+                filteredPlayers.clear();
                 System.out.println("[FriendsPanel] No search results received");
         }
         
@@ -334,21 +335,14 @@ public class FriendsPanel extends Pane {
             // Show search results, hide friends list (only if we have results or search field has text)
             if (searchField != null && searchField.getText() != null && !searchField.getText().trim().isEmpty()) {
                 System.out.println("[FriendsPanel] Search field has text, showing search results");
-        if (searchResultsContainer != null) {
-            searchResultsContainer.setVisible(true);
-            System.out.println("[FriendsPanel] Search results container made visible");
-        }
-        if (searchScrollPane != null) {
-            searchScrollPane.setVisible(true);
-            searchScrollPane.setManaged(true);
-            System.out.println("[FriendsPanel] Search scroll pane made visible. Visible: " + searchScrollPane.isVisible() + ", Managed: " + searchScrollPane.isManaged());
+        if (searchResultsListView != null) {
+            searchResultsListView.setVisible(true);
+            searchResultsListView.setManaged(true);
+            System.out.println("[FriendsPanel] Search results made visible. Visible: " + searchResultsListView.isVisible() + ", Managed: " + searchResultsListView.isManaged());
         }
-        if (friendsListContainer != null) {
-            friendsListContainer.setVisible(false);
-        }
-        if (friendsScrollPane != null) {
-            friendsScrollPane.setVisible(false);
-            friendsScrollPane.setManaged(false);
+        if (friendsListView != null) {
+            friendsListView.setVisible(false);
+            friendsListView.setManaged(false);
         }
             }
         });
@@ -356,180 +350,204 @@ public class FriendsPanel extends Pane {
     
     /**
      * Refresh search results display.
+     * ListView đã theo dõi filteredPlayers; chỉ cần vẽ lại các cell đang hiện để cập nhật nút Add/Unfriend.
      */
     private void refreshSearchResults() {
-        if (searchResultsContainer == null) {
-            System.err.println("[FriendsPanel] searchResultsContainer is null!");
+        if (searchResultsListView == null) {
+            System.err.println("[FriendsPanel] searchResultsListView is null!");
             return;
         }
         
         System.out.println("[FriendsPanel] Refreshing search results. Filtered players: " + filteredPlayers.size());
-        
-        searchResultsContainer.getChildren().clear();
-        
-        if (filteredPlayers.isEmpty()) {
-            Label noResultsLabel = new Label("No players found");
-            noResultsLabel.setStyle(
-                "-fx-font-family: 'Kumar One'; " +
-                "-fx-font-size: 16px; " +
-                "-fx-text-fill: rgba(0, 0, 0, 0.5); " +
-                "-fx-background-color: transparent; " +
-                "-fx-alignment: center;"
-            );
-            noResultsLabel.setAlignment(Pos.CENTER);
-            noResultsLabel.setPrefWidth(360);
-            noResultsLabel.setPrefHeight(50);
-            searchResultsContainer.getChildren().add(noResultsLabel);
-            System.out.println("[FriendsPanel] Showing 'No players found' message");
-        } else {
-            // Display filtered players
-            System.out.println("[FriendsPanel] Adding " + filteredPlayers.size() + " player entries to UI");
-            for (String username : filteredPlayers) {
-                HBox playerEntry = createSearchResultEntry(username);
-                searchResultsContainer.getChildren().add(playerEntry);
-            }
-        }
+        searchResultsListView.refresh();
     }
     
     /**
-     * Create a search result entry with "Add" button.
+     * A search result entry with "Add"/"Unfriend" button.
+     * Nodes are built once per cell; updateItem rebinds text, colors and handlers for the current username.
      */
-    private HBox createSearchResultEntry(String username) {
-        HBox entry = new HBox(15);
-        entry.setAlignment(Pos.CENTER_LEFT);
-        entry.setPadding(new Insets(12, 15, 12, 15));
-        entry.setCursor(Cursor.HAND);
-        entry.setStyle("-fx-background-radius: 8px;");
-        
-        // Avatar circle với fill và initial letter
-        Circle avatarCircle = new Circle(22);
-        avatarCircle.setFill(Color.web("#F5E6E6")); // Light pink fill
-        avatarCircle.setStroke(Color.web("#A65252"));
-        avatarCircle.setStrokeWidth(2.5);
-        
-        // Initial letter trong avatar
-        Label initialLabel = new Label(username.substring(0, 1).toUpperCase());
-        initialLabel.setStyle(
-            "-fx-font-family: 'Kumar One'; " +
-            "-fx-font-size: 18px; " +
-            "-fx-font-weight: bold; " +
-            "-fx-text-fill: #A65252;"
-        );
-        
-        StackPane avatarContainer = new StackPane(avatarCircle, initialLabel);
-        avatarContainer.setPrefSize(44, 44);
-        
-        // Username label
-        Label usernameLabel = new Label(username);
-        usernameLabel.setStyle(
-            "-fx-font-family: 'Kumar One'; " +
-            "-fx-font-size: 18px; " +
-            "-fx-text-fill: #2C2C2C; " +
-            "-fx-background-color: transparent;"
-        );
-        
-        // Check if user is already a friend
-        boolean isFriend = state.getFriendsList().contains(username);
-        
-        // Button container (Add or Unfriend)
-        StackPane buttonContainer = new StackPane();
-        buttonContainer.setPrefWidth(90);
-        buttonContainer.setPrefHeight(36);
-        
-        Rectangle buttonBg = new Rectangle(90, 36);
-        buttonBg.setArcWidth(8);
-        buttonBg.setArcHeight(8);
-        buttonBg.setEffect(new javafx.scene.effect.DropShadow(4, Color.color(0.65, 0.32, 0.32, 0.4)));
-        
-        Label buttonLabel = new Label(isFriend ? "Unfriend" : "Add");
-        buttonLabel.setStyle(
-            "-fx-font-family: 'Kumar One'; " +
-            "-fx-font-size: 14px; " +
-            "-fx-font-weight: bold; " +
-            "-fx-text-fill: white; " +
-            "-fx-background-color: transparent;"
-        );
-        
-        // Set button color based on action
-        if (isFriend) {
-            buttonBg.setFill(Color.web("#8B4242")); // Darker red for unfriend
-        } else {
-            buttonBg.setFill(Color.web("#A65252")); // Red for add
+    private final class SearchResultCell extends ListCell<String> {
+        private final HBox entry = new HBox(15);
+        private final Label initialLabel = new Label();
+        private final Label usernameLabel = new Label();
+        private final StackPane buttonContainer = new StackPane();
+        private final Rectangle buttonBg = new Rectangle(90, 36);
+        private final Label buttonLabel = new Label();
+        
+        SearchResultCell() {
+            entry.setAlignment(Pos.CENTER_LEFT);
+            entry.setPadding(new Insets(12, 15, 12, 15));
+            entry.setCursor(Cursor.HAND);
+            entry.setStyle("-fx-background-radius: 8px;");
+            
+            // Avatar circle với fill và initial letter
+            Circle avatarCircle = new Circle(22);
+            avatarCircle.setFill(Color.web("#F5E6E6")); // Light pink fill
+            avatarCircle.setStroke(Color.web("#A65252"));
+            avatarCircle.setStrokeWidth(2.5);
+            
+            // Initial letter trong avatar
+            initialLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 18px; " +
+                "-fx-font-weight: bold; " +
+                "-fx-text-fill: #A65252;"
+            );
+            
+            StackPane avatarContainer = new StackPane(avatarCircle, initialLabel);
+            avatarContainer.setPrefSize(44, 44);
+            
+            // Username label
+            usernameLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 18px; " +
+                "-fx-text-fill: #2C2C2C; " +
+                "-fx-background-color: transparent;"
+            );
+            
+            // Button container (Add or Unfriend)
+            buttonContainer.setPrefWidth(90);
+            buttonContainer.setPrefHeight(36);
+            buttonBg.setArcWidth(8);
+            buttonBg.setArcHeight(8);
+            buttonContainer.getChildren().addAll(buttonBg, buttonLabel);
+            
+            entry.getChildren().addAll(avatarContainer, usernameLabel);
+            
+            // Button to the right
+            HBox.setHgrow(usernameLabel, javafx.scene.layout.Priority.ALWAYS);
+            entry.getChildren().add(buttonContainer);
+            
+            // Hover effect cho entry
+            entry.setOnMouseEntered(e -> {
+                entry.setStyle(
+                    "-fx-background-color: rgba(166, 82, 82, 0.08); " +
+                    "-fx-background-radius: 8px;"
+                );
+            });
+            entry.setOnMouseExited(e -> {
+                entry.setStyle("-fx-background-color: transparent;");
+            });
+            
+            setStyle("-fx-padding: 0 0 5 0;");
         }
         
-        buttonContainer.getChildren().addAll(buttonBg, buttonLabel);
-        buttonContainer.setCursor(Cursor.HAND);
+        @Override
+        protected void updateItem(String username, boolean empty) {
+            super.updateItem(username, empty);
+            if (empty || username == null) {
+                setGraphic(null);
+                return;
+            }
+            initialLabel.setText(username.substring(0, 1).toUpperCase());
+            usernameLabel.setText(username);
+            entry.setStyle("-fx-background-color: transparent;");
+            
+            String doneLabel = searchActionLabels.get(username);
+            if (doneLabel != null) {
+                showSearchButtonDone(doneLabel);
+            } else {
+                bindSearchButton(username, state.getFriendsList().contains(username));
+            }
+            setGraphic(entry);
+        }
         
-        // Click handler
-        buttonContainer.setOnMouseClicked(e -> {
+        private void bindSearchButton(String username, boolean isFriend) {
+            buttonLabel.setText(isFriend ? "Unfriend" : "Add");
+            buttonLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 14px; " +
+                "-fx-font-weight: bold; " +
+                "-fx-text-fill: white; " +
+                "-fx-background-color: transparent;"
+            );
+            
+            // Set button color based on action
             if (isFriend) {
-                // Unfriend
-                handleUnfriendFromSearch(username, buttonContainer, buttonBg, buttonLabel);
+                buttonBg.setFill(Color.web("#8B4242")); // Darker red for unfriend
             } else {
-                // Send friend request
-                handleSendFriendRequestFromSearch(username, buttonContainer, buttonBg, buttonLabel);
+                buttonBg.setFill(Color.web("#A65252")); // Red for add
             }
-            e.consume();
-        });
-        
-        // Hover effect cho button (only if not disabled)
-        buttonContainer.setOnMouseEntered(e -> {
-            if (!buttonContainer.isDisable()) {
+            buttonBg.setEffect(new javafx.scene.effect.DropShadow(4, Color.color(0.65, 0.32, 0.32, 0.4)));
+            buttonContainer.setCursor(Cursor.HAND);
+            buttonContainer.setDisable(false);
+            
+            // Click handler
+            buttonContainer.setOnMouseClicked(e -> {
                 if (isFriend) {
-                    buttonBg.setFill(Color.web("#6B3232")); // Darker shade on hover for unfriend
+                    // Unfriend
+                    handleUnfriendFromSearch(username);
                 } else {
-                    buttonBg.setFill(Color.web("#B85C5C")); // Lighter shade on hover for add
+                    // Send friend request
+                    handleSendFriendRequestFromSearch(username);
                 }
-                buttonBg.setEffect(new javafx.scene.effect.DropShadow(6, Color.color(0.65, 0.32, 0.32, 0.5)));
-            }
-        });
-        buttonContainer.setOnMouseExited(e -> {
-            if (!buttonContainer.isDisable()) {
-                if (isFriend) {
-                    buttonBg.setFill(Color.web("#8B4242"));
-                } else {
-                    buttonBg.setFill(Color.web("#A65252"));
+                e.consume();
+            });
+            
+            // Hover effect cho button (only if not disabled)
+            buttonContainer.setOnMouseEntered(e -> {
+                if (!buttonContainer.isDisable()) {
+                    if (isFriend) {
+                        buttonBg.setFill(Color.web("#6B3232")); // Darker shade on hover for unfriend
+                    } else {
+                        buttonBg.setFill(Color.web("#B85C5C")); // Lighter shade on hover for add
+                    }
+                    buttonBg.setEffect(new javafx.scene.effect.DropShadow(6, Color.color(0.65, 0.32, 0.32, 0.5)));
                 }
-                buttonBg.setEffect(new javafx.scene.effect.DropShadow(4, Color.color(0.65, 0.32, 0.32, 0.4)));
-            }
-        });
-        buttonContainer.setOnMousePressed(e -> {
-            if (!buttonContainer.isDisable()) {
-                if (isFriend) {
-                    buttonBg.setFill(Color.web("#5B2222")); // Even darker on press for unfriend
-                } else {
-                    buttonBg.setFill(Color.web("#8B4242")); // Darker shade on press for add
+            });
+            buttonContainer.setOnMouseExited(e -> {
+                if (!buttonContainer.isDisable()) {
+                    if (isFriend) {
+                        buttonBg.setFill(Color.web("#8B4242"));
+                    } else {
+                        buttonBg.setFill(Color.web("#A65252"));
+                    }
+                    buttonBg.setEffect(new javafx.scene.effect.DropShadow(4, Color.color(0.65, 0.32, 0.32, 0.4)));
                 }
-            }
-        });
-        buttonContainer.setOnMouseReleased(e -> {
-            if (!buttonContainer.isDisable()) {
-                if (isFriend) {
-                    buttonBg.setFill(Color.web("#8B4242"));
-                } else {
-                    buttonBg.setFill(Color.web("#A65252"));
+            });
+            buttonContainer.setOnMousePressed(e -> {
+                if (!buttonContainer.isDisable()) {
+                    if (isFriend) {
+                        buttonBg.setFill(Color.web("#5B2222")); // Even darker on press for unfriend
+                    } else {
+                        buttonBg.setFill(Color.web("#8B4242")); // Darker shade on press for add
+                    }
                 }
-            }
-        });
-        
-        entry.getChildren().addAll(avatarContainer, usernameLabel);
-        
-        // Button to the right
-        HBox.setHgrow(usernameLabel, javafx.scene.layout.Priority.ALWAYS);
-        entry.getChildren().add(buttonContainer);
+            });
+            buttonContainer.setOnMouseReleased(e -> {
+                if (!buttonContainer.isDisable()) {
+                    if (isFriend) {
+                        buttonBg.setFill(Color.web("#8B4242"));
+                    } else {
+                        buttonBg.setFill(Color.web("#A65252"));
+                    }
+                }
+            });
+        }
         
-        // Hover effect cho entry
-        entry.setOnMouseEntered(e -> {
-            entry.setStyle(
-                "-fx-background-color: rgba(166, 82, 82, 0.08); " +
-                "-fx-background-radius: 8px;"
+        /**
+         * Nút đã bấm ("Sent"/"Unfriended"): xám, không click được
+         */
+        private void showSearchButtonDone(String text) {
+            buttonLabel.setText(text);
+            buttonLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 14px; " +
+                "-fx-font-weight: bold; " +
+                "-fx-text-fill: rgba(255, 255, 255, 0.7); " +
+                "-fx-background-color: transparent;"
             );
-        });
-        entry.setOnMouseExited(e -> {
-            entry.setStyle("-fx-background-color: transparent;");
-        });
-        
-        return entry;
+            buttonBg.setFill(Color.web("#8B8B8B")); // Gray color
+            buttonBg.setEffect(new javafx.scene.effect.DropShadow(4, Color.color(0.65, 0.32, 0.32, 0.4)));
+            buttonContainer.setCursor(Cursor.DEFAULT);
+            buttonContainer.setDisable(true);
+            // Remove hover effects and click handler to prevent multiple clicks
+            buttonContainer.setOnMouseEntered(null);
+            buttonContainer.setOnMouseExited(null);
+            buttonContainer.setOnMousePressed(null);
+            buttonContainer.setOnMouseReleased(null);
+            buttonContainer.setOnMouseClicked(null);
+        }
     }
     
     /**
@@ -572,12 +590,9 @@ public class FriendsPanel extends Pane {
         hideSearchBox();
         
         // Hiện friends list
-        if (friendsListContainer != null) {
-            friendsListContainer.setVisible(true);
-        }
-        if (friendsScrollPane != null) {
-            friendsScrollPane.setVisible(true);
-            friendsScrollPane.setManaged(true);
+        if (friendsListView != null) {
+            friendsListView.setVisible(true);
+            friendsListView.setManaged(true);
         }
     }
     
@@ -585,12 +600,9 @@ public class FriendsPanel extends Pane {
      * Hide friends list.
      */
     private void hideFriendsList() {
-        if (friendsListContainer != null) {
-            friendsListContainer.setVisible(false);
-        }
-        if (friendsScrollPane != null) {
-            friendsScrollPane.setVisible(false);
-            friendsScrollPane.setManaged(false);
+        if (friendsListView != null) {
+            friendsListView.setVisible(false);
+            friendsListView.setManaged(false);
         }
     }
     
@@ -647,11 +659,9 @@ public class FriendsPanel extends Pane {
         }
         
         // Hiện search results container (nếu có kết quả)
-        if (searchResultsContainer != null && !searchResultsContainer.getChildren().isEmpty()) {
-            if (searchScrollPane != null) {
-                searchScrollPane.setVisible(true);
-                searchScrollPane.setManaged(true);
-            }
+        if (searchResultsListView != null && !filteredPlayers.isEmpty()) {
+            searchResultsListView.setVisible(true);
+            searchResultsListView.setManaged(true);
         }
         
             if (searchField != null) {
@@ -669,12 +679,9 @@ public class FriendsPanel extends Pane {
             searchContainer.setVisible(false);
             searchContainer.setManaged(false);
         }
-            if (searchScrollPane != null) {
-                searchScrollPane.setVisible(false);
-                searchScrollPane.setManaged(false);
-            }
-            if (searchResultsContainer != null) {
-                searchResultsContainer.setVisible(false);
+            if (searchResultsListView != null) {
+                searchResultsListView.setVisible(false);
+                searchResultsListView.setManaged(false);
             }
         if (searchField != null) {
             searchField.clear();
@@ -1049,29 +1056,13 @@ public class FriendsPanel extends Pane {
     /**
      * Handle send friend request from search results.
      */
-    private void handleSendFriendRequestFromSearch(String username, StackPane buttonContainer, Rectangle buttonBg, Label buttonLabel) {
+    private void handleSendFriendRequestFromSearch(String username) {
         try {
             networkManager.friend().sendFriendRequest(username);
             // Change button to "Sent" and disable it
             javafx.application.Platform.runLater(() -> {
-                buttonLabel.setText("Sent");
-                buttonLabel.setStyle(
-                    "-fx-font-family: 'Kumar One'; " +
-                    "-fx-font-size: 14px; " +
-                    "-fx-font-weight: bold; " +
-                    "-fx-text-fill: rgba(255, 255, 255, 0.7); " +
-                    "-fx-background-color: transparent;"
-                );
-                buttonBg.setFill(Color.web("#8B8B8B")); // Gray color for sent
-                buttonContainer.setCursor(Cursor.DEFAULT);
-                buttonContainer.setDisable(true);
-                // Remove hover effects
-                buttonContainer.setOnMouseEntered(null);
-                buttonContainer.setOnMouseExited(null);
-                buttonContainer.setOnMousePressed(null);
-                buttonContainer.setOnMouseReleased(null);
-                // Remove click handler to prevent multiple clicks
-                buttonContainer.setOnMouseClicked(null);
+                searchActionLabels.put(username, "Sent");
+                refreshSearchResults();
                 System.out.println("[FriendsPanel] Friend request sent to: " + username + ", button changed to 'Sent'");
             });
         } catch (IOException ex) {
@@ -1082,31 +1073,15 @@ public class FriendsPanel extends Pane {
     /**
      * Handle unfriend from search results.
      */
-    private void handleUnfriendFromSearch(String username, StackPane buttonContainer, Rectangle buttonBg, Label buttonLabel) {
+    private void handleUnfriendFromSearch(String username) {
         try {
             System.out.println("[FriendsPanel] Unfriending: " + username);
             
             // Optimistic update: Remove from friends list immediately
             javafx.application.Platform.runLater(() -> {
+                // Disable button (đặt trước removeFriend vì listener của friends list sẽ vẽ lại cell)
+                searchActionLabels.put(username, "Unfriended");
                 state.removeFriend(username);
-                // Disable button
-                buttonLabel.setText("Unfriended");
-                buttonLabel.setStyle(
-                    "-fx-font-family: 'Kumar One'; " +
-                    "-fx-font-size: 14px; " +
-                    "-fx-font-weight: bold; " +
-                    "-fx-text-fill: rgba(255, 255, 255, 0.7); " +
-                    "-fx-background-color: transparent;"
-                );
-                buttonBg.setFill(Color.web("#8B8B8B")); // Gray color
-                buttonContainer.setCursor(Cursor.DEFAULT);
-                buttonContainer.setDisable(true);
-                // Remove hover effects
-                buttonContainer.setOnMouseEntered(null);
-                buttonContainer.setOnMouseExited(null);
-                buttonContainer.setOnMousePressed(null);
-                buttonContainer.setOnMouseReleased(null);
-                buttonContainer.setOnMouseClicked(null);
                 System.out.println("[FriendsPanel] Unfriended: " + username);
             });
             
@@ -1120,6 +1095,7 @@ public class FriendsPanel extends Pane {
                 pause.setOnFinished(e -> {
                     loadFriends(); // Reload friends list from server
                     // Refresh search results to update buttons (Add/Unfriend)
+                    searchActionLabels.remove(username);
                     refreshSearchResults();
                 });
                 pause.play();
@@ -1128,6 +1104,7 @@ public class FriendsPanel extends Pane {
             System.err.println("[FriendsPanel] Failed to unfriend: " + e.getMessage());
             // Reload on error to restore correct state
             loadFriends();
+            searchActionLabels.remove(username);
             refreshSearchResults();
         }
     }
@@ -1269,62 +1246,55 @@ public class FriendsPanel extends Pane {
         header.setPickOnBounds(true);
         header.setMouseTransparent(false);
         
-        // Friends list container với scroll - khởi tạo trước
-        friendsListContainer = new VBox(10);
-        friendsListContainer.setAlignment(Pos.TOP_LEFT);
-        friendsListContainer.setVisible(true); // Hiện mặc định
-        friendsListContainer.setVisible(true); // Hiện mặc định
+        // Friends list - khởi tạo trước (ListView: cell được tái sử dụng, không dựng node cho mọi bạn bè)
+        friendsListView = new ListView<>(friendRows);
+        friendsListView.setCellFactory(list -> new FriendCell());
+        friendsListView.setPlaceholder(createEmptyListLabel("No friends yet.\nClick + to add friends", 18, 100));
         
-        // Search results container - khởi tạo trước createSearchBox()
-        searchResultsContainer = new VBox(5);
-        searchResultsContainer.setAlignment(Pos.TOP_LEFT);
-        searchResultsContainer.setVisible(false); // Ẩn ban đầu
+        // Search results - khởi tạo trước createSearchBox()
+        searchResultsListView = new ListView<>(filteredPlayers);
+        searchResultsListView.setCellFactory(list -> new SearchResultCell());
+        searchResultsListView.setPlaceholder(createEmptyListLabel("No players found", 16, 50));
         
         // Friend requests container
         friendRequestsContainer = new VBox(5);
         friendRequestsContainer.setAlignment(Pos.TOP_LEFT);
         friendRequestsContainer.setVisible(false); // Ẩn ban đầu
         
-        // Search box - thay thế dialog (sau khi searchResultsContainer đã được khởi tạo)
+        // Search box - thay thế dialog (sau khi searchResultsListView đã được khởi tạo)
         // Ẩn ban đầu, chỉ hiện khi click icon "+"
         searchContainer = createSearchBox();
         searchContainer.setVisible(false); // Ẩn ban đầu
         searchContainer.setManaged(false); // Không chiếm space khi ẩn
         
-        friendsScrollPane = new ScrollPane(friendsListContainer);
-        friendsScrollPane.setPrefWidth(360);
-        friendsScrollPane.setPrefHeight(650);
-        friendsScrollPane.setStyle(
-            "-fx-background: transparent; " +
+        friendsListView.getStyleClass().add("cc-plain-list");
+        friendsListView.setPrefWidth(360);
+        friendsListView.setPrefHeight(650);
+        friendsListView.setStyle(
             "-fx-background-color: rgba(255, 255, 255, 0.3); " +
             "-fx-background-radius: 8px;"
         );
-        friendsScrollPane.setFitToWidth(true);
-        friendsScrollPane.setHbarPolicy(javafx.scene.control.ScrollPane.ScrollBarPolicy.NEVER);
-        friendsScrollPane.setVbarPolicy(javafx.scene.control.ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        friendsScrollPane.setVisible(true); // Hiện mặc định
-        friendsScrollPane.setManaged(true); // Quản lý mặc định
+        friendsListView.setFocusTraversable(false);
+        friendsListView.setVisible(true); // Hiện mặc định
+        friendsListView.setManaged(true); // Quản lý mặc định
         
-        // Search results scroll pane - tăng chiều cao để tận dụng không gian
+        // Search results list - tăng chiều cao để tận dụng không gian
         // Panel height: 850px, header: ~80px, search box: ~100px, padding: ~40px
         // Còn lại: ~630px cho search results
-        searchScrollPane = new ScrollPane(searchResultsContainer);
-        searchScrollPane.setPrefWidth(360);
-        searchScrollPane.setPrefHeight(630); // Tận dụng tối đa không gian còn lại
-        searchScrollPane.setStyle(
-            "-fx-background: transparent; " +
+        searchResultsListView.getStyleClass().add("cc-plain-list");
+        searchResultsListView.setPrefWidth(360);
+        searchResultsListView.setPrefHeight(630); // Tận dụng tối đa không gian còn lại
+        searchResultsListView.setStyle(
             "-fx-background-color: rgba(255, 255, 255, 0.4); " +
             "-fx-background-radius: 8px; " +
             "-fx-border-color: rgba(166, 82, 82, 0.3); " +
             "-fx-border-width: 1px; " +
             "-fx-border-radius: 8px;"
         );
-        searchScrollPane.setFitToWidth(true);
-        searchScrollPane.setHbarPolicy(javafx.scene.control.ScrollPane.ScrollBarPolicy.NEVER);
-        searchScrollPane.setVbarPolicy(javafx.scene.control.ScrollPane.ScrollBarPolicy.AS_NEEDED);
+        searchResultsListView.setFocusTraversable(false);
         // Ẩn ban đầu, sẽ được control bởi filterAndShowResults()
-        searchScrollPane.setVisible(false);
-        searchScrollPane.setManaged(false); // Không chiếm space khi ẩn
+        searchResultsListView.setVisible(false);
+        searchResultsListView.setManaged(false); // Không chiếm space khi ẩn
         
         // Friend requests scroll pane
         friendRequestsScrollPane = new ScrollPane(friendRequestsContainer);
@@ -1346,7 +1316,7 @@ public class FriendsPanel extends Pane {
         
         // Stack background và content
         StackPane friendsPanel = new StackPane();
-        VBox innerContent = new VBox(15, header, searchContainer, searchScrollPane, friendRequestsScrollPane, friendsScrollPane);
+        VBox innerContent = new VBox(15, header, searchContainer, searchResultsListView, friendRequestsScrollPane, friendsListView);
         innerContent.setAlignment(Pos.TOP_LEFT);
         innerContent.setPadding(new Insets(20));
         innerContent.setPickOnBounds(true);
@@ -1368,132 +1338,145 @@ public class FriendsPanel extends Pane {
     /**
      * Refresh friends list from UIState.
      * Sắp xếp: Online trước, Offline sau, trong mỗi nhóm sắp xếp theo bảng chữ cái A-Z.
+     * Chỉ cập nhật friendRows; ListView tự vẽ lại các cell đang hiện.
      */
     private void refreshFriendsList() {
-        if (friendsListContainer == null) {
+        if (friendsListView == null) {
             return;
         }
         
-        friendsListContainer.getChildren().clear();
-        
-        javafx.collections.ObservableList<String> friends = state.getFriendsList();
+        // Sắp xếp friends: Online trước, Offline sau, trong mỗi nhóm theo bảng chữ cái
+        List<String> sortedFriends = new ArrayList<>(state.getFriendsList());
+        sortedFriends.sort((a, b) -> {
+            boolean aOnline = onlinePlayers.contains(a);
+            boolean bOnline = onlinePlayers.contains(b);
+            
+            // Online trước, Offline sau
+            if (aOnline && !bOnline) return -1;
+            if (!aOnline && bOnline) return 1;
+            
+            // Cùng trạng thái -> sắp xếp theo bảng chữ cái (case-insensitive)
+            return a.compareToIgnoreCase(b);
+        });
         
-        if (friends.isEmpty()) {
-            // Show empty message
-            Label emptyLabel = new Label("No friends yet.\nClick + to add friends");
-            emptyLabel.setStyle(
-                "-fx-font-family: 'Kumar One'; " +
-                "-fx-font-size: 18px; " +
-                "-fx-text-fill: rgba(0, 0, 0, 0.5); " +
-                "-fx-background-color: transparent; " +
-                "-fx-alignment: center;"
-            );
-            emptyLabel.setAlignment(Pos.CENTER);
-            emptyLabel.setPrefWidth(360);
-            emptyLabel.setPrefHeight(100);
-            friendsListContainer.getChildren().add(emptyLabel);
+        if (sortedFriends.equals(friendRows)) {
+            // Cùng thứ tự nhưng online status có thể đã đổi
+            friendsListView.refresh();
         } else {
-            // Sắp xếp friends: Online trước, Offline sau, trong mỗi nhóm theo bảng chữ cái
-            List<String> sortedFriends = new ArrayList<>(friends);
-            sortedFriends.sort((a, b) -> {
-                boolean aOnline = onlinePlayers.contains(a);
-                boolean bOnline = onlinePlayers.contains(b);
-                
-                // Online trước, Offline sau
-                if (aOnline && !bOnline) return -1;
-                if (!aOnline && bOnline) return 1;
-                
-                // Cùng trạng thái -> sắp xếp theo bảng chữ cái (case-insensitive)
-                return a.compareToIgnoreCase(b);
-            });
-            
-            // Display friends với online status thực tế
-            for (String username : sortedFriends) {
-                // Check if friend is in online players list
-                boolean isOnline = onlinePlayers.contains(username);
-                String status = isOnline ? "Online" : "Offline";
-                HBox friendEntry = createFriendEntry(username, status);
-                friendsListContainer.getChildren().add(friendEntry);
-            }
+            friendRows.setAll(sortedFriends);
         }
     }
     
-    private HBox createFriendEntry(String username, String status) {
-        HBox entry = new HBox(15);
-        entry.setAlignment(Pos.CENTER_LEFT);
-        entry.setPadding(new Insets(12, 15, 12, 15));
-        entry.setCursor(Cursor.HAND);
-        entry.setStyle("-fx-background-radius: 8px;");
-        
-        // Avatar circle với fill và initial letter
-        Circle avatarCircle = new Circle(25);
-        avatarCircle.setFill(Color.web("#F5E6E6")); // Light pink fill
-        avatarCircle.setStroke(Color.web("#A65252"));
-        avatarCircle.setStrokeWidth(2.5);
-        
-        // Initial letter trong avatar
-        Label initialLabel = new Label(username.substring(0, 1).toUpperCase());
-        initialLabel.setStyle(
+    private Label createEmptyListLabel(String text, double fontSize, double height) {
+        Label emptyLabel = new Label(text);
+        emptyLabel.setStyle(
             "-fx-font-family: 'Kumar One'; " +
-            "-fx-font-size: 20px; " +
-            "-fx-font-weight: bold; " +
-            "-fx-text-fill: #A65252;"
-        );
-        
-        StackPane avatarContainer = new StackPane(avatarCircle, initialLabel);
-        avatarContainer.setPrefSize(50, 50);
-        
-        // Text info container
-        VBox textInfo = new VBox(5);
-        textInfo.setAlignment(Pos.CENTER_LEFT);
-        
-        Label usernameLabel = new Label(username);
-        usernameLabel.setStyle(
-            "-fx-font-family: 'Kumar One'; " +
-            "-fx-font-size: 18px; " +
-            "-fx-text-fill: #2C2C2C; " +
-            "-fx-background-color: transparent;"
+            "-fx-font-size: " + fontSize + "px; " +
+            "-fx-text-fill: rgba(0, 0, 0, 0.5); " +
+            "-fx-background-color: transparent; " +
+            "-fx-alignment: center;"
         );
-        
-        // Online status indicator
-        Circle statusIndicator = new Circle(6);
-        if ("Online".equals(status)) {
-            statusIndicator.setFill(Color.web("#4CAF50")); // Green for online
-        } else {
-            statusIndicator.setFill(Color.web("#9E9E9E")); // Gray for offline
+        emptyLabel.setAlignment(Pos.CENTER);
+        emptyLabel.setPrefWidth(360);
+        emptyLabel.setPrefHeight(height);
+        return emptyLabel;
+    }
+    
+    /**
+     * One friend row (avatar, username, online status). Nodes are built once per cell.
+     */
+    private final class FriendCell extends ListCell<String> {
+        private final HBox entry = new HBox(15);
+        private final Label initialLabel = new Label();
+        private final Label usernameLabel = new Label();
+        private final Circle statusIndicator = new Circle(6);
+        private final Label statusLabel = new Label();
+        
+        FriendCell() {
+            entry.setAlignment(Pos.CENTER_LEFT);
+            entry.setPadding(new Insets(12, 15, 12, 15));
+            entry.setCursor(Cursor.HAND);
+            entry.setStyle("-fx-background-radius: 8px;");
+            
+            // Avatar circle với fill và initial letter
+            Circle avatarCircle = new Circle(25);
+            avatarCircle.setFill(Color.web("#F5E6E6")); // Light pink fill
+            avatarCircle.setStroke(Color.web("#A65252"));
+            avatarCircle.setStrokeWidth(2.5);
+            
+            // Initial letter trong avatar
+            initialLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 20px; " +
+                "-fx-font-weight: bold; " +
+                "-fx-text-fill: #A65252;"
+            );
+            
+            StackPane avatarContainer = new StackPane(avatarCircle, initialLabel);
+            avatarContainer.setPrefSize(50, 50);
+            
+            // Text info container
+            VBox textInfo = new VBox(5);
+            textInfo.setAlignment(Pos.CENTER_LEFT);
+            
+            usernameLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 18px; " +
+                "-fx-text-fill: #2C2C2C; " +
+                "-fx-background-color: transparent;"
+            );
+            
+            // Online status indicator
+            HBox statusContainer = new HBox(8);
+            statusContainer.setAlignment(Pos.CENTER_LEFT);
+            statusLabel.setStyle(
+                "-fx-font-family: 'Kumar One'; " +
+                "-fx-font-size: 14px; " +
+                "-fx-text-fill: rgba(44, 44, 44, 0.7); " +
+                "-fx-background-color: transparent;"
+            );
+            statusContainer.getChildren().addAll(statusIndicator, statusLabel);
+            
+            textInfo.getChildren().addAll(usernameLabel, statusContainer);
+            
+            entry.getChildren().addAll(avatarContainer, textInfo);
+            
+            // Hover effect
+            entry.setOnMouseEntered(e -> {
+                entry.setStyle(
+                    "-fx-background-color: rgba(166, 82, 82, 0.08); " +
+                    "-fx-background-radius: 8px;"
+                );
+            });
+            entry.setOnMouseExited(e -> {
+                entry.setStyle("-fx-background-color: transparent;");
+            });
+            
+            // TODO: Click handler để challenge friend hoặc view profile
+            
+            setStyle("-fx-padding: 0 0 10 0;");
         }
         
-        HBox statusContainer = new HBox(8);
-        statusContainer.setAlignment(Pos.CENTER_LEFT);
-        statusContainer.getChildren().addAll(statusIndicator);
-        
-        Label statusLabel = new Label(status);
-        statusLabel.setStyle(
-            "-fx-font-family: 'Kumar One'; " +
-            "-fx-font-size: 14px; " +
-            "-fx-text-fill: rgba(44, 44, 44, 0.7); " +
-            "-fx-background-color: transparent;"
-        );
-        statusContainer.getChildren().add(statusLabel);
-        
-        textInfo.getChildren().addAll(usernameLabel, statusContainer);
-        
-        entry.getChildren().addAll(avatarContainer, textInfo);
-        
-        // Hover effect
-        entry.setOnMouseEntered(e -> {
-            entry.setStyle(
-                "-fx-background-color: rgba(166, 82, 82, 0.08); " +
-                "-fx-background-radius: 8px;"
-            );
-        });
-        entry.setOnMouseExited(e -> {
+        @Override
+        protected void updateItem(String username, boolean empty) {
+            super.updateItem(username, empty);
+            if (empty || username == null) {
+                setGraphic(null);
+                return;
+            }
+            // Check if friend is in online players list
+            boolean isOnline = onlinePlayers.contains(username);
+            initialLabel.setText(username.substring(0, 1).toUpperCase());
+            usernameLabel.setText(username);
+            if (isOnline) {
+                statusIndicator.setFill(Color.web("#4CAF50")); // Green for online
+            } else {
+                statusIndicator.setFill(Color.web("#9E9E9E")); // Gray for offline
+            }
+            statusLabel.setText(isOnline ? "Online" : "Offline");
             entry.setStyle("-fx-background-color: transparent;");
-        });
-        
-        // TODO: Click handler để challenge friend hoặc view profile
-        
-        return entry;
+            setGraphic(entry);
+        }
     }
     
     private void fadeTo(double target) {
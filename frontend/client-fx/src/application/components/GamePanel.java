@@ -1,7 +1,11 @@
 package application.components;
 
+import application.state.GameEvent;
+import application.state.GameEventBus;
 import application.state.UIState;
 import application.util.AssetHelper;
+import application.util.Metrics;
+import application.util.OpeningBooks;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.geometry.Insets;
@@ -45,13 +49,21 @@ public class GamePanel extends StackPane implements IGamePanel {
     
     // Flag để tránh gửi AI_QUIT nhiều lần
     private boolean aiQuitSent = false;
+    // Kết quả checkGameEndAfterMove của nước vừa đi (onMove), để applyOpponentMove quyết định đi premove hay hủy
+    private boolean lastMoveEndedGame = false;
+    
+    // Gợi ý nước đi bằng engine local (-Dhint.local=false: luôn hỏi server), -Dhint.timeMs: thời gian tìm,
+    // -Dhint.threads: số thread tìm (máy phân tích nhiều core), -Dhint.hashMb: bảng transposition
+    private static final boolean HINT_LOCAL = !"false".equalsIgnoreCase(System.getProperty("hint.local"));
+    private static final long HINT_TIME_MS = Long.getLong("hint.timeMs", 80);
+    private final application.game.SearchEngine hintEngine = new application.game.SearchEngine(
+            Integer.getInteger("hint.hashMb", 16), Integer.getInteger("hint.threads", 1));
     
     // Core fields
     private Pane rootPane = null;  // Lưu reference đến root pane để thêm UI
     private Pane piecesContainer = null;  // Lưu reference đến container chứa quân cờ
     private StackPane boardContainer = null;  // Lưu reference đến board container
     private ImageView boardImage = null;  // Reference đến board image để xoay riêng
-    private String currentTurn = "red";  // Lượt hiện tại: "red" đi trước, sau đó "black"
     private boolean isBoardFlipped = false;  // True nếu player là black (board cần flip)
     private VBox leftIcons = null;  // Lưu reference đến left icons container để cập nhật khi game mode thay đổi
 
@@ -75,6 +87,7 @@ public class GamePanel extends StackPane implements IGamePanel {
         this.capturedPiecesManager = new CapturedPiecesManager(state, this);
         this.timerManager = new TimerManager(state, this);
         this.chessBoardManager = new ChessBoardManager(state, this);
+        this.chessBoardManager.setPremoveEnabled(true);
         
         // Tạo gameContent - rootPane được set bên trong createGameContent()
         StackPane gameContent = createGameContent();
@@ -159,32 +172,23 @@ public class GamePanel extends StackPane implements IGamePanel {
      * Thiết lập callbacks giữa các Manager
      */
     private void setupManagerCallbacks() {
-        // ChessBoardManager callbacks
-        chessBoardManager.setOnPieceCaptured((color, pieceType) -> {
-            capturedPiecesManager.addCapturedPiece(color, pieceType);
-        });
-        
-        chessBoardManager.setOnMoveAddedWithDetails((moveDetails) -> {
-            // Parse moveDetails: "color|pieceType|fromRow|fromCol|toRow|toCol|capturedInfo"
-            // capturedInfo có thể rỗng nếu không có captured piece
-            String[] parts = moveDetails.split("\\|");
-            if (parts.length >= 6) {
-                String color = parts[0];
-                String pieceType = parts[1];
-                int fromRow = Integer.parseInt(parts[2]);
-                int fromCol = Integer.parseInt(parts[3]);
-                int toRow = Integer.parseInt(parts[4]);
-                int toCol = Integer.parseInt(parts[5]);
-                // capturedInfo có thể là phần thứ 7 hoặc rỗng nếu không có
-                String capturedInfo = (parts.length >= 7) ? parts[6] : "";
-                moveHistoryManager.addMove(color, pieceType, fromRow, fromCol, toRow, toCol, capturedInfo);
-                
-                // Check game end after move
-                Platform.runLater(() -> {
-                    checkGameEndAfterMove(capturedInfo.contains("captured"));
-                });
-            } else {
-                System.err.println("[GamePanel] Invalid moveDetails format: " + moveDetails + " (expected at least 6 parts, got " + parts.length + ")");
+        // Các manager vẽ lại từ sự kiện của model ván cờ (ChessBoardManager đã đăng ký trước để quân cờ di chuyển trước)
+        application.game.GameState gameState = chessBoardManager.getGameState();
+        capturedPiecesManager.attachTo(gameState);
+        moveHistoryManager.attachTo(gameState);
+        timerManager.attachTo(gameState);
+        gameState.addListener(new application.game.GameState.Listener() {
+            @Override
+            public void onReset(application.game.GameState s) {
+                hintEngine.stop(); // Thế cờ đổi: dừng tìm gợi ý (kết quả cũ bị bỏ qua)
+            }
+            
+            @Override
+            public void onMove(application.game.GameState s, application.game.GameState.Move move) {
+                hintEngine.stop();
+                // Check game end after move; premove (nếu có) do applyOpponentMove đi sau khi mọi listener
+                // đã nhận nước của đối thủ, không đi lồng trong lúc GameState đang phát sự kiện
+                lastMoveEndedGame = checkGameEndAfterMove(move.isCapture());
             }
         });
         
@@ -224,117 +228,55 @@ public class GamePanel extends StackPane implements IGamePanel {
             // networkManager.game().sendTimeoutLoss(losingPlayerColor);
         });
         
-        // Listen to game action triggers from UIState
-        state.gameActionTriggerProperty().addListener((obs, oldVal, newVal) -> {
-            System.out.println("[GamePanel] gameActionTrigger changed: oldVal=" + oldVal + ", newVal=" + newVal);
-            
-            if (newVal == null || newVal.isEmpty()) {
-                System.out.println("[GamePanel] Ignoring empty/null trigger");
-                return;
-            }
-            
-            String result = state.getGameActionResult();
-            System.out.println("[GamePanel] Processing trigger=" + newVal + ", result=" + result);
-            
-            switch (newVal) {
-                case "game_result":
-                    System.out.println("[GamePanel] Handling game_result case");
-                    boolean isAIGame = isAIGame();
-                    if ("win".equals(result)) {
-                        System.out.println("[GamePanel] Calling showGameResult - WIN");
-                        if (isAIGame) {
-                            dialogManager.showGameResultWithCustomText("You win", 0);
-                        } else {
-                            dialogManager.showGameResult(true);
-                        }
-                    } else if ("lose".equals(result)) {
-                        System.out.println("[GamePanel] Calling showGameResult - LOSE");
-                        if (isAIGame) {
-                            dialogManager.showGameResultWithCustomText("You lose", 0);
-                        } else {
-                            dialogManager.showGameResult(false);
-                        }
-                    } else if ("draw".equals(result)) {
-                        System.out.println("[GamePanel] Calling showGameResult - DRAW");
-                        if (isAIGame) {
-                            dialogManager.showGameResultWithCustomText("Draw", 0);
-                        } else {
-                            dialogManager.showGameResultDraw();
-                        }
+        // Sự kiện game từ network (GameHandler, InfoHandler)
+        GameEventBus events = state.gameEvents();
+        events.subscribe(GameEvent.GameResult.class, event -> {
+            System.out.println("[GamePanel] Game result: " + event.outcome());
+            boolean isAIGame = isAIGame();
+            switch (event.outcome()) {
+                case WIN:
+                    if (isAIGame) {
+                        dialogManager.showGameResultWithCustomText("You win", 0);
                     } else {
-                        System.out.println("[GamePanel] Unknown result: " + result);
-                    }
-                    break;
-                case "draw_request":
-                    System.out.println("[GamePanel] Handling draw_request case");
-                    if ("received".equals(result)) {
-                        System.out.println("[GamePanel] Calling showDrawRequestReceived()");
-                        dialogManager.showDrawRequestReceived();
-                    } else if ("hide".equals(result)) {
-                        System.out.println("[GamePanel] Calling hideDrawRequestReceived()");
-                        dialogManager.hideDrawRequestReceived();
-                    }
-                    break;
-                case "chat_message":
-                    if (result != null && !result.isEmpty()) {
-                        // Message từ opponent (nhận từ server), hiển thị ở avatar opponent
-                        chatManager.showChatPopup(result, false);
+                        dialogManager.showGameResult(true);
                     }
                     break;
-                case "game_restore":
-                    System.out.println("[GamePanel] Handling game_restore case");
-                    if (result != null && !result.isEmpty()) {
-                        // Format: "|currentTurn|xfen|movesJson"
-                        // Parse: opponent|gameMode|isRed|currentTurn|xfen|movesJson
-                        String[] parts = result.split("\\|", -1);
-                        if (parts.length >= 5) {
-                            String opponent = parts.length > 0 ? parts[0] : "";
-                            String gameMode = parts.length > 1 ? parts[1] : "classical";
-                            boolean isRed = parts.length > 2 && "true".equals(parts[2]);
-                            String currentTurn = parts.length > 3 ? parts[3] : "red";
-                            String xfen = parts.length > 4 ? parts[4] : "";
-                            String movesJson = parts.length > 5 ? parts[5] : "";
-                            
-                            System.out.println("[GamePanel] Restoring game: opponent=" + opponent + 
-                                ", gameMode=" + gameMode + ", isRed=" + isRed + ", currentTurn=" + currentTurn);
-                            
-                            // Set current turn
-                            setCurrentTurn(currentTurn);
-                            
-                            // Restore board from xfen and moves if available
-                            // Note: ChessBoardManager will restore from moves when game state is updated
-                            if (!xfen.isEmpty() && !movesJson.isEmpty()) {
-                                System.out.println("[GamePanel] Restoring board from xfen and moves");
-                                // Board will be restored when moves are applied
-                            }
-                            
-                            // Update timers based on current turn
-                            timerManager.updateTimersOnTurnChange();
-                        }
+                case LOSE:
+                    if (isAIGame) {
+                        dialogManager.showGameResultWithCustomText("You lose", 0);
+                    } else {
+                        dialogManager.showGameResult(false);
                     }
                     break;
-                case "suggest_move":
-                    if (result != null && !result.isEmpty()) {
-                        // Format: "fromRow_fromCol_toRow_toCol"
-                        String[] parts = result.split("_");
-                        if (parts.length == 4) {
-                            int fromRow = Integer.parseInt(parts[0]);
-                            int fromCol = Integer.parseInt(parts[1]);
-                            int toRow = Integer.parseInt(parts[2]);
-                            int toCol = Integer.parseInt(parts[3]);
-                            // Highlight suggest move
-                            chessBoardManager.highlightSuggestMove(fromRow, fromCol, toRow, toCol);
-                        }
+                case DRAW:
+                    if (isAIGame) {
+                        dialogManager.showGameResultWithCustomText("Draw", 0);
+                    } else {
+                        dialogManager.showGameResultDraw();
                     }
                     break;
-                default:
-                    System.out.println("[GamePanel] Unknown trigger: " + newVal);
             }
         });
-        
-        chessBoardManager.setOnTurnChanged(() -> {
+        events.subscribe(GameEvent.DrawRequest.class, event -> {
+            if (event.shown()) {
+                dialogManager.showDrawRequestReceived();
+            } else {
+                dialogManager.hideDrawRequestReceived();
+            }
+        });
+        events.subscribe(GameEvent.ChatMessage.class, event -> {
+            // Message từ opponent (nhận từ server), hiển thị ở avatar opponent
+            chatManager.showChatPopup(event.text(), false);
+        });
+        events.subscribe(GameEvent.GameRestore.class, event -> {
+            System.out.println("[GamePanel] Restoring game: opponent=" + event.opponent() + 
+                ", gameMode=" + event.gameMode() + ", isRed=" + event.isRed() + ", currentTurn=" + event.currentTurn());
+            setCurrentTurn(event.currentTurn());
+            // Note: ChessBoardManager will restore from moves when game state is updated
             timerManager.updateTimersOnTurnChange();
         });
+        events.subscribe(GameEvent.SuggestMove.class, event -> 
+            chessBoardManager.highlightSuggestMove(event.fromRow(), event.fromCol(), event.toRow(), event.toCol()));
         
         // Callback để gửi MOVE message đến server khi người chơi di chuyển quân cờ
         chessBoardManager.setOnMoveMade((fromRow, fromCol, toRow, toCol, piece, captured) -> {
@@ -347,7 +289,7 @@ public class GamePanel extends StackPane implements IGamePanel {
                 int backendFromRow = 9 - fromRow;
                 int backendToRow = 9 - toRow;
                 
-                application.network.NetworkManager networkManager = application.network.NetworkManager.getInstance();
+                application.network.fx.NetworkManager networkManager = application.network.fx.NetworkManager.getInstance();
                 if (networkManager != null) {
                     networkManager.game().sendMove(fromCol, backendFromRow, toCol, backendToRow, piece, captured, null);
                     System.out.println("[GamePanel] Sent MOVE to server: " + piece + 
@@ -361,9 +303,7 @@ public class GamePanel extends StackPane implements IGamePanel {
         });
         
         // Register callback trong UIState để nhận move từ server
-        state.setOpponentMoveCallback((fromCol, fromRow, toCol, toRow) -> {
-            applyOpponentMove(fromCol, fromRow, toCol, toRow);
-        });
+        state.setOpponentMoveCallback(this::applyOpponentMove);
     }
     
     // Lưu reference đến profile containers để có thể đổi vị trí
@@ -494,6 +434,11 @@ public class GamePanel extends StackPane implements IGamePanel {
             }
         });
         
+        // Đổi renderer (node <-> canvas) giữa ván: dựng lại từ model, giữ nguyên vị trí và lịch sử
+        state.boardRendererProperty().addListener((obs, oldVal, newVal) -> {
+            Platform.runLater(this::swapBoardRenderer);
+        });
+        
         root.getChildren().addAll(background, playerProfile, playerCapturedPieces, opponentProfile, opponentCapturedPieces, 
             timersContainer, leftIcons, topRightIcons, boardContainer);
         
@@ -753,11 +698,55 @@ public class GamePanel extends StackPane implements IGamePanel {
             e.consume();
         });
         
-        container.getChildren().addAll(moveIcon, chatIcon);
+        container.getChildren().addAll(createLatencyIndicator(), moveIcon, chatIcon);
         
         return container;
     }
     
+    /**
+     * Tạo label hiển thị độ trễ mạng (RTT từ heartbeat)
+     * Xanh < 100ms, vàng < 250ms, đỏ khi chậm hơn hoặc mất kết nối
+     */
+    private Label createLatencyIndicator() {
+        Label latencyLabel = new Label();
+        latencyLabel.textProperty().bind(
+            javafx.beans.binding.Bindings.createStringBinding(
+                () -> {
+                    int rtt = state.getLatencyMs();
+                    return rtt < 0 ? "-- ms" : rtt + " ms";
+                },
+                state.latencyMsProperty()
+            )
+        );
+        latencyLabel.styleProperty().bind(
+            javafx.beans.binding.Bindings.createStringBinding(
+                () -> {
+                    int rtt = state.getLatencyMs();
+                    String color = rtt < 0 ? "#E53935" : rtt < 100 ? "#4CAF50" : rtt < 250 ? "#FFC107" : "#E53935";
+                    return "-fx-font-family: 'Kolker Brush'; -fx-font-size: 32px; -fx-text-fill: " + color + "; -fx-background-color: transparent;";
+                },
+                state.latencyMsProperty()
+            )
+        );
+        
+        // Tooltip hiển thị jitter
+        javafx.scene.control.Tooltip tooltip = new javafx.scene.control.Tooltip();
+        tooltip.textProperty().bind(
+            javafx.beans.binding.Bindings.createStringBinding(
+                () -> "Ping " + state.getLatencyMs() + " ms, jitter " + state.getLatencyJitterMs() + " ms",
+                state.latencyMsProperty(),
+                state.latencyJitterMsProperty()
+            )
+        );
+        latencyLabel.setTooltip(tooltip);
+        
+        // Click vào ping để bật/tắt HUD hiệu năng (FPS, pulse, mạng...)
+        latencyLabel.setCursor(Cursor.HAND);
+        latencyLabel.setOnMouseClicked(e -> state.togglePerformanceHud());
+        
+        return latencyLabel;
+    }
+    
     private void fadeTo(double target) {
         fade.stop();
         fade.setFromValue(getOpacity());
@@ -766,6 +755,19 @@ public class GamePanel extends StackPane implements IGamePanel {
     }
 
     
+    private void swapBoardRenderer() {
+        if (boardContainer == null) {
+            return;
+        }
+        if (piecesContainer != null) {
+            boardContainer.getChildren().remove(piecesContainer);
+        }
+        piecesContainer = chessBoardManager.rebuildChessPieces();
+        boardContainer.getChildren().add(piecesContainer);
+        updateBoardRotation(state.isPlayerRed());
+        System.out.println("[GamePanel] Board renderer: " + state.boardRendererProperty().get());
+    }
+    
     @Override
     public void resetChessPieces() {
         // Xóa quân cờ cũ nếu có
@@ -787,7 +789,11 @@ public class GamePanel extends StackPane implements IGamePanel {
      */
     @Override
     public String getCurrentTurn() {
-        return currentTurn;
+        // Lượt đi do model ván cờ nắm giữ
+        if (chessBoardManager == null) {
+            return "red";
+        }
+        return chessBoardManager.getGameState().isRedTurn() ? "red" : "black";
     }
     
     /**
@@ -795,156 +801,37 @@ public class GamePanel extends StackPane implements IGamePanel {
      */
     @Override
     public void setCurrentTurn(String turn) {
-        this.currentTurn = turn;
+        chessBoardManager.getGameState().setRedTurn(!"black".equals(turn));
     }
     
     /**
      * Apply opponent's move from server
-     * @param fromCol Column of piece to move (0-8) - Backend coordinates
-     * @param fromRow Row of piece to move (0-9) - Backend coordinates
-     * @param toCol Target column (0-8) - Backend coordinates
-     * @param toRow Target row (0-9) - Backend coordinates
+     * @param event move already in frontend coordinates (core GameEventDecoder flips backend rows)
      */
-    public void applyOpponentMove(int fromCol, int fromRow, int toCol, int toRow) {
+    public void applyOpponentMove(application.network.events.MoveEvent event) {
         Platform.runLater(() -> {
             if (piecesContainer == null) {
                 System.err.println("[GamePanel] piecesContainer is null, cannot apply move");
                 return;
             }
             
-            // Convert: Backend row (0=top đen) → Frontend row (0=top đỏ)
-            // Backend: row 0 = top (đen), row 9 = bottom (đỏ)
-            // Frontend: row 0 = top (đỏ), row 9 = bottom (đen)
-            // Công thức: frontendRow = 9 - backendRow
-            int frontendFromRow = 9 - fromRow;
-            int frontendToRow = 9 - toRow;
-            
-            // Tìm quân cờ tại vị trí from (dùng row/col từ PieceInfo - không dùng pixel)
-            ImageView pieceToMove = null;
-            ImageView capturedPiece = null;
-            
-            System.out.println("[GamePanel] Looking for piece at FE(" + frontendFromRow + "," + fromCol + ") BE(" + fromRow + "," + fromCol + ")");
-            
-            for (javafx.scene.Node node : piecesContainer.getChildren()) {
-                if (node instanceof ImageView) {
-                    ImageView imgView = (ImageView) node;
-                    if (imgView.getUserData() instanceof ChessBoardManager.PieceInfo) {
-                        ChessBoardManager.PieceInfo info = (ChessBoardManager.PieceInfo) imgView.getUserData();
-                        
-                        // So sánh bằng row/col từ PieceInfo (vị trí lưới)
-                        if (info.row == frontendFromRow && info.col == fromCol) {
-                            pieceToMove = imgView;
-                            System.out.println("[GamePanel] Found piece to move: " + info.color + " " + info.pieceType +
-                                " at grid position (" + info.row + "," + info.col + ")");
-                        }
-                        if (info.row == frontendToRow && info.col == toCol) {
-                            capturedPiece = imgView;
-                        }
-                    }
-                }
-            }
-            
-            if (pieceToMove == null) {
-                System.err.println("[GamePanel] Could not find piece at FE(" + frontendFromRow + "," + fromCol + ") BE(" + fromRow + "," + fromCol + ")");
-                // Debug: in ra tất cả pieces với row/col
-                System.err.println("[GamePanel] Available pieces:");
-                for (javafx.scene.Node node : piecesContainer.getChildren()) {
-                    if (node instanceof ImageView) {
-                        ImageView imgView = (ImageView) node;
-                        if (imgView.getUserData() instanceof ChessBoardManager.PieceInfo) {
-                            ChessBoardManager.PieceInfo info = (ChessBoardManager.PieceInfo) imgView.getUserData();
-                            System.err.println("  - " + info.color + " " + info.pieceType +
-                                " at grid (" + info.row + "," + info.col + ")");
-                        }
-                    }
-                }
+            // Áp dụng vào model; bàn cờ, quân bị ăn, lịch sử, timer, kiểm tra kết thúc và premove chạy theo sự kiện onMove
+            application.game.GameState.Move move = chessBoardManager.getGameState()
+                .applyMove(event.fromRow, event.fromCol, event.toRow, event.toCol);
+            if (move == null) {
+                System.err.println("[GamePanel] Could not find piece at FE(" + event.fromRow + "," + event.fromCol + ")");
                 return;
             }
             
-            // Nếu có quân cờ ở vị trí đích, xóa nó (ăn quân)
-            if (capturedPiece != null && capturedPiece != pieceToMove) {
-                ChessBoardManager.PieceInfo capInfo = (ChessBoardManager.PieceInfo) capturedPiece.getUserData();
-                if (capInfo != null) {
-                    // Thêm vào captured pieces display
-                    capturedPiecesManager.addCapturedPiece(capInfo.color, capInfo.pieceType);
-                }
-                piecesContainer.getChildren().remove(capturedPiece);
-            }
-            
-            // Di chuyển quân cờ đến vị trí mới (dùng công thức đặt quân cờ với offset)
-            ChessBoardManager.PieceInfo pieceInfo = (ChessBoardManager.PieceInfo) pieceToMove.getUserData();
-            
-            // Tính toán vị trí giao điểm dựa trên công thức đặt quân cờ trong ChessBoardManager
-            double boardSize = 923.0;
-            double startX = 45.0;
-            double startY = 45.0;
-            double endX = boardSize - 45.0;
-            double endY = boardSize - 45.0;
-            double intersectionSpacingX = (endX - startX) / 8.0;
-            double intersectionSpacingY = (endY - startY) / 9.0;
-            double pieceWidth = intersectionSpacingX * 0.8;
-            double pieceHeight = intersectionSpacingY * 0.8;
-            
-            // Tính vị trí giao điểm cho to (dùng frontend coordinates)
-            double toIntersectionX = startX + toCol * intersectionSpacingX;
-            double toIntersectionY = startY + frontendToRow * intersectionSpacingY;
-            
-            // Tính offset dựa trên màu quân cờ (giống như trong ChessBoardManager)
-            double offsetX = 0;
-            double offsetY = 0;
-            if (pieceInfo != null) {
-                if ("red".equals(pieceInfo.color)) {
-                    offsetY = -10;  // Dịch lên trên 10px
-                    if (toCol >= 5) {  // Cột 5, 6, 7, 8
-                        offsetX = 5;  // Dịch sang phải thêm 5px
-                    } else {
-                        offsetX = -4;
-                    }
-                } else if ("black".equals(pieceInfo.color)) {
-                    if (toCol < 5) {
-                        offsetX = -5;
-                    } else {
-                        offsetX = 9;
-                    }
-                }
-            }
-            
-            // Đặt tâm quân cờ tại giao điểm (trừ đi một nửa kích thước) + offset
-            double newX = toIntersectionX - pieceWidth / 2.0 + offsetX;
-            double newY = toIntersectionY - pieceHeight / 2.0 + offsetY;
-            pieceToMove.setLayoutX(newX);
-            pieceToMove.setLayoutY(newY);
+            System.out.println("[GamePanel] Applied opponent move: FE(" + event.fromRow + "," + event.fromCol + 
+                ") -> FE(" + event.toRow + "," + event.toCol + ")");
             
-            // CẬP NHẬT row/col trong PieceInfo (quan trọng!)
-            pieceInfo.row = frontendToRow;
-            pieceInfo.col = toCol;
-            
-            // Lấy thông tin để thêm vào move history
-            if (pieceInfo != null) {
-                String capturedInfo = "";
-                if (capturedPiece != null && capturedPiece != pieceToMove) {
-                    ChessBoardManager.PieceInfo capInfo = (ChessBoardManager.PieceInfo) capturedPiece.getUserData();
-                    if (capInfo != null) {
-                        capturedInfo = String.format(" (captured %s %s)", capInfo.color, capInfo.pieceType);
-                    }
-                }
-                moveHistoryManager.addMove(pieceInfo.color, pieceInfo.pieceType, frontendFromRow, fromCol, frontendToRow, toCol, capturedInfo);
+            // Mọi listener đã xử lý xong nước của đối thủ: giờ mới đi premove đang xếp hàng (cùng FX event)
+            if (lastMoveEndedGame) {
+                chessBoardManager.clearPremoves();
+            } else {
+                chessBoardManager.playPremove();
             }
-            
-            // Đổi lượt
-            currentTurn = currentTurn.equals("red") ? "black" : "red";
-            
-            // Cập nhật timer
-            timerManager.updateTimersOnTurnChange();
-            
-            System.out.println("[GamePanel] Applied opponent move: FE(" + frontendFromRow + "," + fromCol + 
-                ") -> FE(" + frontendToRow + "," + toCol + ") BE(" + fromRow + "," + fromCol + 
-                ") -> BE(" + toRow + "," + toCol + ")");
-            
-            // Check game end after opponent move
-            Platform.runLater(() -> {
-                checkGameEndAfterMove(false); // captured info not available here, will check from board
-            });
         });
     }
 
@@ -999,8 +886,9 @@ public class GamePanel extends StackPane implements IGamePanel {
         
         // QUAN TRỌNG: Khi bàn cờ xoay 180 độ, quân cờ cũng bị xoay làm chữ ngược
         // Cần xoay ngược mỗi quân cờ (ImageView) để chữ luôn đúng hướng
+        double pieceRotation = isPlayerRed ? 180.0 : 0.0;
+        chessBoardManager.setPieceRotation(pieceRotation);
         if (piecesContainer != null) {
-            double pieceRotation = isPlayerRed ? 180.0 : 0.0;
             for (javafx.scene.Node node : piecesContainer.getChildren()) {
                 if (node instanceof ImageView) {
                     ImageView piece = (ImageView) node;
@@ -1032,7 +920,7 @@ public class GamePanel extends StackPane implements IGamePanel {
         }
         
         // Reset currentTurn về red (mặc định red đi trước)
-        currentTurn = "red";
+        setCurrentTurn("red");
         
         // Reset AI quit flag
         aiQuitSent = false;
@@ -1089,49 +977,18 @@ public class GamePanel extends StackPane implements IGamePanel {
      * @return char[10][9] board representation
      */
     private char[][] getCurrentBoardState() {
-        char[][] board = new char[10][9];
-        // Initialize with empty squares
-        for (int i = 0; i < 10; i++) {
-            for (int j = 0; j < 9; j++) {
-                board[i][j] = ' ';
-            }
-        }
-        
-        if (piecesContainer == null) {
-            return board;
-        }
-        
-        // Extract piece positions from piecesContainer (dùng row/col từ PieceInfo)
-        for (javafx.scene.Node node : piecesContainer.getChildren()) {
-            if (node instanceof ImageView) {
-                ImageView piece = (ImageView) node;
-                if (piece.getUserData() instanceof ChessBoardManager.PieceInfo) {
-                    ChessBoardManager.PieceInfo info = (ChessBoardManager.PieceInfo) piece.getUserData();
-                    
-                    // Dùng row/col từ PieceInfo thay vì tính từ pixel
-                    int row = info.row;
-                    int col = info.col;
-                    
-                    // Chỉ thêm vào board nếu row/col hợp lệ
-                    if (row >= 0 && row < 10 && col >= 0 && col < 9) {
-                        // Convert piece type to character
-                        char pieceChar = ChessBoardManager.getPieceChar(info.pieceType, info.color.equals("red"));
-                        board[row][col] = pieceChar;
-                    }
-                }
-            }
-        }
-        
-        return board;
+        // Bản sao từ model ván cờ (không dựng lại từ node)
+        return chessBoardManager.getGameState().copyBoard();
     }
     
     /**
      * Check game end conditions after a move
      * @param captured Whether a piece was captured in this move
+     * @return true if the game is over
      */
-    private void checkGameEndAfterMove(boolean captured) {
+    private boolean checkGameEndAfterMove(boolean captured) {
         if (gameEndChecker == null || piecesContainer == null) {
-            return;
+            return false;
         }
         
         // Get current board state
@@ -1153,8 +1010,10 @@ public class GamePanel extends StackPane implements IGamePanel {
         gameEndChecker.recordMove(board, captured);
         
         // Check game end conditions
-        boolean isRedTurn = currentTurn.equals("red");
+        boolean isRedTurn = chessBoardManager.getGameState().isRedTurn();
+        long checkStart = System.nanoTime();
         application.game.GameEndChecker.GameEndResult result = gameEndChecker.checkGameEnd(board, isRedTurn);
+        Metrics.timer("rules.checkGameEnd").recordSince(checkStart);
         
         if (result.isGameOver) {
             System.out.println("[GamePanel] Game Over: " + result.result + " - " + result.termination + " - " + result.message);
@@ -1177,8 +1036,8 @@ public class GamePanel extends StackPane implements IGamePanel {
             
             // Send game end to server
             try {
-                application.network.NetworkManager networkManager = 
-                    application.network.NetworkManager.getInstance();
+                application.network.fx.NetworkManager networkManager = 
+                    application.network.fx.NetworkManager.getInstance();
                 if (networkManager != null) {
                     if (isAIGame) {
                         // AI game: gửi AI_QUIT thay vì GAME_END (chỉ gửi một lần)
@@ -1239,6 +1098,7 @@ public class GamePanel extends StackPane implements IGamePanel {
                 // TODO: Show "Check!" indicator in UI
             }
         }
+        return result.isGameOver;
     }
     
     /**
@@ -1311,8 +1171,8 @@ public class GamePanel extends StackPane implements IGamePanel {
                 dialogManager.showQuitConfirmation(() -> {
                     // Callback khi user confirm quit
                     try {
-                        application.network.NetworkManager networkManager = 
-                            application.network.NetworkManager.getInstance();
+                        application.network.fx.NetworkManager networkManager = 
+                            application.network.fx.NetworkManager.getInstance();
                         if (networkManager != null) {
                             if (isAI) {
                                 // AI game: gửi AI_QUIT (không tính là resign, không mất điểm)
@@ -1460,21 +1320,92 @@ public class GamePanel extends StackPane implements IGamePanel {
             suggestScaleOut.play();
         });
         
-        // Click handler để gửi SUGGEST_MOVE request
+        // Click handler: gợi ý bằng engine local, server (SUGGEST_MOVE) là fallback
         suggestContainer.setOnMouseClicked(e -> {
-            try {
-                application.network.NetworkManager.getInstance().game().requestSuggestMove();
-                System.out.println("[GamePanel] Sent SUGGEST_MOVE request");
-            } catch (Exception ex) {
-                System.err.println("[GamePanel] Failed to request suggest move: " + ex.getMessage());
-                ex.printStackTrace();
-            }
+            requestHint();
             e.consume();
         });
         
         return suggestContainer;
     }
     
+    /**
+     * Gợi ý từ opening book nếu thế cờ có trong book, nếu không thì
+     * tìm nước bằng SearchEngine trên thread nền trong HINT_TIME_MS, rồi publish
+     * GameEvent.SuggestMove như khi server trả lời. Kết quả bị bỏ nếu bàn cờ đã đổi trong lúc tìm.
+     * Gửi SUGGEST_MOVE lên server nếu -Dhint.local=false, engine lỗi hoặc không tìm được nước.
+     */
+    private void requestHint() {
+        if (!HINT_LOCAL) {
+            requestServerHint();
+            return;
+        }
+        // Chụp lại thế cờ trên FX thread, engine chạy trên bản sao
+        application.game.GameState gameState = chessBoardManager.getGameState();
+        long requestedHash = gameState.getHash();
+        // Thế cờ có trong opening book: lấy nước nhiều điểm nhất, không cần tìm
+        application.game.OpeningBook book = OpeningBooks.get();
+        application.game.OpeningBook.Entry bookMove = book != null ? book.bestMove(requestedHash) : null;
+        if (bookMove != null && isOwnPiece(gameState, bookMove.fromRow, bookMove.fromCol)) {
+            System.out.println("[GamePanel] Book hint " + bookMove);
+            state.gameEvents().publish(new GameEvent.SuggestMove(
+                    bookMove.fromRow, bookMove.fromCol, bookMove.toRow, bookMove.toCol));
+            return;
+        }
+        char[][] board = gameState.copyBoard();
+        boolean redToMove = gameState.isRedTurn();
+        long[] earlierHashes = application.game.SearchEngine.earlierHashes(gameState);
+        hintEngine.stop(); // Click lại khi đang tìm: bỏ lần tìm cũ
+        // Lấy generation ngay trên FX thread: stop() từ onMove/onReset trước khi thread kịp chạy vẫn hủy lần tìm này
+        long generation = hintEngine.generation();
+        Thread worker = new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                application.game.SearchEngine.Result result = hintEngine.search(
+                        board, redToMove, earlierHashes, HINT_TIME_MS, Integer.MAX_VALUE, generation);
+                Metrics.timer("engine.hint").recordSince(start);
+                if (result == null) {
+                    runIfPositionUnchanged(gameState, requestedHash, this::requestServerHint);
+                    return;
+                }
+                System.out.println("[GamePanel] Local hint " + result);
+                runIfPositionUnchanged(gameState, requestedHash, () -> state.gameEvents().publish(
+                        new GameEvent.SuggestMove(result.fromRow, result.fromCol, result.toRow, result.toCol)));
+            } catch (Exception ex) {
+                System.err.println("[GamePanel] Local hint failed, asking server: " + ex.getMessage());
+                runIfPositionUnchanged(gameState, requestedHash, this::requestServerHint);
+            }
+        }, "hint-search");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Chạy action trên FX thread nếu thế cờ vẫn là thế cờ lúc yêu cầu gợi ý (kết quả cũ thì bỏ)
+     */
+    private static void runIfPositionUnchanged(application.game.GameState gameState, long requestedHash, Runnable action) {
+        Platform.runLater(() -> {
+            if (gameState.getHash() == requestedHash) {
+                action.run();
+            }
+        });
+    }
+    
+    private static boolean isOwnPiece(application.game.GameState gameState, int row, int col) {
+        char piece = gameState.pieceAt(row, col);
+        return Character.isLetter(piece) && Character.isUpperCase(piece) == gameState.isRedTurn();
+    }
+    
+    private void requestServerHint() {
+        try {
+            application.network.fx.NetworkManager.getInstance().game().requestSuggestMove();
+            System.out.println("[GamePanel] Sent SUGGEST_MOVE request");
+        } catch (Exception ex) {
+            System.err.println("[GamePanel] Failed to request suggest move: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+    
     /**
      * Parse AI difficulty từ opponent username
      * Hỗ trợ các format: "AI (Easy)", "AI_easy", "AI_medium", "AI_hard", "AI"
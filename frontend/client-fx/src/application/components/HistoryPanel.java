@@ -1,13 +1,16 @@
 package application.components;
 
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.state.UIState;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
@@ -19,7 +22,6 @@ import javafx.scene.effect.DropShadow;
 import javafx.util.Duration;
 import javafx.scene.Cursor;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,10 +37,11 @@ public class HistoryPanel extends StackPane {
     private Label aiTab;
     
     // History data storage
-    private final List<HistoryEntry> peopleHistory = new ArrayList<>();
-    private final List<HistoryEntry> aiHistory = new ArrayList<>();
-    private VBox tableContent;
-    private ScrollPane scrollPane;
+    // Observable: ListView tự cập nhật khi thêm/sửa từng dòng, chỉ dựng node cho các dòng đang hiện
+    private final ObservableList<HistoryEntry> peopleHistory = FXCollections.observableArrayList();
+    private final ObservableList<HistoryEntry> aiHistory = FXCollections.observableArrayList();
+    private ListView<HistoryEntry> historyList;
+    private VBox comingSoonPlaceholder;
     private Pane container;  // Reference to container for adding dialogs
     private StackPane replayDialog;  // Replay confirmation dialog
 
@@ -227,36 +230,24 @@ public class HistoryPanel extends StackPane {
         
         tableHeader.getChildren().addAll(opponentHeader, resultHeader, modeHeader, dateHeader, infoHeader);
         
-        // Table content area with scroll
-        scrollPane = new ScrollPane();
-        scrollPane.setLayoutX(30);
-        scrollPane.setLayoutY(250);
-        scrollPane.setPrefWidth(1140);
-        scrollPane.setPrefHeight(520);
+        // Table content area with scroll (virtualized, cells reused while scrolling)
+        historyList = new ListView<>();
+        historyList.setLayoutX(30);
+        historyList.setLayoutY(250);
+        historyList.setPrefWidth(1140);
+        historyList.setPrefHeight(520);
         // Hide scroll bars but keep scroll functionality
-        scrollPane.setStyle(
-            "-fx-background-color: transparent; " +
-            "-fx-background: transparent; " +
-            "-fx-scroll-bar-visible: false; " +
-            "-fx-hbar-policy: never; " +
-            "-fx-vbar-policy: never;"
-        );
-        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);  // Hide vertical scrollbar but keep scroll
-        scrollPane.setFitToWidth(true);  // Fit content to width, prevent horizontal scroll
-        scrollPane.setPannable(false);   // Disable panning (drag scrolling)
-        
-        tableContent = new VBox(0);
-        tableContent.setPrefWidth(1140);
-        tableContent.setMaxWidth(1140);  // Prevent content from exceeding width
-        tableContent.setStyle("-fx-background-color: transparent;");
+        historyList.getStyleClass().addAll("cc-plain-list", "cc-hidden-scrollbar");
+        historyList.setFixedCellSize(80);
+        historyList.setFocusTraversable(false);
+        historyList.setCellFactory(list -> new HistoryCell());
+        historyList.setPlaceholder(new Label(""));
+        comingSoonPlaceholder = createComingSoon();
         
         // Initialize with empty history (will be updated later)
         refreshTable();
         
-        scrollPane.setContent(tableContent);
-        
-        contentPane.getChildren().addAll(header, tabsContainer, tableHeader, scrollPane);
+        contentPane.getChildren().addAll(header, tabsContainer, tableHeader, historyList);
         mainPanel.getChildren().addAll(bg, contentPane);
         
         return mainPanel;
@@ -312,81 +303,78 @@ public class HistoryPanel extends StackPane {
         return header;
     }
     
-    private HBox createHistoryRow(String opponent, String result, String mode, String date) {
-        HBox row = new HBox();
-        row.setPrefWidth(1140);
-        row.setMaxWidth(1140);  // Prevent row from exceeding width
-        row.setPrefHeight(80);
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.setPadding(new Insets(0, 20, 0, 20));
-        row.setStyle("-fx-background-color: transparent;");
-        
-        // Opponent column (first column, not in header but in rows)
-        Label opponentLabel = new Label(opponent);
-        opponentLabel.setPrefWidth(400);
-        opponentLabel.setAlignment(Pos.CENTER_LEFT);
-        opponentLabel.setStyle(
-            "-fx-font-family: 'Kolker Brush'; " +
-            "-fx-font-size: 35px; " +
-            "-fx-text-fill: black; " +
-            "-fx-background-color: transparent;"
-        );
-        
-        // Result column
-        Label resultLabel = new Label(result);
-        resultLabel.setPrefWidth(200);
-        resultLabel.setAlignment(Pos.CENTER_LEFT);
-        resultLabel.setStyle(
-            "-fx-font-family: 'Kolker Brush'; " +
-            "-fx-font-size: 35px; " +
-            "-fx-text-fill: black; " +
-            "-fx-background-color: transparent;"
-        );
-        
-        // Mode column
-        Label modeLabel = new Label(mode);
-        modeLabel.setPrefWidth(250);
-        modeLabel.setAlignment(Pos.CENTER_LEFT);
-        modeLabel.setStyle(
-            "-fx-font-family: 'Kolker Brush'; " +
-            "-fx-font-size: 35px; " +
-            "-fx-text-fill: black; " +
-            "-fx-background-color: transparent;"
-        );
+    /**
+     * One history row. The row nodes are built once per cell; updateItem only swaps text.
+     */
+    private final class HistoryCell extends ListCell<HistoryEntry> {
+        private final HBox row = new HBox();
+        private final Label opponentLabel = createCellLabel(400);
+        private final Label resultLabel = createCellLabel(200);
+        private final Label modeLabel = createCellLabel(250);
+        private final Label dateLabel = createCellLabel(200);
+        
+        HistoryCell() {
+            row.setPrefWidth(1140);
+            row.setMaxWidth(1140);  // Prevent row from exceeding width
+            row.setPrefHeight(80);
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(0, 20, 0, 20));
+            row.setStyle("-fx-background-color: transparent;");
+            
+            // Info icon column
+            ImageView infoIcon = new ImageView(AssetHelper.image("ic_info.png"));
+            infoIcon.setFitWidth(30);
+            infoIcon.setFitHeight(30);
+            infoIcon.setPreserveRatio(true);
+            infoIcon.setSmooth(true);
+            
+            StackPane infoButton = new StackPane(infoIcon);
+            infoButton.setPrefWidth(100);
+            infoButton.setAlignment(Pos.CENTER);
+            infoButton.setCursor(Cursor.HAND);
+            infoButton.setOnMouseEntered(e -> {
+                infoIcon.setOpacity(0.7);
+            });
+            infoButton.setOnMouseExited(e -> {
+                infoIcon.setOpacity(1.0);
+            });
+            // Entry is whatever this cell currently shows
+            infoButton.setOnMouseClicked(e -> {
+                HistoryEntry entry = getItem();
+                if (entry != null) {
+                    showReplayConfirmation(entry.getGameId());
+                }
+            });
+            
+            row.getChildren().addAll(opponentLabel, resultLabel, modeLabel, dateLabel, infoButton);
+        }
         
-        // Date column
-        Label dateLabel = new Label(date);
-        dateLabel.setPrefWidth(200);
-        dateLabel.setAlignment(Pos.CENTER_LEFT);
-        dateLabel.setStyle(
+        @Override
+        protected void updateItem(HistoryEntry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setGraphic(null);
+                return;
+            }
+            opponentLabel.setText(entry.getOpponent());
+            resultLabel.setText(entry.getResult());
+            modeLabel.setText(entry.getMode());
+            dateLabel.setText(entry.getDate());
+            setGraphic(row);
+        }
+    }
+    
+    private static Label createCellLabel(double width) {
+        Label label = new Label();
+        label.setPrefWidth(width);
+        label.setAlignment(Pos.CENTER_LEFT);
+        label.setStyle(
             "-fx-font-family: 'Kolker Brush'; " +
             "-fx-font-size: 35px; " +
             "-fx-text-fill: black; " +
             "-fx-background-color: transparent;"
         );
-        
-        // Info icon column
-        ImageView infoIcon = new ImageView(AssetHelper.image("ic_info.png"));
-        infoIcon.setFitWidth(30);
-        infoIcon.setFitHeight(30);
-        infoIcon.setPreserveRatio(true);
-        infoIcon.setSmooth(true);
-        
-        StackPane infoButton = new StackPane(infoIcon);
-        infoButton.setPrefWidth(100);
-        infoButton.setAlignment(Pos.CENTER);
-        infoButton.setCursor(Cursor.HAND);
-        infoButton.setOnMouseEntered(e -> {
-            infoIcon.setOpacity(0.7);
-        });
-        infoButton.setOnMouseExited(e -> {
-            infoIcon.setOpacity(1.0);
-        });
-        // Click handler will be added in refreshTable() after row is created
-        
-        row.getChildren().addAll(opponentLabel, resultLabel, modeLabel, dateLabel, infoButton);
-        
-        return row;
+        return label;
     }
     
     /**
@@ -394,8 +382,7 @@ public class HistoryPanel extends StackPane {
      * @param entries List of history entries
      */
     public void updatePeopleHistory(List<HistoryEntry> entries) {
-        peopleHistory.clear();
-        peopleHistory.addAll(entries);
+        peopleHistory.setAll(entries);
         if (isPeopleTabSelected) {
             refreshTable();
         }
@@ -406,8 +393,7 @@ public class HistoryPanel extends StackPane {
      * @param entries List of history entries
      */
     public void updateAIHistory(List<HistoryEntry> entries) {
-        aiHistory.clear();
-        aiHistory.addAll(entries);
+        aiHistory.setAll(entries);
         if (!isPeopleTabSelected) {
             refreshTable();
         }
@@ -417,8 +403,8 @@ public class HistoryPanel extends StackPane {
      * Refreshes the table display based on current tab selection.
      */
     private void refreshTable() {
-        if (tableContent == null) {
-            System.err.println("[HistoryPanel] refreshTable: tableContent is null!");
+        if (historyList == null) {
+            System.err.println("[HistoryPanel] refreshTable: historyList is null!");
             return;
         }
         
@@ -426,55 +412,26 @@ public class HistoryPanel extends StackPane {
         System.out.println("[HistoryPanel] peopleHistory size: " + peopleHistory.size());
         System.out.println("[HistoryPanel] aiHistory size: " + aiHistory.size());
         
-        tableContent.getChildren().clear();
-        
         // Nếu đang ở tab "Play with AI", hiển thị "Coming soon"
         if (!isPeopleTabSelected) {
-            showComingSoon();
-            return;
-        }
-        
-        List<HistoryEntry> currentHistory = peopleHistory;
-        
-        System.out.println("[HistoryPanel] currentHistory size: " + currentHistory.size());
-        
-        if (currentHistory.isEmpty()) {
-            System.out.println("[HistoryPanel] No history entries to display");
-            // Show empty message or keep empty
+            historyList.setItems(FXCollections.emptyObservableList());
+            historyList.setPlaceholder(comingSoonPlaceholder);
+            System.out.println("[HistoryPanel] Showing 'Coming soon' for AI tab");
             return;
         }
         
-        System.out.println("[HistoryPanel] Adding " + currentHistory.size() + " rows to table");
-        for (HistoryEntry entry : currentHistory) {
-            HBox row = createHistoryRow(
-                entry.getOpponent(),
-                entry.getResult(),
-                entry.getMode(),
-                entry.getDate()
-            );
-            // Store entry in row's userData for click handler
-            row.setUserData(entry);
-            
-            // Add click handler to info button (last child in row)
-            if (row.getChildren().size() > 0) {
-                javafx.scene.Node lastChild = row.getChildren().get(row.getChildren().size() - 1);
-                if (lastChild instanceof StackPane) {
-                    StackPane infoButton = (StackPane) lastChild;
-                    infoButton.setOnMouseClicked(e -> {
-                        showReplayConfirmation(entry.getGameId());
-                    });
-                }
-            }
-            
-            tableContent.getChildren().add(row);
+        // ListView theo dõi peopleHistory: không cần dựng lại dòng khi dữ liệu đổi
+        historyList.setPlaceholder(new Label(""));
+        if (historyList.getItems() != peopleHistory) {
+            historyList.setItems(peopleHistory);
         }
-        System.out.println("[HistoryPanel] ✓ Table refreshed with " + tableContent.getChildren().size() + " rows");
+        System.out.println("[HistoryPanel] ✓ Table showing " + peopleHistory.size() + " rows");
     }
     
     /**
-     * Hiển thị dòng chữ "Coming soon" khi chọn tab "Play with AI"
+     * Dòng chữ "Coming soon" khi chọn tab "Play with AI" (placeholder của bảng)
      */
-    private void showComingSoon() {
+    private VBox createComingSoon() {
         // Tạo label "Coming soon" căn giữa
         Label comingSoonLabel = new Label("Coming soon");
         comingSoonLabel.setStyle(
@@ -485,16 +442,14 @@ public class HistoryPanel extends StackPane {
         );
         comingSoonLabel.setAlignment(Pos.CENTER);
         comingSoonLabel.setPrefWidth(1140);
-        comingSoonLabel.setPrefHeight(520);  // Chiều cao của scrollPane content area
+        comingSoonLabel.setPrefHeight(520);  // Chiều cao của vùng bảng
         
         // Container để căn giữa label
         VBox container = new VBox();
         container.setPrefSize(1140, 520);
         container.setAlignment(Pos.CENTER);
         container.getChildren().add(comingSoonLabel);
-        
-        tableContent.getChildren().add(container);
-        System.out.println("[HistoryPanel] Showing 'Coming soon' for AI tab");
+        return container;
     }
     
     private void fadeTo(double target) {
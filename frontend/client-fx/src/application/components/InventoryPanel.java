@@ -33,6 +33,9 @@ public class InventoryPanel extends StackPane {
     private final UIState state;
     private VBox selectedSlot = null;
     private List<VBox> slots = new ArrayList<>();  // Lưu danh sách slots
+    // Giữ lại để dispose() gỡ khỏi UIState khi PanelRegistry release panel
+    private final javafx.beans.value.ChangeListener<Boolean> visibleListener;
+    private final javafx.beans.value.ChangeListener<UIState.AppState> appStateListener;
 
     public InventoryPanel(UIState state) {
         this.state = state;
@@ -67,7 +70,7 @@ public class InventoryPanel extends StackPane {
         setOpacity(0);
         
         // Fade animation khi inventoryVisible thay đổi
-        state.inventoryVisibleProperty().addListener((obs, oldVal, newVal) -> {
+        visibleListener = (obs, oldVal, newVal) -> {
             if (newVal && state.appStateProperty().get() == UIState.AppState.MAIN_MENU) {
                 fadeTo(1);
                 
@@ -82,15 +85,26 @@ public class InventoryPanel extends StackPane {
             } else {
                 fadeTo(0);
             }
-        });
+        };
+        state.inventoryVisibleProperty().addListener(visibleListener);
         
-        state.appStateProperty().addListener((obs, oldVal, newVal) -> {
+        appStateListener = (obs, oldVal, newVal) -> {
             if (newVal == UIState.AppState.MAIN_MENU && state.isInventoryVisible()) {
                 fadeTo(1);
             } else {
                 fadeTo(0);
             }
-        });
+        };
+        state.appStateProperty().addListener(appStateListener);
+    }
+    
+    /**
+     * Gỡ các listener đã gắn vào UIState (gọi khi PanelRegistry release panel)
+     */
+    public void dispose() {
+        fade.stop();
+        state.inventoryVisibleProperty().removeListener(visibleListener);
+        state.appStateProperty().removeListener(appStateListener);
     }
     
     private StackPane createInventoryContent() {
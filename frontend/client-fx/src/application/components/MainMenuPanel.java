@@ -276,7 +276,7 @@ public class MainMenuPanel extends StackPane {
             
             // Gửi QUICK_MATCHING request đến server với mode và time đã set
             try {
-                application.network.NetworkManager.getInstance().game().requestQuickMatching(mode, timeLimit);
+                application.network.fx.NetworkManager.getInstance().game().requestQuickMatching(mode, timeLimit);
             } catch (java.io.IOException ex) {
                 System.err.println("[MainMenuPanel] Error sending QUICK_MATCHING: " + ex.getMessage());
                 ex.printStackTrace();
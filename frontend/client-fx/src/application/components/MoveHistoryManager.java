@@ -1,10 +1,15 @@
 package application.components;
 
+import application.game.GameState;
 import application.state.UIState;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
@@ -23,14 +28,63 @@ public class MoveHistoryManager {
     private final IGamePanel gamePanel;
     private final Pane rootPane;  // Root pane để thêm move panel với absolute positioning
     
+    private static final PseudoClass RED_MOVE = PseudoClass.getPseudoClass("red-move");
+    private static final PseudoClass CURRENT_MOVE = PseudoClass.getPseudoClass("current");
+    
+    /**
+     * Một dòng lịch sử: chỉ giữ text đã format và màu quân (style nằm trong application.css)
+     */
+    public static final class MoveRecord {
+        public final String text;
+        public final boolean red;
+        
+        MoveRecord(String text, boolean red) {
+            this.text = text;
+            this.red = red;
+        }
+        
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+    
     private StackPane movePanel = null;
-    private ScrollPane moveHistoryScrollPane = null;
-    private VBox moveHistoryContainer = null;
-    private final java.util.List<String> moveHistory = new java.util.ArrayList<>();
+    // ListView ảo hóa: chỉ có node cho các dòng đang hiện, cell được tái sử dụng khi cuộn
+    private ListView<MoveRecord> moveListView = null;
+    // Dữ liệu sống lâu hơn panel (panel được tạo lại mỗi lần mở)
+    private final ObservableList<MoveRecord> moveHistory = FXCollections.observableArrayList();
+    
+    // Index của move đang được highlight (-1 = không có); mỗi cell tự theo dõi để đổi pseudo-class :current
+    private final javafx.beans.property.IntegerProperty currentHighlightedIndex =
+        new javafx.beans.property.SimpleIntegerProperty(-1);
     
-    // Lưu reference đến các Label để có thể highlight
-    private final java.util.List<Label> moveLabels = new java.util.ArrayList<>();
-    private int currentHighlightedIndex = -1;  // Index của move đang được highlight (-1 = không có)
+    private final class MoveCell extends ListCell<MoveRecord> {
+        // Giữ tham chiếu mạnh ở cell; property chỉ giữ weak listener nên cell bị VirtualFlow bỏ đi vẫn được GC
+        private final javafx.beans.InvalidationListener currentListener = obs -> updateCurrent();
+        
+        MoveCell() {
+            getStyleClass().add("move-history-cell");
+            setPrefWidth(0);  // Theo bề rộng ListView, wrap text thay vì cuộn ngang
+            setWrapText(true);
+            setAlignment(Pos.CENTER_LEFT);
+            currentHighlightedIndex.addListener(new javafx.beans.WeakInvalidationListener(currentListener));
+        }
+        
+        @Override
+        protected void updateItem(MoveRecord item, boolean empty) {
+            super.updateItem(item, empty);
+            boolean hasItem = !empty && item != null;
+            setText(hasItem ? item.text : null);
+            pseudoClassStateChanged(RED_MOVE, hasItem && item.red);
+            updateCurrent();
+        }
+        
+        private void updateCurrent() {
+            pseudoClassStateChanged(CURRENT_MOVE, !isEmpty() && getItem() != null
+                && getIndex() == currentHighlightedIndex.get());
+        }
+    }
     
     // Callback để tạo replay control buttons
     private java.util.function.Supplier<javafx.scene.Node> replayControlsSupplier = null;
@@ -121,46 +175,26 @@ public class MoveHistoryManager {
         panelContainer.setStyle("-fx-background-color: rgba(230, 230, 230, 0.95);");  // Cùng màu với panel background
         panelContainer.getChildren().add(header);
         
-        // ScrollPane để hiển thị lịch sử nước đi
+        // ListView hiển thị lịch sử nước đi (ảo hóa, cell tái sử dụng)
         // Chiều cao sẽ được điều chỉnh nếu có replay controls
-        int scrollPaneHeight = replayControlsSupplier != null ? 575 : 675;  // Giảm 100px nếu có buttons
-        moveHistoryScrollPane = new ScrollPane();
-        moveHistoryScrollPane.setPrefSize(450, scrollPaneHeight);  // Chiều cao = 755 - 80 (header) - 100 (buttons nếu có)
-        moveHistoryScrollPane.setStyle(
-            "-fx-background: rgba(230, 230, 230, 0.95); " +  // Dùng -fx-background thay vì -fx-background-color
-            "-fx-background-color: rgba(230, 230, 230, 0.95); " +
-            "-fx-border-color: transparent;"
-        );
-        moveHistoryScrollPane.setFitToWidth(true);
-        moveHistoryScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        moveHistoryScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        
-        // Container cho danh sách nước đi
-        moveHistoryContainer = new VBox(10);
-        moveHistoryContainer.setPrefWidth(430);  // Nhỏ hơn scrollPane một chút để tránh scroll ngang
-        moveHistoryContainer.setStyle(
-            "-fx-padding: 20; " +
-            "-fx-background-color: transparent;"  // Trong suốt để hiển thị màu của ScrollPane
-        );
-        moveHistoryContainer.setAlignment(Pos.TOP_LEFT);
-        
-        // Hiển thị các nước đi đã lưu
-        moveLabels.clear();  // Clear list khi tạo lại panel
-        for (String move : moveHistory) {
-            Label moveHistoryLabel = createMoveLabel(move);
-            moveLabels.add(moveHistoryLabel);
-            moveHistoryContainer.getChildren().add(moveHistoryLabel);
-        }
+        int listHeight = replayControlsSupplier != null ? 515 : 675;  // Giảm 160px nếu có buttons + thanh timeline
+        moveListView = new ListView<>(moveHistory);
+        moveListView.getStyleClass().add("move-history-list");
+        moveListView.setPrefSize(450, listHeight);
+        moveListView.setFocusTraversable(false);
+        moveListView.setCellFactory(list -> new MoveCell());
+        // Chỉ để xem: không cho chọn dòng (highlight do highlightMove quyết định)
+        moveListView.setSelectionModel(new NoSelectionModel<>());
         
-        // Highlight move hiện tại nếu có
-        if (currentHighlightedIndex >= 0 && currentHighlightedIndex < moveLabels.size()) {
-            highlightMove(currentHighlightedIndex);
+        // Cuộn tới move hiện tại / mới nhất
+        if (currentHighlightedIndex.get() >= 0 && currentHighlightedIndex.get() < moveHistory.size()) {
+            moveListView.scrollTo(currentHighlightedIndex.get());
+        } else if (!moveHistory.isEmpty()) {
+            moveListView.scrollTo(moveHistory.size() - 1);
         }
         
-        moveHistoryScrollPane.setContent(moveHistoryContainer);
-        
-        // Thêm ScrollPane vào panel container
-        panelContainer.getChildren().add(moveHistoryScrollPane);
+        // Thêm ListView vào panel container
+        panelContainer.getChildren().add(moveListView);
         
         // Thêm replay control buttons CHỈ khi có supplier (chỉ trong ReplayPanel, không có trong GamePanel)
         // Trong GamePanel, replayControlsSupplier sẽ là null, nên các nút sẽ không xuất hiện
@@ -221,104 +255,56 @@ public class MoveHistoryManager {
     }
     
     /**
-     * Tạo label cho mỗi nước đi
+     * Highlight nước đi tại index chỉ định (dùng trong replay mode)
+     * Các cell đang hiện tự cập nhật pseudo-class :current theo currentHighlightedIndex
+     * @param moveIndex Index của move cần highlight (0-based, -1 để bỏ highlight)
      */
-    private Label createMoveLabel(String moveText) {
-        Label moveLabel = new Label(moveText);
-        
-        // Xác định màu chữ dựa trên moveText (red hoặc black)
-        String textColor = "black"; // Mặc định
-        if (moveText.contains("red:")) {
-            textColor = "#DC143C"; // Màu đỏ (Crimson)
-        } else if (moveText.contains("black:")) {
-            textColor = "#000000"; // Màu đen
+    public void highlightMove(int moveIndex) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> highlightMove(moveIndex));
+            return;
+        }
+        int previous = currentHighlightedIndex.get();
+        currentHighlightedIndex.set(moveIndex);
+        if (previous == moveIndex || moveListView == null) {
+            return;
+        }
+        if (moveIndex >= 0 && moveIndex < moveHistory.size()) {
+            scrollIntoView(moveIndex);
         }
-        
-        moveLabel.setStyle(
-            "-fx-font-family: 'Kolker Brush'; " +
-            "-fx-font-size: 35px; " +
-            "-fx-text-fill: " + textColor + "; " +
-            "-fx-background-color: transparent; " +
-            "-fx-wrap-text: true;"
-        );
-        moveLabel.setPrefWidth(410);
-        moveLabel.setAlignment(Pos.CENTER_LEFT);
-        return moveLabel;
     }
     
     /**
-     * Highlight nước đi tại index chỉ định (dùng trong replay mode)
-     * @param moveIndex Index của move cần highlight (0-based, -1 để bỏ highlight)
+     * Cuộn tối thiểu để dòng index hiện trên màn hình (không cuộn nếu đã thấy)
      */
-    public void highlightMove(int moveIndex) {
-        Platform.runLater(() -> {
-            // Bỏ highlight tất cả moves trước
-            for (int i = 0; i < moveLabels.size(); i++) {
-                Label label = moveLabels.get(i);
-                if (label != null) {
-                    // Reset về style mặc định
-                    String moveText = label.getText();
-                    String textColor = "black";
-                    if (moveText.contains("red:")) {
-                        textColor = "#DC143C";
-                    } else if (moveText.contains("black:")) {
-                        textColor = "#000000";
-                    }
-                    
-                    label.setStyle(
-                        "-fx-font-family: 'Kolker Brush'; " +
-                        "-fx-font-size: 35px; " +
-                        "-fx-text-fill: " + textColor + "; " +
-                        "-fx-background-color: transparent; " +
-                        "-fx-wrap-text: true;"
-                    );
-                }
-            }
-            
-            // Highlight move tại index
-            if (moveIndex >= 0 && moveIndex < moveLabels.size()) {
-                Label label = moveLabels.get(moveIndex);
-                if (label != null) {
-                    String moveText = label.getText();
-                    String textColor = "black";
-                    if (moveText.contains("red:")) {
-                        textColor = "#DC143C";
-                    } else if (moveText.contains("black:")) {
-                        textColor = "#000000";
-                    }
-                    
-                    // Highlight với background màu vàng nhạt và border
-                    label.setStyle(
-                        "-fx-font-family: 'Kolker Brush'; " +
-                        "-fx-font-size: 35px; " +
-                        "-fx-text-fill: " + textColor + "; " +
-                        "-fx-background-color: rgba(255, 255, 0, 0.3); " +  // Màu vàng nhạt
-                        "-fx-background-radius: 8px; " +
-                        "-fx-border-color: rgba(255, 200, 0, 0.8); " +  // Border vàng đậm hơn
-                        "-fx-border-width: 2px; " +
-                        "-fx-border-radius: 8px; " +
-                        "-fx-padding: 5px 10px; " +
-                        "-fx-wrap-text: true;"
-                    );
-                    
-                    // Scroll đến move được highlight
-                    if (moveHistoryScrollPane != null && moveHistoryContainer != null) {
-                        // Tính toán vị trí của label trong container
-                        double labelY = label.getLayoutY();
-                        double containerHeight = moveHistoryContainer.getHeight();
-                        double scrollPaneHeight = moveHistoryScrollPane.getHeight();
-                        
-                        if (containerHeight > scrollPaneHeight) {
-                            // Normalize vị trí (0.0 = top, 1.0 = bottom)
-                            double vvalue = labelY / (containerHeight - scrollPaneHeight);
-                            vvalue = Math.max(0.0, Math.min(1.0, vvalue));
-                            moveHistoryScrollPane.setVvalue(vvalue);
-                        }
-                    }
+    private void scrollIntoView(int index) {
+        // Vùng đang hiện lấy từ VirtualFlow của ListView (null trước lần layout đầu tiên)
+        javafx.scene.control.skin.VirtualFlow<?> flow =
+            (javafx.scene.control.skin.VirtualFlow<?>) moveListView.lookup(".virtual-flow");
+        javafx.scene.control.IndexedCell<?> first = flow != null ? flow.getFirstVisibleCell() : null;
+        javafx.scene.control.IndexedCell<?> last = flow != null ? flow.getLastVisibleCell() : null;
+        // Cell ở hai mép có thể chỉ hiện một phần
+        if (first == null || last == null || index <= first.getIndex() || index >= last.getIndex()) {
+            moveListView.scrollTo(Math.max(0, index - 2));
+        }
+    }
+    
+    /**
+     * Ghi lịch sử từ sự kiện onMove của model ván cờ
+     */
+    public void attachTo(GameState gameState) {
+        gameState.addListener(new GameState.Listener() {
+            @Override
+            public void onMove(GameState s, GameState.Move move) {
+                String capturedInfo = "";
+                if (move.isCapture()) {
+                    capturedInfo = String.format(" (captured %s %s)",
+                        Character.isUpperCase(move.captured) ? "red" : "black",
+                        ChessBoardManager.getPieceTypeFromChar(move.captured));
                 }
+                addMove(move.isRed() ? "red" : "black", ChessBoardManager.getPieceTypeFromChar(move.piece),
+                    move.fromRow, move.fromCol, move.toRow, move.toCol, capturedInfo);
             }
-            
-            currentHighlightedIndex = moveIndex;
         });
     }
     
@@ -341,20 +327,12 @@ public class MoveHistoryManager {
             toRow, toCol,
             capturedInfo
         );
-        moveHistory.add(moveText);
-        
-        // Cập nhật UI nếu panel đang hiển thị
-        if (moveHistoryContainer != null) {
-            Label newMoveLabel = createMoveLabel(moveText);
-            moveLabels.add(newMoveLabel);  // Thêm vào list để có thể highlight sau
-            moveHistoryContainer.getChildren().add(newMoveLabel);
-            
-            // Scroll xuống nước đi mới nhất
-            Platform.runLater(() -> {
-                if (moveHistoryScrollPane != null) {
-                    moveHistoryScrollPane.setVvalue(1.0);
-                }
-            });
+        // ListView tự thêm dòng (chỉ tạo cell nếu dòng nằm trong vùng nhìn thấy)
+        moveHistory.add(new MoveRecord(moveText, "red".equals(color)));
+        
+        // Scroll xuống nước đi mới nhất nếu panel đang hiển thị (replay thêm cả ván một lượt: không cuộn từng dòng)
+        if (moveListView != null && currentHighlightedIndex.get() < 0) {
+            moveListView.scrollTo(moveHistory.size() - 1);
         }
     }
     
@@ -362,12 +340,8 @@ public class MoveHistoryManager {
      * Xóa lịch sử nước đi (khi bắt đầu game mới)
      */
     public void clearMoveHistory() {
+        currentHighlightedIndex.set(-1);
         moveHistory.clear();
-        moveLabels.clear();
-        currentHighlightedIndex = -1;
-        if (moveHistoryContainer != null) {
-            moveHistoryContainer.getChildren().clear();
-        }
     }
     
     public boolean isMovePanelVisible() {
@@ -381,5 +355,73 @@ public class MoveHistoryManager {
     public StackPane getMovePanel() {
         return movePanel;
     }
+    
+    /**
+     * Selection model rỗng: click vào dòng không chọn gì
+     */
+    private static final class NoSelectionModel<T> extends javafx.scene.control.MultipleSelectionModel<T> {
+        @Override
+        public ObservableList<Integer> getSelectedIndices() {
+            return FXCollections.emptyObservableList();
+        }
+        
+        @Override
+        public ObservableList<T> getSelectedItems() {
+            return FXCollections.emptyObservableList();
+        }
+        
+        @Override
+        public void selectIndices(int index, int... indices) {
+        }
+        
+        @Override
+        public void selectAll() {
+        }
+        
+        @Override
+        public void selectFirst() {
+        }
+        
+        @Override
+        public void selectLast() {
+        }
+        
+        @Override
+        public void clearAndSelect(int index) {
+        }
+        
+        @Override
+        public void select(int index) {
+        }
+        
+        @Override
+        public void select(T obj) {
+        }
+        
+        @Override
+        public void clearSelection(int index) {
+        }
+        
+        @Override
+        public void clearSelection() {
+        }
+        
+        @Override
+        public boolean isSelected(int index) {
+            return false;
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+        
+        @Override
+        public void selectPrevious() {
+        }
+        
+        @Override
+        public void selectNext() {
+        }
+    }
 }
-
@@ -0,0 +1,348 @@
+package application.components;
+
+import application.diagnostics.PanelOpenEvent;
+import application.state.UIState;
+import application.util.StartupTrace;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Dựng các panel của stage layer theo nhu cầu thay vì tạo hết trong Main.start().
+ *
+ * Mỗi panel là một slot theo đúng thứ tự z-order cũ. Slot lazy được dựng ngay trước khi
+ * UIState bật cờ hiển thị của nó lần đầu (UIState.beforeFirstShow), nên listener fade-in
+ * của chính panel vẫn nhận được thay đổi như khi tạo sẵn. Slot có prewarm() được dựng dần
+ * sau frame đầu tiên, mỗi lần một panel để không chặn input. Slot releaseWhenHidden() bị gỡ
+ * khỏi scene khi ẩn đủ lâu và dựng lại ở lần mở sau.
+ *
+ * -Dpanels.eager=true dựng tất cả trước frame đầu (hành vi cũ).
+ */
+public class PanelRegistry {
+    
+    private static final boolean EAGER = Boolean.getBoolean("panels.eager");
+    // Khoảng nghỉ giữa hai lần prewarm để các pulse khác (input, animation) chen vào
+    private static final Duration PREWARM_GAP = Duration.millis(Integer.getInteger("panels.prewarm.gapMs", 30));
+    
+    private final UIState state;
+    private final Pane container;
+    private final List<Slot<?>> slots = new ArrayList<>();
+    private final Deque<Slot<?>> prewarmQueue = new ArrayDeque<>();
+    private final PauseTransition prewarmTimer = new PauseTransition(PREWARM_GAP);
+    private boolean started;
+    private Runnable onIdle;
+    
+    public PanelRegistry(UIState state, Pane container) {
+        this.state = state;
+        this.container = container;
+        prewarmTimer.setOnFinished(e -> prewarmNext());
+    }
+    
+    /**
+     * Node dựng sẵn (background, overlay...), chỉ giữ chỗ trong z-order.
+     */
+    public <T extends Node> Slot<T> add(T node) {
+        Slot<T> slot = new Slot<>(() -> node);
+        slots.add(slot);
+        slot.get();
+        return slot;
+    }
+    
+    /**
+     * Panel dựng lần đầu khi {@code visible} bật lên.
+     */
+    public <T extends Node> Slot<T> lazy(BooleanProperty visible, Supplier<T> factory) {
+        Slot<T> slot = new Slot<>(factory);
+        slot.visible = visible;
+        slots.add(slot);
+        slot.arm();
+        slot.traceOpen(visible);
+        return slot;
+    }
+    
+    /**
+     * Panel dựng lần đầu khi appState chuyển sang {@code appState} (MainMenuPanel).
+     */
+    public <T extends Node> Slot<T> lazy(UIState.AppState appState, Supplier<T> factory) {
+        Slot<T> slot = new Slot<>(factory);
+        slot.appState = appState;
+        slots.add(slot);
+        slot.arm();
+        slot.traceOpen(state.appStateProperty().isEqualTo(appState));
+        return slot;
+    }
+    
+    /**
+     * Gọi sau stage.show(): bắt đầu prewarm các slot đã đánh dấu, hoặc dựng tất cả nếu -Dpanels.eager=true.
+     */
+    public void start() {
+        started = true;
+        if (EAGER) {
+            slots.forEach(Slot::get);
+            prewarmQueue.clear();
+            return;
+        }
+        // Không dựng gì trong lần gọi này: frame đầu tiên được vẽ trước
+        if (!prewarmQueue.isEmpty()) {
+            prewarmTimer.playFromStart();
+        } else {
+            idle();
+        }
+    }
+    
+    /**
+     * Gọi mỗi khi hàng prewarm đã dựng xong (StartupTrace dùng làm mốc time-to-interactive).
+     */
+    public void setOnIdle(Runnable onIdle) {
+        this.onIdle = onIdle;
+    }
+    
+    private void idle() {
+        if (onIdle != null) {
+            onIdle.run();
+        }
+    }
+    
+    /**
+     * Xếp các slot vào hàng prewarm khi appState chuyển sang {@code appState} (ví dụ: vào MAIN_MENU thì
+     * dựng trước các panel chọn chế độ chơi).
+     */
+    public void prewarmOn(UIState.AppState appState, Slot<?>... targets) {
+        state.appStateProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal == appState) {
+                for (Slot<?> slot : targets) {
+                    enqueue(slot);
+                }
+            }
+        });
+    }
+    
+    private void enqueue(Slot<?> slot) {
+        if (slot.instance != null || prewarmQueue.contains(slot)) {
+            return;
+        }
+        prewarmQueue.add(slot);
+        if (started && prewarmTimer.getStatus() != javafx.animation.Animation.Status.RUNNING) {
+            prewarmTimer.playFromStart();
+        }
+    }
+    
+    private void prewarmNext() {
+        Slot<?> slot;
+        do {
+            slot = prewarmQueue.poll();
+        } while (slot != null && slot.instance != null);
+        if (slot == null) {
+            idle();
+            return;
+        }
+        slot.get();
+        if (!prewarmQueue.isEmpty()) {
+            prewarmTimer.playFromStart();
+        } else {
+            idle();
+        }
+    }
+    
+    /**
+     * Chèn node của slot vào container ngay trước slot đã dựng kế tiếp, giữ nguyên z-order khai báo.
+     */
+    private void attach(Slot<?> slot) {
+        int position = slots.indexOf(slot);
+        for (int i = position + 1; i < slots.size(); i++) {
+            Node next = slots.get(i).instance;
+            if (next != null) {
+                int index = container.getChildren().indexOf(next);
+                if (index >= 0) {
+                    container.getChildren().add(index, slot.instance);
+                    return;
+                }
+            }
+        }
+        container.getChildren().add(slot.instance);
+    }
+    
+    public final class Slot<T extends Node> {
+        private final Supplier<T> factory;
+        private final List<Consumer<T>> onBuilt = new ArrayList<>();
+        private BooleanProperty visible;
+        private UIState.AppState appState;
+        private T instance;
+        private boolean armed;
+        private PauseTransition releaseTimer;
+        private Consumer<T> disposer;
+        // JFR PanelOpen bắt đầu trong hook dựng panel, để latency tính cả thời gian dựng
+        private PanelOpenEvent pendingOpen;
+        // Giữ tham chiếu mạnh: binding isEqualTo chỉ được appStateProperty giữ yếu
+        private ObservableValue<Boolean> showing;
+        
+        private Slot(Supplier<T> factory) {
+            this.factory = factory;
+        }
+        
+        private void arm() {
+            if (armed) {
+                return;
+            }
+            // Hook chạy một lần; slot dựng sớm bằng prewarm vẫn giữ hook cũ, không đăng ký thêm
+            Runnable hook = () -> {
+                armed = false;
+                if (instance == null) {
+                    PanelOpenEvent event = new PanelOpenEvent();
+                    if (event.isEnabled()) {
+                        event.begin();
+                        pendingOpen = event;
+                    }
+                }
+                get();
+            };
+            if (visible != null) {
+                state.beforeFirstShow(visible, hook);
+                armed = true;
+            } else if (appState != null) {
+                state.beforeFirstEnter(appState, hook);
+                armed = true;
+            }
+        }
+        
+        /**
+         * Ghi JFR PanelOpen mỗi lần {@code showing} bật: từ lúc mở đến hết pulse layout kế tiếp.
+         */
+        private void traceOpen(ObservableValue<Boolean> showing) {
+            this.showing = showing;
+            showing.addListener((obs, oldVal, newVal) -> {
+                if (!newVal) {
+                    return;
+                }
+                PanelOpenEvent event = pendingOpen;
+                pendingOpen = null;
+                boolean built = event != null;
+                if (event == null) {
+                    event = new PanelOpenEvent();
+                    if (!event.isEnabled()) {
+                        return;
+                    }
+                    event.begin();
+                }
+                commitAfterPulse(event, built);
+            });
+        }
+        
+        private void commitAfterPulse(PanelOpenEvent event, boolean built) {
+            Scene scene = container.getScene();
+            Runnable commit = () -> {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.panel = instance != null ? instance.getClass().getSimpleName() : "?";
+                    event.built = built;
+                    event.commit();
+                }
+            };
+            if (scene == null) {
+                commit.run();
+                return;
+            }
+            Runnable[] listener = new Runnable[1];
+            listener[0] = () -> {
+                scene.removePostLayoutPulseListener(listener[0]);
+                commit.run();
+            };
+            scene.addPostLayoutPulseListener(listener[0]);
+            Platform.requestNextPulse();
+        }
+        
+        /**
+         * Panel của slot, dựng ngay nếu chưa có.
+         */
+        public T get() {
+            if (instance == null) {
+                boolean lazy = visible != null || appState != null;
+                long start = System.nanoTime();
+                StartupTrace.Span span = lazy ? StartupTrace.begin("panel") : null;
+                instance = factory.get();
+                attach(this);
+                if (lazy) {
+                    span.end("new " + instance.getClass().getSimpleName());
+                    System.out.println("[PanelRegistry] Built " + instance.getClass().getSimpleName() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                }
+                for (Consumer<T> callback : new ArrayList<>(onBuilt)) {
+                    callback.accept(instance);
+                }
+            }
+            return instance;
+        }
+        
+        /**
+         * Gọi {@code action} nếu panel đã được dựng; không ép dựng (dùng cho callback từ network).
+         */
+        public void ifBuilt(Consumer<T> action) {
+            if (instance != null) {
+                action.accept(instance);
+            }
+        }
+        
+        /**
+         * Wiring chạy mỗi lần panel được dựng (kể cả dựng lại sau release).
+         */
+        public Slot<T> onBuilt(Consumer<T> callback) {
+            onBuilt.add(callback);
+            if (instance != null) {
+                callback.accept(instance);
+            }
+            return this;
+        }
+        
+        /**
+         * Dựng trước trong lúc rảnh sau frame đầu tiên.
+         */
+        public Slot<T> prewarm() {
+            enqueue(this);
+            return this;
+        }
+        
+        /**
+         * Gỡ panel khỏi scene sau {@code idle} kể từ lúc ẩn. {@code disposer} phải gỡ các listener
+         * panel đã gắn vào UIState, nếu không panel cũ vẫn bị giữ lại.
+         */
+        public Slot<T> releaseWhenHidden(Duration idle, Consumer<T> disposer) {
+            if (visible == null) {
+                throw new IllegalStateException("Only panels with a visibility property can be released");
+            }
+            this.disposer = disposer;
+            releaseTimer = new PauseTransition(idle);
+            releaseTimer.setOnFinished(e -> release());
+            visible.addListener((obs, oldVal, newVal) -> {
+                if (newVal) {
+                    releaseTimer.stop();
+                } else if (instance != null) {
+                    releaseTimer.playFromStart();
+                }
+            });
+            return this;
+        }
+        
+        private void release() {
+            if (instance == null || visible.get()) {
+                return;
+            }
+            String name = instance.getClass().getSimpleName();
+            disposer.accept(instance);
+            container.getChildren().remove(instance);
+            instance = null;
+            arm();
+            System.out.println("[PanelRegistry] Released " + name);
+        }
+    }
+}
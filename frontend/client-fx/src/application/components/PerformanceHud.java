@@ -0,0 +1,91 @@
+package application.components;
+
+import application.state.UIState;
+import application.util.Metrics;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+/**
+ * Overlay số liệu hiệu năng ở góc trái trên (FPS, RTT, pulse, mạng, heap/GC, rules, cache ảnh)
+ * để nhân viên kiểm tra nhanh một bàn chơi bị chậm. Bật/tắt bằng F3, click vào ping trong
+ * GamePanel, hoặc -Dhud=true. Số liệu đọc từ Metrics, cùng nguồn với JMX.
+ */
+public class PerformanceHud extends StackPane {
+
+    private final UIState state;
+    private final Label text = new Label();
+    private final Timeline refresh;
+    // Giữ scene pulse liên tục khi HUD hiện, để FPS là tốc độ khung hình thật thay vì số pulse lúc rảnh
+    private final AnimationTimer keepPulsing = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+        }
+    };
+
+    public PerformanceHud(UIState state) {
+        this.state = state;
+
+        setMouseTransparent(true);
+        setPickOnBounds(false);
+        setAlignment(Pos.TOP_LEFT);
+        setPadding(new Insets(12));
+
+        text.setStyle(
+            "-fx-font-family: 'Monospaced'; " +
+            "-fx-font-size: 15px; " +
+            "-fx-text-fill: #E0FFE0; " +
+            "-fx-background-color: rgba(0, 0, 0, 0.65); " +
+            "-fx-background-radius: 6; " +
+            "-fx-padding: 8 12 8 12;"
+        );
+        getChildren().add(text);
+
+        refresh = new Timeline(new KeyFrame(Duration.millis(500), e -> update()));
+        refresh.setCycleCount(Timeline.INDEFINITE);
+
+        visibleProperty().bind(state.performanceHudVisibleProperty());
+        managedProperty().bind(visibleProperty());
+        visibleProperty().addListener((obs, oldVal, newVal) -> setRunning(newVal));
+        setRunning(isVisible());
+    }
+
+    private void setRunning(boolean running) {
+        if (running) {
+            update();
+            refresh.play();
+            keepPulsing.start();
+        } else {
+            refresh.stop();
+            keepPulsing.stop();
+        }
+    }
+
+    private void update() {
+        Metrics.Timer pulse = Metrics.timer("fx.pulse");
+        int rtt = state.getLatencyMs();
+        double hitRate = Metrics.gaugeValue("assets.cache.hitRate");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("FPS %5.1f   dropped %d%n",
+                Metrics.meter("fx.frames").getRatePerSecond(), Metrics.counter("fx.droppedFrames").getCount()));
+        sb.append(String.format("Pulse %.1f ms (p99 %.1f, max %.1f)%n",
+                pulse.getP50Ms(), pulse.getP99Ms(), pulse.getMaxMs()));
+        sb.append(rtt < 0 ? "RTT -- ms\n" : String.format("RTT %d ms (jitter %d)%n", rtt, state.getLatencyJitterMs()));
+        sb.append(String.format("Net in %.1f msg/s %.1f KB/s | out %.1f msg/s %.1f KB/s%n",
+                Metrics.totalRate("net.in."), Metrics.meter("net.bytes.in").getRatePerSecond() / 1024,
+                Metrics.totalRate("net.out."), Metrics.meter("net.bytes.out").getRatePerSecond() / 1024));
+        sb.append(String.format("Heap %.0f / %.0f MB   GC %.0f (%.0f ms)%n",
+                Metrics.gaugeValue("jvm.heap.usedMb"), Metrics.gaugeValue("jvm.heap.maxMb"),
+                Metrics.gaugeValue("jvm.gc.count"), Metrics.gaugeValue("jvm.gc.pauseMs")));
+        sb.append(String.format("Rules p99 legal %.1f ms, end %.1f ms%n",
+                Metrics.timer("rules.getAllLegalMoves").getP99Ms(), Metrics.timer("rules.checkGameEnd").getP99Ms()));
+        sb.append(Double.isNaN(hitRate) ? "Image cache --" : String.format("Image cache %.0f%% hit", hitRate * 100));
+        text.setText(sb.toString());
+    }
+}
@@ -0,0 +1,128 @@
+package application.components;
+
+import application.util.AssetHelper;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Atlas 14 quân cờ đã scale sẵn về đúng kích thước hiển thị trên bàn cờ
+ *
+ * Thay vì mỗi ImageView giữ ảnh PNG gốc rồi thu nhỏ bằng setSmooth(true) mỗi frame,
+ * các quân được decode một lần ở kích thước PIECE_WIDTH x PIECE_HEIGHT nhân hệ số scale của cửa sổ
+ * và ghép vào một ảnh duy nhất (hàng 0: quân đỏ, hàng 1: quân đen, mỗi cột một loại quân).
+ * ImageView / Canvas lấy từng quân qua viewport, nên cả bàn cờ dùng chung một texture.
+ * Mỗi hệ số scale (làm tròn lên bước 0.25) có một atlas riêng, dựng lần đầu cần đến rồi giữ lại.
+ */
+public final class PieceAtlas {
+    
+    private static final String PIECE_CHARS = "KABNRCP";
+    private static final double SCALE_STEP = 0.25;
+    private static final double MIN_SCALE = 0.5;
+    private static final double MAX_SCALE = 3.0;
+    
+    // Hệ số scale (đã làm tròn) -> atlas. Guarded by itself.
+    private static final java.util.Map<Double, PieceAtlas> ATLASES = new java.util.HashMap<>();
+    
+    private final double scale;
+    private final WritableImage image;
+    private final Rectangle2D[] viewports = new Rectangle2D[PIECE_CHARS.length() * 2];
+    
+    private PieceAtlas(double scale) {
+        this.scale = scale;
+        int cellW = (int) Math.ceil(ChessBoardManager.PIECE_WIDTH * scale);
+        int cellH = (int) Math.ceil(ChessBoardManager.PIECE_HEIGHT * scale);
+        this.image = new WritableImage(cellW * PIECE_CHARS.length(), cellH * 2);
+        
+        for (int i = 0; i < viewports.length; i++) {
+            char piece = pieceAt(i);
+            int x = (i % PIECE_CHARS.length()) * cellW;
+            int y = (i / PIECE_CHARS.length()) * cellH;
+            // preserveRatio: ảnh decode có thể nhỏ hơn ô ở một chiều, viewport lấy đúng kích thước ảnh
+            Image source = AssetHelper.decode(ChessBoardManager.pieceImagePath(piece), cellW, cellH);
+            PixelReader reader = source.getPixelReader();
+            if (source.isError() || reader == null) {
+                System.err.println("[PieceAtlas] Failed to load " + ChessBoardManager.pieceImagePath(piece));
+                viewports[i] = new Rectangle2D(x, y, cellW, cellH);
+                continue;
+            }
+            int w = Math.min(cellW, (int) source.getWidth());
+            int h = Math.min(cellH, (int) source.getHeight());
+            image.getPixelWriter().setPixels(x, y, w, h, reader, 0, 0);
+            viewports[i] = new Rectangle2D(x, y, w, h);
+        }
+    }
+    
+    /**
+     * Atlas cho hệ số scale của cửa sổ (UIState.renderScale); dựng đồng bộ ở lần đầu, gọi được từ mọi thread
+     */
+    public static PieceAtlas forScale(double renderScale) {
+        double scale = quantize(renderScale);
+        synchronized (ATLASES) {
+            PieceAtlas atlas = ATLASES.get(scale);
+            if (atlas == null) {
+                long start = System.nanoTime();
+                atlas = new PieceAtlas(scale);
+                ATLASES.put(scale, atlas);
+                System.out.println("[PieceAtlas] Built atlas x" + scale + " (" + (int) atlas.image.getWidth() + "x"
+                    + (int) atlas.image.getHeight() + ") in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+            return atlas;
+        }
+    }
+    
+    /**
+     * Dựng trước atlas trên thread nền (màn hình landing), để ván đầu tiên không phải chờ decode
+     */
+    public static void warmUp(double renderScale) {
+        Thread thread = new Thread(() -> forScale(renderScale), "piece-atlas-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+    
+    /**
+     * Làm tròn lên bước 0.25 để resize cửa sổ không dựng atlas liên tục
+     */
+    public static double quantize(double renderScale) {
+        if (Double.isNaN(renderScale) || renderScale <= 0) {
+            return 1.0;
+        }
+        double scale = Math.ceil(renderScale / SCALE_STEP) * SCALE_STEP;
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+    }
+    
+    public double getScale() {
+        return scale;
+    }
+    
+    public Image getImage() {
+        return image;
+    }
+    
+    /**
+     * Vùng của quân cờ (ký tự board, uppercase = đỏ) trong atlas
+     */
+    public Rectangle2D viewport(char piece) {
+        int kind = PIECE_CHARS.indexOf(Character.toUpperCase(piece));
+        if (kind < 0) {
+            return null;
+        }
+        return viewports[Character.isUpperCase(piece) ? kind : PIECE_CHARS.length() + kind];
+    }
+    
+    /**
+     * Gán atlas + viewport cho ImageView; fitWidth/fitHeight (kích thước logic) do caller đặt như trước
+     */
+    public void apply(ImageView view, char piece) {
+        view.setImage(image);
+        view.setViewport(viewport(piece));
+    }
+    
+    private static char pieceAt(int index) {
+        char c = PIECE_CHARS.charAt(index % PIECE_CHARS.length());
+        return index < PIECE_CHARS.length() ? c : Character.toLowerCase(c);
+    }
+}
@@ -1,6 +1,6 @@
 package application.components;
 
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.state.UIState;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
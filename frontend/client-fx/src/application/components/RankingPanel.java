@@ -1,16 +1,19 @@
 package application.components;
 
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.state.UIState;
 import application.util.AssetHelper;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import javafx.animation.FadeTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
@@ -33,7 +36,7 @@ public class RankingPanel extends StackPane {
     private final NetworkManager networkManager = NetworkManager.getInstance();
 
     private String currentMode = "classical";
-    private VBox rankingListContainer;
+    private ListView<LeaderboardEntry> rankingList;
     private Label myEloLabel;
 
     // Kích thước Panel tổng
@@ -53,8 +56,11 @@ public class RankingPanel extends StackPane {
 
     // Lưu toàn bộ data từ backend (cả classical và blitz)
     private List<UserStatData> allUsersStats = new ArrayList<>();
-    // Data đã filter theo mode hiện tại
-    private List<LeaderboardEntry> leaderboardData = new ArrayList<>();
+    // Data đã filter theo mode hiện tại; ListView chỉ tạo node cho các dòng đang hiện
+    private final ObservableList<LeaderboardEntry> leaderboardData = FXCollections.observableArrayList();
+    // Giữ lại để dispose() gỡ khỏi UIState khi PanelRegistry release panel
+    private javafx.beans.value.ChangeListener<Boolean> visibleListener;
+    private javafx.beans.value.ChangeListener<String> usernameListener;
     
     // Helper class để lưu user stat data từ backend
     private static class UserStatData {
@@ -90,7 +96,7 @@ public class RankingPanel extends StackPane {
         managedProperty().bind(visibleProperty());
         setOpacity(0);
 
-        state.rankingVisibleProperty().addListener((obs, oldVal, newVal) -> {
+        visibleListener = (obs, oldVal, newVal) -> {
             if (newVal) {
                 // Chỉ fetch 1 lần khi mở panel (lấy toàn bộ data)
                 if (allUsersStats.isEmpty()) {
@@ -104,7 +110,8 @@ public class RankingPanel extends StackPane {
             } else {
                 fadeTo(0);
             }
-        });
+        };
+        state.rankingVisibleProperty().addListener(visibleListener);
 
         registerLeaderboardCallback();
     }
@@ -229,28 +236,21 @@ public class RankingPanel extends StackPane {
         listBg.setArcWidth(15);
         listBg.setArcHeight(15);
 
-        rankingListContainer = new VBox(0);
-        rankingListContainer.setPadding(new Insets(10, 0, 10, 0));
-        rankingListContainer.setStyle("-fx-background-color: #D3D1D1;");
-
-        ScrollPane scrollPane = new ScrollPane(rankingListContainer);
-        scrollPane.setPrefSize(listWidth, listHeight);
-
-        scrollPane.setStyle(
-            "-fx-background: #D3D1D1; " +
-            "-fx-background-color: #D3D1D1; " +
-            "-fx-border-color: transparent;" +
-            "-fx-viewport-border: transparent;"
-        );
-        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
+        // ListView ảo hóa: vài chục cell được tái sử dụng dù leaderboard có hàng chục nghìn người chơi
+        rankingList = new ListView<>(leaderboardData);
+        rankingList.getStyleClass().add("cc-plain-list");
+        rankingList.setPrefSize(listWidth, listHeight);
+        rankingList.setPadding(new Insets(10, 0, 10, 0));
+        rankingList.setFixedCellSize(76);  // Dòng cao bằng nhau: bỏ bước đo từng cell khi cuộn
+        rankingList.setFocusTraversable(false);
+        rankingList.setCellFactory(list -> new RankingCell());
 
         Rectangle clip = new Rectangle(listWidth, listHeight);
         clip.setArcWidth(15);
         clip.setArcHeight(15);
-        scrollPane.setClip(clip);
+        rankingList.setClip(clip);
 
-        return new StackPane(listBg, scrollPane);
+        return new StackPane(listBg, rankingList);
     }
 
     private VBox createMyProfileSection() {
@@ -281,9 +281,10 @@ public class RankingPanel extends StackPane {
         };
         
         // Listen to username changes
-        state.usernameProperty().addListener((o, old, n) -> {
+        usernameListener = (o, old, n) -> {
             Platform.runLater(updateInitial);
-        });
+        };
+        state.usernameProperty().addListener(usernameListener);
         
         // Set initial letter immediately
         updateInitial.run();
@@ -319,7 +320,7 @@ public class RankingPanel extends StackPane {
     private void fetchAllUsersStats() {
         if (networkManager != null) {
             try {
-                rankingListContainer.getChildren().clear();
+                leaderboardData.clear();
                 // Gửi LEADER_BOARD message (không cần payload, backend sẽ trả về tất cả)
                 networkManager.info().requestLeaderBoard("", 0); // Empty để backend biết trả về tất cả
             } catch (IOException e) {
@@ -333,9 +334,6 @@ public class RankingPanel extends StackPane {
      */
     private void filterAndDisplay(String mode) {
         Platform.runLater(() -> {
-            leaderboardData.clear();
-            rankingListContainer.getChildren().clear();
-            
             // Filter data theo mode
             List<UserStatData> filtered = new ArrayList<>();
             for (UserStatData stat : allUsersStats) {
@@ -347,13 +345,14 @@ public class RankingPanel extends StackPane {
             // Sort theo rating giảm dần
             filtered.sort((a, b) -> Integer.compare(b.rating, a.rating));
             
-            // Tạo leaderboard entries với rank
+            // Tạo leaderboard entries với rank, thay cả danh sách trong một lần (một sự kiện thay đổi)
+            List<LeaderboardEntry> entries = new ArrayList<>(filtered.size());
             for (int i = 0; i < filtered.size(); i++) {
                 UserStatData stat = filtered.get(i);
-                LeaderboardEntry entry = new LeaderboardEntry(stat.username, stat.rating, i + 1);
-                leaderboardData.add(entry);
-                rankingListContainer.getChildren().add(createRankingRow(entry));
+                entries.add(new LeaderboardEntry(stat.username, stat.rating, i + 1));
             }
+            leaderboardData.setAll(entries);
+            rankingList.scrollTo(0);
             
             updateMyProfileElo();
         });
@@ -361,6 +360,15 @@ public class RankingPanel extends StackPane {
 
     private void registerLeaderboardCallback() {}
 
+    /**
+     * Gỡ các listener đã gắn vào UIState (gọi khi PanelRegistry release panel)
+     */
+    public void dispose() {
+        fade.stop();
+        state.rankingVisibleProperty().removeListener(visibleListener);
+        state.usernameProperty().removeListener(usernameListener);
+    }
+
     public void updateLeaderboard(JsonObject response) {
         Platform.runLater(() -> {
             // Clear old data
@@ -403,43 +411,62 @@ public class RankingPanel extends StackPane {
         });
     }
 
-    private HBox createRankingRow(LeaderboardEntry entry) {
-        HBox row = new HBox(0);
-        row.setPrefWidth(COL_AVATAR_WIDTH + COL_NAME_WIDTH + COL_RANK_WIDTH + COL_ELO_WIDTH + 10);
-        row.setAlignment(Pos.CENTER_LEFT);
+    /**
+     * Một dòng leaderboard; node được dựng một lần, updateItem chỉ đổi text
+     */
+    private final class RankingCell extends ListCell<LeaderboardEntry> {
+        private final HBox row = new HBox(0);
+        private final Label initial = new Label();
+        private final Label nameLbl = new Label();
+        private final Label rankLbl = new Label();
+        private final Label eloLbl = new Label();
+
+        RankingCell() {
+            row.setPrefWidth(COL_AVATAR_WIDTH + COL_NAME_WIDTH + COL_RANK_WIDTH + COL_ELO_WIDTH + 10);
+            row.setAlignment(Pos.CENTER_LEFT);
 
-        row.setStyle("-fx-background-color: transparent; -fx-border-color: transparent transparent rgba(0,0,0,0.1) transparent; -fx-border-width: 1;");
-        row.setPadding(new Insets(8, 0, 8, 10));
+            row.setStyle("-fx-background-color: transparent; -fx-border-color: transparent transparent rgba(0,0,0,0.1) transparent; -fx-border-width: 1;");
+            row.setPadding(new Insets(8, 0, 8, 10));
 
-        StackPane avatarPane = new StackPane();
-        avatarPane.setPrefWidth(COL_AVATAR_WIDTH);
-        Circle c = new Circle(28);
-        c.setFill(Color.TRANSPARENT);
-        c.setStroke(RED_ACCENT);
-        c.setStrokeWidth(2);
+            StackPane avatarPane = new StackPane();
+            avatarPane.setPrefWidth(COL_AVATAR_WIDTH);
+            Circle c = new Circle(28);
+            c.setFill(Color.TRANSPARENT);
+            c.setStroke(RED_ACCENT);
+            c.setStrokeWidth(2);
 
-        Label initial = new Label(entry.username.substring(0, 1).toUpperCase());
-        initial.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 30px; -fx-text-fill: #A61E1E;");
+            initial.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 30px; -fx-text-fill: #A61E1E;");
 
-        avatarPane.getChildren().addAll(c, initial);
+            avatarPane.getChildren().addAll(c, initial);
 
-        Label nameLbl = new Label(entry.username);
-        nameLbl.setPrefWidth(COL_NAME_WIDTH);
-        nameLbl.setPadding(new Insets(0, 0, 0, 10));
-        nameLbl.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 45px; -fx-text-fill: black;");
+            nameLbl.setPrefWidth(COL_NAME_WIDTH);
+            nameLbl.setPadding(new Insets(0, 0, 0, 10));
+            nameLbl.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 45px; -fx-text-fill: black;");
 
-        Label rankLbl = new Label(String.valueOf(entry.rank));
-        rankLbl.setPrefWidth(COL_RANK_WIDTH);
-        rankLbl.setAlignment(Pos.CENTER);
-        rankLbl.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 45px; -fx-text-fill: black;");
+            rankLbl.setPrefWidth(COL_RANK_WIDTH);
+            rankLbl.setAlignment(Pos.CENTER);
+            rankLbl.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 45px; -fx-text-fill: black;");
 
-        Label eloLbl = new Label(String.valueOf(entry.rating));
-        eloLbl.setPrefWidth(COL_ELO_WIDTH);
-        eloLbl.setAlignment(Pos.CENTER);
-        eloLbl.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 45px; -fx-text-fill: black;");
+            eloLbl.setPrefWidth(COL_ELO_WIDTH);
+            eloLbl.setAlignment(Pos.CENTER);
+            eloLbl.setStyle("-fx-font-family: 'Kolker Brush'; -fx-font-size: 45px; -fx-text-fill: black;");
 
-        row.getChildren().addAll(avatarPane, nameLbl, rankLbl, eloLbl);
-        return row;
+            row.getChildren().addAll(avatarPane, nameLbl, rankLbl, eloLbl);
+        }
+
+        @Override
+        protected void updateItem(LeaderboardEntry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setGraphic(null);
+                return;
+            }
+            initial.setText(entry.username.isEmpty() ? "" : entry.username.substring(0, 1).toUpperCase());
+            nameLbl.setText(entry.username);
+            rankLbl.setText(String.valueOf(entry.rank));
+            eloLbl.setText(String.valueOf(entry.rating));
+            setGraphic(row);
+        }
     }
 
     private void updateMyProfileElo() {
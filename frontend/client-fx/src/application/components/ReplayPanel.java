@@ -2,6 +2,8 @@ package application.components;
 
 import application.state.UIState;
 import application.util.AssetHelper;
+import application.util.OpeningBooks;
+import javafx.animation.AnimationTimer;
 import javafx.animation.FadeTransition;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
@@ -16,7 +18,7 @@ import javafx.util.Duration;
 import javafx.scene.Cursor;
 import javafx.application.Platform;
 import javafx.animation.ScaleTransition;
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 
 /**
  * Replay panel for viewing game replays.
@@ -42,6 +44,14 @@ public class ReplayPanel extends StackPane implements IGamePanel {
     private java.util.List<ReplayMove> replayMoves = new java.util.ArrayList<>();  // List of moves to replay
     private String currentTurn = "red";  // Current turn for replay
     private boolean replayPlayerIsRed = true;  // Màu quân cờ của người chơi trong trận đấu này (từ database)
+    private application.game.ReplayTimeline timeline = null;  // Vị trí dựng sẵn (keyframe + delta) khi nhận moves
+    private VBox openingExplorer = null;  // Các nước trong opening book cho vị trí đang xem
+    private final Label explorerTitle = new Label();
+    private final Label[] explorerRows = new Label[6];
+    private final application.game.OpeningBook.Entry[] explorerEntries = new application.game.OpeningBook.Entry[6];
+    private boolean explorerStale = false;  // Vị trí đã đổi trong lúc autoplay/kéo slider, chưa cập nhật explorer
+    private static final String EXPLORER_ROW_STYLE = "-fx-font-family: 'Monospaced'; -fx-font-size: 15px; -fx-text-fill: white;";
+    private static final String EXPLORER_ROW_PLAYED_STYLE = "-fx-font-family: 'Monospaced'; -fx-font-size: 15px; -fx-text-fill: #FFD966;";
     
     // Inner class để lưu thông tin move (phải public để InfoHandler có thể tạo)
     public static class ReplayMove {
@@ -74,6 +84,43 @@ public class ReplayPanel extends StackPane implements IGamePanel {
     private StackPane backButton = null;
     private StackPane nextButton = null;
     
+    // Timeline (kéo tới nước bất kỳ) + autoplay
+    // Tốc độ autoplay: số nước mỗi giây
+    private static final double[] AUTOPLAY_SPEEDS = {1, 2, 5, 10, 20, 40, 60};
+    private javafx.scene.control.Slider timelineSlider = null;
+    private Label playButton = null;
+    private Label speedButton = null;
+    private boolean updatingSlider = false;  // Đang đồng bộ slider từ code, bỏ qua listener
+    private boolean autoplaying = false;
+    private int speedIndex = 3;
+    private double autoplayPosition = 0;  // Vị trí autoplay (ply, có phần lẻ)
+    private long lastFrameNanos = 0;
+    private int pendingMoveIndex = -1;  // Nước cần hiển thị ở frame tới
+    
+    // Mỗi frame (theo tần số màn hình) áp dụng nhiều nhất một lần seek + highlight, dù slider/autoplay
+    // đổi vị trí bao nhiêu lần giữa hai frame. Tự dừng khi không còn gì để vẽ.
+    private final AnimationTimer replayPump = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (autoplaying) {
+                if (lastFrameNanos > 0) {
+                    autoplayPosition += (now - lastFrameNanos) / 1_000_000_000.0 * AUTOPLAY_SPEEDS[speedIndex];
+                }
+                lastFrameNanos = now;
+                int lastIndex = replayMoves.size() - 1;
+                pendingMoveIndex = Math.min((int) Math.floor(autoplayPosition) - 1, lastIndex);
+                if (pendingMoveIndex >= lastIndex) {
+                    stopAutoplay();
+                }
+            }
+            if (pendingMoveIndex != currentMoveIndex) {
+                showMoveIndex(pendingMoveIndex);
+            } else if (!autoplaying) {
+                stop();
+            }
+        }
+    };
+    
     public ReplayPanel(UIState state) {
         this.state = state;
         
@@ -92,6 +139,8 @@ public class ReplayPanel extends StackPane implements IGamePanel {
         // Khởi tạo các Manager
         this.capturedPiecesManager = new CapturedPiecesManager(state, this);
         this.chessBoardManager = new ChessBoardManager(state, this);
+        // Quân bị ăn hiển thị theo model ván cờ (history của replay đã hiển thị sẵn nên không gắn)
+        this.capturedPiecesManager.attachTo(chessBoardManager.getGameState());
         
         // Tạo replay content
         StackPane replayContent = createReplayContent();
@@ -143,6 +192,8 @@ public class ReplayPanel extends StackPane implements IGamePanel {
                 });
                 fadeTo(1);
             } else {
+                stopAutoplay();
+                replayPump.stop();
                 fadeTo(0);
             }
         });
@@ -279,6 +330,19 @@ public class ReplayPanel extends StackPane implements IGamePanel {
             }
         });
         
+        // Đổi renderer (node <-> canvas): dựng lại từ model, giữ nguyên nước đang xem
+        state.boardRendererProperty().addListener((obs, oldVal, newVal) -> {
+            Platform.runLater(() -> {
+                if (piecesContainer != null && boardContainer != null) {
+                    boardContainer.getChildren().remove(piecesContainer);
+                    piecesContainer = chessBoardManager.rebuildChessPieces();
+                    disablePieceInteraction(piecesContainer);
+                    boardContainer.getChildren().add(piecesContainer);
+                    updateBoardRotation(replayPlayerIsRed);
+                }
+            });
+        });
+        
         // Top right: Move icon (ic_move.png) - luôn hiển thị để chỉ ra move history đang mở
         HBox topRightIcons = createTopRightIcons();
         topRightIcons.setLayoutX(1920 - 200);
@@ -286,8 +350,13 @@ public class ReplayPanel extends StackPane implements IGamePanel {
         
         // Replay controls sẽ được thêm vào move panel thông qua MoveHistoryManager
         
+        // Bottom left: opening explorer (chỉ hiện khi có opening book)
+        openingExplorer = createOpeningExplorer();
+        openingExplorer.setLayoutX(50);
+        openingExplorer.setLayoutY(1080 - 360);
+        
         root.getChildren().addAll(background, playerProfile, playerCapturedPieces, opponentProfile, 
-            opponentCapturedPieces, boardContainer, topRightIcons);
+            opponentCapturedPieces, boardContainer, topRightIcons, openingExplorer);
         
         StackPane content = new StackPane();
         content.setPrefSize(1920, 1080);
@@ -337,7 +406,7 @@ public class ReplayPanel extends StackPane implements IGamePanel {
     /**
      * Tạo các nút điều khiển replay (back, next, quit) - nằm thẳng hàng
      */
-    private HBox createReplayControls() {
+    private VBox createReplayControls() {
         HBox container = new HBox(20);
         container.setAlignment(Pos.CENTER);
         container.setMouseTransparent(false);  // Đảm bảo container không chặn mouse events
@@ -380,6 +449,8 @@ public class ReplayPanel extends StackPane implements IGamePanel {
         this.nextButton = nextButton;
         
         container.getChildren().addAll(backButton, nextButton, quitButton);
+        VBox controls = new VBox(8, createTimelineBar(), container);
+        controls.setAlignment(Pos.CENTER);
         
         // Update button states lần đầu - nhưng không disable nếu chưa có moves
         // Chỉ disable khi thực sự cần (sau khi có moves)
@@ -393,7 +464,225 @@ public class ReplayPanel extends StackPane implements IGamePanel {
             updateButtonStates();
         }
         
-        return container;
+        return controls;
+    }
+    
+    /**
+     * Thanh timeline: play/pause, slider tới nước bất kỳ, tốc độ autoplay
+     */
+    private HBox createTimelineBar() {
+        HBox bar = new HBox(10);
+        bar.setAlignment(Pos.CENTER);
+        bar.setPadding(new javafx.geometry.Insets(0, 15, 0, 15));
+        
+        Label playButton = createTimelineButton(autoplaying ? "❚❚" : "▶", 44);
+        playButton.setOnMouseClicked(e -> {
+            if (autoplaying) {
+                stopAutoplay();
+            } else {
+                startAutoplay();
+            }
+            e.consume();
+        });
+        
+        javafx.scene.control.Slider slider = new javafx.scene.control.Slider(0, replayMoves.size(), currentMoveIndex + 1);
+        slider.setBlockIncrement(1);
+        slider.setMajorTickUnit(1);
+        slider.setMinorTickCount(0);
+        slider.setSnapToTicks(true);
+        slider.setPrefWidth(280);
+        HBox.setHgrow(slider, javafx.scene.layout.Priority.ALWAYS);
+        // Người dùng chạm vào slider: dừng autoplay ngay, vị trí theo tay kéo
+        slider.addEventFilter(javafx.scene.input.MouseEvent.MOUSE_PRESSED, e -> stopAutoplay());
+        // Thả slider: cập nhật opening explorer một lần cho vị trí cuối
+        slider.valueChangingProperty().addListener((obs, wasChanging, changing) -> {
+            if (!changing) {
+                refreshOpeningExplorerIfStale();
+            }
+        });
+        slider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (updatingSlider) {
+                return;
+            }
+            stopAutoplay();
+            requestMoveIndex((int) Math.round(newVal.doubleValue()) - 1);
+        });
+        
+        Label speedButton = createTimelineButton(formatSpeed(), 70);
+        speedButton.setOnMouseClicked(e -> {
+            speedIndex = (speedIndex + 1) % AUTOPLAY_SPEEDS.length;
+            speedButton.setText(formatSpeed());
+            e.consume();
+        });
+        
+        this.timelineSlider = slider;
+        this.playButton = playButton;
+        this.speedButton = speedButton;
+        bar.getChildren().addAll(playButton, slider, speedButton);
+        return bar;
+    }
+    
+    private Label createTimelineButton(String text, double width) {
+        Label button = new Label(text);
+        button.setPrefSize(width, 36);
+        button.setAlignment(Pos.CENTER);
+        button.setCursor(Cursor.HAND);
+        button.setStyle(
+            "-fx-font-size: 18px; " +
+            "-fx-font-weight: bold; " +
+            "-fx-text-fill: white; " +
+            "-fx-background-color: #A65252; " +
+            "-fx-background-radius: 8px;"
+        );
+        return button;
+    }
+    
+    private String formatSpeed() {
+        return (int) AUTOPLAY_SPEEDS[speedIndex] + "/s";
+    }
+    
+    private void startAutoplay() {
+        if (replayMoves.isEmpty()) {
+            return;
+        }
+        // Đang ở cuối ván: phát lại từ đầu
+        int startIndex = currentMoveIndex >= replayMoves.size() - 1 ? -1 : currentMoveIndex;
+        pendingMoveIndex = startIndex;
+        autoplayPosition = startIndex + 1;
+        lastFrameNanos = 0;
+        autoplaying = true;
+        if (playButton != null) {
+            playButton.setText("❚❚");
+        }
+        replayPump.start();
+    }
+    
+    private void stopAutoplay() {
+        if (!autoplaying) {
+            return;
+        }
+        autoplaying = false;
+        if (playButton != null) {
+            playButton.setText("▶");
+        }
+        refreshOpeningExplorerIfStale();
+    }
+    
+    private VBox createOpeningExplorer() {
+        VBox explorer = new VBox(6);
+        explorer.setPrefWidth(400);
+        explorer.setPadding(new javafx.geometry.Insets(12));
+        explorer.setStyle(
+            "-fx-background-color: rgba(0, 0, 0, 0.55); " +
+            "-fx-background-radius: 10px;"
+        );
+        explorerTitle.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: white;");
+        explorer.getChildren().add(explorerTitle);
+        // Số dòng cố định, tạo một lần; mỗi lần cập nhật chỉ đổi text
+        for (int i = 0; i < explorerRows.length; i++) {
+            Label row = new Label();
+            row.setCursor(Cursor.HAND);
+            row.managedProperty().bind(row.visibleProperty());
+            int index = i;
+            row.setOnMouseClicked(e -> {
+                application.game.OpeningBook.Entry entry = explorerEntries[index];
+                if (entry != null) {
+                    chessBoardManager.highlightSuggestMove(entry.fromRow, entry.fromCol, entry.toRow, entry.toCol);
+                }
+                e.consume();
+            });
+            explorerRows[i] = row;
+            explorer.getChildren().add(row);
+        }
+        explorer.setVisible(false);
+        return explorer;
+    }
+    
+    /**
+     * Opening explorer: các nước trong book từ vị trí đang xem (nhiều điểm nhất trước), số ván và
+     * tỉ lệ thắng/hòa/thua của bên đi nước đó. Nước của ván đang xem được đánh dấu ▶, click một
+     * dòng để highlight nước đó trên bàn cờ.
+     * Trong lúc autoplay hoặc kéo slider thì không cập nhật (mỗi frame chỉ vá bàn cờ), chỉ đánh dấu
+     * cũ và cập nhật một lần khi dừng/thả slider.
+     */
+    private void updateOpeningExplorer() {
+        if (openingExplorer == null) {
+            return;
+        }
+        if (autoplaying || (timelineSlider != null && timelineSlider.isValueChanging())) {
+            explorerStale = true;
+            return;
+        }
+        explorerStale = false;
+        application.game.OpeningBook book = OpeningBooks.get();
+        if (book == null) {
+            openingExplorer.setVisible(false);
+            return;
+        }
+        application.game.GameState gameState = chessBoardManager.getGameState();
+        java.util.List<application.game.OpeningBook.Entry> entries = book.lookup(gameState.getHash());
+        ReplayMove played = currentMoveIndex + 1 < replayMoves.size() ? replayMoves.get(currentMoveIndex + 1) : null;
+        
+        explorerTitle.setText(entries.isEmpty() ? "Opening book: ngoài book" : "Opening book");
+        for (int i = 0; i < explorerRows.length; i++) {
+            Label row = explorerRows[i];
+            application.game.OpeningBook.Entry entry = i < entries.size() ? entries.get(i) : null;
+            explorerEntries[i] = entry;
+            row.setVisible(entry != null);
+            if (entry == null) {
+                continue;
+            }
+            boolean isPlayed = played != null && played.fromRow == entry.fromRow && played.fromCol == entry.fromCol
+                && played.toRow == entry.toRow && played.toCol == entry.toCol;
+            String piece = ChessBoardManager.getPieceTypeFromChar(gameState.pieceAt(entry.fromRow, entry.fromCol));
+            int games = Math.max(1, entry.games());
+            row.setText(String.format("%s %-8s (%d,%d)→(%d,%d)  %d ván  %d/%d/%d%%",
+                isPlayed ? "▶" : "  ", piece, entry.fromRow, entry.fromCol, entry.toRow, entry.toCol, entry.games(),
+                Math.round(100.0 * entry.wins / games), Math.round(100.0 * entry.draws / games),
+                Math.round(100.0 * entry.losses / games)));
+            row.setStyle(isPlayed ? EXPLORER_ROW_PLAYED_STYLE : EXPLORER_ROW_STYLE);
+        }
+        openingExplorer.setVisible(true);
+    }
+    
+    private void refreshOpeningExplorerIfStale() {
+        if (explorerStale) {
+            updateOpeningExplorer();
+        }
+    }
+    
+    /**
+     * Yêu cầu hiển thị nước moveIndex ở frame tới (gộp nhiều yêu cầu trong cùng một frame)
+     */
+    private void requestMoveIndex(int moveIndex) {
+        pendingMoveIndex = Math.max(-1, Math.min(moveIndex, replayMoves.size() - 1));
+        replayPump.start();
+    }
+    
+    /**
+     * Seek tới moveIndex (chỉ vá các ô thay đổi), highlight nước trong lịch sử và đồng bộ slider/nút
+     */
+    private void showMoveIndex(int moveIndex) {
+        int previous = currentMoveIndex;
+        currentMoveIndex = moveIndex;
+        applyMoveToPosition(currentMoveIndex);
+        updateMoveHistoryDisplay();
+        syncTimelineSlider();
+        // Trạng thái nút back/next chỉ đổi khi chạm hoặc rời hai đầu ván
+        int lastIndex = replayMoves.size() - 1;
+        if (previous <= -1 || previous >= lastIndex || moveIndex <= -1 || moveIndex >= lastIndex) {
+            updateButtonStates();
+        }
+    }
+    
+    private void syncTimelineSlider() {
+        if (timelineSlider == null) {
+            return;
+        }
+        updatingSlider = true;
+        timelineSlider.setMax(Math.max(1, replayMoves.size()));
+        timelineSlider.setValue(currentMoveIndex + 1);
+        updatingSlider = false;
     }
     
     /**
@@ -465,11 +754,14 @@ public class ReplayPanel extends StackPane implements IGamePanel {
      * Lùi lại một nước đi
      */
     private void goToPreviousMove() {
+        stopAutoplay();
         if (currentMoveIndex > -1) {
             currentMoveIndex--;
+            pendingMoveIndex = currentMoveIndex;
             applyMoveToPosition(currentMoveIndex);
             updateMoveHistoryDisplay();
             updateButtonStates();
+            syncTimelineSlider();
             System.out.println("[ReplayPanel] Moved to move index: " + currentMoveIndex);
         }
     }
@@ -478,18 +770,22 @@ public class ReplayPanel extends StackPane implements IGamePanel {
      * Tiến tới một nước đi
      */
     private void goToNextMove() {
+        stopAutoplay();
         if (currentMoveIndex < replayMoves.size() - 1) {
             currentMoveIndex++;
+            pendingMoveIndex = currentMoveIndex;
             applyMoveToPosition(currentMoveIndex);
             updateMoveHistoryDisplay();
             updateButtonStates();
+            syncTimelineSlider();
             System.out.println("[ReplayPanel] Moved to move index: " + currentMoveIndex);
         }
     }
     
     /**
      * Áp dụng nước đi đến vị trí chỉ định
-     * Reset bàn cờ về vị trí ban đầu, rồi apply tất cả moves từ đầu đến moveIndex
+     * Lấy vị trí dựng sẵn từ timeline (keyframe gần nhất + tối đa 15 nước), model chỉ báo các ô thay đổi
+     * nên bàn cờ và quân bị ăn được vá lại thay vì reset rồi đi lại từ đầu
      * LƯU Ý: KHÔNG clear move history vì đã hiển thị sẵn từ setReplayMoves()
      */
     private void applyMoveToPosition(int moveIndex) {
@@ -497,73 +793,13 @@ public class ReplayPanel extends StackPane implements IGamePanel {
             System.err.println("[ReplayPanel] piecesContainer or boardContainer is null");
             return;
         }
-        
-        // Reset board to initial position (KHÔNG clear move history)
-        resetChessPieces();
-        capturedPiecesManager.resetCapturedPieces();
-        // KHÔNG gọi moveHistoryManager.clearMoveHistory() - giữ nguyên để user thấy tất cả moves
-        
-        // Apply all moves up to moveIndex (chỉ cập nhật board, không thêm vào history)
-        for (int i = 0; i <= moveIndex && i < replayMoves.size(); i++) {
-            ReplayMove move = replayMoves.get(i);
-            applySingleMoveToBoard(move);  // Dùng method không thêm vào history
-        }
-    }
-    
-    /**
-     * Áp dụng một nước đi lên bàn cờ MÀ KHÔNG thêm vào move history
-     * (Dùng khi navigate - move history đã hiển thị sẵn)
-     */
-    private void applySingleMoveToBoard(ReplayMove move) {
-        if (piecesContainer == null) return;
-        
-        double boardSize = 923.0;
-        double cellWidth = boardSize / 9.0;
-        double cellHeight = boardSize / 10.0;
-        
-        // Tìm quân cờ tại vị trí from
-        ImageView pieceToMove = null;
-        ImageView capturedPiece = null;
-        
-        for (javafx.scene.Node node : piecesContainer.getChildren()) {
-            if (node instanceof ImageView) {
-                ImageView imgView = (ImageView) node;
-                if (imgView.getUserData() instanceof ChessBoardManager.PieceInfo) {
-                    int pieceRow = (int) Math.round(imgView.getLayoutY() / cellHeight);
-                    int pieceCol = (int) Math.round(imgView.getLayoutX() / cellWidth);
-                    pieceRow = Math.max(0, Math.min(9, pieceRow));
-                    pieceCol = Math.max(0, Math.min(8, pieceCol));
-                    
-                    if (pieceRow == move.fromRow && pieceCol == move.fromCol) {
-                        pieceToMove = imgView;
-                    }
-                    if (pieceRow == move.toRow && pieceCol == move.toCol) {
-                        capturedPiece = imgView;
-                    }
-                }
-            }
-        }
-        
-        if (pieceToMove == null) {
-            return;  // Silent fail - quân cờ có thể đã bị ăn
-        }
-        
-        // Nếu có quân cờ ở vị trí đích, xóa nó (ăn quân)
-        if (capturedPiece != null && capturedPiece != pieceToMove) {
-            ChessBoardManager.PieceInfo capInfo = (ChessBoardManager.PieceInfo) capturedPiece.getUserData();
-            if (capInfo != null) {
-                capturedPiecesManager.addCapturedPiece(capInfo.color, capInfo.pieceType);
-            }
-            piecesContainer.getChildren().remove(capturedPiece);
+        if (timeline == null) {
+            return;
         }
         
-        // Di chuyển quân cờ đến vị trí mới
-        double newX = move.toCol * cellWidth + (cellWidth - pieceToMove.getFitWidth()) / 2;
-        double newY = move.toRow * cellHeight + (cellHeight - pieceToMove.getFitHeight()) / 2;
-        pieceToMove.setLayoutX(newX);
-        pieceToMove.setLayoutY(newY);
-        
-        // KHÔNG thêm vào move history - đã hiển thị sẵn từ setReplayMoves()
+        // moveIndex = -1 là vị trí ban đầu (ply 0)
+        timeline.seek(chessBoardManager.getGameState(), moveIndex + 1);
+        updateOpeningExplorer();
     }
     
     /**
@@ -572,57 +808,16 @@ public class ReplayPanel extends StackPane implements IGamePanel {
     private void applySingleMove(ReplayMove move) {
         if (piecesContainer == null) return;
         
-        double boardSize = 923.0;
-        double cellWidth = boardSize / 9.0;
-        double cellHeight = boardSize / 10.0;
-        
-        // Tìm quân cờ tại vị trí from
-        ImageView pieceToMove = null;
-        ImageView capturedPiece = null;
-        
-        for (javafx.scene.Node node : piecesContainer.getChildren()) {
-            if (node instanceof ImageView) {
-                ImageView imgView = (ImageView) node;
-                if (imgView.getUserData() instanceof ChessBoardManager.PieceInfo) {
-                    int pieceRow = (int) Math.round(imgView.getLayoutY() / cellHeight);
-                    int pieceCol = (int) Math.round(imgView.getLayoutX() / cellWidth);
-                    pieceRow = Math.max(0, Math.min(9, pieceRow));
-                    pieceCol = Math.max(0, Math.min(8, pieceCol));
-                    
-                    if (pieceRow == move.fromRow && pieceCol == move.fromCol) {
-                        pieceToMove = imgView;
-                    }
-                    if (pieceRow == move.toRow && pieceCol == move.toCol) {
-                        capturedPiece = imgView;
-                    }
-                }
-            }
-        }
-        
-        if (pieceToMove == null) {
+        application.game.GameState.Move applied = chessBoardManager.getGameState()
+            .applyMove(move.fromRow, move.fromCol, move.toRow, move.toCol);
+        if (applied == null) {
             System.err.println("[ReplayPanel] Could not find piece at (" + move.fromRow + "," + move.fromCol + ")");
             return;
         }
         
-        // Nếu có quân cờ ở vị trí đích, xóa nó (ăn quân)
-        if (capturedPiece != null && capturedPiece != pieceToMove) {
-            ChessBoardManager.PieceInfo capInfo = (ChessBoardManager.PieceInfo) capturedPiece.getUserData();
-            if (capInfo != null) {
-                // Thêm vào captured pieces display
-                capturedPiecesManager.addCapturedPiece(capInfo.color, capInfo.pieceType);
-            }
-            piecesContainer.getChildren().remove(capturedPiece);
-        }
-        
-        // Di chuyển quân cờ đến vị trí mới
-        double newX = move.toCol * cellWidth + (cellWidth - pieceToMove.getFitWidth()) / 2;
-        double newY = move.toRow * cellHeight + (cellHeight - pieceToMove.getFitHeight()) / 2;
-        pieceToMove.setLayoutX(newX);
-        pieceToMove.setLayoutY(newY);
-        
         // Thêm vào move history
         String capturedInfo = "";
-        if (capturedPiece != null && capturedPiece != pieceToMove && move.capturedPieceType != null) {
+        if (applied.isCapture() && move.capturedPieceType != null) {
             capturedInfo = String.format(" (captured %s %s)", move.capturedColor, move.capturedPieceType);
         }
         moveHistoryManager.addMove(move.color, move.pieceType, move.fromRow, move.fromCol, 
@@ -653,8 +848,12 @@ public class ReplayPanel extends StackPane implements IGamePanel {
      * Reset replay state
      */
     private void resetReplayState() {
+        stopAutoplay();
+        replayPump.stop();
         currentMoveIndex = -1;
+        pendingMoveIndex = -1;
         replayMoves.clear();
+        timeline = null;
         resetChessPieces();
         capturedPiecesManager.resetCapturedPieces();
         moveHistoryManager.clearMoveHistory();
@@ -681,6 +880,14 @@ public class ReplayPanel extends StackPane implements IGamePanel {
         capturedPiecesManager.resetCapturedPieces();
         moveHistoryManager.clearMoveHistory();
         
+        // Dựng sẵn mọi vị trí của ván (keyframe mỗi 16 nước), seek sau đó không phải đi lại từ đầu
+        java.util.List<int[]> plies = new java.util.ArrayList<>(replayMoves.size());
+        for (ReplayMove move : replayMoves) {
+            plies.add(new int[]{move.fromRow, move.fromCol, move.toRow, move.toCol});
+        }
+        application.game.GameState gameState = chessBoardManager.getGameState();
+        timeline = new application.game.ReplayTimeline(gameState.copyBoard(), gameState.isRedTurn(), plies);
+        
         // Thêm TẤT CẢ moves vào move history panel để người dùng thấy toàn bộ lịch sử
         System.out.println("[ReplayPanel] Adding all " + replayMoves.size() + " moves to history panel...");
         for (int i = 0; i < replayMoves.size(); i++) {
@@ -694,10 +901,13 @@ public class ReplayPanel extends StackPane implements IGamePanel {
         }
         
         // Cập nhật button states sau khi có moves
+        this.pendingMoveIndex = -1;
         updateButtonStates();
+        syncTimelineSlider();
         
         // Highlight move hiện tại (nếu có)
         updateMoveHistoryDisplay();
+        updateOpeningExplorer();
         
         System.out.println("[ReplayPanel] Set " + moves.size() + " moves for replay, currentMoveIndex=" + currentMoveIndex);
         System.out.println("[ReplayPanel] ========================================");
@@ -863,8 +1073,9 @@ public class ReplayPanel extends StackPane implements IGamePanel {
         // QUAN TRỌNG: Khi bàn cờ xoay 180 độ, quân cờ cũng bị xoay làm chữ ngược
         // Cần xoay ngược lại các quân cờ để chữ luôn đọc được
         // Logic: nếu board xoay 180 (player red), thì quân cờ cũng xoay 180 để chữ đúng
+        double pieceRotation = playerIsRed ? 180.0 : 0.0;
+        chessBoardManager.setPieceRotation(pieceRotation);
         if (piecesContainer != null) {
-            double pieceRotation = playerIsRed ? 180.0 : 0.0;
             System.out.println("[ReplayPanel] Setting piece rotation: " + pieceRotation);
             for (javafx.scene.Node node : piecesContainer.getChildren()) {
                 if (node instanceof ImageView) {
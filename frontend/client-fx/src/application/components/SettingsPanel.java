@@ -1,7 +1,7 @@
 package application.components;
 
 import application.state.UIState;
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.util.AssetHelper;
 import javafx.animation.FadeTransition;
 import javafx.geometry.Insets;
@@ -278,7 +278,7 @@ public class SettingsPanel extends StackPane {
         Label logOutButton = createActionButton("Log out", 300, 70);
         logOutButton.setOnMouseClicked(e -> {
             try {
-                NetworkManager.getInstance().auth().logout();
+                NetworkManager.getInstance().logout();
             } catch (Exception ex) {
                 System.err.println("[SettingsPanel] Failed to send LOGOUT: " + ex.getMessage());
             }
@@ -297,7 +297,18 @@ public class SettingsPanel extends StackPane {
         
         buttonsContainer.getChildren().addAll(logOutButton, deleteAccountButton);
         
-        rightContent.getChildren().addAll(usernameLabel, buttonsContainer);
+        // Board renderer - chuyển giữa renderer node (mặc định) và Canvas, áp dụng ngay cho ván đang mở
+        Label rendererButton = createActionButton(rendererButtonText(), 300, 70);
+        rendererButton.setLayoutX(40);
+        rendererButton.setLayoutY(260);
+        rendererButton.setOnMouseClicked(e -> {
+            state.setBoardRenderer(state.isCanvasBoardRenderer() ? "node" : "canvas");
+        });
+        state.boardRendererProperty().addListener((obs, oldVal, newVal) -> {
+            rendererButton.setText(rendererButtonText());
+        });
+        
+        rightContent.getChildren().addAll(usernameLabel, buttonsContainer, rendererButton);
         mainContent.getChildren().addAll(leftNav, rightContent);
         
         contentPane.getChildren().addAll(topBar, closeButton, dividerLine, mainContent);  // Thêm dividerLine vào contentPane
@@ -307,6 +318,10 @@ public class SettingsPanel extends StackPane {
         return mainPanel;
     }
     
+    private String rendererButtonText() {
+        return state.isCanvasBoardRenderer() ? "Board: Canvas" : "Board: Nodes";
+    }
+    
     private Label createActionButton(String text, double width, double height) {
         Label button = new Label(text);
         button.setPrefSize(width, height);
@@ -0,0 +1,413 @@
+package application.components;
+
+import application.state.UIState;
+import application.game.GameState;
+import application.game.TimeoutHandler;
+import application.network.ClockSync;
+import application.network.fx.NetworkManager;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Manager để quản lý timer trong game
+ *
+ * Một AnimationTimer duy nhất làm đồng hồ cho cả 4 bộ đếm. Mỗi bên chỉ lưu vài số nguyên:
+ * thời gian xám còn lại (bank) và deadline System.nanoTime() của lượt hiện tại.
+ * Mỗi frame chỉ tính deadline - now, label chỉ được cập nhật khi số giây hiển thị thay đổi.
+ */
+public class TimerManager {
+    
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_EVENT_AGE_MS = 60_000;  // Bỏ qua timestamp quá cũ (restore game...)
+    private static final int RED = 0;
+    private static final int BLACK = 1;
+    private static final int NONE = -1;
+    
+    private final UIState state;
+    private final GamePanel gamePanel;
+    
+    // Cấu hình (giây, -1 = không giới hạn)
+    // Timer xám (index 1, 2): đếm trước, không reset giữa các lượt
+    // Timer còn lại (index 0, 3): chỉ chạy khi timer xám hết, reset sau mỗi lượt
+    private boolean timed = false;
+    private long moveLimitNanos = -1;
+    
+    // Trạng thái từng bên (index RED/BLACK)
+    private final long[] bankNanos = new long[2];  // Timer xám còn lại khi bắt đầu lượt (-1 = không giới hạn)
+    private int runningSide = NONE;
+    private long turnStartNanos = 0;
+    private long bankDeadlineNanos = 0;   // Timer xám của bên đang đi hết tại thời điểm này
+    private long moveDeadlineNanos = 0;   // Timer còn lại hết tại thời điểm này (thua)
+    
+    // Số giây đang hiển thị trên 4 label, để bỏ qua frame không đổi
+    private final int[] shownSeconds = new int[4];
+    
+    private final AnimationTimer clock = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onFrame(now);
+        }
+    };
+    
+    // Lưu reference đến timers container và các timer panes để có thể xoay
+    private VBox timersContainer = null;
+    private StackPane[] timerPanes = new StackPane[4];  // Lưu reference đến 4 timer panes
+    
+    // Timeout handler
+    private TimeoutHandler timeoutHandler;
+    
+    public TimerManager(UIState state, GamePanel gamePanel) {
+        this.state = state;
+        this.gamePanel = gamePanel;
+        this.timeoutHandler = new TimeoutHandler();
+    }
+    
+    /**
+     * Tạo container cho các timer
+     */
+    public VBox createTimersContainer() {
+        VBox container = new VBox(15);
+        container.setAlignment(Pos.TOP_LEFT);
+        
+        // Lưu reference đến container
+        this.timersContainer = container;
+        
+        // Tạo 4 timer riêng biệt và bind với state
+        // Timer 1: bind với timer1Value
+        StackPane timer1Pane = createTimerPane(state.timer1ValueProperty(), "2:00", 0);
+        timerPanes[0] = timer1Pane;
+        
+        // Timer 2: bind với timer2Value
+        StackPane timer2Pane = createTimerPane(state.timer2ValueProperty(), "10:00", 1);
+        timerPanes[1] = timer2Pane;
+        
+        // Timer 3: bind với timer3Value
+        StackPane timer3Pane = createTimerPane(state.timer3ValueProperty(), "10:00", 2);
+        timerPanes[2] = timer3Pane;
+        
+        // Timer 4: bind với timer4Value
+        StackPane timer4Pane = createTimerPane(state.timer4ValueProperty(), "2:00", 3);
+        timerPanes[3] = timer4Pane;
+        
+        container.getChildren().addAll(timer1Pane, timer2Pane, timer3Pane, timer4Pane);
+        
+        // Cấu hình thay đổi giữa chừng (GAME_START đến sau khi game đã hiển thị) -> khởi tạo lại
+        // Một listener cho cả cấu hình (move + bank đổi cùng lúc) -> chỉ khởi tạo lại một lần
+        state.timerConfigProperty().addListener((obs, oldVal, newVal) -> reinitializeIfInGame());
+        
+        return container;
+    }
+    
+    private void reinitializeIfInGame() {
+        if (state.isGameVisible() && state.appStateProperty().get() == UIState.AppState.IN_GAME) {
+            initializeTimers();
+        }
+    }
+    
+    /**
+     * Bắt đầu đồng hồ khi game được mở (gọi trên JavaFX thread)
+     */
+    public void initializeTimers() {
+        stopAllTimers();
+        
+        int moveSeconds = state.getMoveTimerSeconds();
+        int bankSeconds = state.getBankTimerSeconds();
+        String gameMode = state.getCurrentGameMode();
+        timed = !"classical".equals(gameMode) && (moveSeconds >= 0 || bankSeconds >= 0);
+        
+        if (!timed) {
+            // Classical mode: cả 4 bộ đếm đều là "Unlimited time", không chạy đồng hồ
+            for (int i = 0; i < 4; i++) {
+                updateTimerLabel(i, -1);
+            }
+            System.out.println("[TimerManager] Untimed game: All 4 timers set to Unlimited time, clock not started");
+            return;
+        }
+        
+        moveLimitNanos = moveSeconds >= 0 ? moveSeconds * NANOS_PER_SECOND : -1;
+        long bank = bankSeconds >= 0 ? bankSeconds * NANOS_PER_SECOND : -1;
+        bankNanos[RED] = bank;
+        bankNanos[BLACK] = bank;
+        
+        shownSeconds[0] = moveSeconds;
+        shownSeconds[1] = bankSeconds;
+        shownSeconds[2] = bankSeconds;
+        shownSeconds[3] = moveSeconds;
+        for (int i = 0; i < 4; i++) {
+            updateTimerLabel(i, shownSeconds[i]);
+        }
+        
+        // Bắt đầu lượt của bên đang đi (red nếu game mới)
+        updateTimersOnTurnChange();
+    }
+    
+    /**
+     * Dừng đồng hồ
+     */
+    public void stopAllTimers() {
+        clock.stop();
+        runningSide = NONE;
+    }
+    
+    /**
+     * Set callback để xử lý khi timeout (timer còn lại hết)
+     */
+    public void setTimeoutCallback(TimeoutHandler.TimeoutCallback callback) {
+        timeoutHandler.setTimeoutCallback(callback);
+    }
+    
+    /**
+     * Đổi lượt đồng hồ theo sự kiện onMove của model ván cờ
+     */
+    public void attachTo(GameState gameState) {
+        gameState.addListener(new GameState.Listener() {
+            @Override
+            public void onMove(GameState s, GameState.Move move) {
+                updateTimersOnTurnChange();
+            }
+        });
+    }
+    
+    /**
+     * Cập nhật timer khi đổi lượt (áp dụng cho TẤT CẢ các mode)
+     */
+    public void updateTimersOnTurnChange() {
+        if (!timed) {
+            clock.stop();
+            return;
+        }
+        
+        int side = "black".equals(gamePanel.getCurrentTurn()) ? BLACK : RED;
+        
+        // Lượt mới bắt đầu tại thời điểm server gửi MOVE/GAME_START (nếu có)
+        long now = System.nanoTime();
+        long start = now - consumeTurnStartAgeMs() * 1_000_000L;
+        
+        // Chốt timer xám của bên vừa đi xong tại thời điểm đổi lượt
+        if (runningSide != NONE && runningSide != side && bankNanos[runningSide] >= 0) {
+            bankNanos[runningSide] = Math.max(0, bankDeadlineNanos - start);
+        } else if (runningSide == side) {
+            // Đã chạy cho bên này rồi (gọi lặp), giữ nguyên deadline
+            return;
+        }
+        
+        runningSide = side;
+        turnStartNanos = start;
+        bankDeadlineNanos = bankNanos[side] >= 0 ? start + bankNanos[side] : start;
+        moveDeadlineNanos = moveLimitNanos >= 0 ? bankDeadlineNanos + moveLimitNanos : Long.MAX_VALUE;
+        
+        // Timer còn lại của bên đến lượt được reset về giá trị ban đầu
+        int moveIndex = side == RED ? 0 : 3;
+        if (moveLimitNanos >= 0) {
+            shownSeconds[moveIndex] = ceilSeconds(moveLimitNanos);
+            updateTimerLabel(moveIndex, shownSeconds[moveIndex]);
+        }
+        
+        System.out.println("[TimerManager] Turn started: " + (side == RED ? "red" : "black")
+            + " (bank " + ceilSeconds(bankNanos[side]) + "s, started " + (now - start) / 1_000_000 + "ms ago)");
+        clock.start();
+    }
+    
+    /**
+     * Một frame của đồng hồ: chỉ so sánh deadline với now
+     */
+    private void onFrame(long now) {
+        if (runningSide == NONE) {
+            return;
+        }
+        int side = runningSide;
+        int grayIndex = side == RED ? 1 : 2;
+        int moveIndex = side == RED ? 0 : 3;
+        
+        if (bankNanos[side] >= 0) {
+            showSeconds(grayIndex, ceilSeconds(Math.max(0, bankDeadlineNanos - now)));
+        }
+        
+        if (moveLimitNanos < 0) {
+            return;
+        }
+        if (now < bankDeadlineNanos) {
+            // Timer xám chưa hết, timer còn lại đứng yên
+            return;
+        }
+        
+        long moveLeft = moveDeadlineNanos - now;
+        showSeconds(moveIndex, ceilSeconds(Math.max(0, moveLeft)));
+        if (moveLeft <= 0) {
+            // Timer còn lại hết = người chơi thua
+            stopAllTimers();
+            // Ra khỏi animation pulse trước khi xử lý (callback có thể mở dialog)
+            String color = side == RED ? "red" : "black";
+            Platform.runLater(() -> timeoutHandler.handleTimeout(moveIndex, color));
+        }
+    }
+    
+    private void showSeconds(int timerIndex, int seconds) {
+        if (shownSeconds[timerIndex] != seconds) {
+            shownSeconds[timerIndex] = seconds;
+            updateTimerLabel(timerIndex, seconds);
+        }
+    }
+    
+    private static int ceilSeconds(long nanos) {
+        if (nanos < 0) {
+            return -1;
+        }
+        return (int) ((nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+    
+    /**
+     * Lượt hiện tại đã bắt đầu bao lâu trước (ms), theo timestamp server của GAME_START/MOVE.
+     * Trả về 0 nếu chưa đồng bộ đồng hồ, không có timestamp (lượt do mình đi) hoặc timestamp không hợp lệ.
+     */
+    private long consumeTurnStartAgeMs() {
+        long eventTime = state.getTurnStartServerTime();
+        state.setTurnStartServerTime(0);
+        ClockSync clockSync = NetworkManager.getInstance().getClockSync();
+        if (eventTime <= 0 || !clockSync.isSynced()) {
+            return 0;
+        }
+        long age = clockSync.serverTimeMillis() - eventTime;
+        // Sai số đồng hồ có thể làm timestamp lệch nhẹ về tương lai
+        return (age < 0 || age > MAX_EVENT_AGE_MS) ? 0 : age;
+    }
+    
+    /**
+     * Cập nhật label của timer
+     */
+    private void updateTimerLabel(int timerIndex, int totalSeconds) {
+        String formattedTime = UIState.formatTimerSeconds(totalSeconds);
+        
+        switch (timerIndex) {
+            case 0:
+                state.setTimer1Value(formattedTime);
+                break;
+            case 1:
+                state.setTimer2Value(formattedTime);
+                break;
+            case 2:
+                state.setTimer3Value(formattedTime);
+                break;
+            case 3:
+                state.setTimer4Value(formattedTime);
+                break;
+        }
+    }
+    
+    /**
+     * Tạo một timer pane
+     */
+    private StackPane createTimerPane(javafx.beans.property.StringProperty valueProperty, String defaultValue, int index) {
+        Rectangle timerBg = new Rectangle(120, 50);
+        timerBg.setArcWidth(10);
+        timerBg.setArcHeight(10);
+        timerBg.setStroke(Color.color(0.3, 0.3, 0.3));
+        timerBg.setStrokeWidth(1);
+        
+        // Timer 2 và 3 (index 1, 2) = #A8A4A4, còn lại = xám
+        if (index == 1 || index == 2) {
+            timerBg.setFill(Color.web("#A8A4A4"));
+        } else {
+            timerBg.setFill(Color.color(0.85, 0.85, 0.85));
+        }
+        
+        Label timerLabel = new Label(defaultValue);
+        timerLabel.textProperty().bind(valueProperty);  // Bind text với state
+        timerLabel.setStyle(
+            "-fx-font-family: 'Kolker Brush'; " +
+            "-fx-font-size: 35px; " +
+            "-fx-text-fill: black; " +
+            "-fx-background-color: transparent;"
+        );
+        timerLabel.setAlignment(Pos.CENTER);
+        
+        StackPane timerPane = new StackPane();
+        timerPane.setPrefSize(120, 50);
+        timerPane.setAlignment(Pos.CENTER);
+        timerPane.getChildren().addAll(timerBg, timerLabel);
+        
+        return timerPane;
+    }
+    
+    /**
+     * Cập nhật xoay và sắp xếp các bộ đếm theo vị trí player/opponent
+     * - Player luôn ở bottom-right, Opponent luôn ở top-left
+     * - Timers ở bên trái board: timers trên cùng = opponent (gần top-left), timers dưới cùng = player (gần bottom-right)
+     * - Khi board xoay (isPlayerRed = true): red timers xoay 180 độ để chữ đúng hướng
+     * 
+     * @param isPlayerRed true nếu player là red, false nếu player là black
+     */
+    public void updateRotation(boolean isPlayerRed) {
+        // Logic sắp xếp:
+        // - Nếu player là RED: opponent là BLACK -> Black timers (2,3) ở trên, Red timers (0,1 - player) ở dưới
+        // - Nếu player là BLACK: opponent là RED -> Red timers (0,1 - opponent) ở trên, Black timers (2,3 - player) ở dưới
+        // Timer 1, 2 (index 0, 1): red player
+        // Timer 3, 4 (index 2, 3): black player
+        
+        if (timerPanes == null || timersContainer == null) {
+            return;
+        }
+        
+        // Đổi thứ tự timers: opponent ở trên, player ở dưới
+        // Thứ tự: remaining, gray, gray, remaining
+        // Timer 0 = red remaining, Timer 1 = red gray
+        // Timer 2 = black gray, Timer 3 = black remaining
+        if (isPlayerRed) {
+            // Player là RED (ở dưới): opponent là BLACK (ở trên)
+            // Opponent (black) ở trên: [black remaining (3), black gray (2)]
+            // Player (red) ở dưới: [red gray (1), red remaining (0)]
+            // Thứ tự: remaining, gray, gray, remaining
+            timersContainer.getChildren().clear();
+            timersContainer.getChildren().addAll(timerPanes[3], timerPanes[2], timerPanes[1], timerPanes[0]);
+            System.out.println("[TimerManager] Player is RED: Order = [black remaining (3), black gray (2), red gray (1), red remaining (0)]");
+        } else {
+            // Player là BLACK (ở dưới): opponent là RED (ở trên)
+            // Opponent (red) ở trên: [red remaining (0), red gray (1)]
+            // Player (black) ở dưới: [black gray (2), black remaining (3)]
+            // Thứ tự: remaining, gray, gray, remaining
+            timersContainer.getChildren().clear();
+            timersContainer.getChildren().addAll(timerPanes[0], timerPanes[1], timerPanes[2], timerPanes[3]);
+            System.out.println("[TimerManager] Player is BLACK: Order = [red remaining (0), red gray (1), black gray (2), black remaining (3)]");
+        }
+        
+        // Xoay các timers: timers cần xoay ngược lại so với board rotation để chữ đúng hướng
+        // Logic: Khi board xoay (isPlayerRed = true), red pieces xoay 180 độ để chữ đúng
+        //        Red timers cũng cần xoay 180 độ để đồng bộ với red pieces
+        //        Nhưng vì red timers ở dưới (player position) không bị ảnh hưởng bởi board rotation,
+        //        nên chúng KHÔNG cần xoay (0 độ)
+        //        Black timers ở trên (opponent) cũng không cần xoay vì chúng không bị ảnh hưởng
+        
+        // Tất cả timers không xoay vì chúng không nằm trong boardContainer
+        // Chỉ cần đảm bảo chữ hiển thị đúng hướng
+        double redTimerRotation = 0.0;  // Red timers không xoay
+        double blackTimerRotation = 0.0;  // Black timers không xoay
+        
+        // Timer 0, 1 (red player)
+        if (timerPanes[0] != null) {
+            timerPanes[0].setRotate(redTimerRotation);
+        }
+        if (timerPanes[1] != null) {
+            timerPanes[1].setRotate(redTimerRotation);
+        }
+        
+        // Timer 2, 3 (black player)
+        if (timerPanes[2] != null) {
+            timerPanes[2].setRotate(blackTimerRotation);
+        }
+        if (timerPanes[3] != null) {
+            timerPanes[3].setRotate(blackTimerRotation);
+        }
+        
+        System.out.println("[TimerManager] updateRotation: isPlayerRed=" + isPlayerRed + 
+            ", redTimerRotation=" + redTimerRotation + ", blackTimerRotation=" + blackTimerRotation +
+            ", order=" + (isPlayerRed ? "black(opponent) on top, red(player) on bottom" : "red(opponent) on top, black(player) on bottom"));
+    }
+}
+
+
@@ -158,7 +158,7 @@ public class WaitingPanel extends StackPane {
         container.setOnMouseClicked(e -> {
             // Gửi CANCEL_QM đến server trước khi đóng waiting panel
             try {
-                application.network.NetworkManager.getInstance().game().cancelQuickMatching();
+                application.network.fx.NetworkManager.getInstance().game().cancelQuickMatching();
             } catch (java.io.IOException ex) {
                 System.err.println("[WaitingPanel] Error sending CANCEL_QM: " + ex.getMessage());
                 ex.printStackTrace();
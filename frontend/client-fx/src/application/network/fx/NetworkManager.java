@@ -1,8 +1,15 @@
-package application.network;
+package application.network.fx;
 
+import application.diagnostics.HandlerDispatchEvent;
+import application.network.ClockSync;
+import application.network.MessageType;
+import application.network.SocketClient;
 import application.network.handlers.*;
 import application.network.senders.*;
 import application.state.UIState;
+import application.util.FxQueue;
+import application.util.Metrics;
+import application.util.StartupTrace;
 import javafx.application.Platform;
 
 import java.io.IOException;
@@ -125,7 +132,8 @@ public class NetworkManager {
     private void setupMessageListener() {
         // Message listener
         socketClient.setMessageListener(message -> {
-            Platform.runLater(() -> {
+            int space = message.indexOf(' ');
+            FxQueue.runLater(space < 0 ? message : message.substring(0, space), () -> {
                 try {
                     handleMessage(message);
                 } catch (Exception e) {
@@ -135,12 +143,37 @@ public class NetworkManager {
             });
         });
         
+        // Frame metrics (Metrics: net.in.TYPE, net.out.TYPE, net.bytes.in/out)
+        Metrics.Meter bytesIn = Metrics.meter("net.bytes.in");
+        Metrics.Meter bytesOut = Metrics.meter("net.bytes.out");
+        socketClient.setFrameListener((inbound, messageType, bytes) -> {
+            // Unknown types collapse into UNKNOWN so a bad frame cannot create unbounded metric names
+            String type = MessageType.fromString(messageType).toProtocolString();
+            Metrics.meter((inbound ? "net.in." : "net.out.") + type).mark();
+            (inbound ? bytesIn : bytesOut).mark(bytes);
+        });
+        
+        // Heartbeat RTT listener - only hop to the FX thread when the displayed value changes
+        Metrics.Timer rttTimer = Metrics.timer("net.rtt");
+        socketClient.setRttListener((rttMs, jitterMs) -> {
+            rttTimer.recordNanos((long) (rttMs * 1_000_000));
+            int rtt = (int) Math.round(rttMs);
+            int jitter = (int) Math.round(jitterMs);
+            if (uiState != null && (rtt != uiState.getLatencyMs() || jitter != uiState.getLatencyJitterMs())) {
+                Platform.runLater(() -> {
+                    uiState.setLatencyMs(rtt);
+                    uiState.setLatencyJitterMs(jitter);
+                });
+            }
+        });
+        
         // Disconnect listener (called when connection lost unexpectedly)
         socketClient.setDisconnectListener(reason -> {
             Platform.runLater(() -> {
                 System.err.println("[NetworkManager] Disconnected: " + reason);
                 // Show reconnecting overlay
                 if (uiState != null) {
+                    uiState.setLatencyMs(-1);
                     uiState.setReconnectingVisible(true);
                 }
             });
@@ -152,8 +185,9 @@ public class NetworkManager {
     /**
      * Handle incoming message from server.
      * Routes message to appropriate handler.
+     * Package-private so TrafficReplay can feed captured frames through the same path.
      */
-    private void handleMessage(String message) {
+    void handleMessage(String message) {
         if (message == null || message.trim().isEmpty()) {
             return;
         }
@@ -175,12 +209,27 @@ public class NetworkManager {
         System.out.println(logPrefix + " " + messageType);
         
         // Find handler that can handle this message
-        for (MessageHandler handler : handlers) {
-            if (handler.canHandle(messageType)) {
-                if (handler.handle(messageType, payload)) {
-                    return; // Message handled
+        FxQueue.beginSource(messageType);
+        try {
+            for (MessageHandler handler : handlers) {
+                if (handler.canHandle(messageType)) {
+                    HandlerDispatchEvent event = new HandlerDispatchEvent();
+                    event.begin();
+                    boolean handled = handler.handle(messageType, payload);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.messageType = messageType;
+                        event.handler = handler.getClass().getSimpleName();
+                        event.handled = handled;
+                        event.commit();
+                    }
+                    if (handled) {
+                        return; // Message handled
+                    }
                 }
             }
+        } finally {
+            FxQueue.endSource();
         }
     }
     
@@ -243,6 +292,20 @@ public class NetworkManager {
     }
     
     
+    /**
+     * Get smoothed round trip time to the server in milliseconds (-1 if unknown).
+     */
+    public double getSmoothedRttMs() {
+        return socketClient.getHeartbeat().getSmoothedRttMs();
+    }
+    
+    /**
+     * Get the server clock estimate (for timers driven by server timestamps).
+     */
+    public ClockSync getClockSync() {
+        return socketClient.getHeartbeat().getClockSync();
+    }
+    
     /**
      * Get current username from socket client context.
      */
@@ -283,7 +346,12 @@ public class NetworkManager {
      * Connect to the configured server.
      */
     public void connectToServer() throws IOException {
-        connect(serverHost, serverPort);
+        StartupTrace.Span span = StartupTrace.begin("NetworkManager.connectToServer");
+        try {
+            connect(serverHost, serverPort);
+        } finally {
+            span.end();
+        }
     }
     
     /**
@@ -396,6 +464,15 @@ public class NetworkManager {
         System.out.println("[NetworkManager] Credentials cleared");
     }
     
+    /**
+     * Log out but keep the connection open, and forget the saved credentials
+     * so a later reconnect doesn't log the old account back in.
+     */
+    public void logout() throws IOException {
+        authSender.logout();
+        clearCredentials();
+    }
+    
     /**
      * Check if credentials are saved for auto-login.
      */
@@ -0,0 +1,207 @@
+package application.network.fx;
+
+import application.network.TrafficRecorder;
+import javafx.application.Platform;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Replays a capture written by {@link TrafficRecorder} through NetworkManager.handleMessage,
+ * exactly as if the frames came from the server.
+ *
+ * Inbound frames are re-delivered on the JavaFX thread with their original spacing divided by
+ * the speed factor (speed <= 0 = as fast as possible). Outbound frames are only used for timing.
+ * When done, prints handler time per message type so UI/handler cost can be profiled offline.
+ *
+ * Start from the app with -Dreplay.file=path [-Dreplay.speed=1.0] [-Dreplay.session=id]; the
+ * client then stays offline. A capture holding several connections replays one session (the first
+ * one unless -Dreplay.session is given).
+ */
+public class TrafficReplay {
+
+    /**
+     * One captured frame.
+     */
+    public static class Frame {
+        public final byte direction;
+        public final int session;
+        public final long nanos;
+        public final String message;
+
+        Frame(byte direction, int session, long nanos, String message) {
+            this.direction = direction;
+            this.session = session;
+            this.nanos = nanos;
+            this.message = message;
+        }
+
+        public String getType() {
+            int space = message.indexOf(' ');
+            return space < 0 ? message : message.substring(0, space);
+        }
+    }
+
+    private final List<Frame> frames;
+    private final double speed;
+
+    // Handler time per message type (only touched on the FX thread)
+    private final Map<String, long[]> handlerStats = new TreeMap<>();  // type -> {count, totalNs, maxNs}
+
+    public TrafficReplay(List<Frame> frames, double speed) {
+        this.frames = frames;
+        this.speed = speed;
+    }
+
+    /**
+     * Read all frames of a capture file. Multiple appended captures are concatenated,
+     * each capture's timestamps shifted so they follow the previous one, and its session ids
+     * renumbered so they stay unique in the file.
+     */
+    public static List<Frame> read(String path) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            long sessionBase = 0;
+            long lastNanos = 0;
+            int version = TrafficRecorder.VERSION;
+            int sessionOffset = 0;
+            int maxSession = 0;
+            while (true) {
+                int first;
+                try {
+                    first = in.readUnsignedByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (first == TrafficRecorder.MAGIC[0]) {
+                    // New session header
+                    byte[] rest = new byte[TrafficRecorder.MAGIC.length - 1];
+                    in.readFully(rest);
+                    if (!Arrays.equals(rest, Arrays.copyOfRange(TrafficRecorder.MAGIC, 1, TrafficRecorder.MAGIC.length))) {
+                        throw new IOException("Bad capture header in " + path);
+                    }
+                    version = in.readUnsignedByte();
+                    if (version != 1 && version != TrafficRecorder.VERSION) {
+                        throw new IOException("Unsupported capture version " + version);
+                    }
+                    in.readLong();  // Capture start (epoch ms), informational
+                    sessionBase = lastNanos;
+                    sessionOffset = maxSession;
+                    continue;
+                }
+                if (first != TrafficRecorder.INBOUND && first != TrafficRecorder.OUTBOUND) {
+                    throw new IOException("Corrupt capture: unexpected byte " + first);
+                }
+                try {
+                    // Version 1: one connection per capture, no session field
+                    int session = sessionOffset + (version == 1 ? 1 : in.readInt());
+                    long nanos = sessionBase + in.readLong();
+                    int length = in.readInt();
+                    byte[] bytes = new byte[length];
+                    in.readFully(bytes);
+                    frames.add(new Frame((byte) first, session, nanos, new String(bytes, StandardCharsets.UTF_8)));
+                    lastNanos = nanos;
+                    maxSession = Math.max(maxSession, session);
+                } catch (EOFException e) {
+                    // Truncated last frame (client killed mid-write) - keep what we have
+                    System.err.println("[TrafficReplay] Capture truncated after " + frames.size() + " frames");
+                    break;
+                }
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Frames of one session, or of the first session in the capture if {@code session} is null.
+     */
+    public static List<Frame> session(List<Frame> frames, Integer session) {
+        if (frames.isEmpty()) {
+            return frames;
+        }
+        int wanted = session != null ? session : frames.get(0).session;
+        List<Frame> result = new ArrayList<>();
+        for (Frame frame : frames) {
+            if (frame.session == wanted) {
+                result.add(frame);
+            }
+        }
+        if (result.size() < frames.size()) {
+            System.out.println("[TrafficReplay] Capture holds several sessions, replaying session " + wanted
+                + " (" + result.size() + " of " + frames.size() + " frames)");
+        }
+        return result;
+    }
+
+    /**
+     * Start replay on a background thread, delivering frames to the given NetworkManager.
+     */
+    public Thread start(NetworkManager networkManager) {
+        Thread thread = new Thread(() -> run(networkManager), "TrafficReplay");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void run(NetworkManager networkManager) {
+        System.out.println("[TrafficReplay] Replaying " + frames.size() + " frames at "
+            + (speed > 0 ? speed + "x" : "max speed"));
+        long startWall = System.nanoTime();
+        long firstFrame = frames.isEmpty() ? 0 : frames.get(0).nanos;
+
+        for (Frame frame : frames) {
+            if (frame.direction != TrafficRecorder.INBOUND) {
+                continue;
+            }
+            if (speed > 0) {
+                long due = startWall + (long) ((frame.nanos - firstFrame) / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            String message = frame.message;
+            String type = frame.getType();
+            Platform.runLater(() -> {
+                long t0 = System.nanoTime();
+                try {
+                    networkManager.handleMessage(message);
+                } catch (Exception e) {
+                    System.err.println("[TrafficReplay] Error handling " + type + ": " + e.getMessage());
+                }
+                long elapsed = System.nanoTime() - t0;
+                long[] stats = handlerStats.computeIfAbsent(type, k -> new long[3]);
+                stats[0]++;
+                stats[1] += elapsed;
+                stats[2] = Math.max(stats[2], elapsed);
+            });
+        }
+
+        long totalMs = (System.nanoTime() - startWall) / 1_000_000;
+        // Queue the report behind the last frame
+        Platform.runLater(() -> printReport(totalMs));
+    }
+
+    private void printReport(long totalMs) {
+        System.out.println("[TrafficReplay] Done in " + totalMs + " ms. Handler time on FX thread:");
+        System.out.println(String.format("  %-24s %8s %12s %10s", "type", "count", "total ms", "max ms"));
+        for (Map.Entry<String, long[]> e : handlerStats.entrySet()) {
+            long[] s = e.getValue();
+            System.out.println(String.format("  %-24s %8d %12.2f %10.2f",
+                e.getKey(), s[0], s[1] / 1e6, s[2] / 1e6));
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package application.network.handlers;
 
-import application.network.NetworkManager;
+import application.network.fx.NetworkManager;
 import application.state.UIState;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -2,9 +2,9 @@ package application.network.handlers;
 
 import application.components.FriendRequestNotificationDialog;
 import application.state.UIState;
+import application.util.FxQueue;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import javafx.application.Platform;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 
@@ -66,7 +66,7 @@ public class FriendHandler implements MessageHandler {
                              + ", mode: " + mode + ", timeLimit: " + timeLimit);
             
             // Add to pending requests list
-            Platform.runLater(() -> {
+            FxQueue.runLater(() -> {
                 uiState.addPendingFriendRequest(fromUser);
                 System.out.println("[FriendHandler] Added to pending requests. RootPane: " + (rootPane != null ? "available" : "null"));
                 
@@ -148,7 +148,7 @@ public class FriendHandler implements MessageHandler {
                     rootPane.getChildren().add(dialog);
                     
                     // Bring dialog to front to ensure it's clickable
-                    javafx.application.Platform.runLater(() -> {
+                    FxQueue.runLater(() -> {
                         // Đảm bảo dialog ở trên overlay
                         dialog.toFront();
                         overlay.toBack();
@@ -182,7 +182,7 @@ public class FriendHandler implements MessageHandler {
             // This means the responder accepted/declined, so we add/remove them from friend list
             String responderUser = json.has("from_user") ? json.get("from_user").getAsString() : "unknown";
             
-            Platform.runLater(() -> {
+            FxQueue.runLater(() -> {
                 if (accepted) {
                     // Add responder to friend list (they accepted our request)
                     uiState.addFriend(responderUser);
@@ -203,7 +203,7 @@ public class FriendHandler implements MessageHandler {
             String user = json.has("to_user") ? json.get("to_user").getAsString() : 
                          json.has("user") ? json.get("user").getAsString() : "unknown";
             
-            Platform.runLater(() -> {
+            FxQueue.runLater(() -> {
                 uiState.removeFriend(user);
             });
         } catch (Exception e) {
@@ -232,7 +232,7 @@ public class FriendHandler implements MessageHandler {
                 String status = dataObj.get("status").getAsString();
                 if ("success".equals(status) && dataObj.has("friends") && dataObj.get("friends").isJsonArray()) {
                     com.google.gson.JsonArray friendsArray = dataObj.getAsJsonArray("friends");
-                    Platform.runLater(() -> {
+                    FxQueue.runLater(() -> {
                         // Clear existing friends list
                         uiState.clearFriends();
                         // Add friends from response
@@ -277,7 +277,7 @@ public class FriendHandler implements MessageHandler {
                 // Create final variable for lambda
                 final String finalToUser = toUser;
                 if (!finalToUser.isEmpty()) {
-                    Platform.runLater(() -> {
+                    FxQueue.runLater(() -> {
                         uiState.removeFriend(finalToUser);
                         System.out.println("[FriendHandler] Removed friend: " + finalToUser);
                     });
@@ -1,9 +1,14 @@
 package application.network.handlers;
 
+import application.state.GameEvent;
 import application.state.UIState;
+import application.util.FxQueue;
+import application.network.events.GameEndEvent;
+import application.network.events.GameEventDecoder;
+import application.network.events.GameStartEvent;
+import application.network.events.MoveEvent;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import javafx.application.Platform;
 
 /**
  * Handler for game-related messages.
@@ -78,136 +83,68 @@ public class GameHandler implements MessageHandler {
     
     private void handleGameStart(String payload) {
         try {
-            JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
+            // Giải mã chung với core (GameClient) để hai client không lệch nhau
+            GameStartEvent event = GameEventDecoder.gameStart(JsonParser.parseString(payload).getAsJsonObject());
             
             // Extract opponent username
-            String opponent = null;
-            if (json.has("opponent")) {
-                opponent = json.get("opponent").getAsString();
-                if (opponent != null && !opponent.isEmpty()) {
-                    uiState.setOpponentUsername(opponent);
-                    
-                    // Fetch opponent profile
-                    try {
-                        application.network.NetworkManager.getInstance().info().requestUserStats(opponent);
-                    } catch (Exception e) {
-                        System.err.println("[GameHandler] Error fetching opponent profile: " + e.getMessage());
-                    }
-                }
-                // Nếu opponent rỗng, sẽ xử lý ở phần opponent_data (AI game)
-            }
-            
-            // Extract game mode if available
-            String gameMode = "classical"; // Default to classical
-            if (json.has("game_mode")) {
-                gameMode = json.get("game_mode").getAsString();
-                // Normalize game mode: "classic" -> "classical"
-                if ("classic".equals(gameMode)) {
-                    gameMode = "classical";
+            String opponent = event.opponent;
+            if (!opponent.isEmpty()) {
+                uiState.setOpponentUsername(opponent);
+                
+                // Fetch opponent profile
+                try {
+                    application.network.fx.NetworkManager.getInstance().info().requestUserStats(opponent);
+                } catch (Exception e) {
+                    System.err.println("[GameHandler] Error fetching opponent profile: " + e.getMessage());
                 }
             }
+            // Nếu opponent rỗng, sẽ xử lý ở phần AI game bên dưới
             
-            // Extract time_limit if available
-            int timeLimit = 0;  // 0 = unlimited
-            if (json.has("time_limit")) {
-                timeLimit = json.get("time_limit").getAsInt();
-            }
+            String gameMode = event.gameMode;
+            int timeLimit = event.timeLimit;  // 0 = unlimited
             
             // Store mode and time limit in UIState
             uiState.setCurrentGameMode(gameMode);
             uiState.setCurrentTimeLimit(timeLimit);
+            uiState.setTurnStartServerTime(event.serverTime);
             
             // QUAN TRỌNG: Khởi tạo timer values từ time_limit và game_mode
             // - Classical mode: cả 4 bộ đếm đều là "Unlimited time"
             // - Blitz mode: remaining timer = time_limit, gray timer = 10 phút (600 giây)
-            // Make variables final for lambda
-            final int finalTimeLimit = timeLimit;
-            final String finalGameMode = gameMode;
-            
-            Platform.runLater(() -> {
-                if ("classical".equals(finalGameMode)) {
+            FxQueue.runLater(() -> {
+                if ("classical".equals(gameMode)) {
                     // Classical mode: cả 4 bộ đếm đều là "Unlimited time"
-                    uiState.setTimer1Value("Unlimited time");  // Red remaining
-                    uiState.setTimer2Value("Unlimited time");  // Red gray
-                    uiState.setTimer3Value("Unlimited time");  // Black gray
-                    uiState.setTimer4Value("Unlimited time");  // Black remaining
+                    uiState.setTimerSeconds(-1, -1);
                     System.out.println("[GameHandler] Classical mode: All 4 timers set to Unlimited time");
                 } else {
-                    // Blitz mode: remaining timer từ time_limit, gray timer = 10 phút
-                    if (finalTimeLimit > 0) {
-                        // Remaining timers từ time_limit
-                        int minutes = finalTimeLimit / 60;
-                        int seconds = finalTimeLimit % 60;
-                        String remainingTimeStr = String.format("%d:%02d", minutes, seconds);
-                        uiState.setTimer1Value(remainingTimeStr);  // Red remaining
-                        uiState.setTimer4Value(remainingTimeStr);  // Black remaining
-                        System.out.println("[GameHandler] Blitz mode: Remaining timers set to " + remainingTimeStr + " (" + finalTimeLimit + "s)");
-                    } else {
-                        // Fallback: unlimited time
-                        uiState.setTimer1Value("Unlimited time");
-                        uiState.setTimer4Value("Unlimited time");
-                    }
-                    
-                    // Gray timers: 10 phút (600 giây) cho blitz mode
+                    // Blitz mode: remaining timer từ time_limit (0 = unlimited), gray timer = 10 phút
+                    int moveSeconds = timeLimit > 0 ? timeLimit : -1;
                     int grayTimeSeconds = 600;  // 10 phút = 600 giây
-                    int grayMinutes = grayTimeSeconds / 60;
-                    int graySecs = grayTimeSeconds % 60;
-                    String grayTimeStr = String.format("%d:%02d", grayMinutes, graySecs);
-                    uiState.setTimer2Value(grayTimeStr);  // Red gray
-                    uiState.setTimer3Value(grayTimeStr);  // Black gray
-                    System.out.println("[GameHandler] Blitz mode: Gray timers set to " + grayTimeStr + " (" + grayTimeSeconds + "s)");
+                    uiState.setTimerSeconds(moveSeconds, grayTimeSeconds);
+                    System.out.println("[GameHandler] Blitz mode: Remaining timers " + moveSeconds + "s, gray timers " + grayTimeSeconds + "s");
                 }
             });
             
-            // Extract game_id, player_is_red, và ai_difficulty from opponent_data if available
-            if (json.has("opponent_data")) {
-                JsonObject opponentData = json.getAsJsonObject("opponent_data");
-                if (opponentData.has("game_id")) {
-                    String gameId = opponentData.get("game_id").getAsString();
-                    // TODO: Store game_id in UIState if needed for future use
-                    System.out.println("[GameHandler] Game started with ID: " + gameId);
-                }
-                // Extract player_is_red to determine player side
-                if (opponentData.has("player_is_red")) {
-                    boolean playerIsRed = opponentData.get("player_is_red").getAsBoolean();
-                    uiState.setPlayerIsRed(playerIsRed);
-                    System.out.println("[GameHandler] Player is red: " + playerIsRed);
-                } else {
-                    // Default to red if not specified
-                    uiState.setPlayerIsRed(true);
-                    System.out.println("[GameHandler] Player side not specified, defaulting to red");
-                }
-                
-                // Extract ai_difficulty nếu là AI game
-                if (opponentData.has("ai_difficulty")) {
-                    String aiDifficulty = opponentData.get("ai_difficulty").getAsString();
-                    // Format: "AI (Easy)", "AI (Medium)", "AI (Hard)"
-                    String capitalized = aiDifficulty.substring(0, 1).toUpperCase() + 
-                                        aiDifficulty.substring(1).toLowerCase();
-                    uiState.setOpponentUsername("AI (" + capitalized + ")");
-                    System.out.println("[GameHandler] AI game detected, set opponentUsername to: AI (" + capitalized + ")");
-                } else if (opponentData.has("is_ai_game") && opponentData.get("is_ai_game").getAsBoolean()) {
-                    // Nếu là AI game nhưng không có ai_difficulty, giữ nguyên giá trị hiện tại hoặc set default
-                    String currentOpponent = uiState.getOpponentUsername();
-                    if (currentOpponent == null || currentOpponent.isEmpty() || "AI".equals(currentOpponent)) {
-                        uiState.setOpponentUsername("AI (Medium)");
-                        System.out.println("[GameHandler] AI game detected but no difficulty, defaulting to: AI (Medium)");
-                    }
-                }
-            } else {
-                // Default to red if no opponent_data
-                uiState.setPlayerIsRed(true);
-                System.out.println("[GameHandler] No opponent_data, defaulting to red");
-                
-                // Nếu opponent rỗng và không có opponent_data, có thể là AI game
-                if ((opponent == null || opponent.isEmpty()) && 
-                    (uiState.getOpponentUsername() == null || uiState.getOpponentUsername().isEmpty() || "AI".equals(uiState.getOpponentUsername()))) {
-                    // Giữ nguyên giá trị đã set từ AIDifficultyPanel hoặc set default
-                    String currentOpponent = uiState.getOpponentUsername();
-                    if (currentOpponent == null || currentOpponent.isEmpty() || "AI".equals(currentOpponent)) {
-                        uiState.setOpponentUsername("AI (Medium)");
-                        System.out.println("[GameHandler] No opponent and no opponent_data, defaulting to: AI (Medium)");
-                    }
+            if (!event.gameId.isEmpty()) {
+                // TODO: Store game_id in UIState if needed for future use
+                System.out.println("[GameHandler] Game started with ID: " + event.gameId);
+            }
+            // Player side (mặc định đỏ nếu server không gửi player_is_red)
+            uiState.setPlayerIsRed(event.playerIsRed);
+            System.out.println("[GameHandler] Player is red: " + event.playerIsRed);
+            
+            if (!event.aiDifficulty.isEmpty()) {
+                // Format: "AI (Easy)", "AI (Medium)", "AI (Hard)"
+                String capitalized = event.aiDifficulty.substring(0, 1).toUpperCase() + 
+                                    event.aiDifficulty.substring(1).toLowerCase();
+                uiState.setOpponentUsername("AI (" + capitalized + ")");
+                System.out.println("[GameHandler] AI game detected, set opponentUsername to: AI (" + capitalized + ")");
+            } else if (event.aiGame || opponent.isEmpty()) {
+                // AI game không có ai_difficulty (hoặc không có opponent): giữ giá trị đã set từ AIDifficultyPanel hoặc set default
+                String currentOpponent = uiState.getOpponentUsername();
+                if (currentOpponent == null || currentOpponent.isEmpty() || "AI".equals(currentOpponent)) {
+                    uiState.setOpponentUsername("AI (Medium)");
+                    System.out.println("[GameHandler] AI game detected but no difficulty, defaulting to: AI (Medium)");
                 }
             }
             
@@ -218,7 +155,7 @@ public class GameHandler implements MessageHandler {
             
             // Stop countdown timer and hide waiting panel if challenge was accepted (from PlayWithFriendPanel)
             if (playWithFriendPanel != null) {
-                Platform.runLater(() -> {
+                FxQueue.runLater(() -> {
                     playWithFriendPanel.stopCountdownTimer();
                     // Ẩn waiting panel khi vào game
                     playWithFriendPanel.hideWaitingForResponsePanel();
@@ -238,30 +175,17 @@ public class GameHandler implements MessageHandler {
     
     private void handleMove(String payload) {
         try {
-            JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
+            // Server gửi hàng theo backend (row 0 = đen); MoveEvent đã đổi sang frontend (9 - row)
+            MoveEvent move = GameEventDecoder.move(JsonParser.parseString(payload).getAsJsonObject());
             
-            // Parse move coordinates from server
-            // Server format: {"from":{"row":..., "col":...}, "to":{"row":..., "col":...}, "piece":"..."}
-            JsonObject from = json.getAsJsonObject("from");
-            JsonObject to = json.getAsJsonObject("to");
+            System.out.println("[GameHandler] Received MOVE: " + move.piece + 
+                " from FE(row=" + move.fromRow + ",col=" + move.fromCol + 
+                ") to FE(row=" + move.toRow + ",col=" + move.toCol + ")");
             
-            int backendFromRow = from.get("row").getAsInt();
-            int fromCol = from.get("col").getAsInt();
-            int backendToRow = to.get("row").getAsInt();
-            int toCol = to.get("col").getAsInt();
-            
-            String piece = json.has("piece") ? json.get("piece").getAsString() : "Unknown";
-            
-            System.out.println("[GameHandler] Received MOVE: " + piece + 
-                " from BE(row=" + backendFromRow + ",col=" + fromCol + 
-                ") to BE(row=" + backendToRow + ",col=" + toCol + ")");
-            
-            // Apply opponent's move to the board
-            // IMPORTANT: UIState.applyOpponentMove signature is (fromCol, fromRow, toCol, toRow)
-            // Pass backend coordinates, applyOpponentMove will convert internally
-            // (Backend row 0=top đen → Frontend row 0=top đỏ via formula: frontendRow = 9 - backendRow)
-            Platform.runLater(() -> {
-                uiState.applyOpponentMove(fromCol, backendFromRow, toCol, backendToRow);
+            // Server time when the move was relayed = start of our turn
+            FxQueue.runLater(() -> {
+                uiState.setTurnStartServerTime(move.serverTime);
+                uiState.applyOpponentMove(move);
             });
         } catch (Exception e) {
             System.err.println("[GameHandler] Error parsing MOVE: " + e.getMessage());
@@ -271,8 +195,7 @@ public class GameHandler implements MessageHandler {
     
     private void handleInvalidMove(String payload) {
         try {
-            JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
-            String reason = json.has("reason") ? json.get("reason").getAsString() : "Invalid move";
+            String reason = GameEventDecoder.invalidMoveReason(JsonParser.parseString(payload).getAsJsonObject());
             // TODO: Show invalid move message and revert
             // uiState.showInvalidMove(reason);
         } catch (Exception e) {
@@ -283,8 +206,8 @@ public class GameHandler implements MessageHandler {
     private void handleGameEnd(String payload) {
         try {
             System.out.println("[GameHandler] Received GAME_END message, payload: " + payload);
-            JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
-            String winSide = json.has("win_side") ? json.get("win_side").getAsString() : "unknown";
+            GameEndEvent event = GameEventDecoder.gameEnd(JsonParser.parseString(payload).getAsJsonObject());
+            String winSide = event.winSide;
             
             System.out.println("[GameHandler] Parsed winSide: " + winSide);
             
@@ -292,33 +215,14 @@ public class GameHandler implements MessageHandler {
             String currentUsername = uiState.getUsername();
             final boolean isDraw = "draw".equalsIgnoreCase(winSide);
             final boolean isWinner = !isDraw && currentUsername != null && currentUsername.equals(winSide);
-            final String finalWinSide = winSide;
             
             System.out.println("[GameHandler] Processing GAME_END - isDraw: " + isDraw + ", isWinner: " + isWinner + ", currentUsername: " + currentUsername);
             
-            // Trigger game result dialog thông qua UIState
-            Platform.runLater(() -> {
-                System.out.println("[GameHandler] Platform.runLater - resetting trigger");
-                uiState.setGameActionTrigger("");
-                uiState.setGameActionResult("");
-                Platform.runLater(() -> {
-                    // QUAN TRỌNG: Set result TRƯỚC trigger vì listener đọc result ngay khi trigger thay đổi
-                    if (isDraw) {
-                        System.out.println("[GameHandler] Setting game result to DRAW");
-                        uiState.setGameActionResult("draw");
-                        uiState.setGameActionTrigger("game_result");
-                    } else if (isWinner) {
-                        System.out.println("[GameHandler] Setting game result to WIN");
-                        uiState.setGameActionResult("win");
-                        uiState.setGameActionTrigger("game_result");
-                    } else {
-                        System.out.println("[GameHandler] Setting game result to LOSE");
-                        uiState.setGameActionResult("lose");
-                        uiState.setGameActionTrigger("game_result");
-                    }
-                    System.out.println("[GameHandler] Game ended - winSide: " + finalWinSide + ", isWinner: " + isWinner + ", isDraw: " + isDraw);
-                });
-            });
+            // Hiển thị dialog kết quả qua GamePanel
+            GameEvent.Outcome outcome = isDraw ? GameEvent.Outcome.DRAW
+                    : isWinner ? GameEvent.Outcome.WIN : GameEvent.Outcome.LOSE;
+            uiState.gameEvents().publish(new GameEvent.GameResult(outcome));
+            System.out.println("[GameHandler] Game ended - winSide: " + winSide + ", outcome: " + outcome);
         } catch (Exception e) {
             System.err.println("[GameHandler] Error parsing GAME_END: " + e.getMessage());
             e.printStackTrace();
@@ -338,7 +242,7 @@ public class GameHandler implements MessageHandler {
             
             // Show challenge request dialog in PlayWithFriendPanel with mode and time info
             if (playWithFriendPanel != null) {
-                Platform.runLater(() -> {
+                FxQueue.runLater(() -> {
                     System.out.println("[GameHandler] Calling playWithFriendPanel.showChallengeRequest(" + fromUser + ", " + mode + ", " + timeLimit + ")");
                     playWithFriendPanel.showChallengeRequest(fromUser, mode, timeLimit);
                 });
@@ -361,7 +265,7 @@ public class GameHandler implements MessageHandler {
             
             // Handle challenge response in PlayWithFriendPanel
             if (playWithFriendPanel != null) {
-                Platform.runLater(() -> {
+                FxQueue.runLater(() -> {
                     if (accepted) {
                         // Challenge accepted - game will start automatically via GAME_START message
                         playWithFriendPanel.onChallengeAccepted();
@@ -387,7 +291,7 @@ public class GameHandler implements MessageHandler {
             
             // Hide challenge request dialog in PlayWithFriendPanel
             if (playWithFriendPanel != null) {
-                Platform.runLater(() -> {
+                FxQueue.runLater(() -> {
                     System.out.println("[GameHandler] Hiding challenge request dialog for: " + fromUser);
                     playWithFriendPanel.hideChallengeRequest();
                 });
@@ -403,18 +307,8 @@ public class GameHandler implements MessageHandler {
     private void handleDrawRequest(String payload) {
         try {
             // Khi nhận được DRAW_REQUEST từ đối phương, hiển thị dialog
-            // Reset trigger trước để đảm bảo listener luôn trigger
-            Platform.runLater(() -> {
-                uiState.setGameActionTrigger("");
-                uiState.setGameActionResult("");
-                // Set giá trị mới sau một khoảng thời gian ngắn để đảm bảo listener trigger
-                Platform.runLater(() -> {
-                    // QUAN TRỌNG: Set result TRƯỚC trigger vì listener đọc result ngay khi trigger thay đổi
-                    uiState.setGameActionResult("received");
-                    uiState.setGameActionTrigger("draw_request");
-                    System.out.println("[GameHandler] Draw request received from opponent - trigger set, result=received");
-                });
-            });
+            uiState.gameEvents().publish(new GameEvent.DrawRequest(true));
+            System.out.println("[GameHandler] Draw request received from opponent");
         } catch (Exception e) {
             System.err.println("[GameHandler] Error handling DRAW_REQUEST: " + e.getMessage());
             e.printStackTrace();
@@ -429,7 +323,7 @@ public class GameHandler implements MessageHandler {
             
             System.out.println("[GameHandler] DRAW_RESPONSE - accepted: " + accepted);
             
-            Platform.runLater(() -> {
+            FxQueue.runLater(() -> {
                 if (accepted) {
                     // Đối phương chấp nhận draw
                     // LƯU Ý: Backend sẽ gửi GAME_END sau đó, nên ta KHÔNG nên trigger game_result ở đây
@@ -438,14 +332,8 @@ public class GameHandler implements MessageHandler {
                     // KHÔNG trigger game_result ở đây vì backend sẽ gửi GAME_END
                 } else {
                     // Đối phương từ chối draw - ẩn dialog
-                    uiState.setGameActionTrigger("");
-                    uiState.setGameActionResult("");
-                    Platform.runLater(() -> {
-                        // QUAN TRỌNG: Set result TRƯỚC trigger
-                        uiState.setGameActionResult("hide");
-                        uiState.setGameActionTrigger("draw_request");
-                        System.out.println("[GameHandler] Draw declined by opponent");
-                    });
+                    uiState.gameEvents().publish(new GameEvent.DrawRequest(false));
+                    System.out.println("[GameHandler] Draw declined by opponent");
                 }
             });
         } catch (Exception e) {
@@ -460,17 +348,9 @@ public class GameHandler implements MessageHandler {
             String message = json.has("message") ? json.get("message").getAsString() : "";
             
             if (message != null && !message.isEmpty()) {
-                // Trigger chat popup thông qua UIState
-                Platform.runLater(() -> {
-                    uiState.setGameActionTrigger("");
-                    uiState.setGameActionResult("");
-                    Platform.runLater(() -> {
-                        // QUAN TRỌNG: Set result TRƯỚC trigger vì listener đọc result ngay khi trigger thay đổi
-                        uiState.setGameActionResult(message);
-                        uiState.setGameActionTrigger("chat_message");
-                        System.out.println("[GameHandler] Chat message received: " + message);
-                    });
-                });
+                // Hiển thị chat popup qua GamePanel
+                uiState.gameEvents().publish(new GameEvent.ChatMessage(message));
+                System.out.println("[GameHandler] Chat message received: " + message);
             }
         } catch (Exception e) {
             System.err.println("[GameHandler] Error handling MESSAGE: " + e.getMessage());
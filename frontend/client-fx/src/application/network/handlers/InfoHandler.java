@@ -1,5 +1,6 @@
 package application.network.handlers;
 
+import application.state.GameEvent;
 import application.state.UIState;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -577,23 +578,15 @@ public class InfoHandler implements MessageHandler {
             uiState.setPlayerIsRed(isRed);
             uiState.setCurrentGameMode(gameMode);
             
-            // Set game action to trigger game restore in GamePanel
-            // Format: "restore_game|opponent|gameMode|isRed|currentTurn|xfen|movesJson"
             String xfen = response.has("xfen") ? response.get("xfen").getAsString() : "";
             String movesJson = "";
             if (response.has("moves") && response.get("moves").isJsonArray()) {
                 movesJson = response.get("moves").toString();
             }
             
-            String restoreData = opponent + "|" + gameMode + "|" + isRed + 
-                "|" + currentTurn + "|" + xfen + "|" + movesJson;
-            
-            // Trigger game restore via game action
-            uiState.setGameActionResult(restoreData);
-            uiState.setGameActionTrigger("game_restore");
-            
-            // Open game panel
+            // Open game panel trước (dựng GamePanel nếu chưa có) rồi mới gửi sự kiện restore
             uiState.openGame(gameMode);
+            uiState.gameEvents().publish(new GameEvent.GameRestore(opponent, gameMode, isRed, currentTurn, xfen, movesJson));
             
             System.out.println("[InfoHandler] Active game restored, opening game panel");
             
@@ -979,19 +972,8 @@ public class InfoHandler implements MessageHandler {
             int frontendFromRow = 9 - backendFromRow;
             int frontendToRow = 9 - backendToRow;
             
-            // Trigger highlight suggest move thông qua UIState
-            javafx.application.Platform.runLater(() -> {
-                // Store suggest move info in UIState để GamePanel có thể access
-                uiState.setGameActionTrigger("");
-                uiState.setGameActionResult("");
-                javafx.application.Platform.runLater(() -> {
-                    // Format: "fromRow_fromCol_toRow_toCol"
-                    String suggestMoveInfo = String.format("%d_%d_%d_%d", frontendFromRow, fromCol, frontendToRow, toCol);
-                    uiState.setGameActionResult(suggestMoveInfo);
-                    uiState.setGameActionTrigger("suggest_move");
-                    System.out.println("[InfoHandler] Suggest move trigger set: " + suggestMoveInfo);
-                });
-            });
+            // Highlight suggest move qua GamePanel
+            uiState.gameEvents().publish(new GameEvent.SuggestMove(frontendFromRow, fromCol, frontendToRow, toCol));
         } catch (Exception e) {
             System.err.println("[InfoHandler] Error parsing suggest move: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,40 @@
+package application.state;
+
+/**
+ * Events a network handler sends to the game screen through {@link GameEventBus}.
+ */
+public sealed interface GameEvent {
+    
+    enum Outcome { WIN, LOSE, DRAW }
+    
+    /**
+     * GAME_END from the server, already resolved against the local player.
+     */
+    record GameResult(Outcome outcome) implements GameEvent {
+    }
+    
+    /**
+     * Opponent offered a draw ({@code shown} = true) or the offer is withdrawn/declined (false).
+     */
+    record DrawRequest(boolean shown) implements GameEvent {
+    }
+    
+    /**
+     * Chat message from the opponent.
+     */
+    record ChatMessage(String text) implements GameEvent {
+    }
+    
+    /**
+     * Active game found after login/reconnect. {@code movesJson} is the server "moves" array as JSON, may be empty.
+     */
+    record GameRestore(String opponent, String gameMode, boolean isRed, String currentTurn,
+                       String xfen, String movesJson) implements GameEvent {
+    }
+    
+    /**
+     * Suggested move in frontend coordinates (row 0 = top).
+     */
+    record SuggestMove(int fromRow, int fromCol, int toRow, int toCol) implements GameEvent {
+    }
+}
@@ -0,0 +1,96 @@
+package application.state;
+
+import application.util.FxQueue;
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * In-order delivery of {@link GameEvent}s from network handlers to panels, on the FX thread.
+ *
+ * Every publish, from any thread, goes through one queue drained on the FX thread, so each
+ * event is delivered exactly once to each subscriber of its type in global publish order.
+ * An event published while another one is being delivered (a subscriber publishing) is
+ * delivered after it.
+ */
+public class GameEventBus {
+    
+    private static final class Subscriber<T extends GameEvent> {
+        final Class<T> type;
+        final Consumer<? super T> handler;
+        
+        Subscriber(Class<T> type, Consumer<? super T> handler) {
+            this.type = type;
+            this.handler = handler;
+        }
+        
+        void deliver(GameEvent event) {
+            if (type.isInstance(event)) {
+                handler.accept(type.cast(event));
+            }
+        }
+    }
+    
+    private final List<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<GameEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // Chỉ truy cập trên FX thread
+    private boolean dispatching;
+    
+    /**
+     * Register {@code handler} for events of {@code type}.
+     * @return call to unsubscribe
+     */
+    public <T extends GameEvent> Runnable subscribe(Class<T> type, Consumer<? super T> handler) {
+        Subscriber<T> subscriber = new Subscriber<>(type, handler);
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+    
+    /**
+     * Deliver {@code event} after every event published before it. On the FX thread outside
+     * another delivery the queue is drained right away; otherwise a drain is scheduled.
+     */
+    public void publish(GameEvent event) {
+        pending.add(event);
+        if (Platform.isFxApplicationThread()) {
+            drain();
+        } else if (drainScheduled.compareAndSet(false, true)) {
+            FxQueue.runLater(() -> {
+                drainScheduled.set(false);
+                drain();
+            });
+        }
+    }
+    
+    private void drain() {
+        if (dispatching) {
+            return;  // Vòng lặp bên ngoài sẽ lấy tiếp
+        }
+        dispatching = true;
+        try {
+            GameEvent next;
+            while ((next = pending.poll()) != null) {
+                dispatch(next);
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+    
+    private void dispatch(GameEvent event) {
+        for (Subscriber<?> subscriber : subscribers) {
+            try {
+                subscriber.deliver(event);
+            } catch (RuntimeException e) {
+                System.err.println("[GameEventBus] Error delivering " + event + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -19,39 +19,55 @@ public class UIState {
     public enum AppState { LANDING, MAIN_MENU, SETTINGS, IN_GAME, PROFILE }  // Thêm PROFILE
 
     private final ObjectProperty<BoardState> boardState = new SimpleObjectProperty<>(BoardState.NORMAL);
-    private final ObjectProperty<AppState> appState = new SimpleObjectProperty<>(AppState.LANDING);
-    private final BooleanProperty authPanelVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty loginVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty registerVisible = new SimpleBooleanProperty(false);
+    private final AppStateProperty appState = new AppStateProperty(AppState.LANDING);
+    private final BooleanProperty authPanelVisible = new PanelVisibleProperty();
+    private final BooleanProperty loginVisible = new PanelVisibleProperty();
+    private final BooleanProperty registerVisible = new PanelVisibleProperty();
     private final StringProperty username = new SimpleStringProperty("username");  // Thêm username property
-    private final BooleanProperty settingsVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty friendsVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty inventoryVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty historyVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
-    private final BooleanProperty profileVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
-    private final BooleanProperty waitingVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
-    private final BooleanProperty gameModeVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
-    private final BooleanProperty replayVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
-    private final BooleanProperty rankingVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
+    private final BooleanProperty settingsVisible = new PanelVisibleProperty();
+    private final BooleanProperty friendsVisible = new PanelVisibleProperty();
+    private final BooleanProperty inventoryVisible = new PanelVisibleProperty();
+    private final BooleanProperty historyVisible = new PanelVisibleProperty();  // Thêm dòng này
+    private final BooleanProperty profileVisible = new PanelVisibleProperty();  // Thêm dòng này
+    private final BooleanProperty waitingVisible = new PanelVisibleProperty();  // Thêm dòng này
+    private final BooleanProperty gameModeVisible = new PanelVisibleProperty();  // Thêm dòng này
+    private final BooleanProperty replayVisible = new PanelVisibleProperty();  // Thêm dòng này
+    private final BooleanProperty rankingVisible = new PanelVisibleProperty();  // Thêm dòng này
     private final StringProperty replayGameId = new SimpleStringProperty("");  // Game ID for replay
     private final BooleanProperty replayPlayerIsRed = new SimpleBooleanProperty(true);  // Màu quân cờ của người chơi trong replay (từ database)
-    private final BooleanProperty reconnectingVisible = new SimpleBooleanProperty(false);  // Reconnecting overlay visibility
-    private final BooleanProperty classicModeVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty blitzModeVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty customModeVisible = new SimpleBooleanProperty(false);
-    private final BooleanProperty gameVisible = new SimpleBooleanProperty(false);  // Thêm dòng này
+    private final BooleanProperty reconnectingVisible = new PanelVisibleProperty();  // Reconnecting overlay visibility
+    private final BooleanProperty performanceHudVisible = new SimpleBooleanProperty(Boolean.getBoolean("hud"));  // FPS/RTT overlay (F3, -Dhud=true)
+    private final BooleanProperty classicModeVisible = new PanelVisibleProperty();
+    private final BooleanProperty blitzModeVisible = new PanelVisibleProperty();
+    private final BooleanProperty customModeVisible = new PanelVisibleProperty();
+    private final BooleanProperty gameVisible = new PanelVisibleProperty();  // Thêm dòng này
     private final BooleanProperty playWithFriendMode = new SimpleBooleanProperty(false);  // Phân biệt play with friend mode
-    private final BooleanProperty aiDifficultyVisible = new SimpleBooleanProperty(false);  // Panel chọn độ khó AI
+    private final BooleanProperty aiDifficultyVisible = new PanelVisibleProperty();  // Panel chọn độ khó AI
     
     // Timer values for game panel
     private final StringProperty timer1Value = new SimpleStringProperty("2:00");
     private final StringProperty timer2Value = new SimpleStringProperty("10:00");
     private final StringProperty timer3Value = new SimpleStringProperty("10:00");
     private final StringProperty timer4Value = new SimpleStringProperty("2:00");
+    // Timer config, published as one value so listeners see move and bank change together
+    private final javafx.beans.property.ObjectProperty<TimerConfig> timerConfig =
+        new javafx.beans.property.SimpleObjectProperty<>(new TimerConfig(120, 600));
+    
+    // Network latency from heartbeat (smoothed RTT and jitter in ms, -1 = unknown)
+    private final IntegerProperty latencyMs = new SimpleIntegerProperty(-1);
+    private final IntegerProperty latencyJitterMs = new SimpleIntegerProperty(0);
     
     // Selected board image path
     private final StringProperty selectedBoardImagePath = new SimpleStringProperty("");
     
+    // Board renderer: "node" (ImageView/Circle per piece) hoặc "canvas" (một Canvas, sprite vẽ sẵn)
+    // Mặc định lấy từ -Dboard.renderer, đổi được lúc chạy trong Settings
+    private final StringProperty boardRenderer = new SimpleStringProperty(
+        "canvas".equalsIgnoreCase(System.getProperty("board.renderer")) ? "canvas" : "node");
+    
+    // Hệ số scale của stage layer (Main bind theo kích thước cửa sổ), dùng chọn atlas quân cờ
+    private final javafx.beans.property.DoubleProperty renderScale = new javafx.beans.property.SimpleDoubleProperty(1.0);
+    
     // Elo scores by mode (default to 0, will be loaded from backend)
     private final javafx.beans.property.IntegerProperty classicalElo = new javafx.beans.property.SimpleIntegerProperty(0);
     private final javafx.beans.property.IntegerProperty blitzElo = new javafx.beans.property.SimpleIntegerProperty(0);
@@ -59,6 +75,8 @@ public class UIState {
     // Current game mode ("classical", "blitz", or null)
     private final StringProperty currentGameMode = new SimpleStringProperty("classical");  // Default to classical
     private int currentTimeLimit = 0;  // Time limit in seconds for matching (0 = unlimited)
+    // Server time (ms) of the last GAME_START/MOVE, consumed by TimerManager on turn change (0 = none)
+    private volatile long turnStartServerTime = 0;
     // AI difficulty: "easy", "medium", "hard"
     private final StringProperty aiDifficulty = new SimpleStringProperty("medium");
     
@@ -70,11 +88,8 @@ public class UIState {
     // Flag để biết có sử dụng custom board setup không
     private final BooleanProperty useCustomBoard = new SimpleBooleanProperty(false);
     
-    // Game action trigger - để trigger các action từ network (game_result, draw_request, chat_message)
-    private final StringProperty gameActionTrigger = new SimpleStringProperty("");
-    
-    // Game action result - kết quả của action (win, lose, draw, received, hide, message text)
-    private final StringProperty gameActionResult = new SimpleStringProperty("");
+    // Sự kiện game từ network (kết quả, cầu hòa, chat, restore, gợi ý nước đi) gửi đến GamePanel
+    private final GameEventBus gameEvents = new GameEventBus();
     
     // Player side - true nếu player là red, false nếu là black
     private final BooleanProperty playerIsRed = new SimpleBooleanProperty(true);
@@ -100,6 +115,73 @@ public class UIState {
     private final javafx.collections.ObservableList<String> friendsList = javafx.collections.FXCollections.observableArrayList();
     private final javafx.collections.ObservableList<String> pendingFriendRequests = javafx.collections.FXCollections.observableArrayList();
 
+    /**
+     * Visibility flag of a panel. Hooks registered with {@link #beforeFirstShow} run right before
+     * the flag first turns true, so a lazily built panel already exists when its own listeners fire.
+     */
+    private static final class PanelVisibleProperty extends SimpleBooleanProperty {
+        private final java.util.List<Runnable> beforeShow = new java.util.ArrayList<>();
+        
+        PanelVisibleProperty() {
+            super(false);
+        }
+        
+        @Override
+        public void set(boolean value) {
+            if (value && !get()) {
+                runHooks(beforeShow);
+            }
+            super.set(value);
+        }
+    }
+    
+    /**
+     * appState với hook chạy trước khi chuyển sang một state (MainMenuPanel hiện theo MAIN_MENU)
+     */
+    private static final class AppStateProperty extends SimpleObjectProperty<AppState> {
+        private final java.util.Map<AppState, java.util.List<Runnable>> beforeEnter = new java.util.EnumMap<>(AppState.class);
+        
+        AppStateProperty(AppState initial) {
+            super(initial);
+        }
+        
+        @Override
+        public void set(AppState value) {
+            java.util.List<Runnable> hooks = beforeEnter.get(value);
+            if (value != get() && hooks != null) {
+                runHooks(hooks);
+            }
+            super.set(value);
+        }
+    }
+    
+    private static void runHooks(java.util.List<Runnable> hooks) {
+        if (hooks.isEmpty()) {
+            return;
+        }
+        // One-shot: copy first, a hook may register again (released panel)
+        java.util.List<Runnable> pending = new java.util.ArrayList<>(hooks);
+        hooks.clear();
+        pending.forEach(Runnable::run);
+    }
+    
+    /**
+     * Run {@code hook} once, right before {@code visible} (one of the *VisibleProperty() flags) next turns true.
+     */
+    public void beforeFirstShow(BooleanProperty visible, Runnable hook) {
+        if (!(visible instanceof PanelVisibleProperty)) {
+            throw new IllegalArgumentException("Not a panel visibility property: " + visible.getName());
+        }
+        ((PanelVisibleProperty) visible).beforeShow.add(hook);
+    }
+    
+    /**
+     * Run {@code hook} once, right before appState next changes to {@code target}.
+     */
+    public void beforeFirstEnter(AppState target, Runnable hook) {
+        appState.beforeEnter.computeIfAbsent(target, k -> new java.util.ArrayList<>()).add(hook);
+    }
+
     public ObjectProperty<BoardState> boardStateProperty() {
         return boardState;
     }
@@ -387,6 +469,22 @@ public class UIState {
         reconnectingVisible.set(value);
     }
 
+    public BooleanProperty performanceHudVisibleProperty() {
+        return performanceHudVisible;
+    }
+
+    public boolean isPerformanceHudVisible() {
+        return performanceHudVisible.get();
+    }
+
+    public void setPerformanceHudVisible(boolean value) {
+        performanceHudVisible.set(value);
+    }
+
+    public void togglePerformanceHud() {
+        performanceHudVisible.set(!performanceHudVisible.get());
+    }
+
     public BooleanProperty classicModeVisibleProperty() {
         return classicModeVisible;
     }
@@ -661,6 +759,78 @@ public class UIState {
         timer4Value.set(value);
     }
 
+    /**
+     * Timer config in seconds (-1 = unlimited): move = per-turn timer (1, 4), bank = gray timer (2, 3).
+     */
+    public record TimerConfig(int moveSeconds, int bankSeconds) {
+    }
+
+    public javafx.beans.property.ObjectProperty<TimerConfig> timerConfigProperty() {
+        return timerConfig;
+    }
+
+    public TimerConfig getTimerConfig() {
+        return timerConfig.get();
+    }
+
+    public int getMoveTimerSeconds() {
+        return timerConfig.get().moveSeconds();
+    }
+
+    public int getBankTimerSeconds() {
+        return timerConfig.get().bankSeconds();
+    }
+
+    /**
+     * Set timer config and the 4 timer labels at once.
+     * @param moveSeconds per-turn timer in seconds (-1 = unlimited)
+     * @param bankSeconds gray timer in seconds (-1 = unlimited)
+     */
+    public void setTimerSeconds(int moveSeconds, int bankSeconds) {
+        String move = formatTimerSeconds(moveSeconds);
+        String bank = formatTimerSeconds(bankSeconds);
+        setTimer1Value(move);
+        setTimer2Value(bank);
+        setTimer3Value(bank);
+        setTimer4Value(move);
+        timerConfig.set(new TimerConfig(moveSeconds, bankSeconds));
+    }
+
+    /**
+     * Format seconds as "M:SS", or "Unlimited time" for negative values.
+     */
+    public static String formatTimerSeconds(int totalSeconds) {
+        if (totalSeconds < 0) {
+            return "Unlimited time";
+        }
+        return String.format("%d:%02d", totalSeconds / 60, totalSeconds % 60);
+    }
+
+    // Latency getters/setters
+    public IntegerProperty latencyMsProperty() {
+        return latencyMs;
+    }
+    
+    public int getLatencyMs() {
+        return latencyMs.get();
+    }
+    
+    public void setLatencyMs(int value) {
+        latencyMs.set(value);
+    }
+    
+    public IntegerProperty latencyJitterMsProperty() {
+        return latencyJitterMs;
+    }
+    
+    public int getLatencyJitterMs() {
+        return latencyJitterMs.get();
+    }
+    
+    public void setLatencyJitterMs(int value) {
+        latencyJitterMs.set(value);
+    }
+
     // Thêm getter/setter cho selectedBoardImagePath
     public StringProperty selectedBoardImagePathProperty() {
         return selectedBoardImagePath;
@@ -674,6 +844,26 @@ public class UIState {
         selectedBoardImagePath.set(value);
     }
     
+    public StringProperty boardRendererProperty() {
+        return boardRenderer;
+    }
+    
+    public boolean isCanvasBoardRenderer() {
+        return "canvas".equals(boardRenderer.get());
+    }
+    
+    public void setBoardRenderer(String value) {
+        boardRenderer.set(value);
+    }
+    
+    public javafx.beans.property.DoubleProperty renderScaleProperty() {
+        return renderScale;
+    }
+    
+    public double getRenderScale() {
+        return renderScale.get();
+    }
+    
     // Elo getters/setters by mode
     public javafx.beans.property.IntegerProperty classicalEloProperty() {
         return classicalElo;
@@ -720,6 +910,14 @@ public class UIState {
         this.currentTimeLimit = value;
     }
     
+    public long getTurnStartServerTime() {
+        return turnStartServerTime;
+    }
+    
+    public void setTurnStartServerTime(long value) {
+        this.turnStartServerTime = value;
+    }
+    
     // Get elo based on current game mode
     public int getElo() {
         String mode = currentGameMode.get();
@@ -995,30 +1193,8 @@ public class UIState {
         useCustomBoard.set(value);
     }
     
-    // Game action trigger getters/setters
-    public StringProperty gameActionTriggerProperty() {
-        return gameActionTrigger;
-    }
-    
-    public String getGameActionTrigger() {
-        return gameActionTrigger.get();
-    }
-    
-    public void setGameActionTrigger(String value) {
-        gameActionTrigger.set(value);
-    }
-    
-    // Game action result getters/setters
-    public StringProperty gameActionResultProperty() {
-        return gameActionResult;
-    }
-    
-    public String getGameActionResult() {
-        return gameActionResult.get();
-    }
-    
-    public void setGameActionResult(String value) {
-        gameActionResult.set(value);
+    public GameEventBus gameEvents() {
+        return gameEvents;
     }
     
     // Player side getters/setters
@@ -1099,7 +1275,7 @@ public class UIState {
     // Interface for opponent move callback
     @FunctionalInterface
     public interface OpponentMoveCallback {
-        void onOpponentMove(int fromCol, int fromRow, int toCol, int toRow);
+        void onOpponentMove(application.network.events.MoveEvent move);
     }
     
     public void setOnlinePlayersUpdateCallback(java.util.function.Consumer<java.util.List<String>> callback) {
@@ -1207,10 +1383,10 @@ public class UIState {
         this.opponentMoveCallback = callback;
     }
     
-    // Apply opponent move from server
-    public void applyOpponentMove(int fromCol, int fromRow, int toCol, int toRow) {
+    // Apply opponent move from server (frontend coordinates, decoded by core)
+    public void applyOpponentMove(application.network.events.MoveEvent move) {
         if (opponentMoveCallback != null) {
-            opponentMoveCallback.onOpponentMove(fromCol, fromRow, toCol, toRow);
+            opponentMoveCallback.onOpponentMove(move);
         } else {
             System.err.println("[UIState] opponentMoveCallback is null, cannot apply move");
         }
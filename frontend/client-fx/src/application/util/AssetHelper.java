@@ -0,0 +1,225 @@
+package application.util;
+
+import java.lang.ref.SoftReference;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+
+/**
+ * Small helper to resolve asset images relative to the JavaFX frontend folder.
+ *
+ * Decoded images are shared through a bounded LRU cache keyed by path and requested
+ * size; entries are soft references so the GC can still reclaim them under pressure.
+ * JavaFX images are immutable, so one instance can back any number of ImageViews.
+ */
+public final class AssetHelper {
+
+    // Resolve asset root based on where the app is launched.
+    // If you run from frontend/, assets are in "<user.dir>/assets".
+    // If you run from a module folder (frontend/client-fx), assets are in "<user.dir>/../assets".
+    // If you run from repo root, assets are in "<user.dir>/frontend/assets".
+    private static final Path ASSET_ROOT;
+    static {
+        Path wd = Path.of(System.getProperty("user.dir"));
+        Path candidate1 = wd.resolve("assets");
+        Path candidate2 = wd.resolve("..").resolve("assets").normalize();
+        Path candidate3 = wd.resolve("frontend").resolve("assets");
+        if (candidate1.toFile().isDirectory()) {
+            ASSET_ROOT = candidate1;
+        } else if (candidate2.toFile().isDirectory()) {
+            ASSET_ROOT = candidate2;
+        } else {
+            ASSET_ROOT = candidate3;
+        }
+    }
+
+    // Max decoded images kept (-Dasset.cache.size=N)
+    private static final int CACHE_SIZE = Integer.getInteger("asset.cache.size", 256);
+
+    // Access-ordered: the eldest entry is the least recently used one. Guarded by itself.
+    private static final Map<String, SoftReference<Image>> CACHE =
+            new LinkedHashMap<String, SoftReference<Image>>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SoftReference<Image>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    // Hit rate of image(), see Metrics (assets.cache.*)
+    private static final Metrics.Counter CACHE_HITS = Metrics.counter("assets.cache.hits");
+    private static final Metrics.Counter CACHE_MISSES = Metrics.counter("assets.cache.misses");
+    static {
+        Metrics.gauge("assets.cache.hitRate", () -> {
+            long hits = CACHE_HITS.getCount();
+            long total = hits + CACHE_MISSES.getCount();
+            return total == 0 ? Double.NaN : (double) hits / total;
+        });
+    }
+
+    // Icons shown on the landing screen, main menu and in-game panels
+    private static final List<String> COMMON_ICONS = Arrays.asList(
+            "bg.jpg", "board.png", "bottom_menu.png", "ic_back.png", "ic_move.png", "ic_info.png",
+            "icon_setting.png", "icon_rule.png", "icon_ig.png", "icon_fb.png", "icon_friend.png",
+            "icon_inventory.png", "icon_ranking.png", "ava_profile.png", "ava/1.jpg");
+
+    private static final String[] PIECE_TYPES = {"King", "Advisor", "Elephant", "Horse", "Rook", "Cannon", "Pawn"};
+
+    private AssetHelper() {
+    }
+
+    /**
+     * Full-size image, loaded in the background on first use and shared afterwards.
+     */
+    public static Image image(String fileName) {
+        return image(fileName, 0, 0);
+    }
+
+    /**
+     * Image decoded at the requested size (ratio preserved, smooth); 0 x 0 means full size.
+     * Each (path, size) pair is decoded once and shared.
+     */
+    public static Image image(String fileName, double width, double height) {
+        String key = cacheKey(fileName, width, height);
+        synchronized (CACHE) {
+            Image cached = lookup(key);
+            if (cached != null) {
+                CACHE_HITS.increment();
+                return cached;
+            }
+            CACHE_MISSES.increment();
+            Image image = new Image(uri(fileName), width, height, true, true, true);
+            CACHE.put(key, new SoftReference<>(image));
+            traceFirstDecode(image);
+            return image;
+        }
+    }
+
+    /**
+     * Decode synchronously at the requested size, bypassing the cache (for callers that
+     * copy the pixels into their own image, e.g. the piece atlas). Any thread.
+     */
+    public static Image decode(String fileName, double width, double height) {
+        Image image = new Image(uri(fileName), width, height, true, true, false);
+        traceFirstDecode(image);
+        return image;
+    }
+
+    /**
+     * Startup timeline: mark when the first image finishes decoding (background or not).
+     */
+    private static void traceFirstDecode(Image image) {
+        if (StartupTrace.isMarked(StartupTrace.FIRST_IMAGE) || image.isError()) {
+            return;
+        }
+        if (image.getProgress() >= 1.0) {
+            StartupTrace.markOnce(StartupTrace.FIRST_IMAGE);
+        } else {
+            image.progressProperty().addListener((obs, oldVal, newVal) -> {
+                if (newVal.doubleValue() >= 1.0 && !image.isError()) {
+                    StartupTrace.markOnce(StartupTrace.FIRST_IMAGE);
+                }
+            });
+        }
+    }
+
+    /**
+     * Decode piece sprites and common icons on a background thread so the first game
+     * and panel opens find them in the cache. Safe to call more than once.
+     */
+    public static void warmUp() {
+        List<String> paths = new ArrayList<>(COMMON_ICONS);
+        paths.addAll(pieceImagePaths());
+        warmUp(paths);
+    }
+
+    public static void warmUp(Collection<String> fileNames) {
+        List<String> paths = new ArrayList<>(fileNames);
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            int decoded = 0;
+            for (String fileName : paths) {
+                String key = cacheKey(fileName, 0, 0);
+                synchronized (CACHE) {
+                    if (lookup(key) != null) {
+                        continue;
+                    }
+                }
+                // Decode outside the lock; if the UI raced us, keep the instance it already got
+                Image image = new Image(uri(fileName), false);
+                if (image.isError()) {
+                    System.err.println("[AssetHelper] Warm-up failed for " + fileName);
+                    continue;
+                }
+                StartupTrace.markOnce(StartupTrace.FIRST_IMAGE);
+                synchronized (CACHE) {
+                    if (lookup(key) == null) {
+                        CACHE.put(key, new SoftReference<>(image));
+                        decoded++;
+                    }
+                }
+            }
+            System.out.println("[AssetHelper] Warm-up decoded " + decoded + " images in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }, "asset-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * The 14 piece sprites, "pieces/{red,black}/Chinese-{Type}-{Color}.png"
+     */
+    public static List<String> pieceImagePaths() {
+        List<String> paths = new ArrayList<>();
+        for (String color : new String[]{"red", "black"}) {
+            String colorCapitalized = color.substring(0, 1).toUpperCase() + color.substring(1);
+            for (String type : PIECE_TYPES) {
+                paths.add("pieces/" + color + "/Chinese-" + type + "-" + colorCapitalized + ".png");
+            }
+        }
+        return paths;
+    }
+
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    // Caller holds the CACHE lock. Drops entries that were collected or failed to load.
+    private static Image lookup(String key) {
+        SoftReference<Image> ref = CACHE.get(key);
+        Image image = ref != null ? ref.get() : null;
+        if (ref != null && (image == null || image.isError())) {
+            CACHE.remove(key);
+            return null;
+        }
+        return image;
+    }
+
+    private static String cacheKey(String fileName, double width, double height) {
+        return width > 0 || height > 0 ? fileName + "@" + width + "x" + height : fileName;
+    }
+
+    private static String uri(String fileName) {
+        return ASSET_ROOT.resolve(fileName).toUri().toString();
+    }
+    
+    public static Path getAssetRoot() {
+        return ASSET_ROOT;
+    }
+
+    /**
+     * Main stylesheet (lives with the sources of the client-fx module).
+     */
+    public static Path getStylesheet() {
+        return ASSET_ROOT.getParent().resolve(Path.of("client-fx", "src", "application", "application.css"));
+    }
+}
+
@@ -0,0 +1,52 @@
+package application.util;
+
+import application.diagnostics.FxQueueDelayEvent;
+import javafx.application.Platform;
+
+/**
+ * Platform.runLater for network code: while a chinesechess.FxQueueDelay JFR event is being
+ * recorded, each task reports how long it waited in the FX queue and which incoming message
+ * queued it. Without a recording this is a plain Platform.runLater.
+ */
+public final class FxQueue {
+    
+    // Message type NetworkManager is dispatching on this thread, null outside dispatch
+    private static final ThreadLocal<String> SOURCE = new ThreadLocal<>();
+    
+    private FxQueue() {
+    }
+    
+    public static void runLater(Runnable task) {
+        runLater(SOURCE.get(), task);
+    }
+    
+    public static void runLater(String source, Runnable task) {
+        FxQueueDelayEvent event = new FxQueueDelayEvent();
+        if (!event.isEnabled()) {
+            Platform.runLater(task);
+            return;
+        }
+        event.begin();
+        String enqueueThread = Thread.currentThread().getName();
+        Platform.runLater(() -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = source != null ? source : "-";
+                event.enqueueThread = enqueueThread;
+                event.commit();
+            }
+            task.run();
+        });
+    }
+    
+    /**
+     * Tag tasks queued on this thread with {@code messageType} until {@link #endSource()}.
+     */
+    public static void beginSource(String messageType) {
+        SOURCE.set(messageType);
+    }
+    
+    public static void endSource() {
+        SOURCE.remove();
+    }
+}
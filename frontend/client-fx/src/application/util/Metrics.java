@@ -0,0 +1,302 @@
+package application.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import application.diagnostics.RulesTimings;
+import javafx.scene.Scene;
+
+/**
+ * Live client metrics: named counters, meters (events per second), timers (latency
+ * percentiles over the most recent samples) and gauges.
+ *
+ * Every metric is also registered as a JMX MXBean named
+ * {@code chinesechess:type=<Counter|Meter|Timer|Gauge>,name=<name>}, so jconsole or JDK Mission
+ * Control attached to a player's client shows the same numbers as the in-game HUD.
+ *
+ * Names in use:
+ *   net.in.TYPE / net.out.TYPE     meters, frames per MessageType
+ *   net.bytes.in / net.bytes.out   meters, bytes including the 4-byte length header
+ *   net.rtt                        timer, heartbeat round trip
+ *   fx.frames / fx.pulse           meter (FPS) and timer (CSS + layout part of a pulse)
+ *   fx.droppedFrames               counter, frames missed between consecutive pulses
+ *   rules.getAllLegalMoves, rules.checkGameEnd   timers (legal moves reported by core via RulesTimings)
+ *   engine.hint                    timer, local hint search
+ *   assets.cache.hits / .misses, assets.cache.hitRate
+ *   jvm.heap.usedMb, jvm.heap.maxMb, jvm.gc.count, jvm.gc.pauseMs (totals since start)
+ *
+ * Settings (system properties):
+ *   -Dmetrics.jmx=false    keep metrics in-process only
+ */
+public final class Metrics {
+    
+    private static final boolean JMX = !"false".equalsIgnoreCase(System.getProperty("metrics.jmx"));
+    private static final Map<String, Object> METRICS = new ConcurrentHashMap<>();
+    
+    public interface CounterMXBean {
+        long getCount();
+    }
+    
+    public interface MeterMXBean {
+        long getCount();
+        double getRatePerSecond();
+    }
+    
+    public interface TimerMXBean {
+        long getCount();
+        double getMeanMs();
+        double getP50Ms();
+        double getP99Ms();
+        double getMaxMs();
+    }
+    
+    public interface GaugeMXBean {
+        double getValue();
+    }
+    
+    public static final class Counter implements CounterMXBean {
+        private final LongAdder count = new LongAdder();
+        
+        public void increment() {
+            count.increment();
+        }
+        
+        public void add(long n) {
+            count.add(n);
+        }
+        
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+    
+    /**
+     * Rate over the last completed window of at least one second.
+     */
+    public static final class Meter implements MeterMXBean {
+        private static final long WINDOW_NANOS = 1_000_000_000L;
+        
+        private long total;
+        private long windowStart = System.nanoTime();
+        private long windowCount;
+        private double rate;
+        
+        public void mark() {
+            mark(1);
+        }
+        
+        public synchronized void mark(long n) {
+            roll(System.nanoTime());
+            total += n;
+            windowCount += n;
+        }
+        
+        @Override
+        public synchronized long getCount() {
+            return total;
+        }
+        
+        @Override
+        public synchronized double getRatePerSecond() {
+            roll(System.nanoTime());
+            return rate;
+        }
+        
+        private void roll(long now) {
+            long elapsed = now - windowStart;
+            if (elapsed >= WINDOW_NANOS) {
+                rate = windowCount * 1e9 / elapsed;
+                windowCount = 0;
+                windowStart = now;
+            }
+        }
+    }
+    
+    /**
+     * Keeps the last {@value #SAMPLES} durations; percentiles are computed on read.
+     */
+    public static final class Timer implements TimerMXBean {
+        private static final int SAMPLES = 1024;
+        
+        private final long[] samples = new long[SAMPLES];
+        private long count;
+        private long max;
+        
+        public synchronized void recordNanos(long nanos) {
+            samples[(int) (count % SAMPLES)] = nanos;
+            count++;
+            max = Math.max(max, nanos);
+        }
+        
+        public void recordSince(long startNanos) {
+            recordNanos(System.nanoTime() - startNanos);
+        }
+        
+        @Override
+        public synchronized long getCount() {
+            return count;
+        }
+        
+        @Override
+        public double getMeanMs() {
+            long[] recent = recent();
+            return recent.length == 0 ? 0 : Arrays.stream(recent).average().orElse(0) / 1e6;
+        }
+        
+        @Override
+        public double getP50Ms() {
+            return percentileMs(50);
+        }
+        
+        @Override
+        public double getP99Ms() {
+            return percentileMs(99);
+        }
+        
+        @Override
+        public synchronized double getMaxMs() {
+            return max / 1e6;
+        }
+        
+        public double percentileMs(double percentile) {
+            long[] recent = recent();
+            if (recent.length == 0) {
+                return 0;
+            }
+            Arrays.sort(recent);
+            int index = (int) Math.ceil(percentile / 100.0 * recent.length) - 1;
+            return recent[Math.max(0, Math.min(recent.length - 1, index))] / 1e6;
+        }
+        
+        private synchronized long[] recent() {
+            return Arrays.copyOf(samples, (int) Math.min(count, SAMPLES));
+        }
+    }
+    
+    public static final class Gauge implements GaugeMXBean {
+        private final DoubleSupplier supplier;
+        
+        private Gauge(DoubleSupplier supplier) {
+            this.supplier = supplier;
+        }
+        
+        @Override
+        public double getValue() {
+            return supplier.getAsDouble();
+        }
+    }
+    
+    static {
+        gauge("jvm.heap.usedMb", () -> heap().getUsed() / (1024.0 * 1024.0));
+        gauge("jvm.heap.maxMb", () -> heap().getMax() / (1024.0 * 1024.0));
+        gauge("jvm.gc.count", () -> ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum());
+        gauge("jvm.gc.pauseMs", () -> ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum());
+        // Every GameEndChecker call (hints, premoves, game end checks), not only the ones made from the UI
+        RulesTimings.setListener((operation, nanos) -> timer("rules." + operation).recordNanos(nanos));
+    }
+    
+    private Metrics() {
+    }
+    
+    public static Counter counter(String name) {
+        return metric(name, "Counter", Counter.class, Counter::new);
+    }
+    
+    public static Meter meter(String name) {
+        return metric(name, "Meter", Meter.class, Meter::new);
+    }
+    
+    public static Timer timer(String name) {
+        return metric(name, "Timer", Timer.class, Timer::new);
+    }
+    
+    /**
+     * Register a gauge read on demand; a second registration under the same name is ignored.
+     */
+    public static Gauge gauge(String name, DoubleSupplier supplier) {
+        return metric(name, "Gauge", Gauge.class, () -> new Gauge(supplier));
+    }
+    
+    /**
+     * Value of a registered gauge, or NaN if there is none.
+     */
+    public static double gaugeValue(String name) {
+        Object metric = METRICS.get(name);
+        return metric instanceof Gauge ? ((Gauge) metric).getValue() : Double.NaN;
+    }
+    
+    /**
+     * Sum of the rates of all meters whose name starts with {@code prefix}.
+     */
+    public static double totalRate(String prefix) {
+        double sum = 0;
+        for (Map.Entry<String, Object> e : METRICS.entrySet()) {
+            if (e.getKey().startsWith(prefix) && e.getValue() instanceof Meter) {
+                sum += ((Meter) e.getValue()).getRatePerSecond();
+            }
+        }
+        return sum;
+    }
+    
+    /**
+     * Record pulses of {@code scene}: fx.frames, fx.pulse and fx.droppedFrames.
+     *
+     * A pulse only happens when something changed, so an idle scene reports a low frame rate;
+     * the HUD keeps the scene pulsing while it is shown. A gap between two pulses of more than
+     * 1.5 frames (and under 250 ms, longer gaps are idle time) counts the missing frames as dropped.
+     */
+    public static void watchPulses(Scene scene) {
+        long frameNanos = 1_000_000_000L / Integer.getInteger("javafx.animation.framerate", 60);
+        Meter frames = meter("fx.frames");
+        Timer pulse = timer("fx.pulse");
+        Counter dropped = counter("fx.droppedFrames");
+        long[] pulseStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> {
+            long now = System.nanoTime();
+            long gap = now - pulseStart[0];
+            if (pulseStart[0] != 0 && gap > frameNanos * 3 / 2 && gap < 250_000_000L) {
+                dropped.add(Math.round((double) gap / frameNanos) - 1);
+            }
+            pulseStart[0] = now;
+            frames.mark();
+        });
+        scene.addPostLayoutPulseListener(() -> pulse.recordSince(pulseStart[0]));
+    }
+    
+    private static MemoryUsage heap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+    }
+    
+    private static <T> T metric(String name, String type, Class<T> kind, java.util.function.Supplier<T> factory) {
+        Object metric = METRICS.computeIfAbsent(name, key -> {
+            T created = factory.get();
+            register(key, type, created);
+            return created;
+        });
+        if (!kind.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + metric.getClass().getSimpleName() + ", not a " + type);
+        }
+        return kind.cast(metric);
+    }
+    
+    private static void register(String name, String type, Object bean) {
+        if (!JMX) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean,
+                    new javax.management.ObjectName("chinesechess:type=" + type + ",name=" + name));
+        } catch (Exception e) {
+            System.err.println("[Metrics] Could not register " + name + " over JMX: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package application.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import application.game.OpeningBook;
+
+/**
+ * The client's opening book, shared by hints (GamePanel) and the opening explorer (ReplayPanel).
+ *
+ * Mapped once on first use from -Dbook.path, default assets/book/openings.xqb; build it with
+ * application.game.OpeningBookBuilder. Without a book file, get() returns null and callers
+ * fall back to searching.
+ */
+public final class OpeningBooks {
+
+    private static volatile boolean loaded;
+    private static OpeningBook book;
+
+    private OpeningBooks() {
+    }
+
+    public static OpeningBook get() {
+        if (!loaded) {
+            synchronized (OpeningBooks.class) {
+                if (!loaded) {
+                    book = load();
+                    loaded = true;
+                }
+            }
+        }
+        return book;
+    }
+
+    private static OpeningBook load() {
+        String configured = System.getProperty("book.path");
+        Path path = configured != null ? Path.of(configured) : AssetHelper.getAssetRoot().resolve("book").resolve("openings.xqb");
+        if (!Files.isRegularFile(path)) {
+            System.out.println("[OpeningBooks] No opening book at " + path);
+            return null;
+        }
+        try {
+            long start = System.nanoTime();
+            OpeningBook opened = OpeningBook.open(path);
+            System.out.println("[OpeningBooks] Mapped " + opened.size() + " book moves from " + path
+                    + " in " + (System.nanoTime() - start) / 1_000 + " us");
+            return opened;
+        } catch (Exception e) {
+            System.err.println("[OpeningBooks] Could not open " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
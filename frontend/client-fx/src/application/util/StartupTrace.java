@@ -0,0 +1,235 @@
+package application.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Startup timeline of the client: JVM start, Main entry points, server connect, panel
+ * construction, first decoded image, first pulse and time-to-interactive.
+ *
+ * Every phase is kept in memory for the summary printed once the UI is interactive, and is
+ * also committed as a {@code chinesechess.StartupPhase} JFR event, so a recording started with
+ * -XX:StartFlightRecording shows the same timeline next to GC and class-loading events.
+ *
+ * Settings (system properties):
+ *   -Dstartup.trace=false        no summary (JFR events are still committed when recording)
+ *   -Dstartup.benchmark=true     print machine-readable STARTUP_* lines at interactive and exit
+ *   -Dstartup.benchmark.timeoutMs=60000   exit with status 1 if never interactive
+ */
+public final class StartupTrace {
+    
+    public static final String FIRST_IMAGE = "first image decoded";
+    public static final String FIRST_PULSE = "first pulse";
+    public static final String INTERACTIVE = "interactive";
+    
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("startup.trace"));
+    private static final boolean BENCHMARK = Boolean.getBoolean("startup.benchmark");
+    private static final long BENCHMARK_TIMEOUT_MS = Long.getLong("startup.benchmark.timeoutMs", 60_000);
+    
+    // Origin of the timeline: process start if the OS reports it, else class initialization
+    private static final long ORIGIN_NANOS;
+    private static final long JVM_START_OFFSET_NANOS;
+    static {
+        long nowNanos = System.nanoTime();
+        Instant now = Instant.now();
+        long sinceStart = ProcessHandle.current().info().startInstant()
+                .map(start -> java.time.Duration.between(start, now).toNanos())
+                .orElse(0L);
+        ORIGIN_NANOS = nowNanos - Math.max(0, sinceStart);
+        JVM_START_OFFSET_NANOS = Math.max(0, sinceStart);
+    }
+    
+    private static final List<Phase> PHASES = new ArrayList<>();
+    private static final Set<String> ONCE = ConcurrentHashMap.newKeySet();
+    private static volatile boolean reported;
+    
+    static {
+        record("JVM start", 0, 0);
+    }
+    
+    @Name("chinesechess.StartupPhase")
+    @Label("Startup Phase")
+    @Category({"Chinese Chess", "Startup"})
+    @Description("A step of client startup; instants have zero duration")
+    static final class PhaseEvent extends jdk.jfr.Event {
+        @Label("Phase")
+        String phase;
+        
+        @Label("Offset Since JVM Start (ms)")
+        long offsetMs;
+    }
+    
+    private static final class Phase {
+        final String name;
+        final long startNanos;
+        final long durationNanos;
+        
+        Phase(String name, long startNanos, long durationNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+    }
+    
+    /**
+     * A phase with a duration, closed by {@link #end()}.
+     */
+    public static final class Span {
+        private final String name;
+        private final long start = System.nanoTime();
+        private final PhaseEvent event = new PhaseEvent();
+        
+        private Span(String name) {
+            this.name = name;
+            event.begin();
+        }
+        
+        public void end() {
+            end(name);
+        }
+        
+        /**
+         * Close under a name only known at the end (e.g. the class a factory returned).
+         */
+        public void end(String name) {
+            long duration = System.nanoTime() - start;
+            event.phase = name;
+            event.offsetMs = (start - ORIGIN_NANOS) / 1_000_000;
+            event.commit();
+            record(name, start - ORIGIN_NANOS, duration);
+        }
+    }
+    
+    private StartupTrace() {
+    }
+    
+    /**
+     * Instant phase (e.g. "Main.start").
+     */
+    public static void mark(String name) {
+        long now = System.nanoTime();
+        PhaseEvent event = new PhaseEvent();
+        if (event.shouldCommit()) {
+            event.phase = name;
+            event.offsetMs = (now - ORIGIN_NANOS) / 1_000_000;
+            event.commit();
+        }
+        record(name, now - ORIGIN_NANOS, 0);
+    }
+    
+    /**
+     * Instant phase recorded only the first time (first image, first pulse...). Any thread.
+     */
+    public static void markOnce(String name) {
+        if (ONCE.add(name)) {
+            mark(name);
+        }
+    }
+    
+    public static boolean isMarked(String name) {
+        return ONCE.contains(name);
+    }
+    
+    public static Span begin(String name) {
+        return new Span(name);
+    }
+    
+    /**
+     * Record the first layout pulse of {@code scene}.
+     */
+    public static void watchFirstPulse(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            markOnce(FIRST_PULSE);
+            scene.removePostLayoutPulseListener(listener[0]);
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+        if (BENCHMARK) {
+            Thread watchdog = new Thread(() -> {
+                try {
+                    Thread.sleep(BENCHMARK_TIMEOUT_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (!reported) {
+                    System.err.println("[StartupTrace] Not interactive after " + BENCHMARK_TIMEOUT_MS + " ms");
+                    System.out.println("STARTUP_TTI_MS=-1");
+                    System.exit(1);
+                }
+            }, "startup-benchmark-watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        }
+    }
+    
+    /**
+     * The UI has nothing left to build: mark interactive at the next pulse (so the last
+     * panel built is also laid out), print the summary and, in benchmark mode, exit.
+     */
+    public static void interactiveAtNextPulse(Scene scene) {
+        if (reported || isMarked(INTERACTIVE)) {
+            return;
+        }
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            if (!isMarked(INTERACTIVE)) {
+                markOnce(INTERACTIVE);
+                report();
+            }
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+        // Request a pulse even if nothing is animating
+        Platform.requestNextPulse();
+    }
+    
+    private static synchronized void record(String name, long offsetNanos, long durationNanos) {
+        PHASES.add(new Phase(name, offsetNanos, durationNanos));
+    }
+    
+    private static void report() {
+        reported = true;
+        List<Phase> phases;
+        synchronized (StartupTrace.class) {
+            phases = new ArrayList<>(PHASES);
+        }
+        long interactive = phases.stream().filter(p -> INTERACTIVE.equals(p.name))
+                .mapToLong(p -> p.startNanos).findFirst().orElse(-1);
+        if (ENABLED || BENCHMARK) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("[StartupTrace] Startup timeline (ms since JVM start");
+            if (JVM_START_OFFSET_NANOS == 0) {
+                sb.append(", process start unknown: since first trace");
+            }
+            sb.append(")\n");
+            sb.append(String.format("  %8s %8s  %s%n", "at", "took", "phase"));
+            phases.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+            for (Phase phase : phases) {
+                sb.append(String.format("  %8.1f %8s  %s%n", phase.startNanos / 1e6,
+                        phase.durationNanos > 0 ? String.format("%.1f", phase.durationNanos / 1e6) : "", phase.name));
+            }
+            System.out.print(sb);
+        }
+        if (BENCHMARK) {
+            // One line per phase for scripts (application.loadtest.StartupBenchmark parses these)
+            for (Phase phase : phases) {
+                System.out.println("STARTUP_PHASE " + phase.name.replace(' ', '_') + "="
+                        + (phase.startNanos + phase.durationNanos) / 1_000_000);
+            }
+            System.out.println("STARTUP_TTI_MS=" + interactive / 1_000_000);
+            System.out.flush();
+            Platform.exit();
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+module ChineseChessJavaFX {
+    requires javafx.base;
+    requires javafx.controls;
+    requires javafx.graphics;
+    requires com.google.gson;
+    requires jdk.jfr;
+    requires java.management;
+    requires ChineseChessCore;
+
+    // -Dserver=mock: provided by mock-server, on the path only in the "mock" profile
+    uses application.network.DevServer;
+
+    exports application;
+    exports application.components;
+    exports application.state;
+    // Metrics MXBean interfaces are read reflectively by the platform MBean server
+    exports application.util;
+    exports application.network.fx;
+    exports application.network.handlers;
+}
@@ -0,0 +1,32 @@
+package application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One frame read by SocketClient. Duration covers reading the body and decoding it,
+ * not the time spent blocked waiting for the length header.
+ */
+@Name("chinesechess.FrameReceived")
+@Label("Frame Received")
+@Category({"Chinese Chess", "Network"})
+@Description("Frame read from the server socket")
+@StackTrace(false)
+public class FrameReceivedEvent extends jdk.jfr.Event {
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+
+    @Label("Decode Time")
+    @Description("UTF-8 decode of the frame body")
+    @Timespan
+    public long decodeTime;
+}
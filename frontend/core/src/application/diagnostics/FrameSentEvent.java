@@ -0,0 +1,31 @@
+package application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One frame written by SocketClient. Duration covers building, encoding and flushing the frame.
+ */
+@Name("chinesechess.FrameSent")
+@Label("Frame Sent")
+@Category({"Chinese Chess", "Network"})
+@Description("Frame written to the server socket")
+@StackTrace(false)
+public class FrameSentEvent extends jdk.jfr.Event {
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+
+    @Label("Encode Time")
+    @Description("Payload preparation and UTF-8 encode, before the socket write")
+    @Timespan
+    public long encodeTime;
+}
@@ -0,0 +1,25 @@
+package application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A task queued on the JavaFX application thread. Duration is the time between the
+ * enqueue and the start of the task; the recording thread is the FX thread.
+ */
+@Name("chinesechess.FxQueueDelay")
+@Label("FX Queue Delay")
+@Category({"Chinese Chess", "Rendering"})
+@Description("Time a Platform.runLater task waited before it ran")
+@StackTrace(false)
+public class FxQueueDelayEvent extends jdk.jfr.Event {
+    @Label("Source")
+    @Description("Message type being handled when the task was queued")
+    public String source;
+
+    @Label("Enqueue Thread")
+    public String enqueueThread;
+}
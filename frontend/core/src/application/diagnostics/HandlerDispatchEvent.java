@@ -0,0 +1,27 @@
+package application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a client message handler for an incoming frame. The recording thread is the
+ * thread the handler ran on.
+ */
+@Name("chinesechess.HandlerDispatch")
+@Label("Handler Dispatch")
+@Category({"Chinese Chess", "Network"})
+@Description("Message handler invoked for an incoming frame")
+@StackTrace(false)
+public class HandlerDispatchEvent extends jdk.jfr.Event {
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Handled")
+    public boolean handled;
+}
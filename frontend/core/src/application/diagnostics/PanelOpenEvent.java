@@ -0,0 +1,25 @@
+package application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A panel shown on screen. Duration runs from the visibility change to the end of the
+ * next layout pulse, including building the panel if it did not exist yet.
+ */
+@Name("chinesechess.PanelOpen")
+@Label("Panel Open")
+@Category({"Chinese Chess", "Rendering"})
+@Description("Latency from opening a panel to its first laid-out frame")
+@StackTrace(false)
+public class PanelOpenEvent extends jdk.jfr.Event {
+    @Label("Panel")
+    public String panel;
+
+    @Label("Built")
+    @Description("The panel was constructed as part of this open")
+    public boolean built;
+}
@@ -0,0 +1,30 @@
+package application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call into GameEndChecker (getAllLegalMoves, checkGameEnd).
+ */
+@Name("chinesechess.RulesEngine")
+@Label("Rules Engine Call")
+@Category({"Chinese Chess", "Rules"})
+@Description("Legal move generation or game end check")
+@StackTrace(false)
+public class RulesEngineEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Red To Move")
+    public boolean redTurn;
+
+    @Label("Legal Moves")
+    @Description("Number of legal moves, -1 if not computed")
+    public int legalMoves = -1;
+
+    @Label("Result")
+    public String result;
+}
@@ -0,0 +1,29 @@
+package application.diagnostics;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Hook for timing GameEndChecker calls outside JFR. Core only reports (operation, elapsed nanos);
+ * the client forwards them to its metrics (rules.&lt;operation&gt; timers) so the HUD sees every call.
+ */
+public final class RulesTimings {
+
+    private static volatile ObjLongConsumer<String> listener;
+
+    private RulesTimings() {
+    }
+
+    /**
+     * Set the receiver of rules timings, or null to stop reporting.
+     */
+    public static void setListener(ObjLongConsumer<String> listener) {
+        RulesTimings.listener = listener;
+    }
+
+    public static void record(String operation, long nanos) {
+        ObjLongConsumer<String> current = listener;
+        if (current != null) {
+            current.accept(operation, nanos);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package application.game;
 
+import application.diagnostics.RulesEngineEvent;
+import application.diagnostics.RulesTimings;
+
 import java.util.*;
 
 /**
@@ -50,6 +53,20 @@ public class GameEndChecker {
      * @return GameEndResult with status and reason
      */
     public GameEndResult checkGameEnd(char[][] board, boolean isRedTurn) {
+        RulesEngineEvent event = new RulesEngineEvent();
+        event.begin();
+        GameEndResult result = evaluateGameEnd(board, isRedTurn);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "checkGameEnd";
+            event.redTurn = isRedTurn;
+            event.result = result.isGameOver ? result.termination : "ongoing";
+            event.commit();
+        }
+        return result;
+    }
+    
+    private GameEndResult evaluateGameEnd(char[][] board, boolean isRedTurn) {
         // 0. Check if King is captured (highest priority)
         boolean hasRedKing = false;
         boolean hasBlackKing = false;
@@ -252,6 +269,22 @@ public class GameEndChecker {
      * @return List of legal moves [fromRow, fromCol, toRow, toCol]
      */
     public static List<int[]> getAllLegalMoves(char[][] board, boolean isRedTurn) {
+        RulesEngineEvent event = new RulesEngineEvent();
+        long start = System.nanoTime();
+        event.begin();
+        List<int[]> legalMoves = collectLegalMoves(board, isRedTurn);
+        event.end();
+        RulesTimings.record("getAllLegalMoves", System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.operation = "getAllLegalMoves";
+            event.redTurn = isRedTurn;
+            event.legalMoves = legalMoves.size();
+            event.commit();
+        }
+        return legalMoves;
+    }
+    
+    private static List<int[]> collectLegalMoves(char[][] board, boolean isRedTurn) {
         List<int[]> legalMoves = new ArrayList<>();
         
         // Find all pieces of current player
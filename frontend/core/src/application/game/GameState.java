@@ -0,0 +1,391 @@
+package application.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Game State Manager for frontend
+ * Authoritative client-side model of the current game: position, side to move,
+ * move list, captures and a Zobrist hash of the position.
+ *
+ * The UI renders from change events ({@link Listener}) instead of reading piece
+ * positions back from scene-graph nodes. Listeners run synchronously on the thread
+ * that changes the model (the FX thread in the client); no JavaFX types are used here
+ * so the model also works headless.
+ */
+public class GameState {
+    
+    private static final int ROWS = 10;
+    private static final int COLS = 9;
+    private static final String PIECE_CHARS = "KABNRCPkabnrcp";
+    
+    // Zobrist keys: one per (piece kind, square) and one for black to move. Fixed seed
+    // so hashes are stable across runs (usable as keys for repetition / opening data).
+    private static final long[][] PIECE_KEYS = new long[PIECE_CHARS.length()][ROWS * COLS];
+    private static final long BLACK_TO_MOVE_KEY;
+    static {
+        Random random = new Random(0x58514E47L);
+        for (long[] keys : PIECE_KEYS) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+    
+    /**
+     * One applied move (frontend coordinates). piece/captured are board chars, captured is ' ' if none.
+     */
+    public static final class Move {
+        public final int fromRow;
+        public final int fromCol;
+        public final int toRow;
+        public final int toCol;
+        public final char piece;
+        public final char captured;
+        public final long hashAfter;
+        
+        Move(int fromRow, int fromCol, int toRow, int toCol, char piece, char captured, long hashAfter) {
+            this.fromRow = fromRow;
+            this.fromCol = fromCol;
+            this.toRow = toRow;
+            this.toCol = toCol;
+            this.piece = piece;
+            this.captured = captured;
+            this.hashAfter = hashAfter;
+        }
+        
+        public boolean isRed() {
+            return Character.isUpperCase(piece);
+        }
+        
+        public boolean isCapture() {
+            return captured != ' ';
+        }
+    }
+    
+    /**
+     * Change events. Default methods so listeners only override what they render.
+     */
+    public interface Listener {
+        /** The whole position was replaced (new game, restore, board editor). */
+        default void onReset(GameState state) {}
+        
+        /** A move was applied; side to move has already switched. */
+        default void onMove(GameState state, Move move) {}
+        
+        /**
+         * Jumped to another position of the same game (replay seek). changedSquares are the
+         * indices (row * 9 + col) whose piece differs from the previous position; getMoves()
+         * is the history leading to the new position. Defaults to a full reset.
+         */
+        default void onSeek(GameState state, int[] changedSquares) {
+            onReset(state);
+        }
+    }
+    
+    private char[][] board;
+    private boolean isRedTurn;
+    private boolean playerIsRed;
+    private long hash;
+    private final List<Move> moves = new ArrayList<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    
+    public GameState() {
+        // Initialize empty board
+        board = new char[10][9];
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 9; j++) {
+                board[i][j] = ' ';
+            }
+        }
+        isRedTurn = true;
+        playerIsRed = true;
+        hash = computeHash();
+    }
+    
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Initialize board from FEN string or server state
+     * Standard starting position for Chinese Chess
+     */
+    public void initializeBoard() {
+        // Clear board
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 9; j++) {
+                board[i][j] = ' ';
+            }
+        }
+        
+        // Standard starting position
+        // red pieces (bottom, rows 0-4) - UPPERCASE
+        board[0] = new char[]{'R', 'N', 'B', 'A', 'K', 'A', 'B', 'N', 'R'};
+        board[2] = new char[]{' ', 'C', ' ', ' ', ' ', ' ', ' ', 'C', ' '};
+        board[3] = new char[]{'P', ' ', 'P', ' ', 'P', ' ', 'P', ' ', 'P'};
+        
+        // black pieces (top, rows 5-9) - lowercase
+        board[6] = new char[]{'p', ' ', 'p', ' ', 'p', ' ', 'p', ' ', 'p'};
+        board[7] = new char[]{' ', 'c', ' ', ' ', ' ', ' ', ' ', 'c', ' '};
+        board[9] = new char[]{'r', 'n', 'b', 'a', 'k', 'a', 'b', 'n', 'r'};
+        
+        isRedTurn = true;
+        fireReset();
+    }
+    
+    /**
+     * Update board from server state
+     */
+    public void updateBoard(char[][] newBoard) {
+        if (newBoard != null && newBoard.length == 10 && newBoard[0].length == 9) {
+            this.board = newBoard;
+            fireReset();
+        }
+    }
+    
+    /**
+     * Replace the whole position (copied) and side to move; clears the move list
+     */
+    public void resetTo(char[][] newBoard, boolean redToMove) {
+        if (newBoard == null || newBoard.length != ROWS) {
+            return;
+        }
+        for (int i = 0; i < ROWS; i++) {
+            board[i] = java.util.Arrays.copyOf(newBoard[i], COLS);
+        }
+        isRedTurn = redToMove;
+        fireReset();
+    }
+    
+    /**
+     * Jump to another position of the same game, e.g. a replay ply. Listeners get only the
+     * squares that changed, so renderers can patch instead of rebuilding.
+     * @param history moves leading to the new position (becomes getMoves())
+     */
+    public void seek(char[][] newBoard, boolean redToMove, List<Move> history) {
+        if (newBoard == null || newBoard.length != ROWS) {
+            return;
+        }
+        List<Move> newHistory = new ArrayList<>(history);  // history may be a view of getMoves()
+        int[] changed = new int[ROWS * COLS];
+        int count = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                char piece = newBoard[row][col] == '\0' ? ' ' : newBoard[row][col];
+                if (board[row][col] != piece) {
+                    board[row][col] = piece;
+                    changed[count++] = row * COLS + col;
+                }
+            }
+        }
+        isRedTurn = redToMove;
+        moves.clear();
+        moves.addAll(newHistory);
+        hash = computeHash();
+        int[] changedSquares = java.util.Arrays.copyOf(changed, count);
+        for (Listener listener : listeners) {
+            listener.onSeek(this, changedSquares);
+        }
+    }
+    
+    /**
+     * Get current board (live array - callers must not modify it, use copyBoard() for scratch work)
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+    
+    /**
+     * Copy of the current board, safe to modify
+     */
+    public char[][] copyBoard() {
+        char[][] copy = new char[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+    
+    /**
+     * Piece char at (row, col), ' ' if empty or off the board
+     */
+    public char pieceAt(int row, int col) {
+        if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
+            return ' ';
+        }
+        return board[row][col];
+    }
+    
+    /**
+     * Check if a move is valid before sending to server
+     * This provides client-side validation for better UX
+     */
+    public boolean isValidMove(int fromRow, int fromCol, int toRow, int toCol) {
+        // Check if it's player's turn
+        if (playerIsRed != isRedTurn) {
+            return false; // Not player's turn
+        }
+        
+        // Check if piece belongs to player
+        char piece = board[fromRow][fromCol];
+        if (piece == ' ' || piece == '\0') {
+            return false; // No piece at source
+        }
+        
+        boolean pieceIsRed = Character.isUpperCase(piece) && Character.isLetter(piece);
+        if (playerIsRed && !pieceIsRed) {
+            return false; // Player is red but trying to move black piece
+        }
+        if (!playerIsRed && pieceIsRed) {
+            return false; // Player is black but trying to move red piece
+        }
+        
+        // Validate move according to Chinese Chess rules
+        return MoveValidator.isValidMove(board, fromRow, fromCol, toRow, toCol);
+    }
+    
+    /**
+     * Apply move locally and notify listeners
+     * Note: Server will validate and send confirmation
+     * @return the applied move, or null if out of bounds / no piece at source
+     */
+    public Move applyMove(int fromRow, int fromCol, int toRow, int toCol) {
+        if (fromRow >= 0 && fromRow < 10 && fromCol >= 0 && fromCol < 9 &&
+            toRow >= 0 && toRow < 10 && toCol >= 0 && toCol < 9) {
+            char piece = board[fromRow][fromCol];
+            if (piece == ' ' || piece == '\0') {
+                return null;
+            }
+            char captured = board[toRow][toCol];
+            if (captured == '\0') {
+                captured = ' ';
+            }
+            
+            // Incremental hash update
+            hash ^= key(piece, fromRow, fromCol);
+            if (captured != ' ') {
+                hash ^= key(captured, toRow, toCol);
+            }
+            hash ^= key(piece, toRow, toCol);
+            hash ^= BLACK_TO_MOVE_KEY;
+            
+            board[toRow][toCol] = piece;
+            board[fromRow][fromCol] = ' ';
+            isRedTurn = !isRedTurn; // Switch turn
+            
+            Move move = new Move(fromRow, fromCol, toRow, toCol, piece, captured, hash);
+            moves.add(move);
+            for (Listener listener : listeners) {
+                listener.onMove(this, move);
+            }
+            return move;
+        }
+        return null;
+    }
+    
+    /**
+     * Moves applied since the last reset, oldest first
+     */
+    public List<Move> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
+    
+    /**
+     * Pieces captured by one side since the last reset (board chars of the captured pieces)
+     */
+    public List<Character> getCapturedBy(boolean red) {
+        List<Character> captured = new ArrayList<>();
+        for (Move move : moves) {
+            if (move.isCapture() && move.isRed() == red) {
+                captured.add(move.captured);
+            }
+        }
+        return captured;
+    }
+    
+    /**
+     * Zobrist hash of the current position (pieces + side to move)
+     */
+    public long getHash() {
+        return hash;
+    }
+    
+    /**
+     * Set player side (red or black)
+     */
+    public void setPlayerIsRed(boolean isRed) {
+        this.playerIsRed = isRed;
+    }
+    
+    public boolean isPlayerRed() {
+        return playerIsRed;
+    }
+    
+    /**
+     * Set current turn
+     */
+    public void setRedTurn(boolean isRedTurn) {
+        if (this.isRedTurn != isRedTurn) {
+            this.isRedTurn = isRedTurn;
+            hash ^= BLACK_TO_MOVE_KEY;
+        }
+    }
+    
+    public boolean isRedTurn() {
+        return isRedTurn;
+    }
+    
+    /**
+     * Check if it's player's turn
+     */
+    public boolean isPlayerTurn() {
+        return playerIsRed == isRedTurn;
+    }
+    
+    private void fireReset() {
+        moves.clear();
+        hash = computeHash();
+        for (Listener listener : listeners) {
+            listener.onReset(this);
+        }
+    }
+    
+    private long computeHash() {
+        long h = isRedTurn ? 0L : BLACK_TO_MOVE_KEY;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                char piece = board[row][col];
+                if (piece != ' ' && piece != '\0') {
+                    h ^= key(piece, row, col);
+                }
+            }
+        }
+        return h;
+    }
+    
+    private static long key(char piece, int row, int col) {
+        int kind = PIECE_CHARS.indexOf(piece);
+        return kind < 0 ? 0L : PIECE_KEYS[kind][row * COLS + col];
+    }
+    
+    /**
+     * Zobrist key of {@code piece} on {@code square} (row * 9 + col), shared with the search engine
+     * so its hashes equal getHash() for the same position.
+     */
+    static long pieceKey(char piece, int square) {
+        return key(piece, square / COLS, square % COLS);
+    }
+    
+    static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+}
@@ -0,0 +1,171 @@
+package application.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only opening book built from the game archive by {@link OpeningBookBuilder}.
+ *
+ * The file is a sorted array of fixed-size records, memory-mapped and searched in place: a
+ * lookup is a binary search over the mapping, so it takes microseconds and the book costs no
+ * heap however large it is. Safe to share between threads.
+ *
+ * File layout (big-endian):
+ *   header  magic "XQBK" (int), version (int), record count (int), max ply (int)
+ *   record  Zobrist key (long, GameState.getHash() of the position before the move),
+ *           move (short, from | to << 7 with square = row * 9 + col),
+ *           weight (unsigned short), wins, draws, losses (int each, for the side playing the move)
+ *   Records are sorted by key (signed), then by weight descending.
+ */
+public final class OpeningBook {
+
+    static final int MAGIC = 0x5851424B; // "XQBK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    /**
+     * One book move. Coordinates as in GameState (row 0 = red home).
+     */
+    public static final class Entry {
+        public final int fromRow;
+        public final int fromCol;
+        public final int toRow;
+        public final int toCol;
+        public final int weight;
+        public final int wins;
+        public final int draws;
+        public final int losses;
+
+        Entry(int move, int weight, int wins, int draws, int losses) {
+            int from = move & 0x7F;
+            int to = move >>> 7 & 0x7F;
+            this.fromRow = from / 9;
+            this.fromCol = from % 9;
+            this.toRow = to / 9;
+            this.toCol = to % 9;
+            this.weight = weight;
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+        }
+
+        public int games() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * Score of the move for the side playing it, 0..1 (draw = half), or NaN without games
+         */
+        public double score() {
+            int games = games();
+            return games == 0 ? Double.NaN : (wins + draws * 0.5) / games;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + fromRow + "," + fromCol + ")->(" + toRow + "," + toCol + ") weight=" + weight
+                    + " +" + wins + " =" + draws + " -" + losses;
+        }
+    }
+
+    private final ByteBuffer records;
+    private final int count;
+    private final int maxPly;
+
+    private OpeningBook(ByteBuffer mapped) throws IOException {
+        if (mapped.capacity() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+            throw new IOException("Not an opening book");
+        }
+        if (mapped.getInt(4) != VERSION) {
+            throw new IOException("Unsupported opening book version " + mapped.getInt(4));
+        }
+        this.count = mapped.getInt(8);
+        this.maxPly = mapped.getInt(12);
+        if ((long) HEADER_BYTES + (long) count * RECORD_BYTES > mapped.capacity()) {
+            throw new IOException("Opening book is truncated");
+        }
+        this.records = mapped.position(HEADER_BYTES).slice();
+    }
+
+    /**
+     * Map {@code file}. The mapping outlives the file channel, which is closed here.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Opening book larger than 2 GB: " + file);
+            }
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Plies from the start the book was built with; later positions are not in it.
+     */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+    public boolean contains(long key) {
+        return firstIndex(key) >= 0;
+    }
+
+    /**
+     * Book move with the highest weight for the position, or null if it is not in the book.
+     */
+    public Entry bestMove(long key) {
+        int index = firstIndex(key);
+        return index < 0 ? null : entryAt(index);
+    }
+
+    /**
+     * All book moves for the position, highest weight first; empty if it is not in the book.
+     */
+    public List<Entry> lookup(long key) {
+        List<Entry> entries = new ArrayList<>();
+        int index = firstIndex(key);
+        if (index >= 0) {
+            for (; index < count && keyAt(index) == key; index++) {
+                entries.add(entryAt(index));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @return index of the first record for {@code key}, or -1
+     */
+    private int firstIndex(long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < count && keyAt(low) == key ? low : -1;
+    }
+
+    private long keyAt(int index) {
+        return records.getLong(index * RECORD_BYTES);
+    }
+
+    private Entry entryAt(int index) {
+        int offset = index * RECORD_BYTES;
+        return new Entry(records.getShort(offset + 8) & 0xFFFF, records.getShort(offset + 10) & 0xFFFF,
+                records.getInt(offset + 12), records.getInt(offset + 16), records.getInt(offset + 20));
+    }
+}
@@ -0,0 +1,193 @@
+package application.game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Builds an {@link OpeningBook} file from archived games.
+ *
+ * Games are in the replay format the server sends for REPLAY_REQUEST (and InfoHandler parses):
+ * a "game" object with "result" (red_win / black_win / draw) and "moves", each move with from_x,
+ * from_y, to_x, to_y in backend coordinates (x = col, y = row counted from black's side).
+ * Input files may hold one such response, a game object, an array of either, or one per line
+ * (.jsonl). Every position of the first plies of each game counts the move played from it,
+ * with the game result for the side that played it. Games stop counting at the first move
+ * that is not legal in the replayed position.
+ *
+ * Settings (system properties):
+ *   -Dbook.plies=24        plies from the start to include
+ *   -Dbook.minGames=2      drop moves played in fewer games
+ *
+ * Run: java -cp core.jar:gson.jar application.game.OpeningBookBuilder book.xqb archive-dir-or-files...
+ */
+public class OpeningBookBuilder {
+
+    private final int maxPly;
+    private final int minGames;
+    // (position key, move) -> {wins, draws, losses} for the side playing the move
+    private final Map<Long, Map<Integer, int[]>> stats = new HashMap<>();
+    private int games;
+    private int skipped;
+
+    public OpeningBookBuilder(int maxPly, int minGames) {
+        this.maxPly = maxPly;
+        this.minGames = minGames;
+    }
+
+    /**
+     * Add one game (the "game" object of a replay response).
+     * @return false if the game has no result or no moves and was skipped
+     */
+    public boolean addGame(JsonObject game) {
+        int outcome = redOutcome(game.has("result") && !game.get("result").isJsonNull() ? game.get("result").getAsString() : "");
+        if (outcome == Integer.MIN_VALUE || !game.has("moves") || !game.get("moves").isJsonArray()) {
+            skipped++;
+            return false;
+        }
+        GameState state = new GameState();
+        state.initializeBoard();
+        JsonArray moves = game.getAsJsonArray("moves");
+        for (int ply = 0; ply < Math.min(maxPly, moves.size()); ply++) {
+            JsonObject move = moves.get(ply).getAsJsonObject();
+            int fromCol = move.get("from_x").getAsInt();
+            int fromRow = 9 - move.get("from_y").getAsInt();
+            int toCol = move.get("to_x").getAsInt();
+            int toRow = 9 - move.get("to_y").getAsInt();
+            if (!isLegal(state, fromRow, fromCol, toRow, toCol)) {
+                break;
+            }
+            int[] wdl = stats.computeIfAbsent(state.getHash(), k -> new HashMap<>())
+                    .computeIfAbsent((fromRow * 9 + fromCol) | (toRow * 9 + toCol) << 7, k -> new int[3]);
+            // Outcome for the side to move: red's result, flipped on black's turn
+            int result = state.isRedTurn() ? outcome : -outcome;
+            wdl[result > 0 ? 0 : result == 0 ? 1 : 2]++;
+            state.applyMove(fromRow, fromCol, toRow, toCol);
+        }
+        games++;
+        return true;
+    }
+
+    private static boolean isLegal(GameState state, int fromRow, int fromCol, int toRow, int toCol) {
+        if (fromRow < 0 || fromRow > 9 || fromCol < 0 || fromCol > 8 || toRow < 0 || toRow > 9 || toCol < 0 || toCol > 8) {
+            return false;
+        }
+        char piece = state.pieceAt(fromRow, fromCol);
+        return Character.isLetter(piece) && Character.isUpperCase(piece) == state.isRedTurn()
+                && MoveValidator.isValidMove(state.getBoard(), fromRow, fromCol, toRow, toCol);
+    }
+
+    // 1 red won, 0 draw, -1 black won, MIN_VALUE unknown
+    private static int redOutcome(String result) {
+        switch (result) {
+            case "red_win": return 1;
+            case "black_win": return -1;
+            case "draw": return 0;
+            default: return Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Add every game in {@code file} (see the class comment for the accepted shapes).
+     */
+    public void addFile(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".jsonl")) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    addJson(JsonParser.parseString(line));
+                }
+            }
+        } else {
+            addJson(JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void addJson(JsonElement json) {
+        if (json.isJsonArray()) {
+            for (JsonElement element : json.getAsJsonArray()) {
+                addJson(element);
+            }
+        } else if (json.isJsonObject()) {
+            JsonObject object = json.getAsJsonObject();
+            addGame(object.has("game") && object.get("game").isJsonObject() ? object.getAsJsonObject("game") : object);
+        }
+    }
+
+    /**
+     * Write the book: records sorted by key, then weight (2 x wins + draws + 1) descending.
+     * @return number of records written
+     */
+    public int write(Path output) throws IOException {
+        List<long[]> records = new ArrayList<>(); // {key, move, weight, wins, draws, losses}
+        for (Map.Entry<Long, Map<Integer, int[]>> position : stats.entrySet()) {
+            for (Map.Entry<Integer, int[]> move : position.getValue().entrySet()) {
+                int[] wdl = move.getValue();
+                if (wdl[0] + wdl[1] + wdl[2] < minGames) {
+                    continue;
+                }
+                // +1 so a move that only lost is still listed (weight 0 would read as unplayable)
+                long weight = Math.min(0xFFFF, 2L * wdl[0] + wdl[1] + 1);
+                records.add(new long[] {position.getKey(), move.getKey(), weight, wdl[0], wdl[1], wdl[2]});
+            }
+        }
+        records.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(b[2], a[2]));
+
+        try (OutputStream file = Files.newOutputStream(output);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(records.size());
+            out.writeInt(maxPly);
+            for (long[] r : records) {
+                out.writeLong(r[0]);
+                out.writeShort((int) r[1]);
+                out.writeShort((int) r[2]);
+                out.writeInt((int) r[3]);
+                out.writeInt((int) r[4]);
+                out.writeInt((int) r[5]);
+            }
+        }
+        return records.size();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: OpeningBookBuilder <output.xqb> <replay json file or directory>...");
+            System.exit(2);
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(Integer.getInteger("book.plies", 24), Integer.getInteger("book.minGames", 2));
+        for (int i = 1; i < args.length; i++) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(Paths.get(args[i]))) {
+                files = walk.filter(Files::isRegularFile)
+                        .filter(p -> p.toString().endsWith(".json") || p.toString().endsWith(".jsonl"))
+                        .sorted().toList();
+            }
+            for (Path file : files) {
+                try {
+                    builder.addFile(file);
+                } catch (RuntimeException e) {
+                    System.err.println("[OpeningBookBuilder] Skipping " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        int records = builder.write(Paths.get(args[0]));
+        System.out.println("[OpeningBookBuilder] " + builder.games + " games (" + builder.skipped + " skipped without result), "
+                + builder.stats.size() + " positions, " + records + " records written to " + args[0]);
+    }
+}
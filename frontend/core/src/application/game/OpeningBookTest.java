@@ -0,0 +1,134 @@
+package application.game;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Test suite for OpeningBookBuilder and OpeningBook
+ * Builds a book from replay-format games, maps it back and checks the lookups
+ */
+public class OpeningBookTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    // Moves in frontend coordinates (row 0 = red home)
+    private static final int[] CENTRAL_CANNON = {2, 7, 2, 4};
+    private static final int[] SCREEN_HORSE = {9, 7, 7, 6};
+    private static final int[] ELEPHANT = {0, 2, 2, 4};
+    private static final int[] PAWN = {6, 2, 5, 2};
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== OpeningBook Test Suite ===\n");
+
+        testRoundTrip();
+
+        System.out.println("\n=== Test Results ===");
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n✓ All tests passed!");
+        } else {
+            System.out.println("\n✗ Some tests failed!");
+        }
+    }
+
+    private static void assertTest(boolean condition, String testName) {
+        if (condition) {
+            System.out.println("✓ " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("✗ " + testName);
+            testsFailed++;
+        }
+    }
+
+    private static void testRoundTrip() throws Exception {
+        System.out.println("\n--- Testing Build / Map / Lookup Round-Trip ---");
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(4, 2);
+        // Central cannon: 3 games, red wins 2, 1 draw; always answered with the screen horse
+        assertTest(builder.addGame(game("red_win", CENTRAL_CANNON, SCREEN_HORSE)), "Builder: game accepted");
+        builder.addGame(game("red_win", CENTRAL_CANNON, SCREEN_HORSE));
+        builder.addGame(game("draw", CENTRAL_CANNON, SCREEN_HORSE));
+        // Elephant: 2 games, both lost by red
+        builder.addGame(game("black_win", ELEPHANT, PAWN));
+        builder.addGame(game("black_win", ELEPHANT, PAWN));
+        // Played once only: below minGames
+        builder.addGame(game("red_win", new int[] {3, 6, 4, 6}));
+        // No result: skipped
+        assertTest(!builder.addGame(game("", CENTRAL_CANNON)), "Builder: game without result skipped");
+        // Second move illegal (red moves twice): only the first move counts
+        builder.addGame(game("draw", ELEPHANT, CENTRAL_CANNON));
+
+        Path file = Files.createTempFile("openings", ".xqb");
+        try {
+            int written = builder.write(file);
+            // Start: cannon, elephant; after the cannon: horse; after the elephant: pawn
+            assertTest(written == 4, "Builder: 4 records written, got " + written);
+
+            OpeningBook book = OpeningBook.open(file);
+            assertTest(book.size() == 4, "Book: size");
+            assertTest(book.getMaxPly() == 4, "Book: max ply");
+
+            GameState state = new GameState();
+            state.initializeBoard();
+            long start = state.getHash();
+            assertTest(book.contains(start), "Book: start position is in the book");
+
+            OpeningBook.Entry best = book.bestMove(start);
+            assertTest(best != null && isMove(best, CENTRAL_CANNON), "Book: best move is the central cannon, got " + best);
+            assertTest(best != null && best.wins == 2 && best.draws == 1 && best.losses == 0 && best.weight == 6,
+                    "Book: central cannon +2 =1 -0, weight 2 x 2 + 1 + 1");
+
+            List<OpeningBook.Entry> moves = book.lookup(start);
+            assertTest(moves.size() == 2, "Book: two moves from the start (one below minGames), got " + moves.size());
+            assertTest(moves.size() == 2 && isMove(moves.get(1), ELEPHANT) && moves.get(1).games() == 3
+                    && moves.get(1).losses == 2 && moves.get(1).draws == 1, "Book: elephant second, +0 =1 -2");
+            assertTest(moves.size() == 2 && moves.get(0).weight >= moves.get(1).weight, "Book: highest weight first");
+
+            state.applyMove(CENTRAL_CANNON[0], CENTRAL_CANNON[1], CENTRAL_CANNON[2], CENTRAL_CANNON[3]);
+            OpeningBook.Entry reply = book.bestMove(state.getHash());
+            assertTest(reply != null && isMove(reply, SCREEN_HORSE) && reply.losses == 2 && reply.draws == 1,
+                    "Book: black's reply counted from black's side, got " + reply);
+
+            state.applyMove(SCREEN_HORSE[0], SCREEN_HORSE[1], SCREEN_HORSE[2], SCREEN_HORSE[3]);
+            assertTest(book.bestMove(state.getHash()) == null && book.lookup(state.getHash()).isEmpty(),
+                    "Book: position out of the book");
+            assertTest(book.bestMove(start ^ 1) == null, "Book: unknown key");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean isMove(OpeningBook.Entry entry, int[] move) {
+        return entry.fromRow == move[0] && entry.fromCol == move[1] && entry.toRow == move[2] && entry.toCol == move[3];
+    }
+
+    /**
+     * Game object as in a REPLAY_REQUEST response (backend coordinates: y counted from black's side)
+     */
+    private static JsonObject game(String result, int[]... moves) {
+        JsonObject game = new JsonObject();
+        if (!result.isEmpty()) {
+            game.addProperty("result", result);
+        }
+        JsonArray array = new JsonArray();
+        for (int[] m : moves) {
+            JsonObject move = new JsonObject();
+            move.addProperty("from_x", m[1]);
+            move.addProperty("from_y", 9 - m[0]);
+            move.addProperty("to_x", m[3]);
+            move.addProperty("to_y", 9 - m[2]);
+            array.add(move);
+        }
+        game.add("moves", array);
+        return game;
+    }
+}
@@ -0,0 +1,112 @@
+package application.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed positions of a finished game, for replay seeking.
+ *
+ * Built once from the starting position and the move list: a full keyframe of the
+ * board is kept every {@link #KEYFRAME_INTERVAL} plies, and the moves themselves
+ * (with moved and captured piece) serve as deltas in between. Any ply is rebuilt from
+ * the nearest earlier keyframe plus at most KEYFRAME_INTERVAL - 1 moves, independent
+ * of game length. {@link #seek(GameState, int)} hands the result to
+ * {@link GameState#seek}, which reports only the squares that changed.
+ */
+public final class ReplayTimeline {
+    
+    public static final int KEYFRAME_INTERVAL = 16;
+    
+    private static final int ROWS = 10;
+    private static final int COLS = 9;
+    
+    private final boolean redFirst;
+    private final List<GameState.Move> moves;
+    private final List<char[]> keyframes = new ArrayList<>();  // flattened row * 9 + col
+    
+    /**
+     * @param moves {fromRow, fromCol, toRow, toCol} in frontend coordinates. Building stops at
+     *              the first move with no piece on its source square (a corrupt record).
+     */
+    public ReplayTimeline(char[][] initial, boolean redToMove, List<int[]> moves) {
+        this.redFirst = redToMove;
+        GameState scratch = new GameState();
+        scratch.resetTo(initial, redToMove);
+        keyframes.add(flatten(scratch.getBoard()));
+        for (int[] m : moves) {
+            if (scratch.applyMove(m[0], m[1], m[2], m[3]) == null) {
+                System.err.println("[ReplayTimeline] No piece at (" + m[0] + "," + m[1] + ") on ply "
+                    + (scratch.getMoves().size() + 1) + ", timeline truncated");
+                break;
+            }
+            if (scratch.getMoves().size() % KEYFRAME_INTERVAL == 0) {
+                keyframes.add(flatten(scratch.getBoard()));
+            }
+        }
+        this.moves = Collections.unmodifiableList(new ArrayList<>(scratch.getMoves()));
+    }
+    
+    /**
+     * Number of plies in the timeline (positions are 0..getPlyCount())
+     */
+    public int getPlyCount() {
+        return moves.size();
+    }
+    
+    /**
+     * Move that leads from ply - 1 to ply (ply is 1-based)
+     */
+    public GameState.Move getMove(int ply) {
+        return moves.get(ply - 1);
+    }
+    
+    /**
+     * Board after the given number of plies (0 = starting position), as a fresh array
+     */
+    public char[][] positionAt(int ply) {
+        ply = clamp(ply);
+        int keyframe = ply / KEYFRAME_INTERVAL;
+        char[] squares = keyframes.get(keyframe).clone();
+        for (int i = keyframe * KEYFRAME_INTERVAL; i < ply; i++) {
+            GameState.Move move = moves.get(i);
+            squares[move.fromRow * COLS + move.fromCol] = ' ';
+            squares[move.toRow * COLS + move.toCol] = move.piece;
+        }
+        char[][] board = new char[ROWS][COLS];
+        for (int row = 0; row < ROWS; row++) {
+            System.arraycopy(squares, row * COLS, board[row], 0, COLS);
+        }
+        return board;
+    }
+    
+    public boolean isRedToMoveAt(int ply) {
+        return redFirst == (clamp(ply) % 2 == 0);
+    }
+    
+    /**
+     * Moves played up to the given ply (captured pieces, history)
+     */
+    public List<GameState.Move> movesUpTo(int ply) {
+        return moves.subList(0, clamp(ply));
+    }
+    
+    /**
+     * Put the target model at the given ply; listeners receive only the changed squares
+     */
+    public void seek(GameState target, int ply) {
+        target.seek(positionAt(ply), isRedToMoveAt(ply), movesUpTo(ply));
+    }
+    
+    private int clamp(int ply) {
+        return Math.max(0, Math.min(ply, moves.size()));
+    }
+    
+    private static char[] flatten(char[][] board) {
+        char[] squares = new char[ROWS * COLS];
+        for (int row = 0; row < ROWS; row++) {
+            System.arraycopy(board[row], 0, squares, row * COLS, COLS);
+        }
+        return squares;
+    }
+}
@@ -0,0 +1,593 @@
+package application.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side Xiangqi engine for hints and analysis, so a hint does not need a SUGGEST_MOVE
+ * round trip to the server.
+ *
+ * Alpha-beta (principal variation search) with iterative deepening, check extension,
+ * quiescence search on captures, a transposition table, killer and history move ordering,
+ * and a time budget: a new iteration is not started after half the budget, and the search
+ * is stopped at the budget, keeping the best move of the last completed iteration.
+ *
+ * Rules are those of MoveValidator / GameEndChecker: checkmate loses, having no legal move
+ * without being in check is a draw, a repeated position scores as a draw.
+ *
+ * Runs single-threaded, or as a Lazy SMP search on several threads sharing the lock-free
+ * transposition table. One search at a time per instance; {@link #stop()} may be called from
+ * any thread.
+ */
+public class SearchEngine {
+
+    static final int MATE = 30000;
+    static final int MATE_BOUND = MATE - 1000; // scores beyond this are mates in N
+    static final int MAX_PLY = 64;
+    private static final int INFINITY = MATE + 1;
+    private static final int MAX_MOVES = 128;
+    private static final int CHECK_EVERY_NODES = 2048;
+
+    /**
+     * Best move found and how it was found. Coordinates as in GameState (row 0 = red home).
+     */
+    public static final class Result {
+        public final int fromRow;
+        public final int fromCol;
+        public final int toRow;
+        public final int toCol;
+        /** Centipawns from the side to move's point of view; +/- (30000 - plies) for mates */
+        public final int score;
+        public final int depth;
+        public final long nodes;
+        public final long elapsedMs;
+
+        Result(int move, int score, int depth, long nodes, long elapsedMs) {
+            int from = SearchPosition.from(move);
+            int to = SearchPosition.to(move);
+            this.fromRow = from / SearchPosition.COLS;
+            this.fromCol = from % SearchPosition.COLS;
+            this.toRow = to / SearchPosition.COLS;
+            this.toCol = to % SearchPosition.COLS;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public long nodesPerSecond() {
+            return nodes * 1000 / Math.max(1, elapsedMs);
+        }
+
+        public boolean isMate() {
+            return Math.abs(score) > MATE_BOUND;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + fromRow + "," + fromCol + ")->(" + toRow + "," + toCol + ") score=" + score
+                    + " depth=" + depth + " nodes=" + nodes + " " + elapsedMs + "ms";
+        }
+    }
+
+    private final TranspositionTable table;
+    private final Worker[] workers;
+    private ExecutorService helpers;
+
+    // stop() bumps the generation; a search runs while the generation it started with is current
+    private final AtomicLong generation = new AtomicLong();
+    private long searchGeneration;
+    private volatile boolean timeUp;
+    private long deadlineNanos;
+
+    /**
+     * Single-threaded engine with a 16 MB transposition table.
+     */
+    public SearchEngine() {
+        this(16, 1);
+    }
+
+    /**
+     * @param threads search threads; more than one runs a Lazy SMP search, where helper threads
+     *                search the same position and share results through the transposition table
+     */
+    public SearchEngine(int tableMegabytes, int threads) {
+        this.table = new TranspositionTable(tableMegabytes);
+        this.workers = new Worker[Math.max(1, threads)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Best move for the side to move in {@code state}, searching at most {@code timeBudgetMs}.
+     * Earlier positions of the game count for repetitions. Runs on the calling thread, which
+     * must own {@code state}; to search in the background, snapshot with copyBoard() and
+     * {@link #earlierHashes(GameState)} first.
+     * @return null if the side to move has no legal move
+     */
+    public Result search(GameState state, long timeBudgetMs) {
+        return search(state.copyBoard(), state.isRedTurn(), earlierHashes(state), timeBudgetMs);
+    }
+
+    /**
+     * Hashes of the positions before the current one of {@code state}, oldest first.
+     */
+    public static long[] earlierHashes(GameState state) {
+        List<GameState.Move> moves = state.getMoves();
+        // The last move's hashAfter is the current position
+        long[] earlier = new long[Math.max(0, moves.size() - 1)];
+        for (int i = 0; i < earlier.length; i++) {
+            earlier[i] = moves.get(i).hashAfter;
+        }
+        return earlier;
+    }
+
+    public Result search(char[][] board, boolean redToMove, long[] earlierHashes, long timeBudgetMs) {
+        return search(board, redToMove, earlierHashes, timeBudgetMs, MAX_PLY);
+    }
+
+    /**
+     * Best move for {@code board} (GameState layout, not modified).
+     *
+     * With several threads, the calling thread runs the main search and decides when to stop;
+     * helpers run their own iterative deepening on the same position (every other helper one
+     * ply deeper) and are stopped and waited for before this returns. The reported move is from
+     * the deepest completed iteration of any thread.
+     * @param earlierHashes hashes of the positions before this one, oldest first; may be null
+     * @param maxDepth iteration limit in plies (the time budget usually ends the search first)
+     * @return null if the side to move has no legal move
+     */
+    public Result search(char[][] board, boolean redToMove, long[] earlierHashes, long timeBudgetMs, int maxDepth) {
+        // Captured before waiting for the monitor: a stop() while queued behind another search still counts
+        return search(board, redToMove, earlierHashes, timeBudgetMs, maxDepth, generation.get());
+    }
+
+    /**
+     * As above, but only until {@link #stop()} is called after {@link #generation()} returned
+     * {@code startGeneration}. A caller that reads the generation when it decides to search, before
+     * handing the work to another thread, also cancels searches stopped before they started.
+     */
+    public Result search(char[][] board, boolean redToMove, long[] earlierHashes, long timeBudgetMs, int maxDepth, long startGeneration) {
+        synchronized (this) {
+            return run(board, redToMove, earlierHashes, timeBudgetMs, maxDepth, startGeneration);
+        }
+    }
+
+    private Result run(char[][] board, boolean redToMove, long[] earlierHashes, long timeBudgetMs, int maxDepth, long startGeneration) {
+        long start = System.nanoTime();
+        deadlineNanos = start + Math.max(1, timeBudgetMs) * 1_000_000L;
+        searchGeneration = startGeneration;
+        timeUp = false;
+        int depthLimit = Math.max(1, Math.min(maxDepth, MAX_PLY));
+
+        Worker main = workers[0];
+        main.reset(board, redToMove, earlierHashes);
+        int[] rootMoves = main.legalRootMoves();
+        if (rootMoves.length == 0) {
+            return null;
+        }
+        if (rootMoves.length == 1) {
+            return new Result(rootMoves[0], 0, 0, 0, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 1; i < workers.length; i++) {
+            Worker helper = workers[i];
+            helper.reset(board, redToMove, earlierHashes);
+            running.add(helpers().submit(() -> helper.iterate(rootMoves.clone(), 1 + helper.id % 2, depthLimit, Long.MAX_VALUE)));
+        }
+        try {
+            main.iterate(rootMoves, 1, depthLimit, start + (deadlineNanos - start) / 2);
+        } finally {
+            timeUp = true;
+            for (Future<?> helper : running) {
+                try {
+                    helper.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("[SearchEngine] Helper thread failed: " + e.getCause());
+                }
+            }
+        }
+
+        Worker best = main;
+        long nodes = 0;
+        for (Worker worker : workers) {
+            nodes += worker.nodes;
+            if (worker.completedDepth > best.completedDepth) {
+                best = worker;
+            }
+        }
+        return new Result(best.bestMove, best.bestScore, best.completedDepth, nodes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Stop the running search, including its helper threads, and any search that is waiting to
+     * start; a stopped search returns the best move of its last completed iteration. Call it when
+     * the position changes under a background search.
+     */
+    public void stop() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Current stop generation, see {@link #search(char[][], boolean, long[], long, int, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    private boolean stopped() {
+        return timeUp || generation.get() != searchGeneration;
+    }
+
+    /**
+     * Forget previous searches (transposition table and move ordering statistics).
+     */
+    public synchronized void clear() {
+        table.clear();
+        for (Worker worker : workers) {
+            for (int[] row : worker.history) {
+                Arrays.fill(row, 0);
+            }
+        }
+    }
+
+    /**
+     * Stop the helper threads of a multi-threaded engine. A later search starts them again.
+     */
+    public synchronized void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+            helpers = null;
+        }
+    }
+
+    private ExecutorService helpers() {
+        if (helpers == null) {
+            AtomicInteger count = new AtomicInteger();
+            helpers = Executors.newFixedThreadPool(workers.length - 1, r -> {
+                Thread t = new Thread(r, "search-helper-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return helpers;
+    }
+
+    /**
+     * One search thread: its own board, move stacks and ordering statistics.
+     * The transposition table and the stop flag are shared.
+     */
+    private final class Worker {
+        final int id;
+        private final SearchPosition position = new SearchPosition();
+        private final int[][] moveStack = new int[MAX_PLY + 16][MAX_MOVES];
+        private final int[][] scoreStack = new int[MAX_PLY + 16][MAX_MOVES];
+        private final int[][] killers = new int[MAX_PLY + 16][2];
+        final int[][] history = new int[SearchPosition.SQUARES][SearchPosition.SQUARES];
+
+        long nodes;
+        int bestMove;
+        int bestScore;
+        int completedDepth;
+
+        Worker(int id) {
+            this.id = id;
+        }
+
+        void reset(char[][] board, boolean redToMove, long[] earlierHashes) {
+            position.load(board, redToMove, earlierHashes);
+            nodes = 0;
+            bestMove = 0;
+            bestScore = 0;
+            completedDepth = 0;
+            ageHistory();
+        }
+
+        /**
+         * Iterative deepening until stopped, {@code maxDepth} is done, a mate is found, or an
+         * iteration completes after {@code noNewIterationAfter} (System.nanoTime()).
+         */
+        void iterate(int[] rootMoves, int firstDepth, int maxDepth, long noNewIterationAfter) {
+            int[] rootScores = new int[rootMoves.length];
+            bestMove = rootMoves[0];
+            for (int depth = firstDepth; depth <= maxDepth; depth++) {
+                int score = searchRoot(rootMoves, rootScores, depth);
+                if (stopped()) {
+                    break;
+                }
+                bestMove = rootMoves[0];
+                bestScore = score;
+                completedDepth = depth;
+                // A forced mate will not change with more depth; another iteration would likely overrun the budget
+                if (Math.abs(score) > MATE_BOUND || System.nanoTime() > noNewIterationAfter) {
+                    break;
+                }
+            }
+        }
+
+        private int[] legalRootMoves() {
+            int[] moves = moveStack[0];
+            int count = position.generate(moves, false);
+            int legal = 0;
+            int[] result = new int[count];
+            for (int i = 0; i < count; i++) {
+                int captured = position.make(moves[i]);
+                if (!position.inCheck(position.side ^ 1)) {
+                    result[legal++] = moves[i];
+                }
+                position.unmake(moves[i], captured);
+            }
+            return Arrays.copyOf(result, legal);
+        }
+
+        /**
+         * One iteration over the root moves; reorders {@code moves} so the best one comes first.
+         */
+        private int searchRoot(int[] moves, int[] scores, int depth) {
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            for (int i = 0; i < moves.length; i++) {
+                int move = moves[i];
+                int captured = position.make(move);
+                int score;
+                if (i == 0) {
+                    score = -search(depth - 1, -beta, -alpha, 1);
+                } else {
+                    score = -search(depth - 1, -alpha - 1, -alpha, 1);
+                    if (score > alpha && !stopped()) {
+                        score = -search(depth - 1, -beta, -alpha, 1);
+                    }
+                }
+                position.unmake(move, captured);
+                if (stopped()) {
+                    return alpha;
+                }
+                scores[i] = score;
+                if (score > alpha) {
+                    alpha = score;
+                    // Move to the front, keeping the previous order of the others
+                    System.arraycopy(moves, 0, moves, 1, i);
+                    System.arraycopy(scores, 0, scores, 1, i);
+                    moves[0] = move;
+                    scores[0] = score;
+                }
+            }
+            table.store(position.hash, moves[0], alpha, depth, TranspositionTable.EXACT);
+            return alpha;
+        }
+
+        private int search(int depth, int alpha, int beta, int ply) {
+            if ((++nodes & (CHECK_EVERY_NODES - 1)) == 0 && System.nanoTime() > deadlineNanos) {
+                timeUp = true;
+            }
+            if (stopped()) {
+                return 0;
+            }
+            if (!position.hasKing(position.side)) {
+                return -MATE + ply;
+            }
+            if (position.isRepetition()) {
+                return 0;
+            }
+            boolean inCheck = position.inCheck(position.side);
+            if (inCheck && ply < MAX_PLY) {
+                depth++;
+            }
+            if (depth <= 0 || ply >= MAX_PLY) {
+                return quiesce(alpha, beta, ply);
+            }
+
+            // Mate distance pruning: no line from here can beat a mate already found closer to the root
+            alpha = Math.max(alpha, -MATE + ply);
+            beta = Math.min(beta, MATE - ply - 1);
+            if (alpha >= beta) {
+                return alpha;
+            }
+
+            long entry = table.probe(position.hash);
+            int ttMove = 0;
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth && beta - alpha == 1) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+
+            int[] moves = moveStack[ply];
+            int[] scores = scoreStack[ply];
+            int count = position.generate(moves, false);
+            scoreMoves(moves, scores, count, ttMove, ply);
+
+            int originalAlpha = alpha;
+            int bestScore = -INFINITY;
+            int bestMove = 0;
+            int legal = 0;
+            for (int i = 0; i < count; i++) {
+                int move = pickNext(moves, scores, i, count);
+                int captured = position.make(move);
+                if (position.inCheck(position.side ^ 1)) {
+                    position.unmake(move, captured);
+                    continue;
+                }
+                legal++;
+                int score;
+                if (legal == 1) {
+                    score = -search(depth - 1, -beta, -alpha, ply + 1);
+                } else {
+                    score = -search(depth - 1, -alpha - 1, -alpha, ply + 1);
+                    if (score > alpha && score < beta) {
+                        score = -search(depth - 1, -beta, -alpha, ply + 1);
+                    }
+                }
+                position.unmake(move, captured);
+                if (stopped()) {
+                    return 0;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            if (captured == SearchPosition.EMPTY) {
+                                rememberQuietCutoff(move, depth, ply);
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (legal == 0) {
+                return inCheck ? -MATE + ply : 0;
+            }
+            int bound = bestScore >= beta ? TranspositionTable.LOWER
+                    : bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(position.hash, bestMove, toTable(bestScore, ply), depth, bound);
+            return bestScore;
+        }
+
+        /**
+         * Captures only, until the position is quiet; the side to move may always stand pat.
+         */
+        private int quiesce(int alpha, int beta, int ply) {
+            if ((++nodes & (CHECK_EVERY_NODES - 1)) == 0 && System.nanoTime() > deadlineNanos) {
+                timeUp = true;
+            }
+            if (stopped()) {
+                return 0;
+            }
+            if (!position.hasKing(position.side)) {
+                return -MATE + ply;
+            }
+            int standPat = position.evaluate();
+            if (standPat >= beta || ply >= MAX_PLY + 8) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+
+            int[] moves = moveStack[Math.min(ply, moveStack.length - 1)];
+            int[] scores = scoreStack[Math.min(ply, scoreStack.length - 1)];
+            int count = position.generate(moves, true);
+            scoreMoves(moves, scores, count, 0, ply);
+            for (int i = 0; i < count; i++) {
+                int move = pickNext(moves, scores, i, count);
+                int captured = position.make(move);
+                if (position.inCheck(position.side ^ 1)) {
+                    position.unmake(move, captured);
+                    continue;
+                }
+                int score = -quiesce(-beta, -alpha, ply + 1);
+                position.unmake(move, captured);
+                if (stopped()) {
+                    return 0;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+            return alpha;
+        }
+
+        /**
+         * Ordering: table move, captures by most valuable victim / least valuable attacker,
+         * killers, then quiet moves by history.
+         */
+        private void scoreMoves(int[] moves, int[] scores, int count, int ttMove, int ply) {
+            int[] plyKillers = killers[Math.min(ply, killers.length - 1)];
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                int victim = position.board[SearchPosition.to(move)];
+                if (move == ttMove) {
+                    scores[i] = 1 << 30;
+                } else if (victim != SearchPosition.EMPTY) {
+                    int attacker = position.board[SearchPosition.from(move)];
+                    int victimValue = SearchPosition.kind(victim) == SearchPosition.KING ? 10000 : SearchPosition.VALUE[SearchPosition.kind(victim)];
+                    scores[i] = (1 << 29) + victimValue * 16 - SearchPosition.VALUE[SearchPosition.kind(attacker)] / 16;
+                } else if (move == plyKillers[0]) {
+                    scores[i] = (1 << 28) + 1;
+                } else if (move == plyKillers[1]) {
+                    scores[i] = 1 << 28;
+                } else {
+                    scores[i] = history[SearchPosition.from(move)][SearchPosition.to(move)];
+                }
+            }
+        }
+
+        private void rememberQuietCutoff(int move, int depth, int ply) {
+            int[] plyKillers = killers[ply];
+            if (plyKillers[0] != move) {
+                plyKillers[1] = plyKillers[0];
+                plyKillers[0] = move;
+            }
+            int[] row = history[SearchPosition.from(move)];
+            row[SearchPosition.to(move)] = Math.min(row[SearchPosition.to(move)] + depth * depth, 1 << 27);
+        }
+
+        /**
+         * Keep the ordering hints of the previous search, at lower weight, and drop its killers.
+         */
+        private void ageHistory() {
+            for (int[] row : history) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 2;
+                }
+            }
+            for (int[] plyKillers : killers) {
+                plyKillers[0] = plyKillers[1] = 0;
+            }
+        }
+    }
+
+    /**
+     * Selection sort step: swap the best-scored remaining move into slot {@code i}.
+     */
+    private static int pickNext(int[] moves, int[] scores, int i, int count) {
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        int move = moves[best];
+        moves[best] = moves[i];
+        moves[i] = move;
+        int score = scores[best];
+        scores[best] = scores[i];
+        scores[i] = score;
+        return move;
+    }
+
+    // Mate scores are stored relative to the node, not the root
+    private static int toTable(int score, int ply) {
+        return score > MATE_BOUND ? score + ply : score < -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score > MATE_BOUND ? score - ply : score < -MATE_BOUND ? score + ply : score;
+    }
+}
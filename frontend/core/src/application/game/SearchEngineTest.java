@@ -0,0 +1,312 @@
+package application.game;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test suite for SearchEngine (single-threaded and Lazy SMP), SearchPosition and TranspositionTable
+ * Move generation is checked against GameEndChecker, the rules engine used by the game
+ */
+public class SearchEngineTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== SearchEngine Test Suite ===\n");
+
+        testLegalMovesMatchRulesEngine();
+        testMateInOne();
+        testWinningCapture();
+        testTranspositionTable();
+        testLazySmp();
+        testConcurrentTable();
+
+        System.out.println("\n=== Test Results ===");
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n✓ All tests passed!");
+        } else {
+            System.out.println("\n✗ Some tests failed!");
+        }
+    }
+
+    private static void assertTest(boolean condition, String testName) {
+        if (condition) {
+            System.out.println("✓ " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("✗ " + testName);
+            testsFailed++;
+        }
+    }
+
+    // ==================== Move generation ====================
+    private static void testLegalMovesMatchRulesEngine() {
+        System.out.println("\n--- Testing Legal Moves Against GameEndChecker ---");
+
+        GameState start = new GameState();
+        start.initializeBoard();
+        assertSameMoves(start.copyBoard(), true, "Start position, red to move");
+        assertSameMoves(start.copyBoard(), false, "Start position, black to move");
+
+        // Central cannon vs screen horse
+        GameState opening = new GameState();
+        opening.initializeBoard();
+        opening.applyMove(2, 7, 2, 4);
+        opening.applyMove(9, 7, 7, 6);
+        opening.applyMove(0, 7, 2, 6);
+        assertSameMoves(opening.copyBoard(), opening.isRedTurn(), "Central cannon opening");
+
+        // Red king in check from a cannon: only evasions are legal
+        char[][] check = createEmptyBoard();
+        check[0][4] = 'K';
+        check[9][3] = 'k';
+        check[5][4] = 'c';
+        check[3][4] = 'P';
+        check[2][0] = 'R';
+        check[1][2] = 'N';
+        assertSameMoves(check, true, "King in check from a cannon");
+
+        // Red knight pinned between the kings, black knight with its leg blocked
+        char[][] pins = createEmptyBoard();
+        pins[0][4] = 'K';
+        pins[9][4] = 'k';
+        pins[4][4] = 'N';
+        pins[2][3] = 'n';
+        pins[1][3] = 'A';
+        assertSameMoves(pins, true, "Pinned knight and flying general, red to move");
+        assertSameMoves(pins, false, "Knight leg blocked by an advisor, black to move");
+    }
+
+    private static void assertSameMoves(char[][] board, boolean redToMove, String testName) {
+        Set<String> expected = new TreeSet<>();
+        for (int[] m : GameEndChecker.getAllLegalMoves(board, redToMove)) {
+            expected.add(m[0] + "," + m[1] + ">" + m[2] + "," + m[3]);
+        }
+
+        SearchPosition position = new SearchPosition();
+        position.load(board, redToMove, null);
+        int[] moves = new int[128];
+        int count = position.generate(moves, false);
+        Set<String> actual = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            int captured = position.make(moves[i]);
+            if (!position.inCheck(position.side ^ 1)) {
+                int from = SearchPosition.from(moves[i]);
+                int to = SearchPosition.to(moves[i]);
+                actual.add(from / 9 + "," + from % 9 + ">" + to / 9 + "," + to % 9);
+            }
+            position.unmake(moves[i], captured);
+        }
+        assertTest(expected.equals(actual), testName + " (" + expected.size() + " moves)");
+    }
+
+    // ==================== Search ====================
+    private static void testMateInOne() {
+        System.out.println("\n--- Testing Mate In One ---");
+
+        // Rook on row 8 takes the king's only exit; the other rook mates along row 9
+        char[][] board = createEmptyBoard();
+        board[0][4] = 'K';
+        board[9][3] = 'k';
+        board[8][0] = 'R';
+        board[5][8] = 'R';
+
+        SearchEngine.Result result = new SearchEngine().search(board, true, null, 1000, 4);
+        assertTest(result != null && result.fromRow == 5 && result.fromCol == 8 && result.toRow == 9 && result.toCol == 8,
+                "Mate in 1: rook (5,8) -> (9,8), got " + result);
+        assertTest(result != null && result.isMate() && result.score == SearchEngine.MATE - 1, "Mate in 1: mate score");
+
+        // The side to move is mated: no move at all
+        char[][] mated = createEmptyBoard();
+        mated[0][4] = 'K';
+        mated[9][3] = 'k';
+        mated[8][0] = 'R';
+        mated[9][8] = 'R';
+        assertTest(new SearchEngine().search(mated, false, null, 1000, 4) == null, "Mated side has no move");
+    }
+
+    private static void testWinningCapture() {
+        System.out.println("\n--- Testing Winning Capture ---");
+
+        // Both rooks on row 4: whoever moves takes the other
+        char[][] board = createEmptyBoard();
+        board[0][4] = 'K';
+        board[9][3] = 'k';
+        board[4][0] = 'R';
+        board[4][8] = 'r';
+        board[6][2] = 'p';
+
+        SearchEngine.Result result = new SearchEngine().search(board, true, null, 1000, 4);
+        assertTest(result != null && result.fromRow == 4 && result.fromCol == 0 && result.toRow == 4 && result.toCol == 8,
+                "Red rook takes the black rook, got " + result);
+        assertTest(result != null && result.score > SearchPosition.VALUE[SearchPosition.ROOK] / 2, "Capture: winning score");
+
+        SearchEngine.Result black = new SearchEngine().search(board, false, null, 1000, 4);
+        assertTest(black != null && black.fromRow == 4 && black.fromCol == 8 && black.toRow == 4 && black.toCol == 0,
+                "Black rook takes the red rook, got " + black);
+    }
+
+    // ==================== Transposition table ====================
+    private static void testTranspositionTable() {
+        System.out.println("\n--- Testing Transposition Table ---");
+
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        int move = SearchPosition.move(89, 0);
+
+        assertTest(table.probe(key) == 0, "TT: empty table has no entry");
+
+        table.store(key, move, -29950, 12, TranspositionTable.LOWER);
+        long entry = table.probe(key);
+        assertTest(entry != 0, "TT: stored entry is found");
+        assertTest(TranspositionTable.move(entry) == move, "TT: move round-trip");
+        assertTest(TranspositionTable.score(entry) == -29950, "TT: negative score round-trip");
+        assertTest(TranspositionTable.depth(entry) == 12, "TT: depth round-trip");
+        assertTest(TranspositionTable.bound(entry) == TranspositionTable.LOWER, "TT: bound round-trip");
+
+        // Same slot (low bits), different position (high bits)
+        long colliding = key ^ (1L << 60);
+        assertTest(table.probe(colliding) == 0, "TT: index collision is not a hit");
+
+        table.store(key, SearchPosition.move(1, 2), 5, 3, TranspositionTable.EXACT);
+        assertTest(TranspositionTable.depth(table.probe(key)) == 12, "TT: shallower result does not replace deeper one");
+
+        table.store(colliding, SearchPosition.move(3, 4), 77, 1, TranspositionTable.UPPER);
+        assertTest(table.probe(key) == 0, "TT: colliding position replaces the slot");
+        long replaced = table.probe(colliding);
+        assertTest(TranspositionTable.score(replaced) == 77 && TranspositionTable.bound(replaced) == TranspositionTable.UPPER,
+                "TT: colliding position reads back its own entry");
+
+        table.clear();
+        assertTest(table.probe(colliding) == 0, "TT: clear empties the table");
+    }
+
+    // ==================== Lazy SMP ====================
+    private static void testLazySmp() {
+        System.out.println("\n--- Testing Lazy SMP Search ---");
+
+        SearchEngine parallel = new SearchEngine(16, 4);
+        SearchEngine single = new SearchEngine(16, 1);
+        try {
+            // Legal moves from a few positions, searched long enough for the helpers to take part
+            GameState state = new GameState();
+            state.initializeBoard();
+            int[][] line = {{2, 7, 2, 4}, {9, 7, 7, 6}, {0, 7, 2, 6}, {9, 8, 9, 7}};
+            for (int i = 0; i <= line.length; i++) {
+                SearchEngine.Result result = parallel.search(state.copyBoard(), state.isRedTurn(), SearchEngine.earlierHashes(state), 200);
+                boolean legal = false;
+                for (int[] m : GameEndChecker.getAllLegalMoves(state.getBoard(), state.isRedTurn())) {
+                    legal |= result != null && m[0] == result.fromRow && m[1] == result.fromCol && m[2] == result.toRow && m[3] == result.toCol;
+                }
+                assertTest(legal, "4 threads: legal move after " + i + " plies, got " + result);
+                if (i < line.length) {
+                    state.applyMove(line[i][0], line[i][1], line[i][2], line[i][3]);
+                }
+            }
+
+            // Same answer as one thread on forced tactics
+            char[][] mate = createEmptyBoard();
+            mate[0][4] = 'K';
+            mate[9][3] = 'k';
+            mate[8][0] = 'R';
+            mate[5][8] = 'R';
+            assertSameResult(single.search(mate, true, null, 1000, 5), parallel.search(mate, true, null, 1000, 5), "Mate in 1");
+
+            char[][] capture = createEmptyBoard();
+            capture[0][4] = 'K';
+            capture[9][3] = 'k';
+            capture[4][0] = 'R';
+            capture[4][8] = 'r';
+            capture[6][2] = 'p';
+            assertSameResult(single.search(capture, false, null, 1000, 5), parallel.search(capture, false, null, 1000, 5), "Winning capture");
+
+            // stop() before the search starts cancels it
+            long generation = parallel.generation();
+            parallel.stop();
+            SearchEngine.Result stopped = parallel.search(state.copyBoard(), state.isRedTurn(), null, 5000, 64, generation);
+            assertTest(stopped != null && stopped.depth == 0 && stopped.elapsedMs < 1000, "4 threads: stopped search returns at once");
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    private static void assertSameResult(SearchEngine.Result single, SearchEngine.Result parallel, String testName) {
+        assertTest(single != null && parallel != null && single.fromRow == parallel.fromRow && single.fromCol == parallel.fromCol
+                && single.toRow == parallel.toRow && single.toCol == parallel.toCol && single.score == parallel.score,
+                testName + ": 4 threads agree with 1 (" + single + " / " + parallel + ")");
+    }
+
+    private static void testConcurrentTable() {
+        System.out.println("\n--- Testing Concurrent Transposition Table ---");
+
+        // Writers hammer a few slots with keys whose data is derived from the key; a reader must
+        // never see an entry whose data belongs to another key or mixes two writes
+        TranspositionTable table = new TranspositionTable(0);
+        int writers = 4;
+        long[][] keys = new long[writers][64];
+        for (int w = 0; w < writers; w++) {
+            for (int i = 0; i < keys[w].length; i++) {
+                // Only 8 distinct slots, many keys per slot
+                keys[w][i] = ((long) (w * 64 + i) << 41) | (i % 8);
+            }
+        }
+        AtomicLong hits = new AtomicLong();
+        AtomicLong torn = new AtomicLong();
+        long until = System.nanoTime() + 300_000_000L;
+        List<Thread> threads = new java.util.ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            long[] own = keys[w];
+            threads.add(new Thread(() -> {
+                java.util.Random random = new java.util.Random(own[0]);
+                while (System.nanoTime() < until) {
+                    long key = own[random.nextInt(own.length)];
+                    table.store(key, expectedMove(key), expectedScore(key), random.nextInt(60), TranspositionTable.EXACT);
+                    long probeKey = keys[random.nextInt(writers)][random.nextInt(own.length)];
+                    long entry = table.probe(probeKey);
+                    if (entry != 0) {
+                        hits.incrementAndGet();
+                        if (TranspositionTable.move(entry) != expectedMove(probeKey) || TranspositionTable.score(entry) != expectedScore(probeKey)) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        assertTest(hits.get() > 0, "TT: concurrent probes hit (" + hits.get() + ")");
+        assertTest(torn.get() == 0, "TT: no torn or foreign entries under concurrent writes (" + torn.get() + ")");
+    }
+
+    private static int expectedMove(long key) {
+        return (int) (key >>> 41) & 0x3FFF;
+    }
+
+    private static int expectedScore(long key) {
+        return (short) (key >>> 41) - 1000;
+    }
+
+    // ==================== HELPER METHODS ====================
+    private static char[][] createEmptyBoard() {
+        char[][] board = new char[10][9];
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 9; j++) {
+                board[i][j] = ' ';
+            }
+        }
+        return board;
+    }
+}
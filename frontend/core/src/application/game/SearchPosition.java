@@ -0,0 +1,417 @@
+package application.game;
+
+/**
+ * Mutable position for the search engine: a 90-square mailbox with make/unmake, pseudo-legal
+ * move generation, attack detection and an incrementally updated evaluation.
+ *
+ * Same rules and coordinates as MoveValidator / GameEndChecker (red on rows 0-4, board chars
+ * "KABNRCP" / "kabnrcp"), but without copying the board for every check, which is what makes
+ * a search of hundreds of thousands of nodes per second possible. The Zobrist hash is the one
+ * GameState uses, so getHash() of both agree for the same position.
+ *
+ * Moves are ints: from | to << 7 (squares are row * 9 + col).
+ */
+final class SearchPosition {
+
+    static final int ROWS = 10;
+    static final int COLS = 9;
+    static final int SQUARES = ROWS * COLS;
+
+    static final int EMPTY = 0;
+    static final int KING = 1;
+    static final int ADVISOR = 2;
+    static final int ELEPHANT = 3;
+    static final int KNIGHT = 4;
+    static final int ROOK = 5;
+    static final int CANNON = 6;
+    static final int PAWN = 7;
+    static final int BLACK = 8; // colour bit: piece = kind | BLACK
+
+    static final int RED_SIDE = 0;
+    static final int BLACK_SIDE = 1;
+
+    private static final String KINDS = " KABNRCP";
+
+    // Centipawn values by kind; the king is handled by mate scores
+    static final int[] VALUE = {0, 0, 200, 200, 400, 900, 450, 100};
+
+    // Piece-square bonus [kind][square] from red's point of view (row 0 = red home)
+    private static final int[][] PST = new int[8][SQUARES];
+    // Zobrist keys [piece][square], the same keys GameState uses
+    private static final long[][] ZOBRIST = new long[16][SQUARES];
+    private static final long BLACK_TO_MOVE = GameState.blackToMoveKey();
+
+    private static final int[][] ORTHOGONAL = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] DIAGONAL = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+
+    static {
+        for (int sq = 0; sq < SQUARES; sq++) {
+            int row = sq / COLS;
+            int col = sq % COLS;
+            int center = 4 - Math.abs(col - 4); // 0 at the edges, 4 on the middle file
+            // Pawns: nearly worthless at home, strong once across the river, weaker on the last rank
+            if (row >= 5) {
+                PST[PAWN][sq] = (row == 9 ? 20 : 40 + (row - 5) * 15) + center * 8;
+            } else if (row == 4) {
+                PST[PAWN][sq] = 10;
+            }
+            // Knights: centralised and advanced, bad on the edge and on the home rank
+            PST[KNIGHT][sq] = center * 8 + Math.min(row, 7) * 5 - (row == 0 ? 20 : 0);
+            // Rooks: open ranks across the river, central files
+            PST[ROOK][sq] = (row >= 5 ? 20 : 0) + center * 3;
+            // Cannons: home rank and middle file are classic posts, deep ones are exposed
+            PST[CANNON][sq] = (col == 4 ? 15 : 0) + (row <= 2 ? 5 : 0) - (row >= 8 ? 10 : 0);
+            // Advisors and elephants: prefer the central defensive points
+            PST[ADVISOR][sq] = (row == 1 && col == 4) ? 10 : 0;
+            PST[ELEPHANT][sq] = (row == 2 && col == 4) ? 10 : 0;
+            // King: stay on the back rank
+            PST[KING][sq] = row == 0 ? 10 : 0;
+        }
+        for (int kind = KING; kind <= PAWN; kind++) {
+            for (int sq = 0; sq < SQUARES; sq++) {
+                ZOBRIST[kind][sq] = GameState.pieceKey(KINDS.charAt(kind), sq);
+                ZOBRIST[kind | BLACK][sq] = GameState.pieceKey(Character.toLowerCase(KINDS.charAt(kind)), sq);
+            }
+        }
+    }
+
+    final int[] board = new int[SQUARES];
+    int side;
+    long hash;
+    // Material + piece-square from red's point of view
+    int score;
+    private final int[] kingSquare = {-1, -1};
+
+    // Hashes of the game so far and of the current search line, for repetition detection
+    private long[] history = new long[256];
+    private int historyLength;
+
+    /**
+     * Load a GameState-style board (copied) and side to move.
+     * @param gameHistory hashes of the positions before this one, oldest first, current one excluded; may be null
+     */
+    void load(char[][] chars, boolean redToMove, long[] gameHistory) {
+        java.util.Arrays.fill(board, EMPTY);
+        kingSquare[0] = kingSquare[1] = -1;
+        score = 0;
+        hash = redToMove ? 0L : BLACK_TO_MOVE;
+        side = redToMove ? RED_SIDE : BLACK_SIDE;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                int piece = pieceOf(chars[row][col]);
+                if (piece != EMPTY) {
+                    put(piece, row * COLS + col);
+                }
+            }
+        }
+        historyLength = 0;
+        if (gameHistory != null) {
+            for (long h : gameHistory) {
+                pushHistory(h);
+            }
+        }
+    }
+
+    static int pieceOf(char c) {
+        int kind = KINDS.indexOf(Character.toUpperCase(c));
+        if (c == ' ' || kind <= 0) {
+            return EMPTY;
+        }
+        return Character.isUpperCase(c) ? kind : kind | BLACK;
+    }
+
+    static int move(int from, int to) {
+        return from | to << 7;
+    }
+
+    static int from(int move) {
+        return move & 0x7F;
+    }
+
+    static int to(int move) {
+        return move >>> 7 & 0x7F;
+    }
+
+    static int kind(int piece) {
+        return piece & 7;
+    }
+
+    static int sideOf(int piece) {
+        return piece >>> 3;
+    }
+
+    /**
+     * Evaluation from the side to move's point of view.
+     */
+    int evaluate() {
+        return side == RED_SIDE ? score : -score;
+    }
+
+    /**
+     * Apply a pseudo-legal move. @return the captured piece, for unmake
+     */
+    int make(int move) {
+        int from = from(move);
+        int to = to(move);
+        int captured = board[to];
+        if (captured != EMPTY) {
+            remove(to);
+        }
+        int piece = remove(from);
+        put(piece, to);
+        pushHistory(hash);
+        side ^= 1;
+        hash ^= BLACK_TO_MOVE;
+        return captured;
+    }
+
+    void unmake(int move, int captured) {
+        side ^= 1;
+        hash ^= BLACK_TO_MOVE;
+        historyLength--;
+        int piece = remove(to(move));
+        put(piece, from(move));
+        if (captured != EMPTY) {
+            put(captured, to(move));
+        }
+    }
+
+    /**
+     * The current position already occurred with the same side to move, in the game history
+     * or earlier on the searched line. Treated as a draw by the search.
+     */
+    boolean isRepetition() {
+        // Same side to move every second entry; the entry before the last move is index length - 1
+        for (int i = historyLength - 2; i >= 0; i -= 2) {
+            if (history[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void pushHistory(long h) {
+        if (historyLength == history.length) {
+            history = java.util.Arrays.copyOf(history, history.length * 2);
+        }
+        history[historyLength++] = h;
+    }
+
+    private void put(int piece, int sq) {
+        board[sq] = piece;
+        hash ^= ZOBRIST[piece][sq];
+        score += pieceScore(piece, sq);
+        if (kind(piece) == KING) {
+            kingSquare[sideOf(piece)] = sq;
+        }
+    }
+
+    private int remove(int sq) {
+        int piece = board[sq];
+        board[sq] = EMPTY;
+        hash ^= ZOBRIST[piece][sq];
+        score -= pieceScore(piece, sq);
+        if (kind(piece) == KING) {
+            kingSquare[sideOf(piece)] = -1;
+        }
+        return piece;
+    }
+
+    private static int pieceScore(int piece, int sq) {
+        int kind = kind(piece);
+        if (sideOf(piece) == RED_SIDE) {
+            return VALUE[kind] + PST[kind][sq];
+        }
+        // Mirror the row for black
+        int mirrored = (ROWS - 1 - sq / COLS) * COLS + sq % COLS;
+        return -(VALUE[kind] + PST[kind][mirrored]);
+    }
+
+    boolean hasKing(int side) {
+        return kingSquare[side] >= 0;
+    }
+
+    /**
+     * Pseudo-legal moves of the side to move into {@code moves}.
+     * @return number of moves written
+     */
+    int generate(int[] moves, boolean capturesOnly) {
+        int count = 0;
+        for (int sq = 0; sq < SQUARES; sq++) {
+            int piece = board[sq];
+            if (piece == EMPTY || sideOf(piece) != side) {
+                continue;
+            }
+            int row = sq / COLS;
+            int col = sq % COLS;
+            switch (kind(piece)) {
+                case KING:
+                    for (int[] d : ORTHOGONAL) {
+                        count = step(moves, count, sq, row + d[0], col + d[1], capturesOnly, true);
+                    }
+                    break;
+                case ADVISOR:
+                    for (int[] d : DIAGONAL) {
+                        count = step(moves, count, sq, row + d[0], col + d[1], capturesOnly, true);
+                    }
+                    break;
+                case ELEPHANT:
+                    for (int[] d : DIAGONAL) {
+                        int r = row + 2 * d[0];
+                        int c = col + 2 * d[1];
+                        if (onBoard(r, c) && ownHalf(side, r) && board[(row + d[0]) * COLS + col + d[1]] == EMPTY) {
+                            count = step(moves, count, sq, r, c, capturesOnly, false);
+                        }
+                    }
+                    break;
+                case KNIGHT:
+                    for (int[] d : KNIGHT_JUMPS) {
+                        int r = row + d[0];
+                        int c = col + d[1];
+                        if (onBoard(r, c) && board[legSquare(row, col, d[0], d[1])] == EMPTY) {
+                            count = step(moves, count, sq, r, c, capturesOnly, false);
+                        }
+                    }
+                    break;
+                case ROOK:
+                    for (int[] d : ORTHOGONAL) {
+                        for (int r = row + d[0], c = col + d[1]; onBoard(r, c); r += d[0], c += d[1]) {
+                            int target = board[r * COLS + c];
+                            if (target == EMPTY) {
+                                if (!capturesOnly) {
+                                    moves[count++] = move(sq, r * COLS + c);
+                                }
+                            } else {
+                                if (sideOf(target) != side) {
+                                    moves[count++] = move(sq, r * COLS + c);
+                                }
+                                break;
+                            }
+                        }
+                    }
+                    break;
+                case CANNON:
+                    for (int[] d : ORTHOGONAL) {
+                        boolean screened = false;
+                        for (int r = row + d[0], c = col + d[1]; onBoard(r, c); r += d[0], c += d[1]) {
+                            int target = board[r * COLS + c];
+                            if (!screened) {
+                                if (target == EMPTY) {
+                                    if (!capturesOnly) {
+                                        moves[count++] = move(sq, r * COLS + c);
+                                    }
+                                } else {
+                                    screened = true;
+                                }
+                            } else if (target != EMPTY) {
+                                if (sideOf(target) != side) {
+                                    moves[count++] = move(sq, r * COLS + c);
+                                }
+                                break;
+                            }
+                        }
+                    }
+                    break;
+                case PAWN:
+                    int forward = side == RED_SIDE ? 1 : -1;
+                    count = step(moves, count, sq, row + forward, col, capturesOnly, false);
+                    if (!ownHalf(side, row)) {
+                        count = step(moves, count, sq, row, col - 1, capturesOnly, false);
+                        count = step(moves, count, sq, row, col + 1, capturesOnly, false);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return count;
+    }
+
+    private int step(int[] moves, int count, int from, int r, int c, boolean capturesOnly, boolean palace) {
+        if (!onBoard(r, c) || (palace && !inPalace(side, r, c))) {
+            return count;
+        }
+        int target = board[r * COLS + c];
+        if (target == EMPTY ? capturesOnly : sideOf(target) == side) {
+            return count;
+        }
+        moves[count++] = move(from, r * COLS + c);
+        return count;
+    }
+
+    /**
+     * Whether the king of {@code side} is attacked, including by the opposing king on an open file.
+     * A side without a king counts as in check (its king was captured).
+     */
+    boolean inCheck(int side) {
+        int king = kingSquare[side];
+        if (king < 0) {
+            return true;
+        }
+        int enemy = (side ^ 1) << 3;
+        int row = king / COLS;
+        int col = king % COLS;
+
+        // Rooks, cannons and the flying general along ranks and files
+        for (int[] d : ORTHOGONAL) {
+            boolean screened = false;
+            for (int r = row + d[0], c = col + d[1]; onBoard(r, c); r += d[0], c += d[1]) {
+                int piece = board[r * COLS + c];
+                if (piece == EMPTY) {
+                    continue;
+                }
+                if (!screened) {
+                    if (piece == (ROOK | enemy) || (piece == (KING | enemy) && d[1] == 0)) {
+                        return true;
+                    }
+                    screened = true;
+                } else {
+                    if (piece == (CANNON | enemy)) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+
+        // Knights: the leg is next to the knight, not next to the king
+        for (int[] d : KNIGHT_JUMPS) {
+            int r = row + d[0];
+            int c = col + d[1];
+            if (onBoard(r, c) && board[r * COLS + c] == (KNIGHT | enemy)
+                    && board[legSquare(r, c, -d[0], -d[1])] == EMPTY) {
+                return true;
+            }
+        }
+
+        // Pawns: from the square in front of the king (seen from the pawn) or beside it
+        int pawnRow = row + (side == RED_SIDE ? 1 : -1);
+        if (onBoard(pawnRow, col) && board[pawnRow * COLS + col] == (PAWN | enemy)) {
+            return true;
+        }
+        for (int dc = -1; dc <= 1; dc += 2) {
+            int c = col + dc;
+            if (c >= 0 && c < COLS && board[row * COLS + c] == (PAWN | enemy) && !ownHalf(side ^ 1, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int legSquare(int row, int col, int dr, int dc) {
+        return Math.abs(dr) == 2 ? (row + dr / 2) * COLS + col : row * COLS + col + dc / 2;
+    }
+
+    private static boolean onBoard(int r, int c) {
+        return r >= 0 && r < ROWS && c >= 0 && c < COLS;
+    }
+
+    private static boolean ownHalf(int side, int row) {
+        return side == RED_SIDE ? row <= 4 : row >= 5;
+    }
+
+    private static boolean inPalace(int side, int r, int c) {
+        return c >= 3 && c <= 5 && (side == RED_SIDE ? r <= 2 : r >= 7);
+    }
+}
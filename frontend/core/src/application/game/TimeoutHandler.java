@@ -1,10 +1,9 @@
 package application.game;
 
-import javafx.application.Platform;
-
 /**
  * Handler for game timeout logic
  * Manages what happens when a player runs out of time
+ * The callback runs on the caller's thread (TimerManager posts to the FX thread)
  */
 public class TimeoutHandler {
     
@@ -49,11 +48,9 @@ public class TimeoutHandler {
             
             System.out.println("[TimeoutHandler] Player " + losingPlayer + " ran out of time (timer " + timerIndex + " expired)");
             
-            // Gọi callback trên JavaFX thread
+            // Gọi callback trên thread của người gọi
             if (callback != null) {
-                Platform.runLater(() -> {
-                    callback.onTimeout(losingPlayer);
-                });
+                callback.onTimeout(losingPlayer);
             }
         } else {
             // Timer xám hết = chuyển sang timer còn lại (không thua ngay)
@@ -0,0 +1,84 @@
+package application.game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size hash table of search results keyed by Zobrist hash, shared by all search threads
+ * without locks. Each slot is a single 64-bit word written and read atomically, holding the
+ * result and the top bits of its key: a reader can never see half of one entry and half of
+ * another, and an entry from a different position with the same slot is rejected by the key
+ * bits. One entry per slot, replaced when the new result is from a different position or
+ * searched at least as deep (a lost race between two writers only loses one of the results).
+ */
+final class TranspositionTable {
+
+    static final int EXACT = 0;
+    static final int LOWER = 1; // score >= stored (fail high)
+    static final int UPPER = 2; // score <= stored (fail low)
+
+    // Layout: move (14) | score (16, signed) | depth (8) | bound (2) | valid (1) | key check (23)
+    private static final int CHECK_SHIFT = 41;
+    private static final long VALID = 1L << 40;
+    private static final long DATA_MASK = (1L << CHECK_SHIFT) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * @param megabytes table size, rounded down to a power of two entries (8 bytes each)
+     */
+    TranspositionTable(int megabytes) {
+        long entries = Math.max(1024, (long) megabytes * 1024 * 1024 / 8);
+        int size = Integer.highestOneBit((int) Math.min(entries, 1 << 28));
+        slots = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setOpaque(i, 0L);
+        }
+    }
+
+    /**
+     * @return packed entry for {@code key}, or 0 if there is none
+     */
+    long probe(long key) {
+        long slot = slots.getOpaque((int) key & mask);
+        return slot != 0 && slot >>> CHECK_SHIFT == check(key) ? slot & DATA_MASK : 0L;
+    }
+
+    void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) key & mask;
+        long slot = slots.getOpaque(index);
+        if (slot != 0 && slot >>> CHECK_SHIFT == check(key) && depth < depth(slot)) {
+            return;
+        }
+        slots.setOpaque(index, check(key) << CHECK_SHIFT | pack(move, score, depth, bound));
+    }
+
+    // Index uses the low bits of the key, the check the high ones
+    private static long check(long key) {
+        return key >>> CHECK_SHIFT;
+    }
+
+    static long pack(int move, int score, int depth, int bound) {
+        return (move & 0x3FFFL) | (score & 0xFFFFL) << 14 | (depth & 0xFFL) << 30 | (long) bound << 38 | VALID;
+    }
+
+    static int move(long entry) {
+        return (int) (entry & 0x3FFF);
+    }
+
+    static int score(long entry) {
+        return (short) (entry >>> 14);
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 30 & 0xFF);
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 38 & 3);
+    }
+}
@@ -0,0 +1,158 @@
+package application.network;
+
+/**
+ * NTP-style estimate of the server clock, fed by heartbeat PING/PONG samples.
+ *
+ * Each PONG gives one sample: t0 = local send time, t1 = server_time, t3 = local receive time.
+ * offset = t1 - (t0 + t3) / 2, with an error bound of rtt / 2. Like NTP's clock filter we keep
+ * the last few samples and trust the one with the smallest RTT, since queuing delay only ever
+ * makes a sample worse. Skew (drift rate, in ms per ms) is the least-squares slope of the
+ * offsets over the window, so the estimate stays good between samples.
+ *
+ * Local time is derived from System.nanoTime(), so wall clock jumps on this machine
+ * (NTP step, manual change) do not disturb the estimate.
+ */
+public class ClockSync {
+    private static final int WINDOW = 8;
+    private static final long MIN_SKEW_SPAN_MS = 10_000;  // Need some spread before fitting a slope
+    private static final double MAX_SKEW = 500e-6;        // 500 ppm - anything above is noise
+
+    /**
+     * Immutable snapshot so readers never see a half-updated estimate.
+     */
+    private static final class Estimate {
+        final double offsetMs;
+        final double skew;
+        final long anchorLocalMs;
+        final double errorMs;
+
+        Estimate(double offsetMs, double skew, long anchorLocalMs, double errorMs) {
+            this.offsetMs = offsetMs;
+            this.skew = skew;
+            this.anchorLocalMs = anchorLocalMs;
+            this.errorMs = errorMs;
+        }
+    }
+
+    private final long baseWallMs = System.currentTimeMillis();
+    private final long baseNanos = System.nanoTime();
+
+    // Ring buffer of recent samples (guarded by this)
+    private final long[] sampleLocalMs = new long[WINDOW];
+    private final double[] sampleOffsetMs = new double[WINDOW];
+    private final double[] sampleRttMs = new double[WINDOW];
+    private int sampleCount = 0;
+    private int nextSample = 0;
+
+    private volatile Estimate estimate = null;  // null = not synced yet
+
+    /**
+     * Local monotonic clock in epoch milliseconds for a System.nanoTime() reading.
+     */
+    public long localMillis(long nanos) {
+        return baseWallMs + (nanos - baseNanos) / 1_000_000;
+    }
+
+    /**
+     * Add a sample from a PONG (called on the receive thread).
+     *
+     * @param sendNanos    System.nanoTime() when the PING was sent
+     * @param recvNanos    System.nanoTime() when the PONG arrived
+     * @param serverTimeMs server wall clock stamped on the PONG
+     */
+    public synchronized void addSample(long sendNanos, long recvNanos, long serverTimeMs) {
+        if (serverTimeMs <= 0 || recvNanos < sendNanos) {
+            return;
+        }
+        long t0 = localMillis(sendNanos);
+        long t3 = localMillis(recvNanos);
+
+        sampleLocalMs[nextSample] = t3;
+        sampleOffsetMs[nextSample] = serverTimeMs - (t0 + t3) / 2.0;
+        sampleRttMs[nextSample] = (recvNanos - sendNanos) / 1_000_000.0;
+        nextSample = (nextSample + 1) % WINDOW;
+        sampleCount = Math.min(sampleCount + 1, WINDOW);
+
+        // Clock filter: best sample = smallest RTT
+        int best = 0;
+        for (int i = 1; i < sampleCount; i++) {
+            if (sampleRttMs[i] < sampleRttMs[best]) {
+                best = i;
+            }
+        }
+
+        estimate = new Estimate(sampleOffsetMs[best], fitSkew(), sampleLocalMs[best], sampleRttMs[best] / 2);
+    }
+
+    /**
+     * Least-squares slope of offset over local time, 0 until the window spans long enough.
+     */
+    private double fitSkew() {
+        if (sampleCount < 3) {
+            return 0;
+        }
+        long minLocal = Long.MAX_VALUE;
+        long maxLocal = Long.MIN_VALUE;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            minLocal = Math.min(minLocal, sampleLocalMs[i]);
+            maxLocal = Math.max(maxLocal, sampleLocalMs[i]);
+            meanX += sampleLocalMs[i];
+            meanY += sampleOffsetMs[i];
+        }
+        if (maxLocal - minLocal < MIN_SKEW_SPAN_MS) {
+            return 0;
+        }
+        meanX /= sampleCount;
+        meanY /= sampleCount;
+
+        double num = 0;
+        double den = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            double dx = sampleLocalMs[i] - meanX;
+            num += dx * (sampleOffsetMs[i] - meanY);
+            den += dx * dx;
+        }
+        if (den == 0) {
+            return 0;
+        }
+        return Math.max(-MAX_SKEW, Math.min(MAX_SKEW, num / den));
+    }
+
+    /**
+     * Current server time in epoch milliseconds.
+     * Falls back to the local clock until the first PONG with server_time arrives.
+     */
+    public long serverTimeMillis() {
+        long local = localMillis(System.nanoTime());
+        Estimate e = estimate;
+        if (e == null) {
+            return local;
+        }
+        return Math.round(local + e.offsetMs + e.skew * (local - e.anchorLocalMs));
+    }
+
+    /**
+     * Whether at least one sample has been received.
+     */
+    public boolean isSynced() {
+        return estimate != null;
+    }
+
+    /**
+     * Estimated offset (server - local) in milliseconds, 0 if not synced.
+     */
+    public double getOffsetMs() {
+        Estimate e = estimate;
+        return e != null ? e.offsetMs : 0;
+    }
+
+    /**
+     * Error bound of the offset in milliseconds (half the best RTT), -1 if not synced.
+     */
+    public double getErrorMs() {
+        Estimate e = estimate;
+        return e != null ? e.errorMs : -1;
+    }
+}
@@ -0,0 +1,17 @@
+package application.network;
+
+import java.io.IOException;
+
+/**
+ * In-process stand-in for the backend, for offline development (-Dserver=mock).
+ *
+ * Looked up with {@link java.util.ServiceLoader}, so the client only gets one when a module
+ * providing it (mock-server) is on the module or class path; production builds leave it out.
+ */
+public interface DevServer {
+    /**
+     * Start listening on a free local port.
+     * @return the port to connect to
+     */
+    int start() throws IOException;
+}
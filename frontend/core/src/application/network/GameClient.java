@@ -0,0 +1,152 @@
+package application.network;
+
+import application.network.events.GameEndEvent;
+import application.network.events.GameEventDecoder;
+import application.network.events.GameEventListener;
+import application.network.events.GameStartEvent;
+import application.network.events.MoveEvent;
+import application.network.senders.AuthSender;
+import application.network.senders.FriendSender;
+import application.network.senders.GameSender;
+import application.network.senders.InfoSender;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+/**
+ * Headless client: one connection, the senders, and typed events instead of UIState.
+ *
+ * Frames are parsed on the receive thread and handed to the {@link GameEventListener}
+ * through the dispatcher (Runnable::run by default, so on the receive thread itself;
+ * a UI would pass its own thread hop). Used by bots, the load generator and tools
+ * that run without a display.
+ */
+public class GameClient {
+    private final SocketClient socketClient = new SocketClient();
+    private final AuthSender authSender = new AuthSender(socketClient);
+    private final GameSender gameSender = new GameSender(socketClient);
+    private final FriendSender friendSender = new FriendSender(socketClient);
+    private final InfoSender infoSender = new InfoSender(socketClient);
+    private final Executor dispatcher;
+    private volatile GameEventListener listener = new GameEventListener() {};
+
+    public GameClient() {
+        this(Runnable::run);
+    }
+
+    public GameClient(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+        socketClient.setMessageListener(this::onFrame);
+        socketClient.setDisconnectListener(reason -> dispatcher.execute(() -> listener.onDisconnected(reason)));
+    }
+
+    public void setListener(GameEventListener listener) {
+        this.listener = listener != null ? listener : new GameEventListener() {};
+    }
+
+    public void connect(String host, int port) throws IOException {
+        socketClient.connect(host, port);
+    }
+
+    public void disconnect() {
+        socketClient.disconnect();
+    }
+
+    public boolean isConnected() {
+        return socketClient.isConnected();
+    }
+
+    public AuthSender auth() {
+        return authSender;
+    }
+
+    public GameSender game() {
+        return gameSender;
+    }
+
+    public FriendSender friend() {
+        return friendSender;
+    }
+
+    public InfoSender info() {
+        return infoSender;
+    }
+
+    public SocketClient getSocketClient() {
+        return socketClient;
+    }
+
+    private void onFrame(String message) {
+        int space = message.indexOf(' ');
+        String type = space < 0 ? message.trim() : message.substring(0, space);
+        String payload = space < 0 ? "{}" : message.substring(space + 1).trim();
+        Runnable delivery;
+        try {
+            delivery = parse(type, payload);
+        } catch (RuntimeException e) {
+            System.err.println("[GameClient] Malformed " + type + ": " + e.getMessage());
+            return;
+        }
+        dispatcher.execute(delivery);
+    }
+
+    /**
+     * Parse one frame into the listener call to make.
+     */
+    private Runnable parse(String type, String payload) {
+        GameEventListener l = listener;
+        switch (type) {
+            case "AUTHENTICATED":
+                return l::onAuthenticated;
+            case "ERROR": {
+                String msg = string(object(payload), "message", "Unknown error");
+                return () -> l.onError(msg);
+            }
+            case "INFO": {
+                JsonObject data = data(object(payload));
+                return () -> l.onInfo(data);
+            }
+            case "GAME_HISTORY": {
+                JsonObject data = data(object(payload));
+                return () -> l.onGameHistory(data);
+            }
+            case "GAME_START": {
+                GameStartEvent event = GameEventDecoder.gameStart(object(payload));
+                return () -> l.onGameStart(event);
+            }
+            case "MOVE": {
+                MoveEvent event = GameEventDecoder.move(object(payload));
+                return () -> l.onMove(event);
+            }
+            case "INVALID_MOVE": {
+                String reason = GameEventDecoder.invalidMoveReason(object(payload));
+                return () -> l.onInvalidMove(reason);
+            }
+            case "GAME_END": {
+                GameEndEvent event = GameEventDecoder.gameEnd(object(payload));
+                return () -> l.onGameEnd(event);
+            }
+            case "MESSAGE": {
+                String text = string(object(payload), "message", "");
+                return () -> l.onChat(text);
+            }
+            default:
+                return () -> l.onOtherMessage(type, payload);
+        }
+    }
+
+    private static JsonObject object(String payload) {
+        JsonElement element = JsonParser.parseString(payload);
+        return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+    }
+
+    private static JsonObject data(JsonObject json) {
+        return json.has("data") && json.get("data").isJsonObject() ? json.getAsJsonObject("data") : json;
+    }
+
+    private static String string(JsonObject json, String key, String fallback) {
+        return json.has(key) && !json.get(key).isJsonNull() ? json.get(key).getAsString() : fallback;
+    }
+}
@@ -0,0 +1,196 @@
+package application.network;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-level heartbeat for SocketClient.
+ * Sends a PING every interval and measures the round trip from the echoed PONG.
+ *
+ * RTT and jitter are smoothed the same way TCP does it (RFC 6298):
+ * srtt = 7/8 srtt + 1/8 sample, jitter = 3/4 jitter + 1/4 |srtt - sample|.
+ * If maxMissed pings in a row go unanswered the link is declared dead, which
+ * lets us detect a half-open connection in seconds instead of waiting for TCP keepalive.
+ *
+ * PONGs also carry the server wall clock, which feeds {@link ClockSync}.
+ *
+ * Configurable via -Dheartbeat.interval=ms and -Dheartbeat.maxMissed=n.
+ */
+public class HeartbeatMonitor {
+    public static final long DEFAULT_INTERVAL_MS = 2000;
+    public static final int DEFAULT_MAX_MISSED = 3;
+
+    /**
+     * Callback for every new RTT sample (called on the receive thread).
+     */
+    @FunctionalInterface
+    public interface RttListener {
+        void onRttSample(double smoothedRttMs, double jitterMs);
+    }
+
+    private final SocketClient socketClient;
+    private final Runnable onDeadLink;
+    private final long intervalMs;
+    private final int maxMissed;
+    private final ClockSync clockSync = new ClockSync();
+
+    // One timer thread serves every monitor in the process (matters for headless load tests)
+    private static ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+    private RttListener rttListener;
+
+    // Written by the heartbeat thread (sentSeq) and the receive thread (ackedSeq, estimates)
+    private volatile long sentSeq = 0;
+    private volatile long ackedSeq = 0;
+    private volatile double smoothedRttMs = -1;  // -1 = no sample yet
+    private volatile double jitterMs = 0;
+
+    public HeartbeatMonitor(SocketClient socketClient, Runnable onDeadLink) {
+        this(socketClient, onDeadLink,
+             Long.getLong("heartbeat.interval", DEFAULT_INTERVAL_MS),
+             Integer.getInteger("heartbeat.maxMissed", DEFAULT_MAX_MISSED));
+    }
+
+    public HeartbeatMonitor(SocketClient socketClient, Runnable onDeadLink, long intervalMs, int maxMissed) {
+        this.socketClient = socketClient;
+        this.onDeadLink = onDeadLink;
+        this.intervalMs = Math.max(100, intervalMs);
+        this.maxMissed = Math.max(1, maxMissed);
+    }
+
+    /**
+     * Set listener for RTT updates.
+     */
+    public void setRttListener(RttListener listener) {
+        this.rttListener = listener;
+    }
+
+    /**
+     * Start sending pings. Resets the estimates since a new connection may take a different route.
+     */
+    public synchronized void start() {
+        stop();
+        sentSeq = 0;
+        ackedSeq = 0;
+        smoothedRttMs = -1;
+        jitterMs = 0;
+        task = sharedScheduler().scheduleAtFixedRate(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static synchronized ScheduledExecutorService sharedScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "SocketClient-Heartbeat");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * Stop sending pings (called on disconnect).
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    private void tick() {
+        if (!socketClient.isConnected()) {
+            return;
+        }
+
+        // Every ping sent since the last PONG counts as missed
+        long missed = sentSeq - ackedSeq;
+        if (missed >= maxMissed) {
+            System.err.println("[HeartbeatMonitor] " + missed + " pings unanswered, declaring link dead");
+            stop();
+            onDeadLink.run();
+            return;
+        }
+
+        long seq = sentSeq + 1;
+        JsonObject payload = new JsonObject();
+        payload.addProperty("seq", seq);
+        payload.addProperty("client_time", System.nanoTime());
+        try {
+            socketClient.send(MessageType.PING, payload.toString());
+            sentSeq = seq;
+        } catch (IOException e) {
+            // Receive loop will notice the broken socket
+        }
+    }
+
+    /**
+     * Handle a PONG payload (called from the receive thread).
+     */
+    public void onPong(String payloadJson) {
+        long now = System.nanoTime();
+        long seq;
+        long clientTime;
+        long serverTime;
+        try {
+            JsonObject json = JsonParser.parseString(payloadJson).getAsJsonObject();
+            seq = json.get("seq").getAsLong();
+            clientTime = json.get("client_time").getAsLong();
+            serverTime = json.has("server_time") ? json.get("server_time").getAsLong() : 0;
+        } catch (Exception e) {
+            System.err.println("[HeartbeatMonitor] Malformed PONG: " + payloadJson);
+            return;
+        }
+
+        // Late PONG from an already-acknowledged ping - ignore
+        if (seq <= ackedSeq) {
+            return;
+        }
+        ackedSeq = seq;
+
+        double sampleMs = (now - clientTime) / 1_000_000.0;
+        if (sampleMs < 0) {
+            return;
+        }
+        clockSync.addSample(clientTime, now, serverTime);
+
+        if (smoothedRttMs < 0) {
+            smoothedRttMs = sampleMs;
+            jitterMs = sampleMs / 2;
+        } else {
+            jitterMs = 0.75 * jitterMs + 0.25 * Math.abs(smoothedRttMs - sampleMs);
+            smoothedRttMs = 0.875 * smoothedRttMs + 0.125 * sampleMs;
+        }
+
+        RttListener listener = rttListener;
+        if (listener != null) {
+            listener.onRttSample(smoothedRttMs, jitterMs);
+        }
+    }
+
+    /**
+     * Server clock estimate built from PONG timestamps.
+     */
+    public ClockSync getClockSync() {
+        return clockSync;
+    }
+
+    /**
+     * Smoothed round trip time in milliseconds, or -1 if no PONG received yet.
+     */
+    public double getSmoothedRttMs() {
+        return smoothedRttMs;
+    }
+
+    /**
+     * Smoothed RTT variation in milliseconds.
+     */
+    public double getJitterMs() {
+        return jitterMs;
+    }
+}
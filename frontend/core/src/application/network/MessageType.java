@@ -52,6 +52,8 @@ public enum MessageType {
 
     // System
     ERROR,
+    PING,  // Heartbeat sent by SocketClient, server echoes it back as PONG
+    PONG,
     UNKNOWN;
 
     /**
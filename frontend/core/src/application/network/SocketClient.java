@@ -1,5 +1,8 @@
 package application.network;
 
+import application.diagnostics.FrameReceivedEvent;
+import application.diagnostics.FrameSentEvent;
+
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -16,6 +19,15 @@ import java.util.function.Consumer;
  * Connection is kept alive until explicitly disconnected via logout.
  */
 public class SocketClient {
+    /**
+     * Callback for every frame sent or received, heartbeats included (called on the
+     * sending thread or the receive thread).
+     */
+    @FunctionalInterface
+    public interface FrameListener {
+        void onFrame(boolean inbound, String messageType, int bytes);
+    }
+
     private Socket socket;
     private DataInputStream input;
     private DataOutputStream output;
@@ -25,6 +37,11 @@ public class SocketClient {
     private Thread receiveThread;
     private Consumer<String> messageListener;
     private Consumer<String> disconnectListener; // Called when disconnected unexpectedly
+    private final HeartbeatMonitor heartbeat = new HeartbeatMonitor(this, this::abortDeadLink);
+    private volatile String deadLinkReason; // Set when heartbeat gives up on the connection
+    private static volatile boolean trafficLogging = true; // Off for headless load tests with many clients
+    private volatile TrafficRecorder.Session capture; // null unless -Dcapture.file is set; held until disconnect()
+    private volatile FrameListener frameListener;
 
     /**
      * Connect to the server.
@@ -42,6 +59,7 @@ public class SocketClient {
 
         // Reset flags
         intentionalDisconnect.set(false);
+        deadLinkReason = null;
         
         // Clean up any stale state
         cleanupSocket();
@@ -55,12 +73,18 @@ public class SocketClient {
         input = new DataInputStream(socket.getInputStream());
         output = new DataOutputStream(socket.getOutputStream());
         connected.set(true);
+        if (capture == null) {
+            capture = TrafficRecorder.openSession(); // Kept across reconnects after a lost link
+        }
 
         // Start receive thread
         receiveThread = new Thread(this::receiveLoop, "SocketClient-ReceiveThread");
         receiveThread.setDaemon(true);
         receiveThread.start();
         
+        // TCP keepalive takes minutes to notice a half-open link, so ping at application level too
+        heartbeat.start();
+        
         System.out.println("[SocketClient] Connected to " + host + ":" + port);
     }
     
@@ -89,11 +113,34 @@ public class SocketClient {
     public synchronized void disconnect() {
         intentionalDisconnect.set(true);
         connected.set(false);
+        heartbeat.stop();
         cleanupSocket();
         username = null;
+        TrafficRecorder.Session session = capture;
+        capture = null;
+        if (session != null) {
+            session.close();
+        }
         System.out.println("[SocketClient] Disconnected");
     }
 
+    /**
+     * Called by the heartbeat when too many pings went unanswered.
+     * Closes the socket without marking the disconnect as intentional, so the
+     * receive loop exits and notifies the disconnect listener as for any lost connection.
+     */
+    private void abortDeadLink() {
+        deadLinkReason = "Heartbeat timeout";
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
     /**
      * Check if connected to server.
      */
@@ -137,6 +184,34 @@ public class SocketClient {
         this.disconnectListener = listener;
     }
 
+    /**
+     * Enable/disable the [SEND]/[RECV] console log for all clients in this process.
+     */
+    public static void setTrafficLogging(boolean enabled) {
+        trafficLogging = enabled;
+    }
+
+    /**
+     * Set listener for smoothed RTT/jitter updates from the heartbeat.
+     */
+    public void setRttListener(HeartbeatMonitor.RttListener listener) {
+        heartbeat.setRttListener(listener);
+    }
+
+    /**
+     * Set listener for frame counts and sizes (metrics).
+     */
+    public void setFrameListener(FrameListener listener) {
+        this.frameListener = listener;
+    }
+
+    /**
+     * Get the heartbeat monitor (for RTT/jitter readings).
+     */
+    public HeartbeatMonitor getHeartbeat() {
+        return heartbeat;
+    }
+
     /**
      * Send a message with MessageType and JSON payload.
      * 
@@ -148,6 +223,10 @@ public class SocketClient {
         if (!isConnected()) {
             throw new IOException("Not connected to server");
         }
+        
+        FrameSentEvent event = new FrameSentEvent();
+        event.begin();
+        long encodeStart = System.nanoTime();
 
         // Process payload JSON
         String finalPayload = payloadJson;
@@ -181,6 +260,7 @@ public class SocketClient {
         // Send: 4 bytes length (network byte order) + message bytes
         byte[] messageBytes = message.getBytes("UTF-8");
         int length = messageBytes.length;
+        long encodeTime = System.nanoTime() - encodeStart;
 
         // Write length as 4-byte big-endian integer
         ByteBuffer buffer = ByteBuffer.allocate(4);
@@ -190,11 +270,30 @@ public class SocketClient {
         output.write(messageBytes);
         output.flush();
         
-        // Global logging: log all sent messages
-        String logPrefix = username != null && !username.isEmpty() 
-            ? "[SEND user=" + username + "]" 
-            : "[SEND]";
-        System.out.println(logPrefix + " " + message);
+        event.end();
+        if (event.shouldCommit()) {
+            event.messageType = type.toProtocolString();
+            event.size = 4 + length;
+            event.encodeTime = encodeTime;
+            event.commit();
+        }
+        FrameListener frames = frameListener;
+        if (frames != null) {
+            frames.onFrame(false, type.toProtocolString(), 4 + length);
+        }
+        
+        TrafficRecorder.Session session = capture;
+        if (session != null) {
+            session.record(TrafficRecorder.OUTBOUND, messageBytes);
+        }
+        
+        // Global logging: log all sent messages (except heartbeats)
+        if (trafficLogging && type != MessageType.PING) {
+            String logPrefix = username != null && !username.isEmpty() 
+                ? "[SEND user=" + username + "]" 
+                : "[SEND]";
+            System.out.println(logPrefix + " " + message);
+        }
     }
 
     /**
@@ -258,10 +357,12 @@ public class SocketClient {
         
         // Mark as disconnected
         connected.set(false);
+        heartbeat.stop();
         
         // Notify disconnect listener if not intentional
         if (!intentionalDisconnect.get() && disconnectListener != null) {
-            disconnectListener.accept("Connection lost");
+            String reason = deadLinkReason;
+            disconnectListener.accept(reason != null ? reason : "Connection lost");
         }
     }
     
@@ -300,6 +401,9 @@ public class SocketClient {
                 return false;
             }
 
+            FrameReceivedEvent event = new FrameReceivedEvent();
+            event.begin();
+            
             // Read message bytes
             byte[] messageBytes = new byte[length];
             bytesRead = 0;
@@ -311,13 +415,43 @@ public class SocketClient {
                 bytesRead += n;
             }
 
+            TrafficRecorder.Session session = capture;
+            if (session != null) {
+                session.record(TrafficRecorder.INBOUND, messageBytes);
+            }
+            
+            long decodeStart = System.nanoTime();
             String message = new String(messageBytes, "UTF-8");
+            long decodeTime = System.nanoTime() - decodeStart;
+            event.end();
+            FrameListener frames = frameListener;
+            if (frames != null || event.shouldCommit()) {
+                int space = message.indexOf(' ');
+                String messageType = space < 0 ? message : message.substring(0, space);
+                if (event.shouldCommit()) {
+                    event.messageType = messageType;
+                    event.size = 4 + length;
+                    event.decodeTime = decodeTime;
+                    event.commit();
+                }
+                if (frames != null) {
+                    frames.onFrame(true, messageType, 4 + length);
+                }
+            }
+            
+            // Heartbeat replies are consumed here so they never queue behind UI work
+            if (message.startsWith("PONG")) {
+                heartbeat.onPong(message.length() > 5 ? message.substring(5) : "{}");
+                return true;
+            }
             
             // Global logging: log all received messages
-            String logPrefix = username != null && !username.isEmpty() 
-                ? "[RECV user=" + username + "]" 
-                : "[RECV]";
-            System.out.println(logPrefix + " " + message);
+            if (trafficLogging) {
+                String logPrefix = username != null && !username.isEmpty() 
+                    ? "[RECV user=" + username + "]" 
+                    : "[RECV]";
+                System.out.println(logPrefix + " " + message);
+            }
 
             // Notify listener
             if (messageListener != null) {
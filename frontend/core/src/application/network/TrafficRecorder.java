@@ -0,0 +1,139 @@
+package application.network;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Append-only binary capture of every frame the SocketClients of this process send and receive.
+ *
+ * File layout (big-endian, as written by DataOutputStream):
+ *   header: "XQCAP" | version (byte) | capture start, epoch ms (long)
+ *   frame:  direction (byte, 0 = inbound, 1 = outbound) | session (int) | ns since start (long)
+ *           | length (int) | UTF-8 message
+ *
+ * One recorder (one header, one file handle) is shared by the whole process; each connection
+ * records through its own {@link Session}, so clients of a load test interleave whole frames
+ * tagged with their session id instead of writing over each other. The file is closed when the
+ * last session closes; a later process appends a new header. Version 1 files have no session field.
+ * Enable with -Dcapture.file=path. Read back with TrafficReplay.
+ */
+public class TrafficRecorder {
+    public static final byte[] MAGIC = {'X', 'Q', 'C', 'A', 'P'};
+    public static final byte VERSION = 2;
+    public static final byte INBOUND = 0;
+    public static final byte OUTBOUND = 1;
+
+    private static TrafficRecorder shared;  // guarded by TrafficRecorder.class
+    private static int openSessions;
+
+    private final String path;
+    private final DataOutputStream out;
+    private final long startNanos;
+    private int nextSession = 1;
+    private boolean failed = false;
+
+    /**
+     * One connection's view of the shared recorder. Close it when the connection ends.
+     */
+    public static final class Session {
+        private final TrafficRecorder recorder;
+        private final int id;
+        private boolean closed;
+
+        private Session(TrafficRecorder recorder, int id) {
+            this.recorder = recorder;
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void record(byte direction, byte[] messageBytes) {
+            recorder.record(id, direction, messageBytes);
+        }
+
+        public void close() {
+            synchronized (TrafficRecorder.class) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                release(recorder);
+            }
+        }
+    }
+
+    private TrafficRecorder(String path) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path, true), 64 * 1024));
+        this.startNanos = System.nanoTime();
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.flush();
+    }
+
+    /**
+     * Open a session on the process-wide recorder for -Dcapture.file, or null if capture is
+     * disabled or the file cannot be opened.
+     */
+    public static synchronized Session openSession() {
+        String file = System.getProperty("capture.file");
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        if (shared == null) {
+            try {
+                shared = new TrafficRecorder(file);
+                System.out.println("[TrafficRecorder] Capturing traffic to " + file);
+            } catch (IOException e) {
+                System.err.println("[TrafficRecorder] Cannot open capture file " + file + ": " + e.getMessage());
+                return null;
+            }
+        }
+        openSessions++;
+        return new Session(shared, shared.nextSession++);
+    }
+
+    // Called with the class lock held
+    private static void release(TrafficRecorder recorder) {
+        if (recorder != shared || --openSessions > 0) {
+            return;
+        }
+        shared = null;
+        recorder.close();
+    }
+
+    /**
+     * Append one frame. Flushed right away so a crash still leaves a usable capture.
+     * Capture must never break the connection, so write errors only disable the recorder.
+     */
+    private synchronized void record(int session, byte direction, byte[] messageBytes) {
+        if (failed) {
+            return;
+        }
+        try {
+            out.writeByte(direction);
+            out.writeInt(session);
+            out.writeLong(System.nanoTime() - startNanos);
+            out.writeInt(messageBytes.length);
+            out.write(messageBytes);
+            out.flush();
+        } catch (IOException e) {
+            failed = true;
+            System.err.println("[TrafficRecorder] Write to " + path + " failed, capture stopped: " + e.getMessage());
+        }
+    }
+
+    private synchronized void close() {
+        failed = true;  // Late frames from a closing connection are dropped
+        try {
+            out.close();
+        } catch (IOException e) {
+            // Ignore
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package application.network.events;
+
+/**
+ * GAME_END from the server.
+ */
+public class GameEndEvent {
+    public final String winSide;   // "red", "black", "draw" or a username, as sent by the server
+
+    public GameEndEvent(String winSide) {
+        this.winSide = winSide;
+    }
+
+    /**
+     * Whether the given side won ("red"/"black"). Draws and unknown values return false.
+     */
+    public boolean isWinner(boolean red) {
+        return (red ? "red" : "black").equals(winSide);
+    }
+}
@@ -0,0 +1,59 @@
+package application.network.events;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Wire payload -> typed event, shared by {@link application.network.GameClient} and the JavaFX
+ * client's handlers so both read GAME_START / MOVE / GAME_END (and the backend row flip) the same way.
+ * Malformed payloads throw RuntimeException (missing fields, wrong JSON types).
+ */
+public final class GameEventDecoder {
+
+    private GameEventDecoder() {
+    }
+
+    public static GameStartEvent gameStart(JsonObject json) {
+        String mode = string(json, "game_mode", "classical");
+        if ("classic".equals(mode)) {
+            mode = "classical";
+        }
+        JsonObject data = json.has("opponent_data") ? json.getAsJsonObject("opponent_data") : new JsonObject();
+        String aiDifficulty = string(data, "ai_difficulty", "");
+        boolean aiGame = !aiDifficulty.isEmpty() || (data.has("is_ai_game") && data.get("is_ai_game").getAsBoolean());
+        return new GameStartEvent(
+            string(json, "opponent", ""),
+            !data.has("player_is_red") || data.get("player_is_red").getAsBoolean(),
+            mode,
+            json.has("time_limit") ? json.get("time_limit").getAsInt() : 0,
+            string(data, "game_id", ""),
+            aiGame,
+            aiDifficulty,
+            json.has("server_time") ? json.get("server_time").getAsLong() : 0);
+    }
+
+    /**
+     * MOVE payload {"from":{"row","col"},"to":{"row","col"},"piece","server_time"}; rows are
+     * backend rows (row 0 = black back rank), converted here to frontend rows (9 - row).
+     */
+    public static MoveEvent move(JsonObject json) {
+        JsonObject from = json.getAsJsonObject("from");
+        JsonObject to = json.getAsJsonObject("to");
+        return new MoveEvent(
+            9 - from.get("row").getAsInt(), from.get("col").getAsInt(),
+            9 - to.get("row").getAsInt(), to.get("col").getAsInt(),
+            string(json, "piece", ""),
+            json.has("server_time") ? json.get("server_time").getAsLong() : 0);
+    }
+
+    public static GameEndEvent gameEnd(JsonObject json) {
+        return new GameEndEvent(string(json, "win_side", "unknown"));
+    }
+
+    public static String invalidMoveReason(JsonObject json) {
+        return string(json, "reason", "Invalid move");
+    }
+
+    static String string(JsonObject json, String key, String fallback) {
+        return json.has(key) && !json.get(key).isJsonNull() ? json.get(key).getAsString() : fallback;
+    }
+}
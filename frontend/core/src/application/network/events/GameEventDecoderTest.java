@@ -0,0 +1,105 @@
+package application.network.events;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Test suite for GameEventDecoder
+ * Pins the wire format both clients read (GameClient in core, GameHandler in client-fx)
+ */
+public class GameEventDecoderTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== GameEventDecoder Test Suite ===\n");
+
+        testMove();
+        testGameStart();
+        testGameEnd();
+
+        System.out.println("\n=== Test Results ===");
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n✓ All tests passed!");
+        } else {
+            System.out.println("\n✗ Some tests failed!");
+        }
+    }
+
+    private static void assertTest(boolean condition, String testName) {
+        if (condition) {
+            System.out.println("✓ " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("✗ " + testName);
+            testsFailed++;
+        }
+    }
+
+    private static JsonObject json(String text) {
+        return JsonParser.parseString(text).getAsJsonObject();
+    }
+
+    private static void testMove() {
+        System.out.println("\n--- Testing MOVE ---");
+
+        // Black horse from its home (backend row 0) forward: frontend row 9 -> 7
+        MoveEvent move = GameEventDecoder.move(json(
+            "{\"piece\":\"Horse\",\"from\":{\"row\":0,\"col\":7},\"to\":{\"row\":2,\"col\":6},\"server_time\":1234}"));
+        assertTest(move.fromRow == 9 && move.fromCol == 7, "MOVE: from backend row 0 -> frontend row 9");
+        assertTest(move.toRow == 7 && move.toCol == 6, "MOVE: to backend row 2 -> frontend row 7, column unchanged");
+        assertTest("Horse".equals(move.piece) && move.serverTime == 1234, "MOVE: piece and server time");
+
+        MoveEvent bare = GameEventDecoder.move(json("{\"from\":{\"row\":9,\"col\":0},\"to\":{\"row\":8,\"col\":0}}"));
+        assertTest(bare.fromRow == 0 && bare.toRow == 1, "MOVE: red rook from backend row 9 -> frontend row 0");
+        assertTest("".equals(bare.piece) && bare.serverTime == 0, "MOVE: piece and server time default when not sent");
+
+        boolean threw = false;
+        try {
+            GameEventDecoder.move(json("{\"from\":{}}"));
+        } catch (RuntimeException e) {
+            threw = true;
+        }
+        assertTest(threw, "MOVE: malformed payload throws");
+    }
+
+    private static void testGameStart() {
+        System.out.println("\n--- Testing GAME_START ---");
+
+        GameStartEvent start = GameEventDecoder.gameStart(json(
+            "{\"opponent\":\"bob\",\"game_mode\":\"blitz\",\"time_limit\":30,\"server_time\":99,"
+            + "\"opponent_data\":{\"player_is_red\":false,\"game_id\":\"g1\"}}"));
+        assertTest("bob".equals(start.opponent) && "blitz".equals(start.gameMode) && start.timeLimit == 30,
+            "GAME_START: opponent, mode, time limit");
+        assertTest(!start.playerIsRed && "g1".equals(start.gameId) && start.serverTime == 99,
+            "GAME_START: side, game id, server time");
+        assertTest(!start.aiGame && "".equals(start.aiDifficulty), "GAME_START: not an AI game");
+
+        GameStartEvent defaults = GameEventDecoder.gameStart(json("{\"game_mode\":\"classic\"}"));
+        assertTest("classical".equals(defaults.gameMode), "GAME_START: 'classic' normalized to 'classical'");
+        assertTest(defaults.playerIsRed && defaults.timeLimit == 0 && "".equals(defaults.opponent),
+            "GAME_START: red, unlimited, no opponent by default");
+
+        GameStartEvent ai = GameEventDecoder.gameStart(json(
+            "{\"opponent\":\"\",\"opponent_data\":{\"ai_difficulty\":\"hard\",\"player_is_red\":true}}"));
+        assertTest(ai.aiGame && "hard".equals(ai.aiDifficulty), "GAME_START: AI difficulty");
+
+        GameStartEvent flagged = GameEventDecoder.gameStart(json("{\"opponent_data\":{\"is_ai_game\":true}}"));
+        assertTest(flagged.aiGame && "".equals(flagged.aiDifficulty), "GAME_START: is_ai_game without difficulty");
+    }
+
+    private static void testGameEnd() {
+        System.out.println("\n--- Testing GAME_END / INVALID_MOVE ---");
+
+        GameEndEvent end = GameEventDecoder.gameEnd(json("{\"win_side\":\"red\"}"));
+        assertTest(end.isWinner(true) && !end.isWinner(false), "GAME_END: red won");
+        assertTest("unknown".equals(GameEventDecoder.gameEnd(json("{}")).winSide), "GAME_END: missing win side");
+        assertTest("Not your turn".equals(GameEventDecoder.invalidMoveReason(json("{\"reason\":\"Not your turn\"}")))
+            && "Invalid move".equals(GameEventDecoder.invalidMoveReason(json("{}"))), "INVALID_MOVE: reason and default");
+    }
+}
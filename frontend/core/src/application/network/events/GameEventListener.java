@@ -0,0 +1,60 @@
+package application.network.events;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Callbacks for server events, used by {@link application.network.GameClient}.
+ *
+ * All methods have empty defaults so a bot or tool only overrides what it needs.
+ * They are called on the client's dispatcher (the receive thread unless one was given).
+ */
+public interface GameEventListener {
+
+    default void onAuthenticated() {
+    }
+
+    /**
+     * ERROR from the server (login/register failure, bad request, ...).
+     */
+    default void onError(String message) {
+    }
+
+    /**
+     * INFO reply; data is the "data" object when present, otherwise the whole payload.
+     */
+    default void onInfo(JsonObject data) {
+    }
+
+    default void onGameHistory(JsonObject data) {
+    }
+
+    default void onGameStart(GameStartEvent event) {
+    }
+
+    default void onMove(MoveEvent event) {
+    }
+
+    default void onInvalidMove(String reason) {
+    }
+
+    default void onGameEnd(GameEndEvent event) {
+    }
+
+    /**
+     * In-game chat from the opponent.
+     */
+    default void onChat(String message) {
+    }
+
+    /**
+     * Any other message type (challenges, draws, friends, ...), raw.
+     */
+    default void onOtherMessage(String type, String payload) {
+    }
+
+    /**
+     * Connection lost without disconnect() being called.
+     */
+    default void onDisconnected(String reason) {
+    }
+}
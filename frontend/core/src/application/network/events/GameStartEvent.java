@@ -0,0 +1,27 @@
+package application.network.events;
+
+/**
+ * GAME_START from the server (quick match, challenge, AI or custom game).
+ */
+public class GameStartEvent {
+    public final String opponent;     // "" for AI games
+    public final boolean playerIsRed;
+    public final String gameMode;     // "classical" or "blitz" ("classic" is normalized)
+    public final int timeLimit;       // Seconds per move, 0 = unlimited
+    public final String gameId;       // "" if not sent
+    public final boolean aiGame;
+    public final String aiDifficulty; // "easy", "medium", "hard" as sent, "" if not sent
+    public final long serverTime;     // Server clock at game start, 0 if not stamped
+
+    public GameStartEvent(String opponent, boolean playerIsRed, String gameMode, int timeLimit,
+                          String gameId, boolean aiGame, String aiDifficulty, long serverTime) {
+        this.opponent = opponent;
+        this.playerIsRed = playerIsRed;
+        this.gameMode = gameMode;
+        this.timeLimit = timeLimit;
+        this.gameId = gameId;
+        this.aiGame = aiGame;
+        this.aiDifficulty = aiDifficulty;
+        this.serverTime = serverTime;
+    }
+}
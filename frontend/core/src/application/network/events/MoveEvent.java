@@ -0,0 +1,24 @@
+package application.network.events;
+
+/**
+ * Opponent move relayed by the server.
+ * Coordinates are already converted to frontend rows (row 0 = red back rank, like GameState);
+ * the wire uses backend rows (9 - row).
+ */
+public class MoveEvent {
+    public final int fromRow;
+    public final int fromCol;
+    public final int toRow;
+    public final int toCol;
+    public final String piece;       // "Rook", "Horse", ... ("" if not sent)
+    public final long serverTime;    // Server clock when relayed, 0 if the server didn't stamp it
+
+    public MoveEvent(int fromRow, int fromCol, int toRow, int toCol, String piece, long serverTime) {
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.toRow = toRow;
+        this.toCol = toCol;
+        this.piece = piece;
+        this.serverTime = serverTime;
+    }
+}
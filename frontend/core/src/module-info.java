@@ -0,0 +1,10 @@
+module ChineseChessCore {
+    requires transitive com.google.gson;
+    requires jdk.jfr;
+
+    exports application.diagnostics;
+    exports application.game;
+    exports application.network;
+    exports application.network.events;
+    exports application.network.senders;
+}
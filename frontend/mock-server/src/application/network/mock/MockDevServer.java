@@ -0,0 +1,15 @@
+package application.network.mock;
+
+import application.network.DevServer;
+import java.io.IOException;
+
+/**
+ * {@link DevServer} backed by a {@link MockGameServer} with the scenario from system properties
+ * (-Dmock.scenario, -Dmock.script). This is what the client starts for -Dserver=mock.
+ */
+public class MockDevServer implements DevServer {
+    @Override
+    public int start() throws IOException {
+        return new MockGameServer(0, MockScenario.fromSystemProperties()).start().getPort();
+    }
+}
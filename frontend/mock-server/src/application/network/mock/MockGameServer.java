@@ -0,0 +1,403 @@
+package application.network.mock;
+
+import application.game.GameEndChecker;
+import application.game.MoveValidator;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight in-process stand-in for the C++ backend.
+ *
+ * Speaks the same framing (4-byte big-endian length + UTF-8 "TYPE {json}") and answers
+ * LOGIN/REGISTER, QUICK_MATCHING (-> GAME_START against a random-move bot), MOVE, RESIGN,
+ * USER_STATS, GAME_HISTORY, REPLAY_REQUEST, LEADER_BOARD and PING with payloads shaped like
+ * the real server's. Sizes and delays come from a {@link MockScenario}.
+ *
+ * Run standalone: java application.network.mock.MockGameServer [port]
+ * or start the client against an in-process instance with -Dserver=mock.
+ */
+public class MockGameServer {
+    private static final int MAX_FRAME = 10 * 1024 * 1024;
+
+    private final MockScenario scenario;
+    private final ServerSocket serverSocket;
+    private final ScheduledExecutorService scheduler;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextGameId = new AtomicInteger(1);
+    private volatile boolean running = true;
+
+    public MockGameServer(int port, MockScenario scenario) throws IOException {
+        this.scenario = scenario;
+        this.serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+        this.scheduler = Executors.newScheduledThreadPool(2, r -> {
+            Thread t = new Thread(r, "MockGameServer-Scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start accepting clients on a daemon thread.
+     */
+    public MockGameServer start() {
+        Thread acceptThread = new Thread(this::acceptLoop, "MockGameServer-Accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        System.out.println("[MockGameServer] Listening on port " + getPort() + " (scenario: " + scenario.name + ")");
+        return this;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Ignore
+        }
+        for (Session session : sessions) {
+            session.close();
+        }
+        scheduler.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Session session = new Session(socket);
+                sessions.add(session);
+                Thread t = new Thread(session::readLoop, "MockGameServer-Client");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("[MockGameServer] Accept error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * One connected client plus its game against the bot.
+     */
+    class Session {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final Random random = new Random(scenario.seed);
+        private String username = "";
+
+        // Current game (frontend coordinates, same as GameState)
+        private char[][] board;
+        private boolean playerIsRed = true;
+        private boolean redTurn = true;
+        // Bumped on every new game; scheduled bot moves of an older game do nothing
+        private int game;
+
+        Session(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(socket.getInputStream());
+            this.out = new DataOutputStream(socket.getOutputStream());
+        }
+
+        void readLoop() {
+            try {
+                while (running) {
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_FRAME) {
+                        break;
+                    }
+                    byte[] bytes = new byte[length];
+                    in.readFully(bytes);
+                    String message = new String(bytes, StandardCharsets.UTF_8);
+                    int space = message.indexOf(' ');
+                    String type = space < 0 ? message : message.substring(0, space);
+                    String payload = space < 0 ? "{}" : message.substring(space + 1);
+                    try {
+                        dispatch(type, payload);
+                    } catch (Exception e) {
+                        System.err.println("[MockGameServer] Error handling " + type + ": " + e.getMessage());
+                        send("ERROR", errorPayload(e.getMessage()));
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            }
+            close();
+        }
+
+        void close() {
+            sessions.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+
+        synchronized void send(String type, String payloadJson) {
+            String message = payloadJson == null || payloadJson.equals("{}") ? type : type + " " + payloadJson;
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            try {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void sendLater(long delayMs, String type, String payloadJson) {
+            if (delayMs <= 0) {
+                send(type, payloadJson);
+            } else {
+                scheduler.schedule(() -> send(type, payloadJson), delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Send an INFO-style reply ({"data": ...}), repeated burstCount times in burst scenarios.
+         */
+        void sendData(String type, JsonObject data) {
+            JsonObject wrapper = new JsonObject();
+            wrapper.add("data", data);
+            String json = wrapper.toString();
+            for (int i = 0; i < scenario.burstCount; i++) {
+                send(type, json);
+            }
+        }
+
+        private void dispatch(String type, String payload) {
+            JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
+            switch (type) {
+                case "PING": {
+                    json.addProperty("server_time", System.currentTimeMillis());
+                    send("PONG", json.toString());
+                    return;  // Heartbeats never trigger scripted rules
+                }
+                case "LOGIN":
+                case "REGISTER":
+                    username = json.has("username") ? json.get("username").getAsString() : "mock_user";
+                    send("AUTHENTICATED", "{}");
+                    break;
+                case "LOGOUT":
+                    username = "";
+                    sendData("INFO", singleton("logout", "ok"));
+                    break;
+                case "QUICK_MATCHING":
+                    handleQuickMatching(json);
+                    break;
+                case "MOVE":
+                    handleMove(json);
+                    break;
+                case "RESIGN":
+                    endGame(playerIsRed ? "black" : "red");
+                    break;
+                case "USER_STATS": {
+                    String target = json.has("target_username") ? json.get("target_username").getAsString() : username;
+                    sendData("INFO", SyntheticData.userStats(target, scenario.seed));
+                    break;
+                }
+                case "GAME_HISTORY":
+                    sendData("GAME_HISTORY", SyntheticData.history(username, scenario.historySize, scenario.seed));
+                    break;
+                case "REPLAY_REQUEST": {
+                    String gameId = json.has("game_id") ? json.get("game_id").getAsString() : SyntheticData.gameId(0);
+                    sendData("INFO", SyntheticData.replay(gameId, username, "mock_bot", scenario.replayMoves, scenario.seed));
+                    break;
+                }
+                case "LEADER_BOARD":
+                    sendData("INFO", SyntheticData.leaderboard(scenario.leaderboardSize, scenario.seed));
+                    break;
+                default:
+                    // Not modelled - the real server would answer, but the client copes without
+                    break;
+            }
+
+            for (MockScenario.Rule rule : scenario.rulesFor(type)) {
+                sendLater(rule.delayMs, rule.type, scenario.resolvePayload(rule.payload, username));
+            }
+        }
+
+        private synchronized void handleQuickMatching(JsonObject json) {
+            String mode = json.has("mode") ? json.get("mode").getAsString() : "classical";
+            int timeLimit = json.has("time_limit") ? json.get("time_limit").getAsInt() : 0;
+
+            JsonObject waiting = new JsonObject();
+            waiting.addProperty("quick_matching", true);
+            waiting.addProperty("status", "waiting");
+            sendData("INFO", waiting);
+
+            board = SyntheticData.initialBoard();
+            playerIsRed = random.nextBoolean();
+            redTurn = true;
+            game++;
+
+            JsonObject opponentData = new JsonObject();
+            opponentData.addProperty("player_is_red", playerIsRed);
+            opponentData.addProperty("opponent_avatar_id", 1);
+            opponentData.addProperty("game_id", SyntheticData.gameId(nextGameId.getAndIncrement()));
+
+            JsonObject start = new JsonObject();
+            start.addProperty("opponent", "mock_bot");
+            start.addProperty("game_mode", mode);
+            start.addProperty("time_limit", timeLimit);
+            start.addProperty("game_timer", "classical".equals(mode) ? 0 : 600);
+            start.addProperty("server_time", System.currentTimeMillis() + scenario.matchDelayMs);
+            start.add("opponent_data", opponentData);
+            sendLater(scenario.matchDelayMs, "GAME_START", start.toString());
+
+            // Bot opens if it plays red
+            if (!playerIsRed) {
+                scheduleBotMove(scenario.matchDelayMs + scenario.moveDelayMs);
+            }
+        }
+
+        private synchronized void handleMove(JsonObject json) {
+            if (board == null) {
+                send("INVALID_MOVE", "{\"reason\":\"No active game\"}");
+                return;
+            }
+            int fromRow, fromCol, toRow, toCol;
+            try {
+                JsonObject from = json.getAsJsonObject("from");
+                JsonObject to = json.getAsJsonObject("to");
+                fromRow = 9 - from.get("row").getAsInt();
+                fromCol = from.get("col").getAsInt();
+                toRow = 9 - to.get("row").getAsInt();
+                toCol = to.get("col").getAsInt();
+            } catch (RuntimeException e) {
+                // Missing or non-numeric from/to
+                send("INVALID_MOVE", "{\"reason\":\"Malformed move\"}");
+                return;
+            }
+
+            if (redTurn != playerIsRed) {
+                send("INVALID_MOVE", "{\"reason\":\"Not your turn\"}");
+                return;
+            }
+            String reason = checkPlayerMove(fromRow, fromCol, toRow, toCol);
+            if (reason != null) {
+                send("INVALID_MOVE", "{\"reason\":\"" + reason + "\"}");
+                return;
+            }
+            board[toRow][toCol] = board[fromRow][fromCol];
+            board[fromRow][fromCol] = ' ';
+            redTurn = !redTurn;
+
+            scheduleBotMove(scenario.moveDelayMs);
+        }
+
+        /**
+         * Same checks as the real backend, in frontend coordinates.
+         * @return why the move is rejected, or null if it is legal
+         */
+        private String checkPlayerMove(int fromRow, int fromCol, int toRow, int toCol) {
+            if (fromRow < 0 || fromRow > 9 || fromCol < 0 || fromCol > 8 || toRow < 0 || toRow > 9 || toCol < 0 || toCol > 8) {
+                return "Out of board";
+            }
+            char piece = board[fromRow][fromCol];
+            if (!Character.isLetter(piece) || Character.isUpperCase(piece) != playerIsRed) {
+                return "Not your piece";
+            }
+            if (!MoveValidator.isValidMove(board, fromRow, fromCol, toRow, toCol)) {
+                return "Illegal move";
+            }
+            char[][] after = new char[board.length][];
+            for (int i = 0; i < board.length; i++) {
+                after[i] = board[i].clone();
+            }
+            after[toRow][toCol] = piece;
+            after[fromRow][fromCol] = ' ';
+            if (GameEndChecker.isKingInCheck(after, playerIsRed)) {
+                return "King in check";
+            }
+            return null;
+        }
+
+        private void scheduleBotMove(long delayMs) {
+            int forGame = game;
+            scheduler.schedule(() -> botMove(forGame), delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void botMove(int forGame) {
+            if (forGame != game || board == null || redTurn == playerIsRed) {
+                return;
+            }
+            int[] move = SyntheticData.randomLegalMove(board, redTurn, random);
+            if (move == null) {
+                // Bot is mated/stalemated
+                endGame(playerIsRed ? "red" : "black");
+                return;
+            }
+            char piece = board[move[0]][move[1]];
+            board[move[2]][move[3]] = piece;
+            board[move[0]][move[1]] = ' ';
+            redTurn = !redTurn;
+
+            JsonObject payload = new JsonObject();
+            payload.addProperty("piece", SyntheticData.pieceName(piece));
+            JsonObject from = new JsonObject();
+            from.addProperty("row", 9 - move[0]);
+            from.addProperty("col", move[1]);
+            JsonObject to = new JsonObject();
+            to.addProperty("row", 9 - move[2]);
+            to.addProperty("col", move[3]);
+            payload.add("from", from);
+            payload.add("to", to);
+            payload.addProperty("server_time", System.currentTimeMillis());
+            send("MOVE", payload.toString());
+
+            // The bot's move may have mated/stalemated the player
+            if (GameEndChecker.getAllLegalMoves(board, playerIsRed).isEmpty()) {
+                endGame(playerIsRed ? "black" : "red");
+            }
+        }
+
+        private synchronized void endGame(String winSide) {
+            if (board == null) {
+                return;
+            }
+            board = null;
+            send("GAME_END", "{\"win_side\":\"" + winSide + "\"}");
+        }
+
+        private JsonObject singleton(String key, String value) {
+            JsonObject o = new JsonObject();
+            o.addProperty(key, value);
+            return o;
+        }
+
+        private String errorPayload(String message) {
+            JsonObject o = new JsonObject();
+            o.addProperty("message", message != null ? message : "Mock server error");
+            return o.toString();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        MockGameServer server = new MockGameServer(port, MockScenario.fromSystemProperties()).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,207 @@
+package application.network.mock;
+
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Behaviour knobs and scripted replies for {@link MockGameServer}.
+ *
+ * Built-in scenarios (-Dmock.scenario=name):
+ *   default - normal sizes and small delays
+ *   burst   - every INFO-style reply is sent burstCount times back to back, bot replies instantly
+ *   large   - very large history/leaderboard/replay payloads
+ *   slow    - long bot thinking time and match wait
+ *
+ * A script file (-Dmock.script=path) adds extra replies on top of the built-in handling,
+ * one rule per line:
+ *
+ *   TRIGGER => [delayMs] TYPE [json | @generator(arg)]
+ *
+ * e.g.  LOGIN => 500 MESSAGE {"message":"welcome"}
+ *       LEADER_BOARD => 0 INFO @leaderboard(50000)
+ *       MOVE => 0 GAME_END {"win_side":"red"}
+ *
+ * Generators: @leaderboard(users), @history(games), @replay(moves), @filler(bytes).
+ * Lines starting with # are comments. Setting "set key=value" lines override knobs (e.g. set moveDelayMs=0).
+ */
+public class MockScenario {
+
+    /**
+     * One scripted reply.
+     */
+    public static class Rule {
+        public final String trigger;
+        public final long delayMs;
+        public final String type;
+        public final String payload;  // raw JSON or @generator(arg)
+
+        Rule(String trigger, long delayMs, String type, String payload) {
+            this.trigger = trigger;
+            this.delayMs = delayMs;
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+
+    public final String name;
+    public long seed = 42;
+    public long matchDelayMs = 300;
+    public long moveDelayMs = 200;
+    public int burstCount = 1;
+    public int historySize = 30;
+    public int leaderboardSize = 100;
+    public int replayMoves = 80;
+
+    private final Map<String, List<Rule>> rules = new HashMap<>();
+
+    public MockScenario(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Built-in scenario by name (unknown names fall back to default).
+     */
+    public static MockScenario named(String name) {
+        MockScenario s = new MockScenario(name == null ? "default" : name);
+        switch (s.name) {
+            case "burst":
+                s.burstCount = 50;
+                s.matchDelayMs = 0;
+                s.moveDelayMs = 0;
+                break;
+            case "large":
+                s.historySize = 5000;
+                s.leaderboardSize = 20000;
+                s.replayMoves = 400;
+                break;
+            case "slow":
+                s.matchDelayMs = 5000;
+                s.moveDelayMs = 3000;
+                break;
+            default:
+                break;
+        }
+        return s;
+    }
+
+    /**
+     * Scenario from system properties: -Dmock.scenario and optional -Dmock.script.
+     */
+    public static MockScenario fromSystemProperties() {
+        MockScenario s = named(System.getProperty("mock.scenario", "default"));
+        String script = System.getProperty("mock.script");
+        if (script != null && !script.isEmpty()) {
+            try {
+                s.loadScript(Path.of(script));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("[MockScenario] Cannot load script " + script + ": " + e.getMessage());
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Add a scripted reply.
+     */
+    public MockScenario on(String trigger, long delayMs, String type, String payload) {
+        rules.computeIfAbsent(trigger, k -> new ArrayList<>()).add(new Rule(trigger, delayMs, type, payload));
+        return this;
+    }
+
+    public List<Rule> rulesFor(String trigger) {
+        return rules.getOrDefault(trigger, List.of());
+    }
+
+    /**
+     * Parse a script file (format in class comment).
+     */
+    public void loadScript(Path path) throws IOException {
+        int lineNo = 0;
+        for (String raw : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            lineNo++;
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("set ")) {
+                String[] kv = line.substring(4).split("=", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("line " + lineNo + ": expected set key=value");
+                }
+                set(kv[0].trim(), kv[1].trim());
+                continue;
+            }
+            int arrow = line.indexOf("=>");
+            if (arrow < 0) {
+                throw new IllegalArgumentException("line " + lineNo + ": missing =>");
+            }
+            String trigger = line.substring(0, arrow).trim();
+            String[] parts = line.substring(arrow + 2).trim().split("\\s+", 3);
+            int i = 0;
+            long delay = 0;
+            if (parts.length > 1 && parts[0].matches("\\d+")) {
+                delay = Long.parseLong(parts[0]);
+                i = 1;
+            }
+            String type = parts[i];
+            String payload = parts.length > i + 1 ? line.substring(line.indexOf(parts[i + 1], arrow)) : "{}";
+            on(trigger, delay, type, payload);
+        }
+        System.out.println("[MockScenario] Loaded script " + path);
+    }
+
+    private void set(String key, String value) {
+        long v = Long.parseLong(value);
+        switch (key) {
+            case "seed": seed = v; break;
+            case "matchDelayMs": matchDelayMs = v; break;
+            case "moveDelayMs": moveDelayMs = v; break;
+            case "burstCount": burstCount = (int) v; break;
+            case "historySize": historySize = (int) v; break;
+            case "leaderboardSize": leaderboardSize = (int) v; break;
+            case "replayMoves": replayMoves = (int) v; break;
+            default: throw new IllegalArgumentException("unknown setting " + key);
+        }
+    }
+
+    /**
+     * Resolve a rule payload: either literal JSON or a generator call.
+     */
+    String resolvePayload(String payload, String username) {
+        if (!payload.startsWith("@")) {
+            return payload;
+        }
+        int open = payload.indexOf('(');
+        int close = payload.lastIndexOf(')');
+        String gen = open > 0 ? payload.substring(1, open) : payload.substring(1);
+        int arg = (open > 0 && close > open) ? Integer.parseInt(payload.substring(open + 1, close).trim()) : 0;
+        JsonObject data;
+        switch (gen) {
+            case "leaderboard":
+                data = SyntheticData.leaderboard(arg, seed);
+                break;
+            case "history":
+                data = SyntheticData.history(username, arg, seed);
+                break;
+            case "replay":
+                data = SyntheticData.replay(SyntheticData.gameId(0), username, "mock_bot", arg, seed);
+                break;
+            case "filler":
+                data = new JsonObject();
+                data.addProperty("filler", SyntheticData.filler(arg));
+                break;
+            default:
+                throw new IllegalArgumentException("unknown generator " + gen);
+        }
+        JsonObject wrapper = new JsonObject();
+        wrapper.add("data", data);
+        return wrapper.toString();
+    }
+}
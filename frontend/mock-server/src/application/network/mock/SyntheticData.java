@@ -0,0 +1,209 @@
+package application.network.mock;
+
+import application.game.GameEndChecker;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic payloads for the mock server, shaped like what the C++ backend returns.
+ * All generators take a seed so a benchmark run is reproducible.
+ */
+public class SyntheticData {
+
+    private static final String[] TIME_CONTROLS = {"classical", "blitz"};
+
+    private SyntheticData() {
+    }
+
+    public static String playerName(int i) {
+        return "player_" + i;
+    }
+
+    /**
+     * Leaderboard payload: {"status", "all_users_stats": [{username, time_control, rating, ...}]}
+     */
+    public static JsonObject leaderboard(int users, long seed) {
+        Random random = new Random(seed);
+        JsonArray stats = new JsonArray();
+        for (int i = 0; i < users; i++) {
+            for (String timeControl : TIME_CONTROLS) {
+                stats.add(userStat(playerName(i), timeControl, random));
+            }
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("status", "success");
+        response.add("all_users_stats", stats);
+        return response;
+    }
+
+    /**
+     * USER_STATS payload: {"status", "stats": [...]} with one entry per time control.
+     */
+    public static JsonObject userStats(String username, long seed) {
+        Random random = new Random(seed ^ username.hashCode());
+        JsonArray stats = new JsonArray();
+        for (String timeControl : TIME_CONTROLS) {
+            stats.add(userStat(username, timeControl, random));
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("status", "success");
+        response.add("stats", stats);
+        return response;
+    }
+
+    private static JsonObject userStat(String username, String timeControl, Random random) {
+        int wins = random.nextInt(200);
+        int losses = random.nextInt(200);
+        int draws = random.nextInt(50);
+        JsonObject stat = new JsonObject();
+        stat.addProperty("username", username);
+        stat.addProperty("time_control", timeControl);
+        stat.addProperty("rating", 800 + random.nextInt(1600));
+        stat.addProperty("total_games", wins + losses + draws);
+        stat.addProperty("wins", wins);
+        stat.addProperty("losses", losses);
+        stat.addProperty("draws", draws);
+        return stat;
+    }
+
+    /**
+     * GAME_HISTORY payload: {"status", "history": [{game_id, red_player, black_player, result, winner, ...}]}
+     */
+    public static JsonObject history(String username, int games, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        JsonArray history = new JsonArray();
+        for (int i = 0; i < games; i++) {
+            String opponent = random.nextInt(5) == 0 ? "AI" : playerName(random.nextInt(1000));
+            boolean userIsRed = random.nextBoolean();
+            String red = userIsRed ? username : opponent;
+            String black = userIsRed ? opponent : username;
+
+            JsonObject game = new JsonObject();
+            game.addProperty("game_id", gameId(i));
+            game.addProperty("red_player", red);
+            game.addProperty("black_player", black);
+            int outcome = random.nextInt(5);
+            if (outcome == 0) {
+                game.addProperty("result", "draw");
+                game.addProperty("winner", "");
+            } else {
+                boolean redWins = outcome % 2 == 0;
+                game.addProperty("result", redWins ? "red_win" : "black_win");
+                game.addProperty("winner", redWins ? red : black);
+            }
+            game.addProperty("time_control", TIME_CONTROLS[random.nextInt(TIME_CONTROLS.length)]);
+            game.addProperty("end_time", now - (long) i * 3_600_000L - random.nextInt(3_600_000));
+            history.add(game);
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("status", "success");
+        response.add("history", history);
+        return response;
+    }
+
+    public static String gameId(int i) {
+        return String.format("mock%020d", i);
+    }
+
+    /**
+     * REPLAY_REQUEST payload: {"status", "game_type", "game": {game_id, red_player, black_player, moves: [...]}}.
+     * Moves are random legal moves from the start position (backend coordinates: from_x = col, from_y = row).
+     */
+    public static JsonObject replay(String gameId, String redPlayer, String blackPlayer, int maxMoves, long seed) {
+        Random random = new Random(seed ^ gameId.hashCode());
+        char[][] board = initialBoard();
+        JsonArray moves = new JsonArray();
+        boolean redTurn = true;
+        for (int i = 0; i < maxMoves; i++) {
+            int[] move = randomLegalMove(board, redTurn, random);
+            if (move == null) {
+                break;
+            }
+            char piece = board[move[0]][move[1]];
+            char captured = board[move[2]][move[3]];
+            board[move[2]][move[3]] = piece;
+            board[move[0]][move[1]] = ' ';
+
+            JsonObject m = new JsonObject();
+            m.addProperty("from_x", move[1]);
+            m.addProperty("from_y", 9 - move[0]);
+            m.addProperty("to_x", move[3]);
+            m.addProperty("to_y", 9 - move[2]);
+            m.addProperty("player", redTurn ? redPlayer : blackPlayer);
+            m.addProperty("piece", pieceName(piece));
+            m.addProperty("captured", captured == ' ' ? "" : pieceName(captured));
+            moves.add(m);
+            redTurn = !redTurn;
+        }
+
+        JsonObject game = new JsonObject();
+        game.addProperty("game_id", gameId);
+        game.addProperty("red_player", redPlayer);
+        game.addProperty("black_player", blackPlayer);
+        game.add("moves", moves);
+
+        JsonObject response = new JsonObject();
+        response.addProperty("status", "success");
+        response.addProperty("game_type", "archived");
+        response.add("game", game);
+        return response;
+    }
+
+    /**
+     * Starting position in frontend coordinates (row 0 = red back rank), same layout as GameState.
+     */
+    public static char[][] initialBoard() {
+        char[][] board = new char[10][9];
+        for (char[] row : board) {
+            java.util.Arrays.fill(row, ' ');
+        }
+        board[0] = new char[]{'R', 'N', 'B', 'A', 'K', 'A', 'B', 'N', 'R'};
+        board[2] = new char[]{' ', 'C', ' ', ' ', ' ', ' ', ' ', 'C', ' '};
+        board[3] = new char[]{'P', ' ', 'P', ' ', 'P', ' ', 'P', ' ', 'P'};
+        board[6] = new char[]{'p', ' ', 'p', ' ', 'p', ' ', 'p', ' ', 'p'};
+        board[7] = new char[]{' ', 'c', ' ', ' ', ' ', ' ', ' ', 'c', ' '};
+        board[9] = new char[]{'r', 'n', 'b', 'a', 'k', 'a', 'b', 'n', 'r'};
+        return board;
+    }
+
+    /**
+     * Pick a random legal move {fromRow, fromCol, toRow, toCol}, or null if the side has none.
+     */
+    public static int[] randomLegalMove(char[][] board, boolean redTurn, Random random) {
+        List<int[]> legal = GameEndChecker.getAllLegalMoves(board, redTurn);
+        if (legal.isEmpty()) {
+            return null;
+        }
+        return legal.get(random.nextInt(legal.size()));
+    }
+
+    /**
+     * Piece name as used in asset names and MOVE payloads ("Rook", "Horse", ...).
+     */
+    public static String pieceName(char piece) {
+        switch (Character.toUpperCase(piece)) {
+            case 'K': return "King";
+            case 'A': return "Advisor";
+            case 'B': return "Elephant";
+            case 'N': return "Horse";
+            case 'R': return "Rook";
+            case 'C': return "Cannon";
+            case 'P': return "Pawn";
+            default: return "";
+        }
+    }
+
+    /**
+     * Padding string of roughly the given size, for oversized-frame scenarios.
+     */
+    public static String filler(int bytes) {
+        StringBuilder sb = new StringBuilder(bytes);
+        for (int i = 0; i < bytes; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,7 @@
+module ChineseChessMock {
+    requires ChineseChessCore;
+
+    exports application.network.mock;
+
+    provides application.network.DevServer with application.network.mock.MockDevServer;
+}